@@ -8,8 +8,13 @@ use `headerdb`;
 -- drop table
 drop table if exists tbl_shop_msg_history;
 drop table if exists tbl_msg_send_batch;
+drop table if exists tbl_visitor_statistics;
 drop table if exists tbl_visitors;
+drop table if exists tbl_sales_daily_histogram;
+drop table if exists tbl_sales_daily;
 drop table if exists tbl_sales;
+drop table if exists tbl_reservation_day_summary;
+drop table if exists tbl_reservation_slot_claim;
 drop table if exists tbl_reservation;
 drop table if exists tbl_message_template;
 drop table if exists tbl_menu;
@@ -107,7 +112,35 @@ create table if not exists `tbl_reservation`
     `resv_date`    date         not null comment '예약 날짜',
     `resv_time`    time         not null comment '예약 시간',
     `user_comment` varchar(255) null comment '메모',
-    `resv_state`   varchar(20)  not null default '예약확정' comment '예약 상태'
+    `resv_state`   varchar(20)  not null default '예약확정' comment '예약 상태',
+    index idx_reservation_shop_date (`shop_code`, `resv_date`, `resv_time`),
+    -- 샵 고객 통계 / 방문 히스토리 : 샵 + 회원 + 상태로 찾고 날짜 / 메뉴까지 인덱스에서 읽음 (커버링)
+    index idx_reservation_shop_user (`shop_code`, `user_code`, `resv_state`, `resv_date`, `menu_code`)
+    );
+
+-- reservation slot claim table (예약 1건이 점유한 10분 칸, pk 중복으로 동시 예약 차단)
+create table if not exists `tbl_reservation_slot_claim`
+(
+    `shop_code` int  not null comment '샵 코드',
+    `resv_date` date not null comment '예약 날짜',
+    `slot_time` time not null comment '점유 칸 시작 시간 (10분 단위)',
+    `resv_code` int  not null comment '예약코드',
+    primary key (`shop_code`, `resv_date`, `slot_time`),
+    index idx_slot_claim_resv (`resv_code`)
+    );
+
+-- reservation day summary table (샵 + 날짜별 예약 집계, 사장님 월간 달력용 - 예약 변경 시 해당 날짜만 다시 계산)
+create table if not exists `tbl_reservation_day_summary`
+(
+    `shop_code`     int          not null comment '샵 코드',
+    `resv_date`     date         not null comment '예약 날짜',
+    `approve_count` int          not null default 0 comment '예약확정 건수',
+    `cancel_count`  int          not null default 0 comment '예약취소 건수',
+    `finish_count`  int          not null default 0 comment '시술완료 건수',
+    `first_time`    time         null comment '첫 예약 시간 (취소 제외)',
+    `last_time`     time         null comment '마지막 예약 시간 (취소 제외)',
+    `color_counts`  varchar(500) null comment '메뉴 색상별 건수 (취소 제외, 색상=건수 쉼표 구분)',
+    primary key (`shop_code`, `resv_date`)
     );
 
 -- sales table (modified pay_datetime to datetime)
@@ -115,6 +148,7 @@ create table if not exists `tbl_sales`
 (
     `sales_code`      int primary key auto_increment,
     `resv_code`       int          not null comment '예약코드',
+    `shop_code`       int          not null comment '샵 코드 (예약의 샵, 매출 생성 시 복사)',
     `pay_amount`      int          not null comment '결제 금액',
     `pay_method`      varchar(20)  not null comment '결제 수단',
     `pay_datetime`    datetime     not null comment '결제일시',
@@ -124,7 +158,37 @@ create table if not exists `tbl_sales`
     `cancel_amount`   int          null     default 0 comment '취소 금액',
     `cancel_datetime` datetime     null comment '취소일시',
     `cancel_reason`   varchar(255) null comment '취소 사유',
-    `final_amount`    int          not null comment '최종 결제 금액 (결제금액 - 취소금액)'
+    `final_amount`    int          not null comment '최종 결제 금액 (결제금액 - 취소금액)',
+    index idx_sales_pay_datetime (`pay_datetime`),
+    -- 샵별 매출 목록 커서 페이지 : 샵 + 결제일시 + 매출코드 순으로 바로 찾아 읽음 (예약 조인 없이 샵 범위만)
+    index idx_sales_shop_pay_datetime (`shop_code`, `pay_datetime`, `sales_code`),
+    index idx_sales_cancel_datetime (`cancel_datetime`),
+    -- 예약별 결제 조회 (고객 통계) : 상태 / 최종 금액까지 인덱스에서 읽음 (커버링), resv_code 외래키 인덱스 겸용
+    index idx_sales_resv (`resv_code`, `pay_status`, `final_amount`)
+    );
+
+-- sales daily table (샵 + 결제일 + 결제수단 + 결제상태별 매출 집계, 매출 생성 / 수정 / 취소 / 삭제와 같은 트랜잭션에서 증감, 삭제된 매출 제외)
+create table if not exists `tbl_sales_daily`
+(
+    `shop_code`     int         not null comment '샵 코드',
+    `sales_date`    date        not null comment '결제일 (pay_datetime 의 날짜)',
+    `pay_method`    varchar(20) not null comment '결제 수단',
+    `pay_status`    varchar(20) not null comment '결제상태 (COMPLETED, CANCELLED, PARTIAL_CANCELLED)',
+    `sales_count`   int         not null default 0 comment '매출 건수',
+    `pay_amount`    bigint      not null default 0 comment '결제 금액 합계',
+    `cancel_amount` bigint      not null default 0 comment '취소 금액 합계',
+    `final_amount`  bigint      not null default 0 comment '최종 결제 금액 합계',
+    primary key (`shop_code`, `sales_date`, `pay_method`, `pay_status`)
+    );
+
+-- sales daily histogram table (샵 + 결제일별 매출 한 건 금액 분포, 완료 / 부분취소만, 기동 시 SalesHistogramRollup 이 백필)
+create table if not exists `tbl_sales_daily_histogram`
+(
+    `shop_code`        int             not null comment '샵 코드',
+    `sales_date`       date            not null comment '결제일 (pay_datetime 의 날짜)',
+    `ticket_count`     bigint          not null default 0 comment '기록된 매출 건수',
+    `ticket_histogram` varbinary(30000) not null comment '최종 결제 금액 히스토그램 (SalesHistogram.encode 형식)',
+    primary key (`shop_code`, `sales_date`)
     );
 
 -- visitors table
@@ -135,7 +199,20 @@ create table if not exists `tbl_visitors`
     `shop_code`   int          not null comment '샵 코드',
     `memo`        varchar(255) null comment '메모',
     `sendable`    boolean      not null default 0 comment '광고성수신여부',
-    `is_active`   boolean      not null default 1 comment '활성여부'
+    `is_active`   boolean      not null default 1 comment '활성여부',
+    index idx_visitors_shop_user (`shop_code`, `user_code`, `is_active`)
+    );
+
+-- visitor statistics table (샵 + 회원별 방문 통계, 시술완료 / 매출 변경 후 해당 회원 한 행만 다시 계산)
+create table if not exists `tbl_visitor_statistics`
+(
+    `shop_code`            int  not null comment '샵 코드',
+    `user_code`            int  not null comment '회원코드',
+    `visit_count`          int  not null default 0 comment '방문 횟수 (시술완료 + 결제 금액이 남아 있는 건)',
+    `total_payment_amount` int  not null default 0 comment '총 결제액',
+    `last_visit_date`      date null comment '마지막 방문일',
+    `favorite_menu_code`   int  null comment '선호 메뉴 (시술완료가 가장 많은 메뉴)',
+    primary key (`shop_code`, `user_code`)
     );
 
 -- tbl_msg_send_batch
@@ -204,12 +281,13 @@ alter table `tbl_reservation`
     add constraint `fk_tbl_shop_to_reservation_1` foreign key (`shop_code`) references `tbl_shop` (`shop_code`);
 alter table `tbl_reservation`
     add constraint `fk_tbl_menu_to_reservation_1` foreign key (`menu_code`) references `tbl_menu` (`menu_code`);
-alter table tbl_reservation
-    add constraint uniq_reservation_slot
-        unique (shop_code, resv_date, resv_time);
+alter table `tbl_reservation_slot_claim`
+    add constraint `fk_tbl_reservation_to_slot_claim_1` foreign key (`resv_code`) references `tbl_reservation` (`resv_code`) on delete cascade;
 
 alter table `tbl_sales`
     add constraint `fk_tbl_reservation_to_sales_1` foreign key (`resv_code`) references `tbl_reservation` (`resv_code`);
+alter table `tbl_sales`
+    add constraint `fk_tbl_shop_to_sales_1` foreign key (`shop_code`) references `tbl_shop` (`shop_code`);
 
 alter table `tbl_visitors`
     add constraint `fk_tbl_user_to_visitors_1` foreign key (`user_code`) references `tbl_user` (`user_code`);
@@ -1318,156 +1396,211 @@ values
 (28, 1, 4, '2025-07-23', '19:00:00', '스타일링 예약', '예약취소'),
 (34, 1, 2, '2025-08-01', '10:30:00', '8월 첫 방문', '예약취소');
 
+-- tbl_reservation_slot_claim (취소되지 않은 예약의 메뉴 소요 시간만큼 10분 칸 점유, 소요 시간이 없으면 60분)
+insert ignore into tbl_reservation_slot_claim (shop_code, resv_date, slot_time, resv_code)
+with recursive cell (n) as (
+    select 0
+    union all
+    select n + 1 from cell where n < 143
+)
+select r.shop_code,
+       r.resv_date,
+       sec_to_time((floor(time_to_sec(r.resv_time) / 600) + cell.n) * 600),
+       r.resv_code
+from tbl_reservation r
+         join tbl_menu m on m.menu_code = r.menu_code
+         join cell
+              on (floor(time_to_sec(r.resv_time) / 600) + cell.n) * 600
+                  < least(time_to_sec(r.resv_time) + if(m.est_time > 0, m.est_time, 60) * 60, 86400)
+where r.resv_state <> '예약취소';
+
+-- tbl_reservation_day_summary (예약이 있는 날짜별 집계, ReservationDaySummaryRepository.refresh 와 같은 계산)
+insert into tbl_reservation_day_summary
+    (shop_code, resv_date, approve_count, cancel_count, finish_count, first_time, last_time, color_counts)
+select r.shop_code,
+       r.resv_date,
+       count(case when r.resv_state = '예약확정' then 1 end),
+       count(case when r.resv_state = '예약취소' then 1 end),
+       count(case when r.resv_state = '시술완료' then 1 end),
+       min(case when r.resv_state <> '예약취소' then r.resv_time end),
+       max(case when r.resv_state <> '예약취소' then r.resv_time end),
+       (select group_concat(concat(c.menu_color, '=', c.resv_count) order by c.resv_count desc, c.menu_color separator ',')
+        from (select r2.shop_code, r2.resv_date, mc.menu_color, count(*) as resv_count
+              from tbl_reservation r2
+                       join tbl_menu m on m.menu_code = r2.menu_code
+                       join tbl_menu_category mc on mc.category_code = m.category_code and mc.shop_code = m.shop_code
+              where r2.resv_state <> '예약취소'
+              group by r2.shop_code, r2.resv_date, mc.menu_color) c
+        where c.shop_code = r.shop_code and c.resv_date = r.resv_date)
+from tbl_reservation r
+group by r.shop_code, r.resv_date;
+
 -- tbl_sales 데이터 삽입 (시술완료된 예약에 대해서만 - 기존 103건 + 7월 17건 = 120건)
-insert into tbl_sales (resv_code, pay_amount, pay_method, pay_datetime, pay_status, cancel_amount, cancel_datetime, cancel_reason, final_amount)
+insert into tbl_sales (resv_code, shop_code, pay_amount, pay_method, pay_datetime, pay_status, cancel_amount, cancel_datetime, cancel_reason, final_amount)
 values
 -- 2024년 6월 매출 (8건 중 2건 취소)
-(1, 25000, '신용카드', '2024-06-15 10:30:00', 'completed', 0, null, null, 25000),
-(2, 20000, '현금', '2024-06-16 11:30:00', 'completed', 0, null, null, 20000),
-(3, 80000, '신용카드', '2024-06-18 14:30:00', 'cancelled', 80000, '2024-06-18 16:00:00', '고객 요청에 의한 취소', 0),
-(4, 50000, '카카오페이', '2024-06-20 16:00:00', 'completed', 0, null, null, 50000),
-(5, 120000, '신용카드', '2024-06-22 10:00:00', 'completed', 0, null, null, 120000),
-(6, 80000, '현금', '2024-06-25 11:00:00', 'partial_cancelled', 30000, '2024-06-25 15:00:00', '일부 시술 취소', 50000),
-(7, 40000, '신용카드', '2024-06-28 13:30:00', 'completed', 0, null, null, 40000),
-(8, 50000, '카카오페이', '2024-06-30 15:30:00', 'completed', 0, null, null, 50000),
+(1, 1, 25000, '신용카드', '2024-06-15 10:30:00', 'completed', 0, null, null, 25000),
+(2, 1, 20000, '현금', '2024-06-16 11:30:00', 'completed', 0, null, null, 20000),
+(3, 1, 80000, '신용카드', '2024-06-18 14:30:00', 'cancelled', 80000, '2024-06-18 16:00:00', '고객 요청에 의한 취소', 0),
+(4, 1, 50000, '카카오페이', '2024-06-20 16:00:00', 'completed', 0, null, null, 50000),
+(5, 1, 120000, '신용카드', '2024-06-22 10:00:00', 'completed', 0, null, null, 120000),
+(6, 1, 80000, '현금', '2024-06-25 11:00:00', 'partial_cancelled', 30000, '2024-06-25 15:00:00', '일부 시술 취소', 50000),
+(7, 1, 40000, '신용카드', '2024-06-28 13:30:00', 'completed', 0, null, null, 40000),
+(8, 1, 50000, '카카오페이', '2024-06-30 15:30:00', 'completed', 0, null, null, 50000),
 
 -- 2024년 7월 매출 (10건 중 2건 취소)
-(9, 25000, '신용카드', '2024-07-03 10:30:00', 'completed', 0, null, null, 25000),
-(10, 20000, '현금', '2024-07-05 12:00:00', 'partial_cancelled', 10000, '2024-07-05 14:00:00', '추가 시술 취소', 10000),
-(11, 80000, '신용카드', '2024-07-08 14:30:00', 'completed', 0, null, null, 80000),
-(12, 50000, '카카오페이', '2024-07-10 16:30:00', 'completed', 0, null, null, 50000),
-(13, 120000, '신용카드', '2024-07-12 10:30:00', 'completed', 0, null, null, 120000),
-(14, 80000, '현금', '2024-07-15 14:30:00', 'completed', 0, null, null, 80000),
-(15, 40000, '신용카드', '2024-07-18 12:30:00', 'cancelled', 40000, '2024-07-18 13:00:00', '클레임', 0),
-(16, 50000, '카카오페이', '2024-07-20 17:00:00', 'completed', 0, null, null, 50000),
-(17, 25000, '신용카드', '2024-07-22 11:30:00', 'completed', 0, null, null, 25000),
-(18, 80000, '현금', '2024-07-25 16:00:00', 'completed', 0, null, null, 80000),
+(9, 1, 25000, '신용카드', '2024-07-03 10:30:00', 'completed', 0, null, null, 25000),
+(10, 1, 20000, '현금', '2024-07-05 12:00:00', 'partial_cancelled', 10000, '2024-07-05 14:00:00', '추가 시술 취소', 10000),
+(11, 1, 80000, '신용카드', '2024-07-08 14:30:00', 'completed', 0, null, null, 80000),
+(12, 1, 50000, '카카오페이', '2024-07-10 16:30:00', 'completed', 0, null, null, 50000),
+(13, 1, 120000, '신용카드', '2024-07-12 10:30:00', 'completed', 0, null, null, 120000),
+(14, 1, 80000, '현금', '2024-07-15 14:30:00', 'completed', 0, null, null, 80000),
+(15, 1, 40000, '신용카드', '2024-07-18 12:30:00', 'cancelled', 40000, '2024-07-18 13:00:00', '클레임', 0),
+(16, 1, 50000, '카카오페이', '2024-07-20 17:00:00', 'completed', 0, null, null, 50000),
+(17, 1, 25000, '신용카드', '2024-07-22 11:30:00', 'completed', 0, null, null, 25000),
+(18, 1, 80000, '현금', '2024-07-25 16:00:00', 'completed', 0, null, null, 80000),
 
 -- 2024년 8월 매출 (10건 중 2건 취소)
-(19, 20000, '신용카드', '2024-08-02 11:00:00', 'completed', 0, null, null, 20000),
-(20, 50000, '카카오페이', '2024-08-05 13:30:00', 'completed', 0, null, null, 50000),
-(21, 120000, '신용카드', '2024-08-08 15:00:00', 'cancelled', 120000, '2024-08-08 16:00:00', '클레임', 0),
-(22, 80000, '현금', '2024-08-12 11:30:00', 'completed', 0, null, null, 80000),
-(23, 25000, '신용카드', '2024-08-15 16:30:00', 'completed', 0, null, null, 25000),
-(24, 80000, '카카오페이', '2024-08-18 10:30:00', 'partial_cancelled', 25000, '2024-08-18 12:00:00', '시술 변경', 55000),
-(25, 40000, '신용카드', '2024-08-22 15:30:00', 'completed', 0, null, null, 40000),
-(26, 50000, '현금', '2024-08-25 13:00:00', 'completed', 0, null, null, 50000),
-(27, 20000, '신용카드', '2024-08-28 14:30:00', 'completed', 0, null, null, 20000),
-(28, 50000, '카카오페이', '2024-08-30 17:00:00', 'completed', 0, null, null, 50000),
+(19, 1, 20000, '신용카드', '2024-08-02 11:00:00', 'completed', 0, null, null, 20000),
+(20, 1, 50000, '카카오페이', '2024-08-05 13:30:00', 'completed', 0, null, null, 50000),
+(21, 1, 120000, '신용카드', '2024-08-08 15:00:00', 'cancelled', 120000, '2024-08-08 16:00:00', '클레임', 0),
+(22, 1, 80000, '현금', '2024-08-12 11:30:00', 'completed', 0, null, null, 80000),
+(23, 1, 25000, '신용카드', '2024-08-15 16:30:00', 'completed', 0, null, null, 25000),
+(24, 1, 80000, '카카오페이', '2024-08-18 10:30:00', 'partial_cancelled', 25000, '2024-08-18 12:00:00', '시술 변경', 55000),
+(25, 1, 40000, '신용카드', '2024-08-22 15:30:00', 'completed', 0, null, null, 40000),
+(26, 1, 50000, '현금', '2024-08-25 13:00:00', 'completed', 0, null, null, 50000),
+(27, 1, 20000, '신용카드', '2024-08-28 14:30:00', 'completed', 0, null, null, 20000),
+(28, 1, 50000, '카카오페이', '2024-08-30 17:00:00', 'completed', 0, null, null, 50000),
 
 -- 2024년 9월 매출 (9건 중 2건 취소)
-(29, 25000, '신용카드', '2024-09-03 10:30:00', 'completed', 0, null, null, 25000),
-(30, 80000, '현금', '2024-09-06 12:00:00', 'completed', 0, null, null, 80000),
-(31, 120000, '신용카드', '2024-09-10 14:30:00', 'cancelled', 120000, '2024-09-10 15:00:00', '클레임', 0),
-(32, 80000, '카카오페이', '2024-09-13 16:00:00', 'completed', 0, null, null, 80000),
-(33, 40000, '신용카드', '2024-09-16 12:30:00', 'completed', 0, null, null, 40000),
-(34, 50000, '현금', '2024-09-20 16:30:00', 'partial_cancelled', 15000, '2024-09-20 17:00:00', '추가 서비스 취소', 35000),
-(35, 20000, '신용카드', '2024-09-23 11:00:00', 'completed', 0, null, null, 20000),
-(36, 50000, '카카오페이', '2024-09-26 14:00:00', 'completed', 0, null, null, 50000),
-(37, 25000, '신용카드', '2024-09-29 15:30:00', 'completed', 0, null, null, 25000),
+(29, 1, 25000, '신용카드', '2024-09-03 10:30:00', 'completed', 0, null, null, 25000),
+(30, 1, 80000, '현금', '2024-09-06 12:00:00', 'completed', 0, null, null, 80000),
+(31, 1, 120000, '신용카드', '2024-09-10 14:30:00', 'cancelled', 120000, '2024-09-10 15:00:00', '클레임', 0),
+(32, 1, 80000, '카카오페이', '2024-09-13 16:00:00', 'completed', 0, null, null, 80000),
+(33, 1, 40000, '신용카드', '2024-09-16 12:30:00', 'completed', 0, null, null, 40000),
+(34, 1, 50000, '현금', '2024-09-20 16:30:00', 'partial_cancelled', 15000, '2024-09-20 17:00:00', '추가 서비스 취소', 35000),
+(35, 1, 20000, '신용카드', '2024-09-23 11:00:00', 'completed', 0, null, null, 20000),
+(36, 1, 50000, '카카오페이', '2024-09-26 14:00:00', 'completed', 0, null, null, 50000),
+(37, 1, 25000, '신용카드', '2024-09-29 15:30:00', 'completed', 0, null, null, 25000),
 
 -- 2024년 10월 매출 (10건 중 2건 취소)
-(38, 80000, '현금', '2024-10-02 11:30:00', 'completed', 0, null, null, 80000),
-(39, 120000, '신용카드', '2024-10-05 15:00:00', 'completed', 0, null, null, 120000),
-(40, 80000, '카카오페이', '2024-10-08 16:30:00', 'partial_cancelled', 20000, '2024-10-08 17:30:00', '트리트먼트 취소', 60000),
-(41, 25000, '신용카드', '2024-10-12 10:30:00', 'completed', 0, null, null, 25000),
-(42, 20000, '현금', '2024-10-15 13:00:00', 'completed', 0, null, null, 20000),
-(43, 40000, '신용카드', '2024-10-18 16:00:00', 'completed', 0, null, null, 40000),
-(44, 50000, '카카오페이', '2024-10-22 12:00:00', 'completed', 0, null, null, 50000),
-(45, 80000, '신용카드', '2024-10-25 14:30:00', 'cancelled', 80000, '2024-10-25 15:00:00', '시술자 변경 요청', 0),
-(46, 50000, '현금', '2024-10-28 17:00:00', 'completed', 0, null, null, 50000),
-(47, 120000, '신용카드', '2024-10-30 13:30:00', 'completed', 0, null, null, 120000),
+(38, 1, 80000, '현금', '2024-10-02 11:30:00', 'completed', 0, null, null, 80000),
+(39, 1, 120000, '신용카드', '2024-10-05 15:00:00', 'completed', 0, null, null, 120000),
+(40, 1, 80000, '카카오페이', '2024-10-08 16:30:00', 'partial_cancelled', 20000, '2024-10-08 17:30:00', '트리트먼트 취소', 60000),
+(41, 1, 25000, '신용카드', '2024-10-12 10:30:00', 'completed', 0, null, null, 25000),
+(42, 1, 20000, '현금', '2024-10-15 13:00:00', 'completed', 0, null, null, 20000),
+(43, 1, 40000, '신용카드', '2024-10-18 16:00:00', 'completed', 0, null, null, 40000),
+(44, 1, 50000, '카카오페이', '2024-10-22 12:00:00', 'completed', 0, null, null, 50000),
+(45, 1, 80000, '신용카드', '2024-10-25 14:30:00', 'cancelled', 80000, '2024-10-25 15:00:00', '시술자 변경 요청', 0),
+(46, 1, 50000, '현금', '2024-10-28 17:00:00', 'completed', 0, null, null, 50000),
+(47, 1, 120000, '신용카드', '2024-10-30 13:30:00', 'completed', 0, null, null, 120000),
 
 -- 2024년 11월 매출 (8건 중 1건 취소)
-(48, 25000, '카카오페이', '2024-11-03 11:00:00', 'completed', 0, null, null, 25000),
-(49, 20000, '신용카드', '2024-11-07 12:30:00', 'completed', 0, null, null, 20000),
-(50, 80000, '현금', '2024-11-10 15:30:00', 'completed', 0, null, null, 80000),
-(51, 50000, '신용카드', '2024-11-14 11:30:00', 'partial_cancelled', 20000, '2024-11-14 13:00:00', '시술 축소', 30000),
-(52, 80000, '카카오페이', '2024-11-17 15:00:00', 'completed', 0, null, null, 80000),
-(53, 40000, '신용카드', '2024-11-21 16:30:00', 'completed', 0, null, null, 40000),
-(54, 50000, '현금', '2024-11-24 14:00:00', 'completed', 0, null, null, 50000),
-(55, 120000, '신용카드', '2024-11-28 10:30:00', 'completed', 0, null, null, 120000),
+(48, 1, 25000, '카카오페이', '2024-11-03 11:00:00', 'completed', 0, null, null, 25000),
+(49, 1, 20000, '신용카드', '2024-11-07 12:30:00', 'completed', 0, null, null, 20000),
+(50, 1, 80000, '현금', '2024-11-10 15:30:00', 'completed', 0, null, null, 80000),
+(51, 1, 50000, '신용카드', '2024-11-14 11:30:00', 'partial_cancelled', 20000, '2024-11-14 13:00:00', '시술 축소', 30000),
+(52, 1, 80000, '카카오페이', '2024-11-17 15:00:00', 'completed', 0, null, null, 80000),
+(53, 1, 40000, '신용카드', '2024-11-21 16:30:00', 'completed', 0, null, null, 40000),
+(54, 1, 50000, '현금', '2024-11-24 14:00:00', 'completed', 0, null, null, 50000),
+(55, 1, 120000, '신용카드', '2024-11-28 10:30:00', 'completed', 0, null, null, 120000),
 
 -- 2024년 12월 매출 (9건 중 2건 취소, 연말 할인 일부 적용)
-(56, 25000, '카카오페이', '2024-12-02 12:00:00', 'completed', 0, null, null, 25000),
-(57, 20000, '신용카드', '2024-12-05 14:30:00', 'cancelled', 20000, '2024-12-05 15:00:00', '클레임', 0),
-(58, 72000, '현금', '2024-12-08 17:00:00', 'completed', 0, null, null, 72000), -- 10% 할인
-(59, 80000, '신용카드', '2024-12-12 11:00:00', 'completed', 0, null, null, 80000),
-(60, 36000, '카카오페이', '2024-12-15 13:30:00', 'partial_cancelled', 16000, '2024-12-15 14:00:00', '시술 변경', 20000), -- 할인 후 부분취소
-(61, 50000, '신용카드', '2024-12-18 16:00:00', 'completed', 0, null, null, 50000),
-(62, 45000, '현금', '2024-12-22 12:30:00', 'completed', 0, null, null, 45000), -- 10% 할인
-(63, 108000, '신용카드', '2024-12-28 15:00:00', 'completed', 0, null, null, 108000), -- 10% 할인
-(64, 25000, '카카오페이', '2024-12-30 11:30:00', 'completed', 0, null, null, 25000),
+(56, 1, 25000, '카카오페이', '2024-12-02 12:00:00', 'completed', 0, null, null, 25000),
+(57, 1, 20000, '신용카드', '2024-12-05 14:30:00', 'cancelled', 20000, '2024-12-05 15:00:00', '클레임', 0),
+(58, 1, 72000, '현금', '2024-12-08 17:00:00', 'completed', 0, null, null, 72000), -- 10% 할인
+(59, 1, 80000, '신용카드', '2024-12-12 11:00:00', 'completed', 0, null, null, 80000),
+(60, 1, 36000, '카카오페이', '2024-12-15 13:30:00', 'partial_cancelled', 16000, '2024-12-15 14:00:00', '시술 변경', 20000), -- 할인 후 부분취소
+(61, 1, 50000, '신용카드', '2024-12-18 16:00:00', 'completed', 0, null, null, 50000),
+(62, 1, 45000, '현금', '2024-12-22 12:30:00', 'completed', 0, null, null, 45000), -- 10% 할인
+(63, 1, 108000, '신용카드', '2024-12-28 15:00:00', 'completed', 0, null, null, 108000), -- 10% 할인
+(64, 1, 25000, '카카오페이', '2024-12-30 11:30:00', 'completed', 0, null, null, 25000),
 
 -- 2025년 1월 매출 (8건 중 2건 취소)
-(65, 20000, '신용카드', '2025-01-03 10:30:00', 'completed', 0, null, null, 20000),
-(66, 80000, '현금', '2025-01-07 14:00:00', 'cancelled', 80000, '2025-01-07 15:00:00', '클레임', 0),
-(67, 80000, '카카오페이', '2025-01-10 15:30:00', 'completed', 0, null, null, 80000),
-(68, 50000, '신용카드', '2025-01-14 12:00:00', 'completed', 0, null, null, 50000),
-(69, 25000, '현금', '2025-01-17 15:00:00', 'partial_cancelled', 10000, '2025-01-17 16:00:00', '시술 단축', 15000),
-(70, 50000, '카카오페이', '2025-01-21 16:30:00', 'completed', 0, null, null, 50000),
-(71, 40000, '신용카드', '2025-01-25 13:00:00', 'completed', 0, null, null, 40000),
-(72, 120000, '현금', '2025-01-28 16:00:00', 'completed', 0, null, null, 120000),
+(65, 1, 20000, '신용카드', '2025-01-03 10:30:00', 'completed', 0, null, null, 20000),
+(66, 1, 80000, '현금', '2025-01-07 14:00:00', 'cancelled', 80000, '2025-01-07 15:00:00', '클레임', 0),
+(67, 1, 80000, '카카오페이', '2025-01-10 15:30:00', 'completed', 0, null, null, 80000),
+(68, 1, 50000, '신용카드', '2025-01-14 12:00:00', 'completed', 0, null, null, 50000),
+(69, 1, 25000, '현금', '2025-01-17 15:00:00', 'partial_cancelled', 10000, '2025-01-17 16:00:00', '시술 단축', 15000),
+(70, 1, 50000, '카카오페이', '2025-01-21 16:30:00', 'completed', 0, null, null, 50000),
+(71, 1, 40000, '신용카드', '2025-01-25 13:00:00', 'completed', 0, null, null, 40000),
+(72, 1, 120000, '현금', '2025-01-28 16:00:00', 'completed', 0, null, null, 120000),
 
 -- 2025년 2월 매출 (7건 중 1건 취소)
-(73, 20000, '신용카드', '2025-02-02 11:00:00', 'completed', 0, null, null, 20000),
-(74, 80000, '카카오페이', '2025-02-06 13:30:00', 'completed', 0, null, null, 80000),
-(75, 25000, '현금', '2025-02-10 16:00:00', 'completed', 0, null, null, 25000),
-(76, 80000, '신용카드', '2025-02-14 11:30:00', 'partial_cancelled', 30000, '2025-02-14 12:30:00', '밸런타인 스타일 변경', 50000),
-(77, 50000, '카카오페이', '2025-02-18 14:30:00', 'completed', 0, null, null, 50000),
-(78, 50000, '현금', '2025-02-22 17:00:00', 'completed', 0, null, null, 50000),
-(79, 40000, '신용카드', '2025-02-26 12:30:00', 'completed', 0, null, null, 40000),
+(73, 1, 20000, '신용카드', '2025-02-02 11:00:00', 'completed', 0, null, null, 20000),
+(74, 1, 80000, '카카오페이', '2025-02-06 13:30:00', 'completed', 0, null, null, 80000),
+(75, 1, 25000, '현금', '2025-02-10 16:00:00', 'completed', 0, null, null, 25000),
+(76, 1, 80000, '신용카드', '2025-02-14 11:30:00', 'partial_cancelled', 30000, '2025-02-14 12:30:00', '밸런타인 스타일 변경', 50000),
+(77, 1, 50000, '카카오페이', '2025-02-18 14:30:00', 'completed', 0, null, null, 50000),
+(78, 1, 50000, '현금', '2025-02-22 17:00:00', 'completed', 0, null, null, 50000),
+(79, 1, 40000, '신용카드', '2025-02-26 12:30:00', 'completed', 0, null, null, 40000),
 
 -- 2025년 3월 매출 (7건 중 1건 취소)
-(80, 25000, '카카오페이', '2025-03-03 10:30:00', 'completed', 0, null, null, 25000),
-(81, 80000, '신용카드', '2025-03-07 14:00:00', 'completed', 0, null, null, 80000),
-(82, 120000, '현금', '2025-03-12 15:30:00', 'cancelled', 120000, '2025-03-12 16:00:00', '클레임', 0),
-(83, 20000, '카카오페이', '2025-03-16 12:00:00', 'completed', 0, null, null, 20000),
-(84, 50000, '신용카드', '2025-03-20 15:00:00', 'completed', 0, null, null, 50000),
-(85, 80000, '현금', '2025-03-24 16:30:00', 'completed', 0, null, null, 80000),
-(86, 50000, '카카오페이', '2025-03-28 13:00:00', 'completed', 0, null, null, 50000),
+(80, 1, 25000, '카카오페이', '2025-03-03 10:30:00', 'completed', 0, null, null, 25000),
+(81, 1, 80000, '신용카드', '2025-03-07 14:00:00', 'completed', 0, null, null, 80000),
+(82, 1, 120000, '현금', '2025-03-12 15:30:00', 'cancelled', 120000, '2025-03-12 16:00:00', '클레임', 0),
+(83, 1, 20000, '카카오페이', '2025-03-16 12:00:00', 'completed', 0, null, null, 20000),
+(84, 1, 50000, '신용카드', '2025-03-20 15:00:00', 'completed', 0, null, null, 50000),
+(85, 1, 80000, '현금', '2025-03-24 16:30:00', 'completed', 0, null, null, 80000),
+(86, 1, 50000, '카카오페이', '2025-03-28 13:00:00', 'completed', 0, null, null, 50000),
 
 -- 2025년 4월 매출 (7건 중 1건 취소)
-(87, 25000, '신용카드', '2025-04-02 11:00:00', 'completed', 0, null, null, 25000),
-(88, 40000, '현금', '2025-04-06 13:30:00', 'completed', 0, null, null, 40000),
-(89, 80000, '카카오페이', '2025-04-10 16:00:00', 'completed', 0, null, null, 80000),
-(90, 120000, '신용카드', '2025-04-15 11:30:00', 'partial_cancelled', 40000, '2025-04-15 13:00:00', '졸업식 스타일 변경', 80000),
-(91, 20000, '현금', '2025-04-19 14:30:00', 'completed', 0, null, null, 20000),
-(92, 50000, '카카오페이', '2025-04-23 17:00:00', 'completed', 0, null, null, 50000),
-(93, 80000, '신용카드', '2025-04-27 12:30:00', 'completed', 0, null, null, 80000),
+(87, 1, 25000, '신용카드', '2025-04-02 11:00:00', 'completed', 0, null, null, 25000),
+(88, 1, 40000, '현금', '2025-04-06 13:30:00', 'completed', 0, null, null, 40000),
+(89, 1, 80000, '카카오페이', '2025-04-10 16:00:00', 'completed', 0, null, null, 80000),
+(90, 1, 120000, '신용카드', '2025-04-15 11:30:00', 'partial_cancelled', 40000, '2025-04-15 13:00:00', '졸업식 스타일 변경', 80000),
+(91, 1, 20000, '현금', '2025-04-19 14:30:00', 'completed', 0, null, null, 20000),
+(92, 1, 50000, '카카오페이', '2025-04-23 17:00:00', 'completed', 0, null, null, 50000),
+(93, 1, 80000, '신용카드', '2025-04-27 12:30:00', 'completed', 0, null, null, 80000),
 
 -- 2025년 5월 매출 (5건 중 1건 취소)
-(94, 50000, '현금', '2025-05-02 10:30:00', 'completed', 0, null, null, 50000),
-(95, 25000, '카카오페이', '2025-05-07 14:00:00', 'completed', 0, null, null, 25000),
-(96, 80000, '신용카드', '2025-05-12 15:30:00', 'cancelled', 80000, '2025-05-12 16:00:00', '클레임', 0),
-(97, 40000, '현금', '2025-05-17 12:00:00', 'completed', 0, null, null, 40000),
-(98, 120000, '카카오페이', '2025-05-22 15:00:00', 'completed', 0, null, null, 120000),
+(94, 1, 50000, '현금', '2025-05-02 10:30:00', 'completed', 0, null, null, 50000),
+(95, 1, 25000, '카카오페이', '2025-05-07 14:00:00', 'completed', 0, null, null, 25000),
+(96, 1, 80000, '신용카드', '2025-05-12 15:30:00', 'cancelled', 80000, '2025-05-12 16:00:00', '클레임', 0),
+(97, 1, 40000, '현금', '2025-05-17 12:00:00', 'completed', 0, null, null, 40000),
+(98, 1, 120000, '카카오페이', '2025-05-22 15:00:00', 'completed', 0, null, null, 120000),
 
 -- 2025년 6월 매출 (3건 중 1건 취소)
-(99, 20000, '신용카드', '2025-06-02 11:00:00', 'completed', 0, null, null, 20000),
-(100, 50000, '현금', '2025-06-07 13:30:00', 'partial_cancelled', 20000, '2025-06-07 15:00:00', '시술 시간 단축', 30000),
-(101, 80000, '카카오페이', '2025-06-12 16:00:00', 'completed', 0, null, null, 80000),
+(99, 1, 20000, '신용카드', '2025-06-02 11:00:00', 'completed', 0, null, null, 20000),
+(100, 1, 50000, '현금', '2025-06-07 13:30:00', 'partial_cancelled', 20000, '2025-06-07 15:00:00', '시술 시간 단축', 30000),
+(101, 1, 80000, '카카오페이', '2025-06-12 16:00:00', 'completed', 0, null, null, 80000),
 
 -- 2025년 7월 매출 (17건 - 7/23까지 완료된 시술)
-(102, 25000, '신용카드', '2025-07-01 10:30:00', 'completed', 0, null, null, 25000),
-(103, 50000, '현금', '2025-07-01 15:00:00', 'completed', 0, null, null, 50000),
-(104, 80000, '카카오페이', '2025-07-02 13:30:00', 'completed', 0, null, null, 80000),
-(105, 120000, '신용카드', '2025-07-03 12:00:00', 'completed', 0, null, null, 120000),
-(106, 40000, '현금', '2025-07-03 16:30:00', 'completed', 0, null, null, 40000),
-(107, 20000, '카카오페이', '2025-07-04 11:00:00', 'completed', 0, null, null, 20000),
-(108, 80000, '신용카드', '2025-07-05 12:30:00', 'completed', 0, null, null, 80000),
-(109, 50000, '현금', '2025-07-07 15:00:00', 'completed', 0, null, null, 50000),
-(110, 25000, '카카오페이', '2025-07-08 16:30:00', 'completed', 0, null, null, 25000),
-(111, 80000, '신용카드', '2025-07-09 11:30:00', 'completed', 0, null, null, 80000),
-(112, 50000, '현금', '2025-07-11 14:00:00', 'completed', 0, null, null, 50000),
-(113, 120000, '카카오페이', '2025-07-12 15:30:00', 'completed', 0, null, null, 120000),
-(114, 20000, '신용카드', '2025-07-14 11:00:00', 'completed', 0, null, null, 20000),
-(115, 40000, '현금', '2025-07-16 13:00:00', 'completed', 0, null, null, 40000),
-(116, 50000, '카카오페이', '2025-07-18 14:30:00', 'completed', 0, null, null, 50000),
-(117, 25000, '신용카드', '2025-07-19 17:00:00', 'completed', 0, null, null, 25000),
-(118, 80000, '현금', '2025-07-22 11:30:00', 'completed', 0, null, null, 80000),
+(102, 1, 25000, '신용카드', '2025-07-01 10:30:00', 'completed', 0, null, null, 25000),
+(103, 1, 50000, '현금', '2025-07-01 15:00:00', 'completed', 0, null, null, 50000),
+(104, 1, 80000, '카카오페이', '2025-07-02 13:30:00', 'completed', 0, null, null, 80000),
+(105, 1, 120000, '신용카드', '2025-07-03 12:00:00', 'completed', 0, null, null, 120000),
+(106, 1, 40000, '현금', '2025-07-03 16:30:00', 'completed', 0, null, null, 40000),
+(107, 1, 20000, '카카오페이', '2025-07-04 11:00:00', 'completed', 0, null, null, 20000),
+(108, 1, 80000, '신용카드', '2025-07-05 12:30:00', 'completed', 0, null, null, 80000),
+(109, 1, 50000, '현금', '2025-07-07 15:00:00', 'completed', 0, null, null, 50000),
+(110, 1, 25000, '카카오페이', '2025-07-08 16:30:00', 'completed', 0, null, null, 25000),
+(111, 1, 80000, '신용카드', '2025-07-09 11:30:00', 'completed', 0, null, null, 80000),
+(112, 1, 50000, '현금', '2025-07-11 14:00:00', 'completed', 0, null, null, 50000),
+(113, 1, 120000, '카카오페이', '2025-07-12 15:30:00', 'completed', 0, null, null, 120000),
+(114, 1, 20000, '신용카드', '2025-07-14 11:00:00', 'completed', 0, null, null, 20000),
+(115, 1, 40000, '현금', '2025-07-16 13:00:00', 'completed', 0, null, null, 40000),
+(116, 1, 50000, '카카오페이', '2025-07-18 14:30:00', 'completed', 0, null, null, 50000),
+(117, 1, 25000, '신용카드', '2025-07-19 17:00:00', 'completed', 0, null, null, 25000),
+(118, 1, 80000, '현금', '2025-07-22 11:30:00', 'completed', 0, null, null, 80000),
 -- 7월 23일 매출 1건만
-(119, 80000, '카카오페이', '2025-07-23 15:30:00', 'completed', 0, null, null, 80000);
+(119, 1, 80000, '카카오페이', '2025-07-23 15:30:00', 'completed', 0, null, null, 80000);
+
+-- tbl_sales_daily (매출 일별 집계 백필, SalesDailyRepository.rebuild 와 같은 계산)
+insert into tbl_sales_daily
+    (shop_code, sales_date, pay_method, pay_status, sales_count, pay_amount, cancel_amount, final_amount)
+select r.shop_code,
+       date(s.pay_datetime),
+       s.pay_method,
+       upper(s.pay_status),
+       count(*),
+       sum(s.pay_amount),
+       sum(coalesce(s.cancel_amount, 0)),
+       sum(s.final_amount)
+from tbl_sales s
+         join tbl_reservation r on r.resv_code = s.resv_code
+where upper(s.pay_status) <> 'DELETED'
+group by r.shop_code, date(s.pay_datetime), s.pay_method, upper(s.pay_status);
 
 -- tbl_visitors (150건)
 insert into tbl_visitors (user_code, shop_code, memo, sendable, is_active)
@@ -1632,6 +1765,37 @@ values
 (63, 5, '장기 고객', 1, 1),
 (64, 5, '근처 거주', 0, 1);
 
+-- tbl_visitor_statistics (샵 + 회원별 방문 통계 백필, VisitorStatisticsRepository.rebuild 와 같은 계산)
+insert into tbl_visitor_statistics
+    (shop_code, user_code, visit_count, total_payment_amount, last_visit_date, favorite_menu_code)
+select k.shop_code,
+       k.user_code,
+       coalesce(v.visit_count, 0),
+       coalesce(v.total_payment_amount, 0),
+       v.last_visit_date,
+       (select r2.menu_code
+        from tbl_reservation r2
+        where r2.shop_code = k.shop_code
+          and r2.user_code = k.user_code
+          and r2.resv_state = '시술완료'
+        group by r2.menu_code
+        order by count(*) desc, max(r2.resv_date) desc, r2.menu_code
+        limit 1)
+from (select distinct shop_code, user_code
+      from tbl_reservation
+      where resv_state = '시술완료') k
+         left join (select r.shop_code,
+                           r.user_code,
+                           count(*)            as visit_count,
+                           sum(s.final_amount) as total_payment_amount,
+                           max(r.resv_date)    as last_visit_date
+                    from tbl_reservation r
+                             join tbl_sales s on s.resv_code = r.resv_code
+                    where r.resv_state = '시술완료'
+                      and s.final_amount > 0
+                      and upper(s.pay_status) <> 'DELETED'
+                    group by r.shop_code, r.user_code) v on v.shop_code = k.shop_code and v.user_code = k.user_code;
+
 -- tbl_msg_send_batch 더미 데이터 (3개 배치)
 insert into `tbl_msg_send_batch` (`batch_code`,
                                   `shop_code`,
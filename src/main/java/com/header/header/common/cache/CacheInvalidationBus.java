@@ -0,0 +1,111 @@
+package com.header.header.common.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/*
+* 여러 백엔드 인스턴스의 로컬(Caffeine) 캐시를 맞추기 위한 무효화 버스 - Redis pub/sub
+*
+* - RedisStreamConfig 의 연결(redisStreamTemplate, 리스너 컨테이너)을 그대로 사용
+* - 자기 노드가 보낸 메시지는 무시 (로컬 캐시는 이미 반영됨)
+* - 메트릭
+*   cache.invalidation.published / received / publish.failed : 건수
+*   cache.invalidation.lag : 발행 ~ 다른 노드 반영까지 걸린 시간 (노드 간 시계 차이 포함, 음수는 0 처리)
+* - pub/sub 은 유실될 수 있으므로 캐시 TTL 이 마지막 안전장치
+* */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheInvalidationBus {
+
+    private final RedisTemplate<String, String> redisStreamTemplate;
+    private final RedisMessageListenerContainer cacheInvalidationListenerContainer;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${cache.invalidation.channel:cache-invalidation}")
+    private String channel;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final List<Consumer<CacheInvalidationMessage>> handlers = new CopyOnWriteArrayList<>();
+
+    @PostConstruct
+    public void init() {
+        cacheInvalidationListenerContainer.addMessageListener(
+                (message, pattern) -> receive(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(channel));
+    }
+
+    /* 받은 메시지를 로컬 캐시에 적용할 핸들러 등록 (ShopScopedCache, SalesCubeService) - 핸들러는 자기 cacheName 만 처리 */
+    public void onMessage(Consumer<CacheInvalidationMessage> handler) {
+        handlers.add(handler);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void publish(CacheInvalidationMessage.Operation operation, String cacheName, Integer shopCode, Object subKey) {
+        CacheInvalidationMessage message = new CacheInvalidationMessage(
+                nodeId, operation, cacheName, shopCode,
+                subKey == null ? null : subKey.toString(),
+                System.currentTimeMillis());
+        try {
+            redisStreamTemplate.convertAndSend(channel, objectMapper.writeValueAsString(message));
+            counter("cache.invalidation.published", cacheName, operation).increment();
+        } catch (JsonProcessingException | RuntimeException e) {
+            // 브로드캐스트 실패로 예약 / 휴일 처리가 실패하지 않도록 로그만 남김 (다른 노드는 TTL 만료 때 갱신)
+            counter("cache.invalidation.publish.failed", cacheName, operation).increment();
+            log.warn("캐시 무효화 메시지 발행 실패 : {} {} {}_{}", operation, cacheName, shopCode, subKey, e);
+        }
+    }
+
+    void receive(String payload) {
+        CacheInvalidationMessage message;
+        try {
+            message = objectMapper.readValue(payload, CacheInvalidationMessage.class);
+        } catch (JsonProcessingException e) {
+            log.warn("캐시 무효화 메시지 파싱 실패 : {}", payload, e);
+            return;
+        }
+
+        if (nodeId.equals(message.getNodeId())) return;
+
+        handlers.forEach(handler -> handler.accept(message));
+
+        long lagMillis = Math.max(System.currentTimeMillis() - message.getPublishedAt(), 0);
+        Timer.builder("cache.invalidation.lag")
+                .tag("cache", message.getCacheName())
+                .tag("operation", message.getOperation().name())
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(Duration.ofMillis(lagMillis));
+        counter("cache.invalidation.received", message.getCacheName(), message.getOperation()).increment();
+    }
+
+    private Counter counter(String name, String cacheName, CacheInvalidationMessage.Operation operation) {
+        return Counter.builder(name)
+                .tag("cache", cacheName)
+                .tag("operation", operation.name())
+                .register(meterRegistry);
+    }
+}
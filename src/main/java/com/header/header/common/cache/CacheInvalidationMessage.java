@@ -0,0 +1,29 @@
+package com.header.header.common.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/*
+* 노드 간 캐시 무효화 메시지 (CacheInvalidationBus 가 Redis 채널로 JSON 전송)
+*
+* - EVICT      : cacheName 의 shopCode_subKey 삭제
+* - PUT        : 보낸 노드에서 값이 갱신됨, 받은 노드는 자기 사본을 삭제 (다음 조회 때 DB 기준으로 다시 생성)
+* - EVICT_SHOP : cacheName 에서 shopCode 의 엔트리 전체 삭제
+* */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class CacheInvalidationMessage {
+
+    public enum Operation { EVICT, PUT, EVICT_SHOP }
+
+    private String nodeId;
+    private Operation operation;
+    private String cacheName;
+    private Integer shopCode;
+    private String subKey;
+    private long publishedAt; // epoch millis, 받은 노드에서 전파 지연 측정용
+}
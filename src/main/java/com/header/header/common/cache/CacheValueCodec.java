@@ -0,0 +1,61 @@
+package com.header.header.common.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Function;
+
+/*
+* L2(Redis) 에 저장할 값의 직렬화 방식 (TwoTierCache)
+* - 자주 쓰는 값은 of(...) 로 전용 바이너리 형식을 지정 (DayOccupancy, ShopHolidayCalendar)
+* - 나머지는 jdk() (Serializable)
+* */
+public interface CacheValueCodec {
+
+    byte[] encode(Object value);
+
+    Object decode(byte[] bytes);
+
+    static <T> CacheValueCodec of(Class<T> type, Function<T, byte[]> encoder, Function<byte[], T> decoder) {
+        return new CacheValueCodec() {
+            @Override
+            public byte[] encode(Object value) {
+                return encoder.apply(type.cast(value));
+            }
+
+            @Override
+            public Object decode(byte[] bytes) {
+                return decoder.apply(bytes);
+            }
+        };
+    }
+
+    static CacheValueCodec jdk() {
+        return new CacheValueCodec() {
+            @Override
+            public byte[] encode(Object value) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                    out.writeObject(value);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return bytes.toByteArray();
+            }
+
+            @Override
+            public Object decode(byte[] bytes) {
+                try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                    return in.readObject();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (ClassNotFoundException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package com.header.header.common.cache;
+
+import com.github.benmanes.caffeine.cache.RemovalListener;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/*
+* 캐시 이름별 shopCode -> 캐시 키 목록 보조 인덱스 (ShopScopedCache 에서 사용)
+*
+* - 샵 하나를 무효화할 때 캐시 전체 키를 훑지 않고 그 샵의 키만 꺼내서 삭제
+* - 용량 초과 / 만료로 Caffeine 이 직접 지운 키는 evictionListener 로 인덱스에서도 제거
+* - 키 형식은 "shopCode_나머지" (ShopScopedCache.key)
+* */
+public class ShopCacheKeyIndex {
+
+    private final ConcurrentMap<String, ConcurrentMap<Integer, Set<String>>> index = new ConcurrentHashMap<>();
+
+    /* 샵의 현재 키 목록 (없으면 생성) */
+    Set<String> keysOf(String cacheName, Integer shopCode) {
+        return shopsOf(cacheName).computeIfAbsent(shopCode, code -> ConcurrentHashMap.newKeySet());
+    }
+
+    /* 무효화 중인지 확인용 - 같은 목록 객체가 아직 인덱스에 걸려 있으면 true */
+    boolean isCurrent(String cacheName, Integer shopCode, Set<String> keys) {
+        return shopsOf(cacheName).get(shopCode) == keys;
+    }
+
+    /* 샵의 키 목록을 인덱스에서 떼어내서 반환 (이후 들어오는 키는 새 목록에 쌓임) */
+    Set<String> detach(String cacheName, Integer shopCode) {
+        Set<String> keys = shopsOf(cacheName).remove(shopCode);
+        return keys == null ? Set.of() : keys;
+    }
+
+    void remove(String cacheName, Integer shopCode, String key) {
+        Set<String> keys = shopsOf(cacheName).get(shopCode);
+        if (keys != null) {
+            keys.remove(key);
+        }
+    }
+
+    /* CacheConfig 에서 Caffeine.evictionListener 로 등록 (자동 삭제 시에만 호출됨) */
+    public RemovalListener<Object, Object> evictionListener(String cacheName) {
+        return (key, value, cause) -> {
+            Integer shopCode = ShopScopedCache.shopCodeOf(key);
+            if (shopCode != null) {
+                remove(cacheName, shopCode, key.toString());
+            }
+        };
+    }
+
+    private ConcurrentMap<Integer, Set<String>> shopsOf(String cacheName) {
+        return index.computeIfAbsent(cacheName, name -> new ConcurrentHashMap<>());
+    }
+}
@@ -0,0 +1,173 @@
+package com.header.header.common.cache;
+
+import com.header.header.common.util.TransactionUtils;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/*
+* 샵 단위로 무효화할 수 있는 캐시 접근 (holidays, available-schedule)
+*
+* - 키는 "shopCode_subKey" 형식으로 만들고, 저장할 때 ShopCacheKeyIndex 에 샵별로 등록
+* - evictShop 은 그 샵의 키만 지우므로 O(해당 샵의 엔트리 수), 다른 샵의 캐시 / 쓰기와 무관
+* - 캐시는 L1(노드별) + L2(Redis 공유) 2단 (TwoTierCache)
+* - put / get(loader) 는 조회하면서 채우는 것이라 메시지를 보내지 않음 (L2 에는 저장되므로 다른 노드도 사용)
+* - update / evict / evictShop 은 데이터가 바뀐 것이므로 CacheInvalidationBus 로 다른 노드의 L1 도 삭제
+*   (xxxLocal 은 메시지 없이 L1 + L2 에만 적용, 커밋 전 선삭제용)
+* */
+@Component
+@RequiredArgsConstructor
+public class ShopScopedCache {
+
+    private final CacheManager cacheManager;
+    private final ShopCacheKeyIndex keyIndex;
+    private final CacheInvalidationBus invalidationBus;
+
+    @PostConstruct
+    public void init() {
+        invalidationBus.onMessage(this::applyRemote);
+    }
+
+    public static String key(Integer shopCode, Object subKey) {
+        return shopCode + "_" + subKey;
+    }
+
+    /* 키에서 shopCode 추출, 형식이 다르면 null */
+    static Integer shopCodeOf(Object key) {
+        String text = key.toString();
+        int separator = text.indexOf('_');
+        if (separator <= 0) return null;
+        try {
+            return Integer.valueOf(text.substring(0, separator));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public <T> T get(String cacheName, Integer shopCode, Object subKey, Class<T> type) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) return null;
+
+        // L2 에서 찾은 값은 L1 에 올라가므로 샵 단위 삭제 대상에 등록
+        String key = key(shopCode, subKey);
+        T value = cache.get(key, type);
+        if (value != null) {
+            register(cache, cacheName, shopCode, key);
+        }
+        return value;
+    }
+
+    /* 캐시에 없으면 loader 로 채워서 반환 - 동시에 같은 키를 요청해도 loader 는 (노드 간에도) 한 번만 호출 */
+    public <T> T get(String cacheName, Integer shopCode, Object subKey, Class<T> type, Supplier<T> loader) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) return loader.get();
+
+        String key = key(shopCode, subKey);
+        AtomicBoolean loaded = new AtomicBoolean();
+        T value = type.cast(cache.get(key, () -> {
+            loaded.set(true);
+            return loader.get();
+        }));
+        register(cache, cacheName, shopCode, key);
+
+        // 이 호출에서 채운 값만 - 트랜잭션 안에서 읽은 커밋되지 않은 데이터일 수 있으므로 롤백되면 삭제 (L2 는 모든 노드가 공유)
+        if (loaded.get() && value != null) {
+            TransactionUtils.afterRollback(() -> evict(cacheName, shopCode, subKey));
+        }
+        return value;
+    }
+
+    public void put(String cacheName, Integer shopCode, Object subKey, Object value) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) return;
+
+        String key = key(shopCode, subKey);
+        cache.put(key, value);
+        register(cache, cacheName, shopCode, key);
+    }
+
+    private void register(Cache cache, String cacheName, Integer shopCode, String key) {
+        Set<String> keys = keyIndex.keysOf(cacheName, shopCode);
+        keys.add(key);
+
+        // 등록하는 사이에 evictShop 이 목록을 떼어갔다면 인덱스에 없는 엔트리가 남지 않도록 바로 삭제
+        if (!keyIndex.isCurrent(cacheName, shopCode, keys)) {
+            cache.evict(key);
+        }
+    }
+
+    /* 값이 바뀐 경우 - 이 노드에는 새 값을 저장하고 다른 노드의 사본은 삭제 */
+    public void update(String cacheName, Integer shopCode, Object subKey, Object value) {
+        put(cacheName, shopCode, subKey, value);
+        invalidationBus.publish(CacheInvalidationMessage.Operation.PUT, cacheName, shopCode, subKey);
+    }
+
+    public void evict(String cacheName, Integer shopCode, Object subKey) {
+        evictLocal(cacheName, shopCode, subKey);
+        invalidationBus.publish(CacheInvalidationMessage.Operation.EVICT, cacheName, shopCode, subKey);
+    }
+
+    public void evictLocal(String cacheName, Integer shopCode, Object subKey) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) return;
+
+        String key = key(shopCode, subKey);
+        cache.evict(key);
+        keyIndex.remove(cacheName, shopCode, key);
+    }
+
+    /* 샵의 엔트리 전체 삭제 */
+    public void evictShop(String cacheName, Integer shopCode) {
+        evictShopLocal(cacheName, shopCode);
+        invalidationBus.publish(CacheInvalidationMessage.Operation.EVICT_SHOP, cacheName, shopCode, null);
+    }
+
+    public void evictShopLocal(String cacheName, Integer shopCode) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) return;
+
+        // L2 는 다른 노드가 채운 키까지 Redis 의 샵별 키 목록으로 삭제
+        if (cache instanceof TwoTierCache twoTierCache) {
+            twoTierCache.evictShopL2(shopCode);
+        }
+        for (String key : keyIndex.detach(cacheName, shopCode)) {
+            evictL1(cache, key);
+        }
+    }
+
+    /*
+    * 다른 노드에서 온 메시지 적용 - L2 는 보낸 노드가 이미 반영했으므로 이 노드의 L1 만 삭제
+    * (PUT 도 값은 오지 않으므로 삭제, 다음 조회 때 L2 의 새 값을 읽음)
+    * */
+    void applyRemote(CacheInvalidationMessage message) {
+        Cache cache = cacheManager.getCache(message.getCacheName());
+        if (cache == null) return;
+
+        switch (message.getOperation()) {
+            case EVICT, PUT -> {
+                String key = key(message.getShopCode(), message.getSubKey());
+                evictL1(cache, key);
+                keyIndex.remove(message.getCacheName(), message.getShopCode(), key);
+            }
+            case EVICT_SHOP -> {
+                for (String key : keyIndex.detach(message.getCacheName(), message.getShopCode())) {
+                    evictL1(cache, key);
+                }
+            }
+        }
+    }
+
+    private void evictL1(Cache cache, String key) {
+        if (cache instanceof TwoTierCache twoTierCache) {
+            twoTierCache.evictL1(key);
+        } else {
+            cache.evict(key);
+        }
+    }
+}
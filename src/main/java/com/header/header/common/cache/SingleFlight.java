@@ -0,0 +1,118 @@
+package com.header.header.common.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/*
+* 같은 조회가 동시에 몰릴 때 한 번만 실행하고 결과를 나눠 쓰는 단일 실행(single-flight) 계층
+*
+* - 키 : 이름(메소드) + 인자 목록, 먼저 들어온 요청(leader)만 실제로 실행하고 실행 중에 들어온 같은 키의 요청은 그 결과를 기다림
+* - 실행이 끝나면 키를 바로 지우므로 결과를 보관하지는 않음 (캐시가 아니라 동시 요청만 합침)
+* - leader 가 예외로 끝나면 기다리던 요청도 같은 예외
+* - 대기 시간 제한 (single-flight.wait-millis) : 넘기면 기다리지 않고 직접 실행 (leader 가 느려도 응답은 보장)
+* - 결과 객체는 여러 요청이 공유하므로 호출한 쪽에서 변경하지 말 것
+* - 메트릭
+*   single.flight.calls{name, role=leader|shared|timeout} : 건수
+*   single.flight.coalescing.ratio{name} : 전체 요청 중 다른 요청의 결과를 나눠 쓴 비율
+* */
+@Component
+@RequiredArgsConstructor
+public class SingleFlight {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${single-flight.wait-millis:3000}")
+    private long waitMillis;
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Stats> stats = new ConcurrentHashMap<>();
+
+    /* args 는 null 을 포함할 수 있음 (Arrays.asList), 키는 toString 기준 */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String name, List<?> args, Supplier<T> call) {
+        String key = name + args;
+        Stats stat = statsOf(name);
+
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, mine);
+
+        if (running == null) {
+            stat.record(meterRegistry, name, "leader");
+            try {
+                T result = call.get();
+                mine.complete(result);
+                return result;
+            } catch (RuntimeException | Error e) {
+                mine.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, mine);
+            }
+        }
+
+        try {
+            Object result = running.get(waitMillis, TimeUnit.MILLISECONDS);
+            stat.record(meterRegistry, name, "shared");
+            return (T) result;
+        } catch (TimeoutException e) {
+            stat.record(meterRegistry, name, "timeout");
+            return call.get();
+        } catch (ExecutionException e) {
+            stat.record(meterRegistry, name, "shared");
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) throw runtimeException;
+            if (cause instanceof Error error) throw error;
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("동시 요청 결과를 기다리는 중 중단되었습니다. : " + key, e);
+        }
+    }
+
+    private Stats statsOf(String name) {
+        return stats.computeIfAbsent(name, n -> {
+            Stats stat = new Stats();
+            Gauge.builder("single.flight.coalescing.ratio", stat, Stats::coalescingRatio)
+                    .tag("name", n)
+                    .register(meterRegistry);
+            return stat;
+        });
+    }
+
+    private static class Stats {
+
+        private final LongAdder total = new LongAdder();
+        private final LongAdder shared = new LongAdder();
+
+        void record(MeterRegistry meterRegistry, String name, String role) {
+            total.increment();
+            if ("shared".equals(role)) {
+                shared.increment();
+            }
+            Counter.builder("single.flight.calls")
+                    .tag("name", name)
+                    .tag("role", role)
+                    .register(meterRegistry)
+                    .increment();
+        }
+
+        double coalescingRatio() {
+            long count = total.sum();
+            return count == 0 ? 0 : (double) shared.sum() / count;
+        }
+    }
+}
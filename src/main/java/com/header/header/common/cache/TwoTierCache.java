@@ -0,0 +1,302 @@
+package com.header.header.common.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/*
+* L1(Caffeine, 노드별 소량) + L2(Redis, 모든 노드 공유) 2단 캐시 (TwoTierCacheManager 가 생성)
+*
+* - 조회 : L1 -> L2 -> (get(key, loader) 인 경우) DB, L2 에서 찾은 값은 L1 에 올림
+* - 저장 / 삭제 : L1, L2 모두 (evictL1 은 다른 노드의 변경 메시지를 받았을 때 L1 만 삭제)
+* - L2 키 : cache:{name}:{key}, 샵별 키 목록 : cache:{name}:shop:{shopCode} (evictShopL2 용, 값과 같은 TTL)
+* - 캐시 미스 폭주 방지
+*   같은 노드 : 키별로 진행 중인 로딩(inFlight)에 합류해서 한 번만 로딩
+*              L2 조회 / 락 대기 / DB 조회는 Caffeine compute 밖에서 (같은 버킷의 다른 키를 막지 않도록)
+*   노드 간   : cache:{name}:lock:{key} (SET NX PX) 를 잡은 노드만 DB 조회, 나머지는 L2 에 값이 올라올 때까지 잠깐 대기
+* - Redis 장애 시 L1 만으로 동작 (로그만 남기고 DB 조회)
+* */
+@Slf4j
+public class TwoTierCache extends AbstractValueAdaptingCache {
+
+    /* 락을 잡은 노드가 죽어도 풀리도록 */
+    private static final Duration LOCK_TTL = Duration.ofSeconds(3);
+    /* 락을 못 잡은 노드가 L2 를 기다리는 최대 시간 - 넘기면 직접 조회 */
+    private static final long LOCK_WAIT_MILLIS = 1000;
+    private static final long LOCK_POLL_MILLIS = 25;
+
+    private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final String name;
+    private final Cache<Object, Object> l1;
+    private final RedisTemplate<String, byte[]> redis;
+    private final Duration ttl;
+    private final CacheValueCodec codec;
+
+    /* 이 노드에서 로딩 중인 키 - 같은 키를 요청한 스레드는 그 결과를 기다림 */
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    public TwoTierCache(String name, Cache<Object, Object> l1, RedisTemplate<String, byte[]> redis,
+                        Duration ttl, CacheValueCodec codec) {
+        super(false);
+        this.name = name;
+        this.l1 = l1;
+        this.redis = redis;
+        this.ttl = ttl;
+        this.codec = codec;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /* L1 Caffeine 캐시 */
+    @Override
+    public Cache<Object, Object> getNativeCache() {
+        return l1;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = l1.getIfPresent(key);
+        if (value != null) return value;
+
+        value = readL2(key);
+        if (value != null) {
+            l1.put(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object value = l1.getIfPresent(key);
+        if (value != null) return (T) fromStoreValue(value);
+
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            return (T) fromStoreValue(await(running));
+        }
+
+        try {
+            // 앞선 로딩이 방금 끝났을 수 있으므로 다시 확인
+            value = l1.getIfPresent(key);
+            if (value == null) {
+                value = loadThrough(key, valueLoader);
+            }
+            publish(key, mine, value);
+            mine.complete(value);
+            return (T) fromStoreValue(value);
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Object storeValue = toStoreValue(value);
+        l1.put(key, storeValue);
+        writeL2(key, storeValue);
+    }
+
+    @Override
+    public void evict(Object key) {
+        inFlight.remove(key);
+        l1.invalidate(key);
+        redisCall("evict", () -> redis.delete(l2Key(key)));
+    }
+
+    /* 다른 노드에서 바뀐 값 - L2 는 보낸 노드가 이미 반영했으므로 L1 만 삭제 */
+    public void evictL1(Object key) {
+        inFlight.remove(key);
+        l1.invalidate(key);
+    }
+
+    /* 샵의 L2 엔트리 전체 삭제 (다른 노드가 채운 키 포함), L1 은 ShopScopedCache 가 키 인덱스로 삭제 */
+    public void evictShopL2(Integer shopCode) {
+        redisCall("evictShop", () -> {
+            String shopKey = shopKey(shopCode);
+            Set<byte[]> members = redis.opsForSet().members(shopKey);
+
+            List<String> keys = new ArrayList<>();
+            keys.add(shopKey);
+            if (members != null) {
+                members.forEach(member -> keys.add(new String(member, StandardCharsets.UTF_8)));
+            }
+            return redis.delete(keys);
+        });
+    }
+
+    @Override
+    public void clear() {
+        inFlight.clear();
+        l1.invalidateAll();
+        redisCall("clear", () -> redis.execute((RedisCallback<Void>) connection -> {
+            deleteByPattern(connection, "cache:" + name + ":*");
+            return null;
+        }));
+    }
+
+    /*
+    * 로딩한 값을 L1 에 올리고 inFlight 에서 제거
+    * 로딩 중에 evict 된 키는 (inFlight 에서 이미 빠짐) 옛 값일 수 있으므로 L1 에 올리지 않음
+    * */
+    private void publish(Object key, CompletableFuture<Object> mine, Object value) {
+        inFlight.computeIfPresent(key, (k, running) -> {
+            if (running != mine) return running;
+            if (value != null) {
+                l1.put(k, value);
+            }
+            return null;
+        });
+    }
+
+    private Object await(CompletableFuture<Object> running) {
+        try {
+            return running.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) throw runtimeException;
+            if (cause instanceof Error error) throw error;
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("캐시 로딩 결과를 기다리는 중 중단되었습니다. : " + name, e);
+        }
+    }
+
+    /* L1 에 없을 때 (노드에서 키당 한 스레드만 호출) - L2 확인 후 락을 잡은 노드만 DB 조회 */
+    private Object loadThrough(Object key, Callable<?> valueLoader) {
+        Object value = readL2(key);
+        if (value != null) return value;
+
+        String lockKey = "cache:" + name + ":lock:" + key;
+        byte[] token = UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8);
+        Boolean locked = redisCall("lock", () -> redis.opsForValue().setIfAbsent(lockKey, token, LOCK_TTL));
+
+        try {
+            if (Boolean.FALSE.equals(locked)) {
+                // 다른 노드가 조회 중 - 그 결과가 L2 에 올라오면 그대로 사용
+                value = awaitL2(key);
+                if (value != null) return value;
+            }
+
+            value = load(key, valueLoader);
+            if (value != null) {
+                writeL2(key, value);
+            }
+            return value;
+        } finally {
+            if (Boolean.TRUE.equals(locked)) {
+                redisCall("unlock", () -> redis.execute(UNLOCK_SCRIPT, List.of(lockKey), token));
+            }
+        }
+    }
+
+    private Object awaitL2(Object key) {
+        long deadline = System.currentTimeMillis() + LOCK_WAIT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(LOCK_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+
+            Object value = readL2(key);
+            if (value != null) return value;
+        }
+        return null;
+    }
+
+    private Object load(Object key, Callable<?> valueLoader) {
+        try {
+            return valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    private Object readL2(Object key) {
+        byte[] bytes = redisCall("get", () -> redis.opsForValue().get(l2Key(key)));
+        if (bytes == null) return null;
+
+        try {
+            return codec.decode(bytes);
+        } catch (RuntimeException e) {
+            // 형식이 바뀐 옛 값 등 - 미스로 처리하고 다시 채운다
+            log.warn("L2 캐시 값 변환 실패 : {} {}", name, key, e);
+            return null;
+        }
+    }
+
+    private void writeL2(Object key, Object value) {
+        byte[] bytes = codec.encode(value);
+        String l2Key = l2Key(key);
+        Integer shopCode = ShopScopedCache.shopCodeOf(key);
+
+        redisCall("put", () -> {
+            redis.opsForValue().set(l2Key, bytes, ttl);
+            if (shopCode != null) {
+                String shopKey = shopKey(shopCode);
+                redis.opsForSet().add(shopKey, l2Key.getBytes(StandardCharsets.UTF_8));
+                redis.expire(shopKey, ttl);
+            }
+            return null;
+        });
+    }
+
+    private String l2Key(Object key) {
+        return "cache:" + name + ":" + key;
+    }
+
+    private String shopKey(Integer shopCode) {
+        return "cache:" + name + ":shop:" + shopCode;
+    }
+
+    private static void deleteByPattern(RedisConnection connection, String pattern) {
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(500).build();
+        try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+            while (cursor.hasNext()) {
+                connection.keyCommands().del(cursor.next());
+            }
+        }
+    }
+
+    /* Redis 장애가 예약 / 조회 실패로 이어지지 않도록 - 실패하면 null (L2 미스, 락 없음으로 처리) */
+    private <T> T redisCall(String operation, Supplier<T> call) {
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            log.warn("L2 캐시(Redis) {} 실패 : {}", operation, name, e);
+            return null;
+        }
+    }
+}
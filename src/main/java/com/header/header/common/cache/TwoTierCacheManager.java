@@ -0,0 +1,40 @@
+package com.header.header.common.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+* CaffeineCacheManager 대신 사용하는 2단 캐시 매니저 (CacheConfig)
+* - 캐시마다 L1 Caffeine 설정, L2(Redis) TTL, 직렬화 방식을 따로 등록
+* - 등록하지 않은 이름은 null (CaffeineCacheManager 의 registerCustomCache 만 쓰던 것과 같음)
+* */
+public class TwoTierCacheManager implements CacheManager {
+
+    private final RedisTemplate<String, byte[]> redis;
+    private final Map<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(RedisTemplate<String, byte[]> redis) {
+        this.redis = redis;
+    }
+
+    public void registerCache(String name, Cache<Object, Object> l1, Duration ttl, CacheValueCodec codec) {
+        caches.put(name, new TwoTierCache(name, l1, redis, ttl, codec));
+    }
+
+    @Override
+    public org.springframework.cache.Cache getCache(String name) {
+        return caches.get(name);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+}
@@ -0,0 +1,42 @@
+package com.header.header.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+import java.util.function.Function;
+
+/*
+* 커서(keyset) 기반 페이지 응답
+* - nextCursor : 다음 페이지 요청 시 그대로 넘길 토큰 (내용은 클라이언트가 해석하지 않음), 마지막 페이지면 null
+* - totalCount : 요청한 경우에만 채움 (count 쿼리 대신 집계 테이블 등에서 계산), 아니면 null
+* */
+@Getter
+@ToString
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private final List<T> content;
+    private final String nextCursor;
+    private final boolean hasNext;
+    private final Long totalCount;
+
+    /* size + 1 건을 조회한 결과로 페이지 생성 - 한 건이 더 있으면 다음 페이지가 있음 */
+    public static <T> CursorPage<T> of(List<T> fetched, int size, Function<T, String> cursorOf) {
+        if (fetched.size() <= size) {
+            return new CursorPage<>(fetched, null, false, null);
+        }
+        List<T> content = fetched.subList(0, size);
+        return new CursorPage<>(content, cursorOf.apply(content.get(size - 1)), true, null);
+    }
+
+    /* 커서는 조회한 행 기준으로 이미 만들어졌으므로 내용만 응답 형태로 변환 */
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(content.stream().map(mapper).toList(), nextCursor, hasNext, totalCount);
+    }
+
+    public CursorPage<T> withTotalCount(long totalCount) {
+        return new CursorPage<>(content, nextCursor, hasNext, totalCount);
+    }
+}
@@ -0,0 +1,92 @@
+package com.header.header.common.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+
+/*
+* CSV 내보내기용 Writer (매출 / 고객 목록 내보내기 공용)
+*
+* - 버퍼 64KB, 엑셀에서 한글이 깨지지 않도록 UTF-8 BOM, 줄바꿈은 CRLF
+* - 행마다 value / dateTime / text 로 칸을 쓰고 endRow, 칸 사이 쉼표는 자동으로 붙임
+* - text (사용자 입력 문자열) : 쉼표 / 따옴표 / 줄바꿈이 있으면 따옴표로 감싸고,
+*   수식으로 해석될 수 있는 문자열(=, +, -, @, 탭, CR 시작)은 앞에 ' 를 붙임
+* - 출력 스트림은 닫지 않음 (flush 만), 닫는 것은 호출한 쪽에서
+* */
+public class CsvWriter {
+
+    public static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Writer writer;
+    private boolean firstColumn = true;
+
+    /* BOM 과 머리글 행을 바로 씀 */
+    public CsvWriter(OutputStream out, String header) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write('\uFEFF');
+        writer.write(header);
+        writer.write("\r\n");
+    }
+
+    /* 숫자 / 날짜 / 상태 값 (따옴표 불필요) */
+    public void value(Object value) throws IOException {
+        separate();
+        if (value != null) {
+            writer.write(value.toString());
+        }
+    }
+
+    public void dateTime(TemporalAccessor value, DateTimeFormatter format) throws IOException {
+        separate();
+        if (value != null) {
+            format.formatTo(value, writer);
+        }
+    }
+
+    /* 사용자 입력 문자열 */
+    public void text(String value) throws IOException {
+        separate();
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+
+        if (isFormulaStart(value.charAt(0))) {
+            value = "'" + value;
+        }
+
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    public void endRow() throws IOException {
+        writer.write("\r\n");
+        firstColumn = true;
+    }
+
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private void separate() throws IOException {
+        if (firstColumn) {
+            firstColumn = false;
+        } else {
+            writer.write(',');
+        }
+    }
+
+    private static boolean isFormulaStart(char first) {
+        return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+    }
+}
@@ -6,6 +6,8 @@ import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import java.util.concurrent.ThreadPoolExecutor;
+
 @Configuration
 @EnableAsync
 public class AsyncConfig {
@@ -20,4 +22,19 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /* 샵 홈 화면 요약(ShopOverviewService)의 하위 조회를 동시에 실행하는 전용 풀
+     * - 조회 하나가 DB 커넥션 하나를 쓰므로 풀 크기를 작게 제한 (요청 처리 스레드 / 커넥션 풀을 잠식하지 않도록)
+     * - 큐가 차면 호출한 스레드에서 실행하지 않고 거절 → 해당 항목만 기본값으로 응답 */
+    @Bean("overviewTaskExecutor")
+    public ThreadPoolTaskExecutor overviewExecutor(){
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(8);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("OVERVIEW-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
 }
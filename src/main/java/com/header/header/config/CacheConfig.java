@@ -1,37 +1,70 @@
 package com.header.header.config;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.header.header.common.cache.CacheValueCodec;
+import com.header.header.common.cache.ShopCacheKeyIndex;
+import com.header.header.common.cache.TwoTierCacheManager;
+import com.header.header.domain.reservation.service.DayOccupancy;
+import com.header.header.domain.reservation.service.ShopHolidayCalendar;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.RedisTemplate;
 
+import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    /*
+    * L1(Caffeine) + L2(Redis) 2단 캐시 (TwoTierCacheManager)
+    * - L1 : 노드별로 자주 쓰는 것만 짧게 보관, 다른 노드의 변경은 CacheInvalidationBus 로 삭제
+    * - L2 : 모든 노드가 공유, 재시작 / 새 인스턴스도 바로 L2 에서 읽으므로 배포 직후 DB 로 몰리지 않음
+    * */
     @Bean
-    public CacheManager cacheManager(){
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+    public CacheManager cacheManager(RedisTemplate<String, byte[]> cacheRedisTemplate){
+        TwoTierCacheManager cacheManager = new TwoTierCacheManager(cacheRedisTemplate);
 
-        // holidays 캐시 설정
-        cacheManager.registerCustomCache("holidays",
+        // holidays 캐시 설정 (샵 단위 휴일 달력, HolidayExaminationForCache)
+        cacheManager.registerCache("holidays",
                 Caffeine.newBuilder()
-                        .expireAfterWrite(48, TimeUnit.HOURS) // 휴일 정보는 자주 바뀌지 않음
-                        .maximumSize(3000) // 100개 가게의 30일치 휴일 정보 저장
-                        .build());
+                        .expireAfterWrite(30, TimeUnit.MINUTES)
+                        .maximumSize(1000) // 자주 조회되는 가게 1000개만 L1 에 보관
+                        .evictionListener(shopCacheKeyIndex().evictionListener("holidays"))
+                        .build(),
+                Duration.ofHours(48), // 휴일 정보는 자주 바뀌지 않음
+                CacheValueCodec.of(ShopHolidayCalendar.class, ShopHolidayCalendar::toBytes, ShopHolidayCalendar::fromBytes));
 
-        // available-schedule 캐시 설정
-        cacheManager.registerCustomCache("available-schedule",
+        // available-schedule 캐시 설정 (샵 + 날짜 단위 점유 현황, SlotAllocator)
+        cacheManager.registerCache("available-schedule",
                 Caffeine.newBuilder()
-                        .expireAfterWrite(24, TimeUnit.HOURS) // 예약 정보는 매일 바뀜
-                        .maximumSize(10000) // 영업 시간이 9~18 인 가게 40개의 예약 정보 저장
-                        .build());
+                        .expireAfterWrite(10, TimeUnit.MINUTES)
+                        .maximumSize(3000) // 가게 100개의 한 달치 점유 현황
+                        .evictionListener(shopCacheKeyIndex().evictionListener("available-schedule"))
+                        .build(),
+                Duration.ofHours(24), // 예약 정보는 매일 바뀜
+                CacheValueCodec.of(DayOccupancy.class, DayOccupancy::toBytes, DayOccupancy::fromBytes));
+
+        // sales-dashboard 캐시 설정 (샵 + 기간 단위 매출 대시보드, SalesDashboardAggregator)
+        cacheManager.registerCache("sales-dashboard",
+                Caffeine.newBuilder()
+                        .expireAfterWrite(30, TimeUnit.SECONDS)
+                        .maximumSize(1000)
+                        .evictionListener(shopCacheKeyIndex().evictionListener("sales-dashboard"))
+                        .build(),
+                Duration.ofMinutes(1), // 매출 변경 시 삭제되지만 대시보드는 짧게만 보관
+                CacheValueCodec.jdk());
 
         return cacheManager;
     }
 
+    // 샵 단위 무효화용 키 인덱스 (ShopScopedCache), 용량 초과 / 만료로 지워진 키는 evictionListener 로 정리
+    @Bean
+    public ShopCacheKeyIndex shopCacheKeyIndex() {
+        return new ShopCacheKeyIndex();
+    }
+
 }
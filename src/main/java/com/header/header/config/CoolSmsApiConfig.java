@@ -13,6 +13,7 @@ public class CoolSmsApiConfig {
     private String apiKey;  // coolsms.api.api-key 와 매핑
     private String apiSecret; // coolsms.api.api-secret 와 매핑
     private String baseUrl; // coolsms.api.base-url 와 매핑
+    private int sendManyChunkSize = 1000; // coolsms.api.send-many-chunk-size 와 매핑 (send-many 한 번에 보내는 건수, 최대 10000)
 
     @PostConstruct
     public void init(){
@@ -32,5 +33,8 @@ public class CoolSmsApiConfig {
         if(baseUrl == null || baseUrl.trim().isEmpty()){
             throw new IllegalStateException("CoolSMS Base Url이 설정되지 않았습니다.");
         }
+        if(sendManyChunkSize < 1 || sendManyChunkSize > 10000){
+            throw new IllegalStateException("CoolSMS send-many 청크 크기는 1 ~ 10000 사이여야 합니다.");
+        }
     }
 }
@@ -7,6 +7,8 @@ import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 @Configuration
@@ -71,6 +73,29 @@ public class RedisStreamConfig {
         return template;
     }
 
+    // 2단 캐시의 L2 저장용 (TwoTierCache), 값은 CacheValueCodec 으로 직접 만든 바이트 그대로 저장
+    @Bean
+    public RedisTemplate<String, byte[]> cacheRedisTemplate() {
+        RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(redisConnectionFactory());
+
+        StringRedisSerializer stringSerializer = new StringRedisSerializer();
+        template.setKeySerializer(stringSerializer);
+        template.setValueSerializer(RedisSerializer.byteArray());
+        template.setEnableDefaultSerializer(false);
+
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    // 캐시 무효화 메시지(pub/sub) 구독용 리스너 컨테이너 (CacheInvalidationBus), 같은 연결 팩토리 사용
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer() {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory());
+        return container;
+    }
+
     // Getters for stream and consumer configuration
     public String getDataRequestsStream() {
         return dataRequestsStream;
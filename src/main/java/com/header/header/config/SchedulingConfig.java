@@ -0,0 +1,10 @@
+package com.header.header.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/* 주기 작업 (@Scheduled) - 메세지 발송 큐 복구(MessageSendRecovery) */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
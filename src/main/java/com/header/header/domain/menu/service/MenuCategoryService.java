@@ -6,7 +6,9 @@ import com.header.header.domain.menu.entity.MenuCategoryId;
 import com.header.header.common.exception.NotFoundException;
 import com.header.header.domain.menu.repository.MenuCategoryRepository;
 import com.header.header.domain.menu.repository.MenuRepository;
+import com.header.header.domain.sales.service.SalesCubeService;
 import java.util.List;
+import java.util.Objects;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
@@ -26,6 +28,7 @@ public class MenuCategoryService {
     private final MenuCategoryRepository menuCategoryRepository;
     private final MenuRepository menuRepository;
     private final ModelMapper modelMapper;
+    private final SalesCubeService salesCubeService;
 
     /**
      * 특정 샵의 전체 메뉴 카테고리 조회
@@ -157,8 +160,15 @@ public class MenuCategoryService {
                 menuCategoryDTO.getIsActive() : existingMenuCategory.getIsActive())
             .build();
 
+        // save(merge) 가 조회한 엔티티에 새 값을 덮어쓰므로 먼저 보관
+        String beforeCategoryName = existingMenuCategory.getCategoryName();
         MenuCategory savedMenuCategory = menuCategoryRepository.save(updatedMenuCategory);
 
+        // 매출 큐브는 카테고리 이름으로 묶으므로 이름이 바뀌면 샵의 큐브 삭제
+        if (!Objects.equals(beforeCategoryName, savedMenuCategory.getCategoryName())) {
+            salesCubeService.evictAfterCommit(shopCode);
+        }
+
         return toDTO(savedMenuCategory);
     }
 
@@ -7,6 +7,8 @@ import com.header.header.domain.menu.entity.MenuCategoryId;
 import com.header.header.common.exception.NotFoundException;
 import com.header.header.domain.menu.repository.MenuRepository;
 import com.header.header.domain.menu.repository.MenuCategoryRepository;
+import com.header.header.domain.reservation.service.SlotAllocator;
+import com.header.header.domain.sales.service.SalesCubeService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
@@ -14,6 +16,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -30,6 +33,8 @@ public class MenuService {
     private final MenuRepository menuRepository;
     private final MenuCategoryRepository menuCategoryRepository;
     private final ModelMapper modelMapper;
+    private final SlotAllocator slotAllocator;
+    private final SalesCubeService salesCubeService;
 
     /**
      * 메뉴 생성
@@ -122,6 +127,9 @@ public class MenuService {
         Menu menu = menuRepository.findById(menuCode)
             .orElseThrow(() -> NotFoundException.menu(menuCode));
 
+        Integer beforeEstTime = menu.getEstTime();
+        String beforeMenuName = menu.getMenuName();
+
         // 2. 메뉴 정보 업데이트 (엔티티의 업데이트 메소드 사용)
         menu.updateMenuInfo(
             menuDTO.getMenuName(),
@@ -134,6 +142,16 @@ public class MenuService {
             menu.updateActiveStatus(menuDTO.getIsActive());
         }
 
+        // 소요 시간이 바뀌면 이 메뉴로 잡힌 예약의 점유 구간도 바뀌므로 샵의 점유 현황 캐시 삭제
+        if (!Objects.equals(beforeEstTime, menu.getEstTime())) {
+            slotAllocator.evictShop(menu.getMenuCategory().getId().getShopCode());
+        }
+
+        // 매출 큐브는 메뉴 이름으로 묶으므로 이름이 바뀌면 샵의 큐브 삭제
+        if (!Objects.equals(beforeMenuName, menu.getMenuName())) {
+            salesCubeService.evictAfterCommit(menu.getMenuCategory().getId().getShopCode());
+        }
+
         return toDTO(menu);
     }
 
@@ -12,7 +12,9 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 public class MessageHistoryResponse {
+    private Integer totalCount;
     private Integer successCount;
     private Integer failCount;
+    private boolean inProgress; // 발송 중이면 true (건수는 Redis 진행 현황 기준)
     private List<MessageReceiver> receivers;
 }
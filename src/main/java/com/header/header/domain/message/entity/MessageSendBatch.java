@@ -1,6 +1,5 @@
 package com.header.header.domain.message.entity;
 
-import com.header.header.domain.message.exception.InvalidBatchException;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -36,12 +35,4 @@ public class MessageSendBatch {
     @CreationTimestamp // 애플리케이션 레벨에서 Insert 쿼리가 발생할 때 생성 시간을 자동 주입.
     private Timestamp createdAt;
 
-    public void updateBatchResultsCount(Integer successCount,Integer failCount){
-        if(totalCount != (successCount + failCount)){
-            throw InvalidBatchException.invalidBatchCode("일치하지 않는 결과 카운트");
-        }
-        this.successCount = successCount;
-        this.failCount = failCount;
-    }
-
 }
@@ -31,6 +31,17 @@ public class ShopMessageHistory {
         관리하지 않는다. */
     private Timestamp sentAt;
 
+    /* 대량 저장(ShopMessageHistoryRepository.insertAll) 후 생성 키로 만드는 PENDING 히스토리 - 영속 상태가 아니므로 상태 변경은 historyCode 로 다시 조회해서 처리 */
+    public static ShopMessageHistory pending(Integer historyCode, Integer batchCode, Integer userCode, String msgContent){
+        ShopMessageHistory history = new ShopMessageHistory();
+        history.historyCode = historyCode;
+        history.batchCode = batchCode;
+        history.userCode = userCode;
+        history.msgContent = msgContent;
+        history.sendStatus = MessageStatus.PENDING;
+        return history;
+    }
+
     public void updateStatus(MessageStatus newStatus, String errorMessage){
         validateStatusTransition(newStatus);
 
@@ -0,0 +1,20 @@
+package com.header.header.domain.message.external.coolsms;
+
+/**
+ * 여러 건 전송(sendMany)의 한 건
+ * subject 가 있으면 LMS (제목 포함), 없으면 SMS
+ */
+public record CoolSmsMessage(String to, String text, String subject) {
+
+    public static CoolSmsMessage sms(String to, String text) {
+        return new CoolSmsMessage(to, text, null);
+    }
+
+    public static CoolSmsMessage lms(String to, String text, String subject) {
+        return new CoolSmsMessage(to, text, subject);
+    }
+
+    public boolean isLms() {
+        return subject != null;
+    }
+}
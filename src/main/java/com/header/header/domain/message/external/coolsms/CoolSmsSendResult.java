@@ -0,0 +1,18 @@
+package com.header.header.domain.message.external.coolsms;
+
+/**
+ * 여러 건 전송(sendMany)의 한 건 결과
+ * 실패한 경우 errorMessage 에 CoolSMS 상태 코드와 사유
+ */
+public record CoolSmsSendResult(boolean success, String errorMessage) {
+
+    private static final CoolSmsSendResult SUCCESS = new CoolSmsSendResult(true, null);
+
+    public static CoolSmsSendResult ok() {
+        return SUCCESS;
+    }
+
+    public static CoolSmsSendResult fail(String errorMessage) {
+        return new CoolSmsSendResult(false, errorMessage);
+    }
+}
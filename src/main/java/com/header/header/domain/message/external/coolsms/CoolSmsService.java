@@ -4,16 +4,33 @@ import com.header.header.config.CoolSmsApiConfig;
 import lombok.extern.slf4j.Slf4j;
 import net.nurigo.sdk.NurigoApp;
 import net.nurigo.sdk.message.exception.NurigoMessageNotReceivedException;
+import net.nurigo.sdk.message.model.FailedMessage;
+import net.nurigo.sdk.message.response.MultipleDetailMessageSentResponse;
 import net.nurigo.sdk.message.service.DefaultMessageService;
 import org.springframework.stereotype.Service;
 
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Service
 @Slf4j
 public class CoolSmsService {
 
+    /* 요청을 처리하지 못했다는 서버 오류 코드 (응답 본문의 errorCode) - 이 경우만 청크가 접수되지 않은 것으로 봄 */
+    private static final List<String> NOT_ACCEPTED_ERROR_CODES = List.of("InternalError", "ServiceUnavailable");
+
     private final DefaultMessageService messageService;
+    private final int sendManyChunkSize;
 
     public CoolSmsService(CoolSmsApiConfig config){
+        this.sendManyChunkSize = config.getSendManyChunkSize();
         try {
             // Check for valid URL configuration
             String baseUrl = config.getBaseUrl();
@@ -93,4 +110,129 @@ public class CoolSmsService {
             throw new RuntimeException("LMS 전송 실패: " + exception.getMessage());
         }
     }
+
+    /**
+     * 여러 건 전송 (CoolSMS send-many, 청크 단위)
+     * - sendManyChunkSize 건씩 묶어 한 번의 요청으로 전송
+     * - 결과는 messages 와 같은 순서 (i 번째 결과 = i 번째 메시지)
+     * - 접수 거부된 건(failedMessageList)은 수신번호로 찾아 실패 처리, 나머지는 성공
+     * - 청크 요청 자체가 실패한 경우
+     *   접수되지 않은 것이 확실하면 (연결 실패, 서버 내부 오류 응답) 그 청크만 한 건씩 다시 전송
+     *   그 밖의 실패 (요청 오류 응답, 응답 대기 시간 초과 등) 는 이미 접수됐을 수 있으므로 중복 발송하지 않고 청크 전체를 실패 처리
+     */
+    public List<CoolSmsSendResult> sendMany(String from, List<CoolSmsMessage> messages) {
+
+        log.info("📱 send-many 전송 시작 - 총 {}건, 청크 크기: {}", messages.size(), sendManyChunkSize);
+
+        List<CoolSmsSendResult> results = new ArrayList<>(messages.size());
+        for (int start = 0; start < messages.size(); start += sendManyChunkSize) {
+            List<CoolSmsMessage> chunk = messages.subList(start, Math.min(start + sendManyChunkSize, messages.size()));
+            results.addAll(sendChunk(from, chunk));
+        }
+
+        log.info("✅ send-many 전송 완료 - 총 {}건, 실패: {}건",
+                results.size(), results.stream().filter(result -> !result.success()).count());
+        return results;
+    }
+
+    private List<CoolSmsSendResult> sendChunk(String from, List<CoolSmsMessage> chunk) {
+
+        List<net.nurigo.sdk.message.model.Message> sdkMessages = new ArrayList<>(chunk.size());
+        for (CoolSmsMessage message : chunk) {
+            sdkMessages.add(toSdkMessage(from, message));
+        }
+
+        List<FailedMessage> failedMessageList;
+        try {
+            MultipleDetailMessageSentResponse response = messageService.send(sdkMessages, false, false);
+            failedMessageList = response == null ? null : response.getFailedMessageList();
+
+        } catch (NurigoMessageNotReceivedException exception) {
+            // 청크 전체가 접수 거부된 경우
+            failedMessageList = exception.getFailedMessageList();
+
+        } catch (Exception exception) {
+            if (isNotAccepted(exception)) {
+                log.warn("⚠️ send-many 요청 실패, 한 건씩 재전송 - {}건: {}", chunk.size(), exception.getMessage());
+                return sendOneByOne(from, chunk);
+            }
+            log.error("❌ send-many 요청 실패, 청크 전체 실패 처리 - {}건: {}", chunk.size(), exception.getMessage());
+            return failAll(chunk, "send-many 전송 실패: " + exception.getMessage());
+        }
+
+        return mapResults(chunk, failedMessageList);
+    }
+
+    private List<CoolSmsSendResult> sendOneByOne(String from, List<CoolSmsMessage> chunk) {
+        List<CoolSmsSendResult> results = new ArrayList<>(chunk.size());
+        for (CoolSmsMessage message : chunk) {
+            try {
+                if (message.isLms()) {
+                    sendLms(from, message.to(), message.text(), message.subject());
+                } else {
+                    sendSms(from, message.to(), message.text());
+                }
+                results.add(CoolSmsSendResult.ok());
+            } catch (RuntimeException exception) {
+                results.add(CoolSmsSendResult.fail(exception.getMessage()));
+            }
+        }
+        return results;
+    }
+
+    private static List<CoolSmsSendResult> failAll(List<CoolSmsMessage> chunk, String errorMessage) {
+        List<CoolSmsSendResult> results = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            results.add(CoolSmsSendResult.fail(errorMessage));
+        }
+        return results;
+    }
+
+    /* 연결하지 못했거나 (원인 중에 연결 실패), 서버가 처리하지 못했다고 응답한 경우 */
+    static boolean isNotAccepted(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException || cause instanceof UnknownHostException
+                    || cause instanceof NoRouteToHostException) {
+                return true;
+            }
+        }
+        String message = exception.getMessage();
+        return message != null && NOT_ACCEPTED_ERROR_CODES.stream().anyMatch(message::contains);
+    }
+
+    /* 실패 목록을 수신번호로 찾아 매핑, 같은 번호가 여러 건이면 앞에서부터 하나씩 */
+    private static List<CoolSmsSendResult> mapResults(List<CoolSmsMessage> chunk, List<FailedMessage> failedMessageList) {
+
+        Map<String, Deque<String>> failuresByNumber = new HashMap<>();
+        if (failedMessageList != null) {
+            for (FailedMessage failed : failedMessageList) {
+                failuresByNumber.computeIfAbsent(normalizeNumber(failed.getTo()), number -> new ArrayDeque<>())
+                        .add("[" + failed.getStatusCode() + "] " + failed.getStatusMessage());
+            }
+        }
+
+        List<CoolSmsSendResult> results = new ArrayList<>(chunk.size());
+        for (CoolSmsMessage message : chunk) {
+            Deque<String> failures = failuresByNumber.get(normalizeNumber(message.to()));
+            String failure = failures == null ? null : failures.poll();
+            results.add(failure == null ? CoolSmsSendResult.ok() : CoolSmsSendResult.fail(failure));
+        }
+        return results;
+    }
+
+    private static net.nurigo.sdk.message.model.Message toSdkMessage(String from, CoolSmsMessage message) {
+        net.nurigo.sdk.message.model.Message sdkMessage = new net.nurigo.sdk.message.model.Message();
+        sdkMessage.setFrom(from);
+        sdkMessage.setTo(message.to());
+        sdkMessage.setText(message.text());
+        if (message.isLms()) {
+            sdkMessage.setSubject(message.subject());
+        }
+        return sdkMessage;
+    }
+
+    /* CoolSMS 는 하이픈을 뺀 번호로 돌려주므로 숫자만 비교 */
+    private static String normalizeNumber(String number) {
+        return number == null ? "" : number.replaceAll("[^0-9]", "");
+    }
 }
@@ -1,6 +1,7 @@
 package com.header.header.domain.message.projection;
 
 public interface MessageBatchResultCountView {
+    Integer getTotalCount();
     Integer getSuccessCount();
     Integer getFailCount();
 }
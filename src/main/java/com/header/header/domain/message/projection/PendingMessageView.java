@@ -0,0 +1,8 @@
+package com.header.header.domain.message.projection;
+
+/* 발송 큐 복구용 - 아직 발송되지 않은(PENDING) 히스토리와 배치의 샵 코드 */
+public interface PendingMessageView {
+    Integer getHistoryCode();
+    Integer getBatchCode();
+    Integer getShopCode();
+}
@@ -3,9 +3,13 @@ package com.header.header.domain.message.repository;
 import com.header.header.domain.message.entity.MessageSendBatch;
 import com.header.header.domain.message.projection.MessageBatchListView;
 import com.header.header.domain.message.projection.MessageBatchResultCountView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.sql.Timestamp;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,13 +18,41 @@ public interface MessageSendBatchRepository extends JpaRepository<MessageSendBat
     /* 샵코드로 전체 메세지 배치 리스트 조회하기( 배치 코드 내림차순으로 ) */
     List<MessageBatchListView> findByShopCodeOrderByBatchCodeDesc(Integer shopCode);
 
+    /* 샵코드로 최근 메세지 배치 리스트 조회하기( 배치 코드 내림차순, pageable 크기만큼 ) */
+    List<MessageBatchListView> findByShopCodeOrderByBatchCodeDesc(Integer shopCode, Pageable pageable);
+
     /* 샵의 배치 리스트 중에서 배치 코드의 전체 엔티티를 조회한다. */
     Optional<MessageSendBatch> findByShopCodeAndBatchCode(Integer shopCode, Integer batchCode);
 
-    /* 샵의 배치 리스트 중에서 배치 코드의 success/failCount를 조회한다. */
-    @Query("SELECT b.successCount as historyCode, " +
-            "       b.failCount as batchCode " +
+    /* 샵의 배치 리스트 중에서 배치 코드의 total/success/failCount를 조회한다. */
+    @Query("SELECT b.totalCount as totalCount, " +
+            "       b.successCount as successCount, " +
+            "       b.failCount as failCount " +
             "FROM MessageSendBatch b " +
             "WHERE b.batchCode = :batchCode")
-    Optional<MessageBatchResultCountView> findByBatchCode(Integer batchCode);
+    Optional<MessageBatchResultCountView> findByBatchCode(@Param("batchCode") Integer batchCode);
+
+    /*
+    * 히스토리 상태로 결과 건수를 다시 계산해서 정산한다. (발송 큐 처리 후 / 복구 시)
+    * PENDING 히스토리가 남아 있으면 갱신하지 않음 - 0 이면 아직 발송 중이거나 배치가 없음
+    * 건수를 더하지 않고 다시 세므로 같은 배치를 여러 번 정산해도 결과가 같음
+    * */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE tbl_msg_send_batch b " +
+            "SET b.success_count = (SELECT COUNT(*) FROM tbl_shop_msg_history h " +
+            "                       WHERE h.batch_code = b.batch_code AND h.send_status = 'SUCCESS'), " +
+            "    b.fail_count = (SELECT COUNT(*) FROM tbl_shop_msg_history h " +
+            "                    WHERE h.batch_code = b.batch_code AND h.send_status = 'FAIL') " +
+            "WHERE b.batch_code = :batchCode " +
+            "  AND NOT EXISTS (SELECT 1 FROM tbl_shop_msg_history h " +
+            "                  WHERE h.batch_code = b.batch_code AND h.send_status = 'PENDING')",
+            nativeQuery = true)
+    int settleResultCounts(@Param("batchCode") Integer batchCode);
+
+    /* 결과 건수가 전체 건수에 못 미치는 (정산되지 않은) 배치 코드 - createdBefore 이전에 만든 배치만 */
+    @Query("SELECT b.batchCode " +
+            "FROM MessageSendBatch b " +
+            "WHERE COALESCE(b.successCount, 0) + COALESCE(b.failCount, 0) < b.totalCount " +
+            "  AND b.createdAt < :createdBefore")
+    List<Integer> findUnsettledBatchCodes(@Param("createdBefore") Timestamp createdBefore);
 }
@@ -0,0 +1,18 @@
+package com.header.header.domain.message.repository;
+
+import java.util.List;
+
+/* 메세지 히스토리 대량 저장 (JDBC, ShopMessageHistoryBulkRepositoryImpl) */
+public interface ShopMessageHistoryBulkRepository {
+
+    /**
+     * 같은 배치 / 같은 내용 / 같은 상태의 히스토리를 수신자 수만큼 한 번에 저장
+     *
+     * @param batchCode 발송 배치 코드
+     * @param userCodes 수신자 회원 코드 (순서대로 저장)
+     * @param msgContent 메세지 내용
+     * @param sendStatus 발송 상태
+     * @return 생성된 historyCode (userCodes 와 같은 순서)
+     */
+    List<Integer> insertAll(Integer batchCode, List<Integer> userCodes, String msgContent, String sendStatus);
+}
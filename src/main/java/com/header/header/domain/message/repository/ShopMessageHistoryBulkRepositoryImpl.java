@@ -0,0 +1,74 @@
+package com.header.header.domain.message.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/*
+* 메세지 히스토리 대량 저장
+*
+* - JPA save 를 수신자마다 호출하면 IDENTITY 키 때문에 INSERT 가 한 건씩 나가므로
+*   여러 행 INSERT (INSERT ... VALUES (...), (...), ...) 를 CHUNK_SIZE 건씩 실행
+* - 생성 키는 문장마다 getGeneratedKeys 로 한 번에 받음 (MySQL 은 여러 행 INSERT 의 키를 VALUES 순서대로 돌려줌)
+* - 호출하는 쪽 트랜잭션의 커넥션을 그대로 사용 (JPA 트랜잭션 안에서 호출하면 함께 커밋 / 롤백)
+* */
+@RequiredArgsConstructor
+public class ShopMessageHistoryBulkRepositoryImpl implements ShopMessageHistoryBulkRepository {
+
+    /* 한 문장에 넣는 행 수 - 내용(최대 1000자)이 행마다 반복되므로 패킷 크기를 넉넉히 넘지 않게 제한 */
+    private static final int CHUNK_SIZE = 500;
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO tbl_shop_msg_history (batch_code, user_code, msg_content, send_status) VALUES ";
+    private static final String VALUES_ROW = "(?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Integer> insertAll(Integer batchCode, List<Integer> userCodes, String msgContent, String sendStatus) {
+        if (userCodes.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Integer> historyCodes = new ArrayList<>(userCodes.size());
+        for (int from = 0; from < userCodes.size(); from += CHUNK_SIZE) {
+            List<Integer> chunk = userCodes.subList(from, Math.min(from + CHUNK_SIZE, userCodes.size()));
+            historyCodes.addAll(insertChunk(batchCode, chunk, msgContent, sendStatus));
+        }
+        return historyCodes;
+    }
+
+    private List<Integer> insertChunk(Integer batchCode, List<Integer> userCodes, String msgContent, String sendStatus) {
+        String sql = INSERT_PREFIX + String.join(", ", Collections.nCopies(userCodes.size(), VALUES_ROW));
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            int index = 1;
+            for (Integer userCode : userCodes) {
+                ps.setInt(index++, batchCode);
+                ps.setInt(index++, userCode);
+                ps.setString(index++, msgContent);
+                ps.setString(index++, sendStatus);
+            }
+            return ps;
+        }, keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != userCodes.size()) {
+            throw new IllegalStateException("메세지 히스토리 생성 키 수가 저장 건수와 다릅니다. : "
+                    + keys.size() + " / " + userCodes.size());
+        }
+        return keys.stream()
+                .map(key -> ((Number) key.values().iterator().next()).intValue())
+                .toList();
+    }
+}
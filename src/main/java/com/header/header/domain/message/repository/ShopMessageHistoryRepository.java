@@ -1,16 +1,20 @@
 package com.header.header.domain.message.repository;
 
 import com.header.header.domain.message.entity.ShopMessageHistory;
+import com.header.header.domain.message.enums.MessageStatus;
 import com.header.header.domain.message.projection.MessageContentView;
 import com.header.header.domain.message.projection.MessageHistoryListView;
+import com.header.header.domain.message.projection.PendingMessageView;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface ShopMessageHistoryRepository extends JpaRepository<ShopMessageHistory, Integer> {
+public interface ShopMessageHistoryRepository extends JpaRepository<ShopMessageHistory, Integer>, ShopMessageHistoryBulkRepository {
 
     @Query("SELECT h.historyCode as historyCode, " +
             "       h.batchCode as batchCode, " +
@@ -27,4 +31,19 @@ public interface ShopMessageHistoryRepository extends JpaRepository<ShopMessageH
     Optional<MessageContentView> findByBatchCodeAndHistoryCode(Integer batchCode, Integer historyCode);
 
     Optional<ShopMessageHistory> findByHistoryCode(Integer historyCode);
+
+    /* 발송 큐에서 가져온 히스토리 중 아직 발송 상태가 status 인 것만 (이미 처리된 항목은 건너뛰기 위해) */
+    List<ShopMessageHistory> findByHistoryCodeInAndSendStatus(Collection<Integer> historyCodes, MessageStatus status);
+
+    /* 발송 상태가 status 인 히스토리와 샵 코드 - createdBefore 이전에 만든 배치만 (발송 큐 복구용) */
+    @Query("SELECT h.historyCode as historyCode, " +
+            "       h.batchCode as batchCode, " +
+            "       b.shopCode as shopCode " +
+            "FROM ShopMessageHistory h " +
+            "INNER JOIN MessageSendBatch b ON h.batchCode = b.batchCode " +
+            "WHERE h.sendStatus = :status " +
+            "  AND b.createdAt < :createdBefore " +
+            "ORDER BY h.historyCode")
+    List<PendingMessageView> findByStatusCreatedBefore(@Param("status") MessageStatus status,
+                                                       @Param("createdBefore") Timestamp createdBefore);
 }
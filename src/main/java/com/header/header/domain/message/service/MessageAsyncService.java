@@ -1,19 +1,21 @@
 package com.header.header.domain.message.service;
 
+import com.header.header.common.util.TransactionUtils;
 import com.header.header.domain.message.dto.MessageDTO;
 import com.header.header.domain.message.dto.MessageResponse;
 import com.header.header.domain.message.dto.MessageSendBatchDTO;
-import com.header.header.domain.message.dto.ShopMessageHistoryDTO;
 import com.header.header.domain.message.entity.ShopMessageHistory;
 import com.header.header.domain.message.enums.MessageStatus;
+import com.header.header.domain.message.external.coolsms.CoolSmsMessage;
+import com.header.header.domain.message.external.coolsms.CoolSmsSendResult;
 import com.header.header.domain.message.external.coolsms.CoolSmsService;
 import com.header.header.domain.user.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
@@ -22,9 +24,14 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class MessageAsyncService {
 
+    private static final String SENDER_NUMBER = "010-3908-5624";  // 발신번호 (테스트용)
+    private static final String LMS_SUBJECT = "알림 메시지";        // LMS 제목 (테스트용)
+
     private final CoolSmsService coolSmsService;
     private final MessageHistoryService messageHistoryService;
     private final MessageSendBatchService messageSendBatchService;
+    private final MessageBatchProgress messageBatchProgress;
+    private final MessageSendQueue messageSendQueue;
     private final UserService userService;
 
     /**
@@ -46,87 +53,80 @@ public class MessageAsyncService {
                 .build();
 
         MessageSendBatchDTO createdBatchDTO = messageSendBatchService.createMessageBatch(batchDTO);
+        messageBatchProgress.start(createdBatchDTO.getBatchCode(), request.getTo().size());
 
-        // 2. history 저장 : 다수의 인원일 경우 그 수만큼 저장한다.
-        List<ShopMessageHistory> historyList = new ArrayList<>();
-
-        for(Integer userCode : request.getTo()){
-            historyList.add(saveAsPending(userCode, request.getText(), createdBatchDTO));
-        }
+        // 2. history 저장 : 수신자 전체를 PENDING 으로 한 번에 저장 (여러 행 INSERT)
+        List<ShopMessageHistory> historyList = messageHistoryService.createPendingHistories(
+                createdBatchDTO.getBatchCode(), request.getTo(), request.getText());
 
         // 3. PENDING으로 응답
         MessageResponse response = new MessageResponse(MessageStatus.PENDING.toString());
 
-        // 4. ✅ 단일 비동기 작업으로 모든 메시지 처리 (배치 처리)
-        processAllMessagesAsync(historyList, request, taskId, createdBatchDTO.getBatchCode());
+        // 4. 커밋 후 발송 큐(Redis Stream)에 넣기 - 전송은 컨슈머(MessageSendWorker)가 처리
+        //    큐에 넣지 못해도 히스토리는 PENDING 으로 남으므로 복구(MessageSendRecovery) 때 다시 넣음
+        TransactionUtils.afterCommit(() -> {
+            try {
+                messageSendQueue.enqueue(request.getFrom(), historyList);
+            } catch (Exception e) {
+                log.error("[{}] 발송 큐 등록 실패 - BatchCode: {}", taskId, createdBatchDTO.getBatchCode(), e);
+            }
+        });
 
         log.info("⚡ [{}] PENDING 응답 즉시 반환", taskId);
         return response;
     }
 
-    private ShopMessageHistory saveAsPending(Integer userCode, String contents, MessageSendBatchDTO batchDTO){
-
-        ShopMessageHistoryDTO historyDTO = ShopMessageHistoryDTO.builder()
-                .batchCode(batchDTO.getBatchCode())
-                .userCode(userCode)
-                .msgContent(contents)
-                .sendStatus(MessageStatus.PENDING.toString())
-                .build();
-
-        return messageHistoryService.createMessageHistory(historyDTO);
-    }
-
     /**
-     * 배치로 모든 메시지 처리 (단일 스레드에서 순차 처리)
+     * 히스토리 묶음 전송 (발송 큐 컨슈머가 발송 토큰을 받은 뒤 호출)
+     * 전화번호를 찾은 건만 모아 CoolSMS send-many 로 전송 후 건별 결과를 History 와 진행 현황에 반영
+     * 배치 결과 정산은 호출한 쪽에서 (MessageSendBatchService.settleBatch)
      */
-    @Async("messageTaskExecutor")
-    public void processAllMessagesAsync(List<ShopMessageHistory> historyList,
-                                        MessageDTO request,
-                                        String taskId,
-                                        Integer batchCode){
-        log.info("📦 [{}] 전체 메시지 처리 시작 - 총 {}건", taskId, historyList.size());
+    public void sendHistories(List<ShopMessageHistory> historyList, String taskId){
+        log.info("📦 [{}] 메시지 처리 시작 - 총 {}건", taskId, historyList.size());
 
         int successCount = 0;
         int failCount = 0;
 
+        // 1. 전화번호 조회, 못 찾은 건은 바로 실패 처리
+        List<ShopMessageHistory> sendTargets = new ArrayList<>(historyList.size());
+        List<CoolSmsMessage> messages = new ArrayList<>(historyList.size());
         for(ShopMessageHistory history : historyList) {
             try {
-                // SMS 전송 시도
-                sendSingleMessage(history, request, taskId);
-
-                // 성공 처리
-                successCount++;
-                updateMessageStatus(history, taskId, MessageStatus.SUCCESS, null);
-
-                // API 제한 방지를 위한 딜레이
-                if((successCount + failCount) % 10 == 0) {
-                    Thread.sleep(200); // 10건마다 0.2초 대기
-                }
+                messages.add(toCoolSmsMessage(history, taskId));
+                sendTargets.add(history);
 
             } catch (Exception e) {
-                // 실패 처리
                 failCount++;
-                log.error("[{}] 메시지 전송 실패 - UserCode: {}, Error: {}",
-                        taskId, history.getUserCode(), e.getMessage());
                 updateMessageStatus(history, taskId, MessageStatus.FAIL, e);
+                messageBatchProgress.record(history.getBatchCode(), false);
             }
         }
 
-        // 배치 결과 업데이트
-        updateBatchResult(request.getFrom(), batchCode, successCount, failCount, taskId);
+        // 2. 전송 (결과는 messages 와 같은 순서)
+        List<CoolSmsSendResult> results = sendMany(messages, taskId);
+
+        // 3. 건별 결과 반영
+        for(int i = 0; i < sendTargets.size(); i++) {
+            ShopMessageHistory history = sendTargets.get(i);
+            CoolSmsSendResult result = results.get(i);
 
-        log.info("✅ [{}] 전체 처리 완료 - 성공: {}건, 실패: {}건", taskId, successCount, failCount);
+            if(result.success()) {
+                successCount++;
+                updateMessageStatus(history, taskId, MessageStatus.SUCCESS, null);
+            } else {
+                failCount++;
+                updateMessageStatus(history, taskId, MessageStatus.FAIL, new RuntimeException(result.errorMessage()));
+            }
+            messageBatchProgress.record(history.getBatchCode(), result.success());
+        }
+
+        log.info("✅ [{}] 메시지 처리 완료 - 성공: {}건, 실패: {}건", taskId, successCount, failCount);
     }
 
     /**
-     * 단일 메시지 전송 (Exception 발생 시 throws)
+     * 전송할 메시지 생성 (전화번호가 없으면 Exception)
      */
-    private void sendSingleMessage(ShopMessageHistory history,
-                                   MessageDTO request,
-                                   String taskId) throws Exception {
-
-        log.debug("🔄 [{}] 메시지 처리 시작 - UserCode: {}, Thread: {}",
-                taskId, history.getUserCode(), Thread.currentThread().getName());
+    private CoolSmsMessage toCoolSmsMessage(ShopMessageHistory history, String taskId) {
 
         // 1. 전화번호 조회
         String phoneNumber = userService.getPhoneByUserCode(history.getUserCode());
@@ -139,27 +139,28 @@ public class MessageAsyncService {
         // 2. 메시지 타입 결정 (SMS vs LMS)
         boolean isLms = history.getMsgContent().length() > 90;
 
-        // 3. CoolSMS SDK로 실제 전송
+        return isLms
+                ? CoolSmsMessage.lms(phoneNumber, history.getMsgContent(), LMS_SUBJECT)
+                : CoolSmsMessage.sms(phoneNumber, history.getMsgContent());
+    }
+
+    /**
+     * CoolSMS 여러 건 전송, 예상하지 못한 예외면 전체를 같은 사유로 실패 처리
+     */
+    private List<CoolSmsSendResult> sendMany(List<CoolSmsMessage> messages, String taskId) {
+        if (messages.isEmpty()) {
+            return List.of();
+        }
         try {
-            if (isLms) {
-                coolSmsService.sendLms(
-                        "010-3908-5624",  // 발신번호 (테스트용)
-                        phoneNumber,
-                        history.getMsgContent(),
-                        "알림 메시지"      // 제목 (테스트용)
-                );
-            } else {
-                coolSmsService.sendSms(
-                        "010-3908-5624",  // 발신번호 (테스트용)
-                        phoneNumber,
-                        history.getMsgContent()
-                );
+            List<CoolSmsSendResult> results = coolSmsService.sendMany(SENDER_NUMBER, messages);
+            if (results.size() != messages.size()) {
+                throw new IllegalStateException("전송 결과 건수가 요청 건수와 다릅니다: " + results.size() + "/" + messages.size());
             }
-
-            log.debug("📤 [{}] SMS 전송 API 호출 완료 - UserCode: {}", taskId, history.getUserCode());
+            return results;
 
         } catch (Exception e) {
-            throw new RuntimeException("SMS 전송 실패: " + e.getMessage(), e);
+            log.error("[{}] send-many 전송 중 오류", taskId, e);
+            return Collections.nCopies(messages.size(), CoolSmsSendResult.fail(e.getMessage()));
         }
     }
 
@@ -203,28 +204,6 @@ public class MessageAsyncService {
         }
     }
 
-    /**
-     * 배치 결과 업데이트
-     */
-    private void updateBatchResult(Integer shopCode, Integer batchCode, int successCount, int failCount, String taskId) {
-        try {
-            // 성공한 건수만큼 업데이트
-            for(int i = 0; i < successCount; i++) {
-                messageSendBatchService.updateMessageBatchResults(shopCode, batchCode, true);
-            }
-
-            // 실패한 건수만큼 업데이트
-            for(int i = 0; i < failCount; i++) {
-                messageSendBatchService.updateMessageBatchResults(shopCode, batchCode, false);
-            }
-
-            log.info("📊 [{}] 배치 결과 업데이트 완료 - 성공: {}, 실패: {}", taskId, successCount, failCount);
-
-        } catch (Exception e) {
-            log.error("[{}] 배치 결과 업데이트 중 오류", taskId, e);
-        }
-    }
-
     /**
      * 작업 ID 생성
      */
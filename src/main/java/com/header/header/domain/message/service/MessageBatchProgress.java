@@ -0,0 +1,105 @@
+package com.header.header.domain.message.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/*
+* 발송 중인 메세지 배치의 실시간 진행 현황 - Redis 해시 (message-batch-progress:{batchCode})
+*
+* - 필드 : total / success / fail, 메세지 한 건 처리마다 HINCRBY 로 +1 (MySQL 배치 행은 발송이 끝났을 때 한 번만 갱신)
+* - 발송이 끝나면 삭제 - 키가 없으면 발송 완료(또는 진행 정보 없음)이므로 DB 값을 사용
+*   삭제 / 만료된 뒤 늦게 온 기록은 버림 (키를 다시 만들면 TTL 없이 남으므로), 기록할 때마다 TTL 연장
+* - 진행 현황은 보조 정보이므로 Redis 오류는 로그만 남기고 발송은 계속 (TTL 로 남은 키 정리)
+* */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MessageBatchProgress {
+
+    private static final String KEY_PREFIX = "message-batch-progress:";
+    private static final String TOTAL = "total";
+    private static final String SUCCESS = "success";
+    private static final String FAIL = "fail";
+
+    /* 키가 있을 때만 +1 하고 TTL 연장 (KEYS[1] : 진행 현황 키, ARGV[1] : 필드, ARGV[2] : TTL ms) */
+    private static final RedisScript<Long> RECORD_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('exists', KEYS[1]) == 0 then
+                return 0
+            end
+            redis.call('hincrby', KEYS[1], ARGV[1], 1)
+            redis.call('pexpire', KEYS[1], ARGV[2])
+            return 1
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisStreamTemplate;
+
+    @Value("${message.batch-progress.ttl-minutes:1440}")
+    private long ttlMinutes;
+
+    public record Progress(int totalCount, int successCount, int failCount) {}
+
+    public void start(Integer batchCode, int totalCount) {
+        try {
+            String key = key(batchCode);
+            redisStreamTemplate.opsForHash().putAll(key, Map.of(
+                    TOTAL, String.valueOf(totalCount),
+                    SUCCESS, "0",
+                    FAIL, "0"));
+            redisStreamTemplate.expire(key, Duration.ofMinutes(ttlMinutes));
+        } catch (RuntimeException e) {
+            log.warn("메세지 배치 진행 현황 생성 실패 : batchCode={}", batchCode, e);
+        }
+    }
+
+    public void record(Integer batchCode, boolean success) {
+        try {
+            redisStreamTemplate.execute(RECORD_SCRIPT, List.of(key(batchCode)),
+                    success ? SUCCESS : FAIL, String.valueOf(Duration.ofMinutes(ttlMinutes).toMillis()));
+        } catch (RuntimeException e) {
+            log.warn("메세지 배치 진행 현황 갱신 실패 : batchCode={}", batchCode, e);
+        }
+    }
+
+    public void finish(Integer batchCode) {
+        try {
+            redisStreamTemplate.delete(key(batchCode));
+        } catch (RuntimeException e) {
+            log.warn("메세지 배치 진행 현황 삭제 실패 : batchCode={}", batchCode, e);
+        }
+    }
+
+    /* 발송 중이면 진행 현황, 끝났거나 Redis 를 읽을 수 없으면 empty */
+    public Optional<Progress> find(Integer batchCode) {
+        try {
+            Map<Object, Object> fields = redisStreamTemplate.opsForHash().entries(key(batchCode));
+            if (fields.isEmpty() || !fields.containsKey(TOTAL)) {
+                return Optional.empty();
+            }
+            return Optional.of(new Progress(
+                    intValue(fields.get(TOTAL)),
+                    intValue(fields.get(SUCCESS)),
+                    intValue(fields.get(FAIL))));
+        } catch (RuntimeException e) {
+            log.warn("메세지 배치 진행 현황 조회 실패 : batchCode={}", batchCode, e);
+            return Optional.empty();
+        }
+    }
+
+    private static String key(Integer batchCode) {
+        return KEY_PREFIX + batchCode;
+    }
+
+    private static int intValue(Object value) {
+        return value == null ? 0 : Integer.parseInt(value.toString());
+    }
+}
@@ -2,15 +2,19 @@ package com.header.header.domain.message.service;
 
 import com.header.header.domain.message.dto.ShopMessageHistoryDTO;
 import com.header.header.domain.message.entity.ShopMessageHistory;
+import com.header.header.domain.message.enums.MessageStatus;
 import com.header.header.domain.message.exception.InvalidBatchException;
 import com.header.header.domain.message.projection.MessageContentView;
 import com.header.header.domain.message.projection.MessageHistoryListView;
+import com.header.header.domain.message.projection.PendingMessageView;
 import com.header.header.domain.message.repository.ShopMessageHistoryRepository;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -51,6 +55,31 @@ public class MessageHistoryService {
                 .orElseThrow(() -> InvalidBatchException.invalidBatchCode("해당 수신자 정보가 없습니다.")); // todo. Exception 수정사항!!
     }
 
+    /**
+     * 발송 큐에서 가져온 히스토리 중 아직 PENDING 인 것만 조회 (다시 배달된 항목 중 이미 처리된 건은 제외)
+     *
+     * @param historyCodes 히스토리 코드
+     * @return PENDING 히스토리
+     */
+    @Transactional(readOnly = true)
+    public List<ShopMessageHistory> findPendingHistories(List<Integer> historyCodes){
+        if(historyCodes.isEmpty()){
+            return List.of();
+        }
+        return shopMessageHistoryRepository.findByHistoryCodeInAndSendStatus(historyCodes, MessageStatus.PENDING);
+    }
+
+    /**
+     * createdBefore 이전에 만든 배치의 PENDING 히스토리 (발송 큐 복구용)
+     *
+     * @param createdBefore 배치 생성 시각 기준
+     * @return 히스토리 / 배치 / 샵 코드
+     */
+    @Transactional(readOnly = true)
+    public List<PendingMessageView> findPendingCreatedBefore(Timestamp createdBefore){
+        return shopMessageHistoryRepository.findByStatusCreatedBefore(MessageStatus.PENDING, createdBefore);
+    }
+
     /* Creat */
     /**
      * 수신자에게 메세지 발송 후 히스토리 생성
@@ -67,6 +96,31 @@ public class MessageHistoryService {
         return result;
     }
 
+    /**
+     * 발송 배치의 수신자 전체 PENDING 히스토리를 한 트랜잭션에서 대량 생성
+     * 수신자마다 save 하지 않고 여러 행 INSERT 로 저장합니다.
+     *
+     * @param batchCode 발송 배치 코드
+     * @param userCodes 수신자 회원 코드
+     * @param msgContent 메세지 내용
+     * @return 생성된 히스토리 (userCodes 와 같은 순서, 발송 처리용)
+     */
+    @Transactional
+    public List<ShopMessageHistory> createPendingHistories(Integer batchCode, List<Integer> userCodes, String msgContent){
+        if(batchCode == null || userCodes == null){
+            throw new IllegalArgumentException("batchCode와 수신자 목록은 필수입니다.");
+        }
+
+        List<Integer> historyCodes = shopMessageHistoryRepository.insertAll(
+                batchCode, userCodes, msgContent, MessageStatus.PENDING.name());
+
+        List<ShopMessageHistory> histories = new ArrayList<>(historyCodes.size());
+        for (int i = 0; i < historyCodes.size(); i++) {
+            histories.add(ShopMessageHistory.pending(historyCodes.get(i), batchCode, userCodes.get(i), msgContent));
+        }
+        return histories;
+    }
+
     /* Update */
     /**
      * 메세지 히스토리 상태 변경(RESERVED, FAIL, SUCCESS, PENDING)
@@ -10,11 +10,14 @@ import com.header.header.domain.message.projection.MessageBatchResultCountView;
 import com.header.header.domain.message.repository.MessageSendBatchRepository;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -23,6 +26,7 @@ public class MessageSendBatchService {
     private final MessageTemplateService messageTemplateService;
     private final MessageSendBatchRepository messageSendBatchRepository;
     private final MessageHistoryService messageHistoryService;
+    private final MessageBatchProgress messageBatchProgress;
     private final ModelMapper modelMapper;
 
     /* FACADE */
@@ -48,10 +52,15 @@ public class MessageSendBatchService {
         // 2. 배치 정보 조회.
         MessageBatchResultCountView batchDetail = getBatchDetails(shopCode, batchCode);
 
-        // 3. 응답 생성 및 반환
+        // 3. 발송 중이면 Redis 진행 현황의 건수 (DB 건수는 발송이 끝날 때 한 번에 반영)
+        Optional<MessageBatchProgress.Progress> progress = messageBatchProgress.find(batchCode);
+
+        // 4. 응답 생성 및 반환
         return MessageHistoryResponse.builder()
-                .successCount(batchDetail.getSuccessCount())
-                .failCount(batchDetail.getFailCount())
+                .totalCount(batchDetail.getTotalCount())
+                .successCount(progress.map(MessageBatchProgress.Progress::successCount).orElse(batchDetail.getSuccessCount()))
+                .failCount(progress.map(MessageBatchProgress.Progress::failCount).orElse(batchDetail.getFailCount()))
+                .inProgress(progress.isPresent())
                 .receivers(receiverList)
                 .build();
     }
@@ -74,6 +83,21 @@ public class MessageSendBatchService {
         return messageSendBatchRepository.findByShopCodeOrderByBatchCodeDesc(shopCode);
     }
 
+    /**
+     * 최근 메세지 배치 리스트 조회
+     *
+     * @param shopCode 어떤 샵의 배치 리스트를 가져올지
+     * @param limit 최대 개수
+     * @return List<MessageBatchListView> 배치 코드 내림차순
+     */
+    public List<MessageBatchListView> getRecentBatchListByShop(Integer shopCode, int limit){
+        if (shopCode == null) {
+            throw new IllegalArgumentException("shopCode는 필수입니다.");
+        }
+
+        return messageSendBatchRepository.findByShopCodeOrderByBatchCodeDesc(shopCode, PageRequest.of(0, limit));
+    }
+
     /**
      * 메세지 배치 상세 조회( failCount와 successCount만 조회한다. )
      *
@@ -120,32 +144,28 @@ public class MessageSendBatchService {
 
     /* UPDATE */
     /**
-     * 사용자가 메세지 요청시 배치가 생성된다
-     * INDEX 사용을 위해 샵 코드, 배치 코드를 둘 다 사용해서 조회
-     * @param shopCode 샵 코드
+     * 히스토리 상태로 배치의 성공/실패 건수를 정산한다. (발송 큐 처리 후 / 복구 시)
+     * PENDING 히스토리가 남아 있으면 정산하지 않으며, 정산되면 발송 진행 현황을 삭제한다.
      * @param batchCode 배치 코드
-     * @param result ( true = 성공, false = 실패 )
+     * @return 정산 여부
      * */
     @Transactional
-    protected MessageSendBatchDTO updateMessageBatchResults(Integer shopCode, Integer batchCode, boolean result){
-        if (shopCode == null || batchCode == null) {
-            throw new IllegalArgumentException("shopCode와 batchCode는 필수입니다.");
-        }
-
-        MessageSendBatch foundMessageBatch = messageSendBatchRepository.findByShopCodeAndBatchCode(shopCode, batchCode)
-                .orElseThrow(() -> InvalidBatchException.invalidBatchCode("존재하지 않는 배치 코드 입니다."));
-
-        Integer successCount = foundMessageBatch.getSuccessCount();
-        Integer failCount = foundMessageBatch.getFailCount();
-        // 결과 업데이트
-        if(result){
-            foundMessageBatch.updateBatchResultsCount( successCount+ 1, failCount);
-        }
-        else{
-            foundMessageBatch.updateBatchResultsCount( successCount, failCount + 1);
+    protected boolean settleBatch(Integer batchCode){
+        boolean settled = messageSendBatchRepository.settleResultCounts(batchCode) > 0;
+        if (settled) {
+            messageBatchProgress.finish(batchCode);
         }
+        return settled;
+    }
 
-        return modelMapper.map(foundMessageBatch, MessageSendBatchDTO.class);
+    /**
+     * createdBefore 이전에 만든 배치 중 정산되지 않은 배치 코드를 조회한다. (발송 큐 복구용)
+     * @param createdBefore 배치 생성 시각 기준
+     * @return 배치 코드 목록
+     * */
+    @Transactional(readOnly = true)
+    protected List<Integer> findUnsettledBatchCodes(Timestamp createdBefore){
+        return messageSendBatchRepository.findUnsettledBatchCodes(createdBefore);
     }
 
     /* DELETE ❌*/
@@ -0,0 +1,225 @@
+package com.header.header.domain.message.service;
+
+import com.header.header.domain.message.entity.ShopMessageHistory;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+* 메세지 발송 큐 - Redis Stream + 컨슈머 그룹 (노드가 재시작되어도 남는 작업 큐)
+*
+* - 항목 하나 = 히스토리 한 건 (historyCode / batchCode / shopCode), 내용과 수신자는 처리할 때 DB 에서 읽음
+* - 컨슈머(MessageSendWorker)가 XREADGROUP 으로 가져가고, 처리가 끝나면 XACK + XDEL
+*   스트림에는 아직 처리가 끝나지 않은 항목만 남음 → 복구(MessageSendRecovery) 때 큐에 있는 히스토리인지 확인
+* - 가져간 컨슈머가 죽으면 항목은 그룹의 pending 목록에 남고, minIdle 이 지나면 다른 컨슈머가 claimStale 로 가져감
+* - 설정 : message.send-queue.stream (스트림 키), message.send-queue.group (컨슈머 그룹)
+* */
+@Slf4j
+@Component
+public class MessageSendQueue {
+
+    private static final String HISTORY_CODE = "historyCode";
+    private static final String BATCH_CODE = "batchCode";
+    private static final String SHOP_CODE = "shopCode";
+
+    /* queuedHistoryCodes 에서 한 번에 읽는 항목 수 */
+    private static final int SCAN_COUNT = 1000;
+
+    private final RedisTemplate<String, String> redisStreamTemplate;
+    private final String streamKey;
+    private final String group;
+
+    public MessageSendQueue(RedisTemplate<String, String> redisStreamTemplate,
+                            @Value("${message.send-queue.stream:message-send-queue}") String streamKey,
+                            @Value("${message.send-queue.group:message-senders}") String group) {
+        this.redisStreamTemplate = redisStreamTemplate;
+        this.streamKey = streamKey;
+        this.group = group;
+    }
+
+    /* 큐에서 가져온 항목 (deliveryCount : 이 항목이 컨슈머에게 전달된 횟수, 처음 가져가면 1) */
+    public record QueuedMessage(RecordId id, Integer historyCode, Integer batchCode, Integer shopCode,
+                                long deliveryCount) {}
+
+    /* 스트림과 컨슈머 그룹 생성 (이미 있으면 그대로), 스트림이 지워진 뒤 다시 호출해도 됨 */
+    @PostConstruct
+    public void createGroup() {
+        try {
+            redisStreamTemplate.execute((RedisCallback<Object>) connection -> {
+                connection.streamCommands().xGroupCreate(bytes(streamKey), group, ReadOffset.from("0"), true);
+                return null;
+            });
+            log.info("메세지 발송 큐 컨슈머 그룹 생성 : {} / {}", streamKey, group);
+        } catch (RuntimeException e) {
+            String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            if (message != null && message.contains("BUSYGROUP")) {
+                return;
+            }
+            log.warn("메세지 발송 큐 컨슈머 그룹 생성 실패 : {} / {}", streamKey, group, e);
+        }
+    }
+
+    /**
+     * 발송할 히스토리를 큐에 넣는다. (한 번의 파이프라인으로 XADD)
+     * @param shopCode 보내는 샵
+     * @param histories PENDING 히스토리
+     */
+    public void enqueue(Integer shopCode, List<ShopMessageHistory> histories) {
+        if (histories.isEmpty()) {
+            return;
+        }
+        byte[] key = bytes(streamKey);
+        redisStreamTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (ShopMessageHistory history : histories) {
+                xAdd(connection, key, history.getHistoryCode(), history.getBatchCode(), shopCode);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 복구용 - 히스토리 / 배치 / 샵 코드로 큐에 넣는다.
+     */
+    public void enqueue(List<QueuedMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        byte[] key = bytes(streamKey);
+        redisStreamTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (QueuedMessage message : messages) {
+                xAdd(connection, key, message.historyCode(), message.batchCode(), message.shopCode());
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 새 항목을 최대 count 건 가져온다. 없으면 block 동안 기다림
+     */
+    public List<QueuedMessage> read(String consumer, int count, Duration block) {
+        List<MapRecord<String, Object, Object>> records = redisStreamTemplate.opsForStream().read(
+                Consumer.from(group, consumer),
+                StreamReadOptions.empty().count(count).block(block),
+                StreamOffset.create(streamKey, ReadOffset.lastConsumed()));
+        if (records == null) {
+            return List.of();
+        }
+        List<QueuedMessage> messages = new ArrayList<>(records.size());
+        for (MapRecord<String, Object, Object> record : records) {
+            messages.add(toMessage(record, 1));
+        }
+        return messages;
+    }
+
+    /**
+     * 다른 컨슈머가 가져간 뒤 minIdle 이상 ACK 하지 않은 항목을 최대 count 건 가져온다. (처리하던 노드가 죽은 경우)
+     */
+    public List<QueuedMessage> claimStale(String consumer, Duration minIdle, int count) {
+        PendingMessages pending = redisStreamTemplate.opsForStream().pending(streamKey, group, Range.unbounded(), count);
+        if (pending == null || pending.isEmpty()) {
+            return List.of();
+        }
+
+        List<RecordId> staleIds = new ArrayList<>();
+        Map<RecordId, Long> deliveryCounts = new HashMap<>();
+        for (PendingMessage message : pending) {
+            if (message.getElapsedTimeSinceLastDelivery().compareTo(minIdle) >= 0) {
+                staleIds.add(message.getId());
+                deliveryCounts.put(message.getId(), message.getTotalDeliveryCount());
+            }
+        }
+        if (staleIds.isEmpty()) {
+            return List.of();
+        }
+
+        // XCLAIM 도 minIdle 을 다시 확인하므로 그 사이 다른 컨슈머가 가져간 항목은 빠짐
+        List<MapRecord<String, Object, Object>> claimed = redisStreamTemplate.opsForStream()
+                .claim(streamKey, group, consumer, minIdle, staleIds.toArray(RecordId[]::new));
+        List<QueuedMessage> messages = new ArrayList<>(claimed.size());
+        for (MapRecord<String, Object, Object> record : claimed) {
+            // XCLAIM 으로 한 번 더 전달된 것까지 포함
+            messages.add(toMessage(record, deliveryCounts.getOrDefault(record.getId(), 0L) + 1));
+        }
+        return messages;
+    }
+
+    /**
+     * 처리가 끝난 항목을 ACK 하고 스트림에서 삭제
+     */
+    public void complete(List<QueuedMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        RecordId[] ids = messages.stream().map(QueuedMessage::id).toArray(RecordId[]::new);
+        redisStreamTemplate.opsForStream().acknowledge(streamKey, group, ids);
+        redisStreamTemplate.opsForStream().delete(streamKey, ids);
+    }
+
+    /**
+     * 스트림에 남아 있는 (처리가 끝나지 않은) 항목의 히스토리 코드
+     */
+    public Set<Integer> queuedHistoryCodes() {
+        Set<Integer> historyCodes = new HashSet<>();
+        Range<String> range = Range.unbounded();
+        while (true) {
+            List<MapRecord<String, Object, Object>> records = redisStreamTemplate.opsForStream()
+                    .range(streamKey, range, Limit.limit().count(SCAN_COUNT));
+            if (records == null || records.isEmpty()) {
+                return historyCodes;
+            }
+            for (MapRecord<String, Object, Object> record : records) {
+                historyCodes.add(Integer.valueOf(String.valueOf(record.getValue().get(HISTORY_CODE))));
+            }
+            if (records.size() < SCAN_COUNT) {
+                return historyCodes;
+            }
+            // 마지막 항목 다음부터 (exclusive)
+            range = Range.rightUnbounded(Range.Bound.exclusive(records.get(records.size() - 1).getId().getValue()));
+        }
+    }
+
+    private static void xAdd(RedisConnection connection, byte[] key, Integer historyCode, Integer batchCode, Integer shopCode) {
+        connection.streamCommands().xAdd(StreamRecords.rawBytes(Map.of(
+                bytes(HISTORY_CODE), bytes(String.valueOf(historyCode)),
+                bytes(BATCH_CODE), bytes(String.valueOf(batchCode)),
+                bytes(SHOP_CODE), bytes(String.valueOf(shopCode)))).withStreamKey(key));
+    }
+
+    private static QueuedMessage toMessage(MapRecord<String, Object, Object> record, long deliveryCount) {
+        Map<Object, Object> value = record.getValue();
+        return new QueuedMessage(record.getId(),
+                Integer.valueOf(String.valueOf(value.get(HISTORY_CODE))),
+                Integer.valueOf(String.valueOf(value.get(BATCH_CODE))),
+                Integer.valueOf(String.valueOf(value.get(SHOP_CODE))),
+                deliveryCount);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
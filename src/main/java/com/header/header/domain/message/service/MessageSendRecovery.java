@@ -0,0 +1,117 @@
+package com.header.header.domain.message.service;
+
+import com.header.header.domain.message.projection.PendingMessageView;
+import com.header.header.domain.message.service.MessageSendQueue.QueuedMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/*
+* 발송 큐 복구 - 시작 시 + recovery-interval-ms 마다
+*
+* - 큐에 없는 PENDING 히스토리를 다시 큐에 넣음
+*   (발송 큐 이전에 메모리에서 처리하다 재시작된 배치, 큐 등록에 실패한 배치 등)
+*   orphan-minutes 이전에 만든 배치만 - 다른 노드에서 지금 만들고 있는 배치는 제외
+* - 히스토리는 모두 처리됐지만 정산되지 않은 배치 (처리 후 정산 전에 죽은 경우) 정산
+* - 주기적으로도 실행하므로 실행 중에 큐 등록에 실패한 배치도 다음 재시작까지 기다리지 않고 발송됨
+* - 여러 노드가 동시에 실행해도 한 노드만 실행 (Redis SET NX 락, 끝나면 해제)
+* - 실패해도 서비스는 계속 (로그만 남기고 다음 주기에 다시 시도)
+* */
+@Slf4j
+@Component
+public class MessageSendRecovery {
+
+    private static final String LOCK_KEY = "message-send-queue:recovery-lock";
+    private static final Duration LOCK_TTL = Duration.ofMinutes(5);
+
+    private final MessageSendQueue messageSendQueue;
+    private final MessageHistoryService messageHistoryService;
+    private final MessageSendBatchService messageSendBatchService;
+    private final RedisTemplate<String, String> redisStreamTemplate;
+    private final long orphanMinutes;
+
+    public MessageSendRecovery(MessageSendQueue messageSendQueue,
+                               MessageHistoryService messageHistoryService,
+                               MessageSendBatchService messageSendBatchService,
+                               RedisTemplate<String, String> redisStreamTemplate,
+                               @Value("${message.send-queue.orphan-minutes:5}") long orphanMinutes) {
+        this.messageSendQueue = messageSendQueue;
+        this.messageHistoryService = messageHistoryService;
+        this.messageSendBatchService = messageSendBatchService;
+        this.redisStreamTemplate = redisStreamTemplate;
+        this.orphanMinutes = orphanMinutes;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverOnStartup() {
+        recoverQuietly();
+    }
+
+    @Scheduled(initialDelayString = "${message.send-queue.recovery-interval-ms:600000}",
+            fixedDelayString = "${message.send-queue.recovery-interval-ms:600000}")
+    public void recoverPeriodically() {
+        recoverQuietly();
+    }
+
+    private void recoverQuietly() {
+        try {
+            recover();
+        } catch (RuntimeException e) {
+            log.warn("메세지 발송 큐 복구 실패", e);
+        }
+    }
+
+    /**
+     * 큐에 없는 PENDING 히스토리를 다시 넣고, 끝난 배치를 정산한다.
+     * @return 다시 넣은 히스토리 건수 (다른 노드가 복구 중이면 -1)
+     */
+    public int recover() {
+        String token = UUID.randomUUID().toString();
+        Boolean locked = redisStreamTemplate.opsForValue().setIfAbsent(LOCK_KEY, token, LOCK_TTL);
+        if (!Boolean.TRUE.equals(locked)) {
+            log.info("다른 노드에서 메세지 발송 큐 복구 중");
+            return -1;
+        }
+
+        try {
+            Timestamp createdBefore = new Timestamp(System.currentTimeMillis() - Duration.ofMinutes(orphanMinutes).toMillis());
+
+            // 1. 큐에 없는 PENDING 히스토리 다시 넣기
+            Set<Integer> queued = messageSendQueue.queuedHistoryCodes();
+            List<QueuedMessage> orphans = new ArrayList<>();
+            for (PendingMessageView pending : messageHistoryService.findPendingCreatedBefore(createdBefore)) {
+                if (!queued.contains(pending.getHistoryCode())) {
+                    orphans.add(new QueuedMessage(null, pending.getHistoryCode(), pending.getBatchCode(), pending.getShopCode(), 0));
+                }
+            }
+            messageSendQueue.enqueue(orphans);
+
+            // 2. PENDING 이 남지 않은 배치 정산
+            int settled = 0;
+            for (Integer batchCode : messageSendBatchService.findUnsettledBatchCodes(createdBefore)) {
+                if (messageSendBatchService.settleBatch(batchCode)) {
+                    settled++;
+                }
+            }
+
+            log.info("메세지 발송 큐 복구 완료 - 다시 넣은 히스토리: {}건, 정산한 배치: {}건", orphans.size(), settled);
+            return orphans.size();
+
+        } finally {
+            if (token.equals(redisStreamTemplate.opsForValue().get(LOCK_KEY))) {
+                redisStreamTemplate.delete(LOCK_KEY);
+            }
+        }
+    }
+}
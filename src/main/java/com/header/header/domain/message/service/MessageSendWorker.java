@@ -0,0 +1,222 @@
+package com.header.header.domain.message.service;
+
+import com.header.header.domain.message.entity.ShopMessageHistory;
+import com.header.header.domain.message.service.MessageSendQueue.QueuedMessage;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+* 메세지 발송 큐(MessageSendQueue) 컨슈머
+*
+* - 노드마다 message.send-queue.consumers 개의 컨슈머가 같은 그룹에서 나눠 가져감 → 노드를 늘리면 처리량도 늘어남
+* - 컨슈머 하나의 흐름 : 가져오기(최대 maxPermits 건) → 샵별로 발송 토큰(SmsRateLimiter) → 전송 → ACK → 배치 정산 → 다시 가져오기
+*   가져오기(XREADGROUP BLOCK)만 전용 스레드에서 기다리고, 토큰을 기다리는 동안에는 스레드를 점유하지 않음
+*   전송은 토큰을 받은 messageTaskExecutor 스레드에서 실행
+* - 전송 전에 히스토리를 다시 읽어 이미 PENDING 이 아닌 건 (처리 후 ACK 전에 죽어서 다시 배달된 경우) 은 건너뜀
+* - reclaim-idle-seconds 동안 ACK 되지 않은 항목은 (처리하던 컨슈머가 죽은 경우) 다른 컨슈머가 가져가서 처리
+*   max-deliveries 번 넘게 전달된 항목은 더 보내지 않고 실패 처리
+* - ACK 는 전송 결과를 히스토리에 반영한 뒤 → 처리 도중 죽으면 다시 전달됨 (최소 한 번 처리)
+* - message.send-queue.worker-enabled=false 면 컨슈머를 시작하지 않음 (큐에 넣기만 함)
+* */
+@Slf4j
+@Component
+public class MessageSendWorker {
+
+    private static final Duration READ_BLOCK = Duration.ofSeconds(1);
+    private static final long ERROR_BACKOFF_MILLIS = 1000;
+    private static final String EXCEEDED_DELIVERIES = "발송 재시도 횟수 초과";
+
+    private final MessageSendQueue messageSendQueue;
+    private final SmsRateLimiter smsRateLimiter;
+    private final MessageAsyncService messageAsyncService;
+    private final MessageHistoryService messageHistoryService;
+    private final MessageSendBatchService messageSendBatchService;
+    private final MessageBatchProgress messageBatchProgress;
+
+    private final boolean enabled;
+    private final int consumers;
+    private final Duration reclaimIdle;
+    private final long maxDeliveries;
+
+    private final String consumerPrefix = "sender-" + UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong lastReclaimMillis = new AtomicLong();
+    private volatile boolean running;
+    private ExecutorService pollers;
+
+    public MessageSendWorker(MessageSendQueue messageSendQueue,
+                             SmsRateLimiter smsRateLimiter,
+                             MessageAsyncService messageAsyncService,
+                             MessageHistoryService messageHistoryService,
+                             MessageSendBatchService messageSendBatchService,
+                             MessageBatchProgress messageBatchProgress,
+                             @Value("${message.send-queue.worker-enabled:true}") boolean enabled,
+                             @Value("${message.send-queue.consumers:2}") int consumers,
+                             @Value("${message.send-queue.reclaim-idle-seconds:300}") long reclaimIdleSeconds,
+                             @Value("${message.send-queue.max-deliveries:5}") long maxDeliveries) {
+        this.messageSendQueue = messageSendQueue;
+        this.smsRateLimiter = smsRateLimiter;
+        this.messageAsyncService = messageAsyncService;
+        this.messageHistoryService = messageHistoryService;
+        this.messageSendBatchService = messageSendBatchService;
+        this.messageBatchProgress = messageBatchProgress;
+        this.enabled = enabled;
+        this.consumers = consumers;
+        this.reclaimIdle = Duration.ofSeconds(reclaimIdleSeconds);
+        this.maxDeliveries = maxDeliveries;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        pollers = Executors.newFixedThreadPool(consumers, runnable -> {
+            Thread thread = new Thread(runnable, "SMS-QUEUE-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 1; i <= consumers; i++) {
+            poll(consumerPrefix + "-" + i, 0);
+        }
+        log.info("메세지 발송 큐 컨슈머 시작 : {} x {}", consumerPrefix, consumers);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (pollers != null) {
+            pollers.shutdown();
+        }
+    }
+
+    /* 가져와서 처리가 끝나면 (성공 / 실패 모두) 다음 가져오기 */
+    private void poll(String consumer, long delayMillis) {
+        if (!running) {
+            return;
+        }
+        Executor executor = delayMillis > 0
+                ? CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS, pollers)
+                : pollers;
+        try {
+            CompletableFuture.supplyAsync(() -> fetch(consumer), executor)
+                    .thenCompose(this::process)
+                    .whenComplete((ignored, error) -> {
+                        if (error != null) {
+                            log.warn("메세지 발송 큐 처리 실패 : consumer={}", consumer, error);
+                            messageSendQueue.createGroup(); // 스트림이 지워진 경우 (NOGROUP) 다시 생성
+                        }
+                        poll(consumer, error != null ? ERROR_BACKOFF_MILLIS : 0);
+                    });
+        } catch (RuntimeException e) {
+            // 종료 중 (pollers shutdown)
+            log.debug("메세지 발송 큐 컨슈머 종료 : consumer={}", consumer);
+        }
+    }
+
+    /* 오래 ACK 되지 않은 항목이 있으면 먼저 가져오고 (노드 전체에서 reclaimIdle 마다 한 번), 없으면 새 항목 */
+    private List<QueuedMessage> fetch(String consumer) {
+        int count = smsRateLimiter.maxPermits();
+
+        long now = System.currentTimeMillis();
+        long last = lastReclaimMillis.get();
+        if (now - last >= reclaimIdle.toMillis() && lastReclaimMillis.compareAndSet(last, now)) {
+            List<QueuedMessage> claimed = messageSendQueue.claimStale(consumer, reclaimIdle, count);
+            if (!claimed.isEmpty()) {
+                log.info("메세지 발송 큐 미처리 항목 재처리 : consumer={}, {}건", consumer, claimed.size());
+                lastReclaimMillis.set(0); // 더 남아 있을 수 있으므로 다음에도 확인
+                return claimed;
+            }
+        }
+        return messageSendQueue.read(consumer, count, READ_BLOCK);
+    }
+
+    /* 샵별로 토큰 → 전송 → ACK 를 순서대로, 끝나면 건드린 배치 정산 */
+    private CompletableFuture<Void> process(List<QueuedMessage> messages) {
+        if (messages.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        String taskId = UUID.randomUUID().toString().substring(0, 8);
+
+        List<QueuedMessage> exceeded = new ArrayList<>();
+        Map<Integer, List<QueuedMessage>> byShop = new LinkedHashMap<>();
+        for (QueuedMessage message : messages) {
+            if (message.deliveryCount() > maxDeliveries) {
+                exceeded.add(message);
+            } else {
+                byShop.computeIfAbsent(message.shopCode(), shopCode -> new ArrayList<>()).add(message);
+            }
+        }
+        failExceeded(exceeded, taskId);
+
+        CompletableFuture<Void> sending = CompletableFuture.completedFuture(null);
+        for (Map.Entry<Integer, List<QueuedMessage>> shop : byShop.entrySet()) {
+            sending = sending
+                    .thenCompose(ignored -> smsRateLimiter.acquire(shop.getKey(), shop.getValue().size()))
+                    .thenRun(() -> send(shop.getValue(), taskId));
+        }
+        return sending.thenRun(() -> settle(messages));
+    }
+
+    private void send(List<QueuedMessage> messages, String taskId) {
+        List<ShopMessageHistory> histories = messageHistoryService.findPendingHistories(
+                messages.stream().map(QueuedMessage::historyCode).toList());
+        if (histories.size() < messages.size()) {
+            log.info("[{}] 이미 처리된 히스토리 건너뜀 : {}건", taskId, messages.size() - histories.size());
+        }
+
+        messageAsyncService.sendHistories(histories, taskId);
+        messageSendQueue.complete(messages);
+    }
+
+    private void failExceeded(List<QueuedMessage> messages, String taskId) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        List<ShopMessageHistory> histories = messageHistoryService.findPendingHistories(
+                messages.stream().map(QueuedMessage::historyCode).toList());
+        for (ShopMessageHistory history : histories) {
+            log.error("[{}] {} - HistoryCode: {}", taskId, EXCEEDED_DELIVERIES, history.getHistoryCode());
+            messageHistoryService.updateMessageStatus(history.getHistoryCode(), EXCEEDED_DELIVERIES);
+            messageBatchProgress.record(history.getBatchCode(), false);
+        }
+        messageSendQueue.complete(messages);
+    }
+
+    /* PENDING 이 남지 않은 배치만 정산됨 */
+    private void settle(List<QueuedMessage> messages) {
+        Set<Integer> batchCodes = new LinkedHashSet<>();
+        messages.forEach(message -> batchCodes.add(message.batchCode()));
+        for (Integer batchCode : batchCodes) {
+            try {
+                if (messageSendBatchService.settleBatch(batchCode)) {
+                    log.info("📊 배치 결과 정산 완료 - BatchCode: {}", batchCode);
+                }
+            } catch (RuntimeException e) {
+                log.error("배치 결과 정산 중 오류 - BatchCode: {}", batchCode, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.header.header.domain.message.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/*
+* 문자 발송 속도 제한 - Redis 토큰 버킷 (모든 발송 스레드 / 모든 노드가 같은 버킷을 공유)
+*
+* - 버킷 두 개를 한 번에 확인 : 전체(global) + 보내는 샵별(sender), 둘 다 토큰이 있어야 가져감
+*   키 : {sms-rate-limit}:global, {sms-rate-limit}:sender:{shopCode} (해시 태그로 같은 슬롯 - 클러스터에서도 한 스크립트로 실행)
+* - 토큰 계산은 Lua 스크립트 안에서 Redis 서버 시각(TIME)으로 (노드 간 시계 차이 무시)
+* - 토큰이 모자라면 스크립트가 기다릴 시간(ms)을 돌려주고, 그 시간 뒤에 스케줄러가 다시 시도
+*   acquire 는 바로 CompletableFuture 를 반환하므로 발송 스레드를 재우지 않음
+*   토큰을 받으면 messageTaskExecutor 에서 future 를 완료 (이어지는 발송이 스케줄러 스레드를 잡지 않도록)
+* - 설정 (초당 건수, 버킷 크기 = 초당 건수 x burst-seconds)
+*   message.rate-limit.global-per-second / message.rate-limit.sender-per-second / message.rate-limit.burst-seconds
+* - Redis 오류 시에는 제한 없이 통과 (로그만 남김, 발송 자체가 멈추지 않도록)
+* */
+@Slf4j
+@Component
+public class SmsRateLimiter {
+
+    static final String KEY_PREFIX = "{sms-rate-limit}:";
+    static final String GLOBAL_KEY = KEY_PREFIX + "global";
+
+    /* KEYS : global, sender / ARGV : 요청 토큰, global 초당 건수, global 크기, sender 초당 건수, sender 크기
+     * 반환 : 0 이면 토큰 가져감, 아니면 다시 시도할 때까지 기다릴 시간(ms) */
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>("""
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local requested = tonumber(ARGV[1])
+            local tokens = {}
+            local wait = 0
+            for i = 1, 2 do
+                local rate = tonumber(ARGV[i * 2])
+                local capacity = tonumber(ARGV[i * 2 + 1])
+                local bucket = redis.call('HMGET', KEYS[i], 'tokens', 'ts')
+                local current = tonumber(bucket[1]) or capacity
+                local ts = tonumber(bucket[2]) or now
+                current = math.min(capacity, current + math.max(0, now - ts) * rate / 1000)
+                if current < requested then
+                    wait = math.max(wait, math.ceil((requested - current) * 1000 / rate))
+                end
+                tokens[i] = current
+            end
+            for i = 1, 2 do
+                local rate = tonumber(ARGV[i * 2])
+                local capacity = tonumber(ARGV[i * 2 + 1])
+                if wait == 0 then
+                    tokens[i] = tokens[i] - requested
+                end
+                redis.call('HSET', KEYS[i], 'tokens', tostring(tokens[i]), 'ts', tostring(now))
+                redis.call('PEXPIRE', KEYS[i], math.ceil(capacity * 1000 / rate) + 1000)
+            end
+            return wait
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisStreamTemplate;
+    private final TaskExecutor messageTaskExecutor;
+    private final ScheduledExecutorService retryScheduler;
+
+    private final double globalPerSecond;
+    private final double senderPerSecond;
+    private final int globalCapacity;
+    private final int senderCapacity;
+
+    public SmsRateLimiter(RedisTemplate<String, String> redisStreamTemplate,
+                          @Qualifier("messageTaskExecutor") TaskExecutor messageTaskExecutor,
+                          @Value("${message.rate-limit.global-per-second:100}") double globalPerSecond,
+                          @Value("${message.rate-limit.sender-per-second:50}") double senderPerSecond,
+                          @Value("${message.rate-limit.burst-seconds:2}") double burstSeconds) {
+        if (globalPerSecond <= 0 || senderPerSecond <= 0 || burstSeconds <= 0) {
+            throw new IllegalStateException("문자 발송 속도 제한 설정은 0 보다 커야 합니다.");
+        }
+        this.redisStreamTemplate = redisStreamTemplate;
+        this.messageTaskExecutor = messageTaskExecutor;
+        this.globalPerSecond = globalPerSecond;
+        this.senderPerSecond = senderPerSecond;
+        this.globalCapacity = Math.max(1, (int) (globalPerSecond * burstSeconds));
+        this.senderCapacity = Math.max(1, (int) (senderPerSecond * burstSeconds));
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "SMS-RATE-LIMIT");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /* 한 번에 받을 수 있는 최대 토큰 수 (두 버킷 중 작은 쪽) - 발송을 이 크기 이하로 나눠서 요청 */
+    public int maxPermits() {
+        return Math.min(globalCapacity, senderCapacity);
+    }
+
+    /**
+     * 발송 토큰 요청
+     * @param shopCode 보내는 샵 (샵별 버킷)
+     * @param permits 보낼 메세지 건수 (maxPermits 이하)
+     * @return 토큰을 받으면 완료되는 future (기다리는 동안 스레드를 점유하지 않음)
+     */
+    public CompletableFuture<Void> acquire(Integer shopCode, int permits) {
+        if (permits < 1 || permits > maxPermits()) {
+            throw new IllegalArgumentException("요청 토큰 수는 1 ~ " + maxPermits() + " 사이여야 합니다. : " + permits);
+        }
+        CompletableFuture<Void> granted = new CompletableFuture<>();
+        tryAcquire(senderKey(shopCode), permits, granted);
+        return granted;
+    }
+
+    private void tryAcquire(String senderKey, int permits, CompletableFuture<Void> granted) {
+        long waitMillis;
+        try {
+            Long result = redisStreamTemplate.execute(ACQUIRE_SCRIPT, List.of(GLOBAL_KEY, senderKey),
+                    String.valueOf(permits),
+                    String.valueOf(globalPerSecond), String.valueOf(globalCapacity),
+                    String.valueOf(senderPerSecond), String.valueOf(senderCapacity));
+            waitMillis = result == null ? 0 : result;
+        } catch (RuntimeException e) {
+            log.warn("문자 발송 속도 제한 확인 실패, 제한 없이 진행 : key={}, permits={}", senderKey, permits, e);
+            waitMillis = 0;
+        }
+
+        if (waitMillis <= 0) {
+            complete(granted);
+            return;
+        }
+        retryScheduler.schedule(() -> tryAcquire(senderKey, permits, granted), waitMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void complete(CompletableFuture<Void> granted) {
+        try {
+            messageTaskExecutor.execute(() -> granted.complete(null));
+        } catch (RuntimeException e) {
+            // 발송 풀이 가득 찬 경우 - 잠시 뒤 다시 넘김
+            retryScheduler.schedule(() -> complete(granted), 100, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    static String senderKey(Integer shopCode) {
+        return KEY_PREFIX + "sender:" + shopCode;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        retryScheduler.shutdownNow();
+    }
+}
@@ -1,6 +1,8 @@
 package com.header.header.domain.reservation.controller;
 
+import com.header.header.common.dto.CursorPage;
 import com.header.header.domain.message.service.MessageSendFacadeService;
+import com.header.header.domain.reservation.dto.BossResvCalendarDayDTO;
 import com.header.header.domain.reservation.dto.BossResvInputDTO;
 import com.header.header.domain.reservation.dto.BossResvProjectionDTO;
 import com.header.header.domain.reservation.enums.ReservationState;
@@ -69,6 +71,57 @@ public class BossReservationController {
         }
     }
 
+    /*
+    * 검색 결과 커서 페이지 조회 - 고객 이름별(+ 연락처), 메뉴 이름별, 노쇼 & 취소 (최신 예약부터)
+    * 응답의 nextCursor 를 다음 요청의 cursor 로 그대로 넘김, 마지막 페이지면 nextCursor 가 null
+    * */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<BossResvProjectionDTO>> searchReservationPage(
+            @PathVariable(value = "shopCode") Integer shopCode,
+            @RequestParam(value = "userName", required = false) String userName,
+            @RequestParam(value = "userPhone", required = false) String userPhone,
+            @RequestParam(value = "menuName", required = false) String menuName,
+            @RequestParam(value = "canceled", defaultValue = "false") boolean canceled,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size){
+
+        try{
+            CursorPage<BossResvProjectionDTO> result;
+
+            if(userName != null && userPhone != null){
+                result = bossReservationService.findReservationPageByUserNameAndUserPhone(shopCode, userName, userPhone, cursor, size);
+            } else if(userName != null){
+                result = bossReservationService.findReservationPageByName(shopCode, userName, cursor, size);
+            } else if(menuName != null){
+                result = bossReservationService.findReservationPageByMenuName(shopCode, menuName, cursor, size);
+            } else if(canceled){
+                result = bossReservationService.findCanceledAndNoShowPage(shopCode, cursor, size);
+            } else {
+                return ResponseEntity.badRequest().build();
+            }
+
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e){
+            // 잘못된 커서 / 페이지 크기
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e){
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /* 월간 달력 - 날짜별 건수 / 시간 / 색상 집계만 반환, 상세는 날짜 선택 시 resvDate 검색으로 조회 */
+    @GetMapping("/calendar")
+    public ResponseEntity<List<BossResvCalendarDayDTO>> searchMonthCalendar(
+            @PathVariable(value = "shopCode") Integer shopCode,
+            @RequestParam(value = "date") String thisMonth){
+
+        try{
+            return ResponseEntity.ok(bossReservationService.findMonthCalendar(shopCode, thisMonth));
+        } catch (Exception e){
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     @GetMapping("/{resvCode}")
     public ResponseEntity<BossResvProjectionDTO> searchDetailReservationInfo(@PathVariable("shopCode") Integer shopCode, @PathVariable("resvCode") Integer resvCode){
         try {
@@ -84,14 +84,16 @@ public class UserReservationController {
     }
 
     // 가능한 시간을 선택, 추출하여 json 형식으로 보내줌
+    // menuCode 를 함께 보내면 해당 메뉴 소요 시간 전체가 비어 있는 시간만 반환
     @GetMapping("{shopCode}/available-schedule")
     public ResponseEntity<ResponseMessage> getAvailableSchedule(
-            @PathVariable Integer shopCode
+            @PathVariable Integer shopCode,
+            @RequestParam(required = false) Integer menuCode
     ) {
 
         int dateRangeToGet = 30;
 
-        List<UserResvAvailableScheduleDTO> scheduleList = userReservationService.getAvailableSchedule(shopCode, dateRangeToGet);
+        List<UserResvAvailableScheduleDTO> scheduleList = userReservationService.getAvailableSchedule(shopCode, dateRangeToGet, menuCode);
 
         return ShopApiResponse.read("schedule", scheduleList);
     }
@@ -0,0 +1,28 @@
+package com.header.header.domain.reservation.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.*;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.util.Map;
+
+/* 사장님 월간 달력의 하루 칸 - 예약 상세는 날짜를 선택했을 때 따로 조회 (resvDate 검색) */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class BossResvCalendarDayDTO {
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd", timezone = "Asia/Seoul")
+    private Date resvDate;
+    private int approveCount;
+    private int cancelCount;
+    private int finishCount;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "HH:mm:ss")
+    private Time firstTime;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "HH:mm:ss")
+    private Time lastTime;
+    private Map<String, Integer> colorBuckets; // 메뉴 색상 -> 건수 (취소 제외, 건수 많은 순)
+}
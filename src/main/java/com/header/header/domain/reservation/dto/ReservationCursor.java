@@ -0,0 +1,67 @@
+package com.header.header.domain.reservation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.nio.ByteBuffer;
+import java.sql.Date;
+import java.sql.Time;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Base64;
+
+/*
+* 사장님 예약 목록 페이지 커서 - (resvDate, resvTime, resvCode) 내림차순 정렬의 마지막 행 위치
+*
+* - 토큰은 epochDay(long) + 초(int) + 예약코드(int) 를 base64url 로 인코딩 (클라이언트는 해석하지 않고 그대로 넘김)
+* - 첫 페이지는 가장 큰 값(first)부터 시작해서 쿼리 조건을 하나로 유지
+* */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ReservationCursor {
+
+    private static final int TOKEN_BYTES = Long.BYTES + Integer.BYTES * 2;
+
+    private final Date resvDate;
+    private final Time resvTime;
+    private final Integer resvCode;
+
+    public static ReservationCursor first() {
+        return new ReservationCursor(Date.valueOf(LocalDate.of(9999, 12, 31)), Time.valueOf(LocalTime.of(23, 59, 59)), Integer.MAX_VALUE);
+    }
+
+    public static ReservationCursor after(BossResvProjectionDTO last) {
+        return new ReservationCursor(last.getResvDate(), last.getResvTime(), last.getResvCode());
+    }
+
+    /* 토큰이 없으면 첫 페이지, 형식이 잘못되면 IllegalArgumentException */
+    public static ReservationCursor decode(String token) {
+        if (token == null || token.isBlank()) return first();
+
+        byte[] bytes = Base64.getUrlDecoder().decode(token);
+        if (bytes.length != TOKEN_BYTES) {
+            throw new IllegalArgumentException("잘못된 페이지 커서입니다.");
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        try {
+            return new ReservationCursor(
+                    Date.valueOf(LocalDate.ofEpochDay(buffer.getLong())),
+                    Time.valueOf(LocalTime.ofSecondOfDay(buffer.getInt())),
+                    buffer.getInt());
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("잘못된 페이지 커서입니다.", e);
+        }
+    }
+
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(TOKEN_BYTES);
+        buffer.putLong(resvDate.toLocalDate().toEpochDay());
+        buffer.putInt(resvTime.toLocalTime().toSecondOfDay());
+        buffer.putInt(resvCode);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+}
@@ -0,0 +1,49 @@
+package com.header.header.domain.reservation.entity;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.sql.Time;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+* 샵 + 날짜별 예약 집계 (ReservationDaySummarizer 가 갱신, 사장님 월간 달력용)
+*
+* - 상태별 건수, 첫 / 마지막 예약 시간, 메뉴 색상별 건수 (시간과 색상은 취소된 예약 제외)
+* - 예약이 생성 / 수정 / 취소 / 시술완료 / 삭제될 때마다 해당 날짜 한 행만 다시 계산
+* - colorCounts 형식 : "#FF0000=3,#00FF00=1" (건수 많은 순)
+* */
+@Entity
+@Table(name = "tbl_reservation_day_summary")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ReservationDaySummary {
+
+    @EmbeddedId
+    private ReservationDaySummaryId id;
+
+    private int approveCount;
+    private int cancelCount;
+    private int finishCount;
+    private Time firstTime;
+    private Time lastTime;
+    private String colorCounts;
+
+    /* 메뉴 색상 -> 건수 (건수 많은 순) */
+    public Map<String, Integer> colorBuckets() {
+        Map<String, Integer> buckets = new LinkedHashMap<>();
+        if (colorCounts == null || colorCounts.isBlank()) return buckets;
+
+        for (String bucket : colorCounts.split(",")) {
+            int separator = bucket.lastIndexOf('=');
+            if (separator <= 0) continue;
+            buckets.put(bucket.substring(0, separator), Integer.valueOf(bucket.substring(separator + 1)));
+        }
+        return buckets;
+    }
+}
@@ -0,0 +1,29 @@
+package com.header.header.domain.reservation.entity;
+
+import jakarta.persistence.Embeddable;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.sql.Date;
+
+/**
+ * 날짜별 예약 집계의 복합 기본키
+ * 샵 + 날짜 당 한 행
+ */
+@Embeddable
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class ReservationDaySummaryId implements Serializable {
+
+    private Integer shopCode;
+    private Date resvDate;
+
+}
@@ -0,0 +1,27 @@
+package com.header.header.domain.reservation.entity;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/*
+* 예약이 점유한 시간 칸 (SlotAllocator.claim 참고)
+*
+* - 예약 하나는 [예약 시간, 예약 시간 + 메뉴 소요 시간) 구간의 10분 칸을 모두 한 행씩 점유
+* - PK 중복이면 이미 다른 예약이 점유한 칸이므로 락 없이 INSERT 한 번으로 중복 예약을 막는다
+* - 예약 취소 / 노쇼 / 변경 / 삭제 시 해당 예약의 칸을 모두 반납
+* */
+@Entity
+@Table(name = "tbl_reservation_slot_claim")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ReservationSlotClaim {
+
+    @EmbeddedId
+    private ReservationSlotClaimId id;
+
+    private Integer resvCode;
+}
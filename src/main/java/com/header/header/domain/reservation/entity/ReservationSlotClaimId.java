@@ -0,0 +1,31 @@
+package com.header.header.domain.reservation.entity;
+
+import jakarta.persistence.Embeddable;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.sql.Date;
+import java.sql.Time;
+
+/**
+ * 예약 점유 칸의 복합 기본키
+ * 샵 + 날짜 + 칸 시작 시간이 같으면 같은 칸이므로 한 예약만 점유할 수 있다
+ */
+@Embeddable
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class ReservationSlotClaimId implements Serializable {
+
+    private Integer shopCode;
+    private Date resvDate;
+    private Time slotTime;
+
+}
@@ -0,0 +1,18 @@
+package com.header.header.domain.reservation.projection;
+
+import com.header.header.domain.reservation.enums.ReservationState;
+
+import java.sql.Date;
+import java.sql.Time;
+
+public interface ReservedSlotView {
+
+    /*예약 가능 일정 계산 시 기간 내 예약을 한 번에 읽어오는 프로젝션
+    * 조회 데이터: 예약 날짜, 예약 시간, 예약 상태, 메뉴 예상 소요시간(분)
+    * */
+
+    Date getResvDate();
+    Time getResvTime();
+    ReservationState getResvState();
+    Integer getEstTime();
+}
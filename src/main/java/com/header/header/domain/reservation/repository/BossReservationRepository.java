@@ -1,12 +1,12 @@
 package com.header.header.domain.reservation.repository;
 
+import com.header.header.domain.reservation.dto.BossResvProjectionDTO;
 import com.header.header.domain.reservation.entity.BossReservation;
 import com.header.header.domain.reservation.enums.ReservationState;
 import com.header.header.domain.reservation.projection.BossResvDetailView;
-import jakarta.persistence.LockModeType;
 import org.apache.ibatis.annotations.Param;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 
 import java.sql.Date;
@@ -145,9 +145,88 @@ public interface BossReservationRepository extends JpaRepository<BossReservation
     List<BossResvDetailView> findByResvState(@Param("shopCode") Integer shopCode);
 
     /*
-        특정 날짜와 시간에 예약 시간으로 예약 조회하면서 비관럭 락(PESSIMISTIC_WRITE) 설정
-        이 메소드를 호출한 트랜잭션이 완료될 때까지 다른 트랜잭션은 이 조건에 해당하는 데이터에 접근할 수 없다.
-    */
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    Optional<BossReservation> findByShopInfo_ShopCodeAndResvDateAndResvTime(Integer shopCode, Date resvDate, Time resvTime);
+    * comment. 커서(keyset) 페이지 조회 - (resvDate, resvTime, resvCode) 내림차순, 커서 위치 다음 행부터 pageable 크기만큼
+    * - OFFSET 없이 인덱스(idx_reservation_shop_date : shop_code, resv_date, resv_time + pk)를 커서 위치부터 읽으므로
+    *   이력이 쌓여도 페이지마다 읽는 양이 같음
+    * - pageable 은 크기만 사용 (다음 페이지 확인용으로 size + 1, BossReservationService.findPage 참고)
+    * */
+    @Query("""
+        SELECT new com.header.header.domain.reservation.dto.BossResvProjectionDTO(
+            r.resvCode, u.userName, u.userPhone, mc.menuColor, m.menuName, m.isActive,
+            r.resvState, r.resvDate, r.resvTime, r.userComment
+        )
+        FROM BossReservation r
+        JOIN r.userInfo u
+        JOIN r.menuInfo m
+        JOIN m.menuCategory mc
+        WHERE r.shopInfo.shopCode = :shopCode
+        AND u.userName LIKE CONCAT('%', :userName, '%')
+        AND (r.resvDate < :cursorDate
+             OR (r.resvDate = :cursorDate AND r.resvTime < :cursorTime)
+             OR (r.resvDate = :cursorDate AND r.resvTime = :cursorTime AND r.resvCode < :cursorCode))
+        ORDER BY r.resvDate DESC, r.resvTime DESC, r.resvCode DESC
+    """)
+    List<BossResvProjectionDTO> findPageByShopCodeAndUserName(@Param("shopCode") Integer shopCode, @Param("userName") String userName,
+            @Param("cursorDate") Date cursorDate, @Param("cursorTime") Time cursorTime, @Param("cursorCode") Integer cursorCode,
+            Pageable pageable);
+
+    @Query("""
+        SELECT new com.header.header.domain.reservation.dto.BossResvProjectionDTO(
+            r.resvCode, u.userName, u.userPhone, mc.menuColor, m.menuName, m.isActive,
+            r.resvState, r.resvDate, r.resvTime, r.userComment
+        )
+        FROM BossReservation r
+        JOIN r.userInfo u
+        JOIN r.menuInfo m
+        JOIN m.menuCategory mc
+        WHERE r.shopInfo.shopCode = :shopCode
+        AND m.menuName LIKE CONCAT('%', :menuName, '%')
+        AND (r.resvDate < :cursorDate
+             OR (r.resvDate = :cursorDate AND r.resvTime < :cursorTime)
+             OR (r.resvDate = :cursorDate AND r.resvTime = :cursorTime AND r.resvCode < :cursorCode))
+        ORDER BY r.resvDate DESC, r.resvTime DESC, r.resvCode DESC
+    """)
+    List<BossResvProjectionDTO> findPageByShopCodeAndMenuName(@Param("shopCode") Integer shopCode, @Param("menuName") String menuName,
+            @Param("cursorDate") Date cursorDate, @Param("cursorTime") Time cursorTime, @Param("cursorCode") Integer cursorCode,
+            Pageable pageable);
+
+    @Query("""
+        SELECT new com.header.header.domain.reservation.dto.BossResvProjectionDTO(
+            r.resvCode, u.userName, u.userPhone, mc.menuColor, m.menuName, m.isActive,
+            r.resvState, r.resvDate, r.resvTime, r.userComment
+        )
+        FROM BossReservation r
+        JOIN r.userInfo u
+        JOIN r.menuInfo m
+        JOIN m.menuCategory mc
+        WHERE r.shopInfo.shopCode = :shopCode
+        AND r.resvState = :resvState
+        AND (r.resvDate < :cursorDate
+             OR (r.resvDate = :cursorDate AND r.resvTime < :cursorTime)
+             OR (r.resvDate = :cursorDate AND r.resvTime = :cursorTime AND r.resvCode < :cursorCode))
+        ORDER BY r.resvDate DESC, r.resvTime DESC, r.resvCode DESC
+    """)
+    List<BossResvProjectionDTO> findPageByResvState(@Param("shopCode") Integer shopCode, @Param("resvState") ReservationState resvState,
+            @Param("cursorDate") Date cursorDate, @Param("cursorTime") Time cursorTime, @Param("cursorCode") Integer cursorCode,
+            Pageable pageable);
+
+    @Query("""
+        SELECT new com.header.header.domain.reservation.dto.BossResvProjectionDTO(
+            r.resvCode, u.userName, u.userPhone, mc.menuColor, m.menuName, m.isActive,
+            r.resvState, r.resvDate, r.resvTime, r.userComment
+        )
+        FROM BossReservation r
+        JOIN r.userInfo u
+        JOIN r.menuInfo m
+        JOIN m.menuCategory mc
+        WHERE r.shopInfo.shopCode = :shopCode
+        AND u.userName = :userName AND u.userPhone = :userPhone
+        AND (r.resvDate < :cursorDate
+             OR (r.resvDate = :cursorDate AND r.resvTime < :cursorTime)
+             OR (r.resvDate = :cursorDate AND r.resvTime = :cursorTime AND r.resvCode < :cursorCode))
+        ORDER BY r.resvDate DESC, r.resvTime DESC, r.resvCode DESC
+    """)
+    List<BossResvProjectionDTO> findPageByUserNameAndUserPhone(@Param("shopCode") Integer shopCode, @Param("userName") String userName, @Param("userPhone") String userPhone,
+            @Param("cursorDate") Date cursorDate, @Param("cursorTime") Time cursorTime, @Param("cursorCode") Integer cursorCode,
+            Pageable pageable);
 }
@@ -0,0 +1,74 @@
+package com.header.header.domain.reservation.repository;
+
+import com.header.header.domain.reservation.entity.ReservationDaySummary;
+import com.header.header.domain.reservation.entity.ReservationDaySummaryId;
+import org.apache.ibatis.annotations.Param;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.sql.Date;
+import java.util.List;
+
+public interface ReservationDaySummaryRepository extends JpaRepository<ReservationDaySummary, ReservationDaySummaryId> {
+
+    /* 한 달(기간) 중 예약이 한 건이라도 있는 날짜의 집계 */
+    @Query("""
+           SELECT s
+           FROM ReservationDaySummary s
+           WHERE s.id.shopCode = :shopCode
+             AND s.id.resvDate BETWEEN :startDate AND :endDate
+             AND s.approveCount + s.cancelCount + s.finishCount > 0
+           ORDER BY s.id.resvDate
+           """)
+    List<ReservationDaySummary> findMonth(
+            @Param("shopCode") Integer shopCode,
+            @Param("startDate") Date startDate,
+            @Param("endDate") Date endDate
+    );
+
+    /* 집계 행을 만들거나 이미 있으면 그대로 두고 행 락만 잡음 - 같은 날짜의 갱신을 한 줄로 세움 */
+    @Modifying
+    @Query(value = """
+           INSERT INTO tbl_reservation_day_summary (shop_code, resv_date)
+           VALUES (:shopCode, :resvDate)
+           ON DUPLICATE KEY UPDATE shop_code = shop_code
+           """, nativeQuery = true)
+    int lock(@Param("shopCode") Integer shopCode, @Param("resvDate") Date resvDate);
+
+    /* 해당 날짜의 예약(인덱스 idx_reservation_shop_date)만 읽어서 집계를 다시 계산 */
+    @Modifying
+    @Query(value = """
+           INSERT INTO tbl_reservation_day_summary
+                  (shop_code, resv_date, approve_count, cancel_count, finish_count, first_time, last_time, color_counts)
+           SELECT * FROM (
+               SELECT :shopCode AS shop_code,
+                      :resvDate AS resv_date,
+                      COUNT(CASE WHEN r.resv_state = '예약확정' THEN 1 END) AS approve_count,
+                      COUNT(CASE WHEN r.resv_state = '예약취소' THEN 1 END) AS cancel_count,
+                      COUNT(CASE WHEN r.resv_state = '시술완료' THEN 1 END) AS finish_count,
+                      MIN(CASE WHEN r.resv_state <> '예약취소' THEN r.resv_time END) AS first_time,
+                      MAX(CASE WHEN r.resv_state <> '예약취소' THEN r.resv_time END) AS last_time,
+                      (SELECT GROUP_CONCAT(CONCAT(c.menu_color, '=', c.resv_count)
+                                           ORDER BY c.resv_count DESC, c.menu_color SEPARATOR ',')
+                       FROM (SELECT mc.menu_color, COUNT(*) AS resv_count
+                             FROM tbl_reservation r2
+                             JOIN tbl_menu m ON m.menu_code = r2.menu_code
+                             JOIN tbl_menu_category mc ON mc.category_code = m.category_code AND mc.shop_code = m.shop_code
+                             WHERE r2.shop_code = :shopCode
+                               AND r2.resv_date = :resvDate
+                               AND r2.resv_state <> '예약취소'
+                             GROUP BY mc.menu_color) c) AS color_counts
+               FROM tbl_reservation r
+               WHERE r.shop_code = :shopCode
+                 AND r.resv_date = :resvDate
+           ) AS d
+           ON DUPLICATE KEY UPDATE approve_count = d.approve_count,
+                                   cancel_count = d.cancel_count,
+                                   finish_count = d.finish_count,
+                                   first_time = d.first_time,
+                                   last_time = d.last_time,
+                                   color_counts = d.color_counts
+           """, nativeQuery = true)
+    int refresh(@Param("shopCode") Integer shopCode, @Param("resvDate") Date resvDate);
+}
@@ -0,0 +1,34 @@
+package com.header.header.domain.reservation.repository;
+
+import com.header.header.domain.reservation.entity.ReservationSlotClaim;
+import com.header.header.domain.reservation.entity.ReservationSlotClaimId;
+import org.apache.ibatis.annotations.Param;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.sql.Date;
+import java.sql.Time;
+
+public interface ReservationSlotClaimRepository extends JpaRepository<ReservationSlotClaim, ReservationSlotClaimId> {
+
+    /* 칸 하나 점유 - 이미 점유된 칸이면 PK 중복으로 DataIntegrityViolationException
+    * save() 는 merge(select 후 update) 가 될 수 있으므로 INSERT 를 직접 실행
+    * */
+    @Modifying
+    @Query(value = """
+           INSERT INTO tbl_reservation_slot_claim (shop_code, resv_date, slot_time, resv_code)
+           VALUES (:shopCode, :resvDate, :slotTime, :resvCode)
+           """, nativeQuery = true)
+    int claim(
+            @Param("shopCode") Integer shopCode,
+            @Param("resvDate") Date resvDate,
+            @Param("slotTime") Time slotTime,
+            @Param("resvCode") Integer resvCode
+    );
+
+    /* 예약이 점유한 칸 모두 반납 */
+    @Modifying
+    @Query("DELETE FROM ReservationSlotClaim c WHERE c.resvCode = :resvCode")
+    int releaseByResvCode(@Param("resvCode") Integer resvCode);
+}
@@ -1,14 +1,12 @@
 package com.header.header.domain.reservation.repository;
 
 import com.header.header.domain.reservation.entity.BossReservation;
+import com.header.header.domain.reservation.projection.ReservedSlotView;
 import com.header.header.domain.reservation.projection.UserReservationDetail;
 import com.header.header.domain.reservation.projection.UserReservationForLLM;
 import com.header.header.domain.reservation.projection.UserReservationSummary;
-import jakarta.persistence.LockModeType;
 import org.apache.ibatis.annotations.Param;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 
 import java.sql.Date;
@@ -108,22 +106,6 @@ public interface UserReservationRepository extends JpaRepository<BossReservation
             @Param("resvDate") Date resvDate
     );
 
-    /*예약 시도 날짜, 시간이 이미 예약상에 존재하는지 검증 - 예약 생성시 사용*/
-    @Cacheable(value = "available-schedule", key = "#shopCode + '_' + #resvDate.toString() + '_' + #resvTime.toString()" )
-    @Query("""
-           SELECT COUNT (r) = 0
-           FROM BossReservation r
-           WHERE r.shopInfo.shopCode = :shopCode
-           AND r.resvDate = :resvDate
-           AND r.resvTime = :resvTime
-           AND r.resvState != '예약취소'
-           """)
-    boolean isAvailableSchedule(
-            @Param("shopCode") Integer shopCode,
-            @Param("resvDate") Date resvDate,
-            @Param("resvTime") Time resvTime
-    );
-
     /*해당 유저가 이미 그 날짜, 그 시간에 예약이 있는 경우,
     * 같은 시간에 예약하는 것 및 노쇼 방어용 */
     @Query("""
@@ -140,27 +122,24 @@ public interface UserReservationRepository extends JpaRepository<BossReservation
             @Param("resvTime") Time resvTime
     );
 
-    // 주혜
-    @Query("""
-            SELECT r.resvTime 
-              FROM BossReservation r 
-             WHERE r.shopInfo.shopCode = :shopCode 
-               AND r.resvDate = :resvDate
-           """)
-    List<Time> findReservedTimes(@Param("shopCode") Integer shopCode, @Param("resvDate") Date resvDate);
-
-    @Lock(LockModeType.PESSIMISTIC_WRITE) // 다른 트랜잭션에서 읽기/쓰기 모두 불가
+    /*예약 가능 일정 계산 및 예약 생성 시 중복 사전 검증용 - 조회 기간 내 샵의 예약을 한 번에 조회
+    * 메뉴 소요 시간을 함께 가져와 시간 구간 단위로 겹침 여부를 판단 (SlotAllocator)
+    * 취소 여부는 서비스단에서 판단 (취소된 예약도 reservedTimes 에는 포함되기 때문)
+    * */
     @Query("""
-           SELECT r
+           SELECT
+              r.resvDate AS resvDate,
+              r.resvTime AS resvTime,
+              r.resvState AS resvState,
+              r.menuInfo.estTime AS estTime
            FROM BossReservation r
            WHERE r.shopInfo.shopCode = :shopCode
-           AND r.resvDate = :resvDate
-           AND r.resvTime = :resvTime
+           AND r.resvDate BETWEEN :startDate AND :endDate
            """)
-    Optional<BossReservation> findForReservation(
+    List<ReservedSlotView> findReservedSlotsBetween(
             @Param("shopCode") Integer shopCode,
-            @Param("resvDate") Date resvDate,
-            @Param("resvTime") Time resvTime
+            @Param("startDate") Date startDate,
+            @Param("endDate") Date endDate
     );
 
     /*
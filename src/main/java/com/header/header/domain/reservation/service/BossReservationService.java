@@ -1,14 +1,17 @@
 package com.header.header.domain.reservation.service;
 
 import ch.qos.logback.core.rolling.helper.IntegerTokenConverter;
+import com.header.header.common.dto.CursorPage;
 import com.header.header.common.exception.NotFoundException;
 import com.header.header.domain.menu.entity.Menu;
 import com.header.header.domain.menu.repository.MenuRepository;
 import com.header.header.domain.reservation.dto.*;
 import com.header.header.domain.reservation.entity.BossReservation;
+import com.header.header.domain.reservation.entity.ReservationDaySummary;
 import com.header.header.domain.reservation.enums.ReservationState;
 import com.header.header.domain.reservation.projection.BossResvDetailView;
 import com.header.header.domain.reservation.repository.BossReservationRepository;
+import com.header.header.domain.reservation.repository.ReservationDaySummaryRepository;
 import com.header.header.domain.reservation.repository.UserReservationRepository;
 import com.header.header.domain.sales.dto.SalesDTO;
 import com.header.header.domain.sales.service.SalesService;
@@ -21,11 +24,14 @@ import com.header.header.domain.visitors.dto.VisitorCreateRequest;
 import com.header.header.domain.visitors.dto.VisitorCreateResponse;
 import com.header.header.domain.visitors.enitity.Visitors;
 import com.header.header.domain.visitors.repository.VisitorsRepository;
+import com.header.header.domain.visitors.service.VisitorStatisticsSummarizer;
 import com.header.header.domain.visitors.service.VisitorsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -33,8 +39,10 @@ import java.sql.Date;
 import java.sql.Time;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.BiFunction;
 
 @Slf4j
 @Service
@@ -42,6 +50,9 @@ import java.util.Optional;
 @Transactional
 public class BossReservationService {
 
+    /* 커서 페이지 한 번에 내려줄 최대 건수 */
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final BossReservationRepository bossReservationRepository;
     private final UserReservationRepository userReservationRepository;
     private final MainUserRepository userRepository;
@@ -50,13 +61,18 @@ public class BossReservationService {
     private final SalesService salesService;
     private final ModelMapper modelMapper;
     private final VisitorsService visitorsService;
+    private final SlotAllocator slotAllocator;
+    private final ReservationDaySummaryRepository daySummaryRepository;
+    private final ReservationDaySummarizer daySummarizer;
+    private final VisitorStatisticsSummarizer visitorStatisticsSummarizer;
     private VisitorsRepository visitorsRepository;
 
     /* 가게 예약 내역 전체 조회하기 */
     public List<BossResvProjectionDTO> findReservationList(Integer shopCode, String thisMonth){
 
-        Date startDate = Date.valueOf(thisMonth + "-01");
-        Date endDate = Date.valueOf(thisMonth + "-31");
+        YearMonth month = YearMonth.parse(thisMonth);
+        Date startDate = Date.valueOf(month.atDay(1));
+        Date endDate = Date.valueOf(month.atEndOfMonth());
 
         List<BossResvDetailView> reservationList = bossReservationRepository.findByShopCodeAndResvMonth(shopCode, startDate, endDate);
 
@@ -65,6 +81,30 @@ public class BossReservationService {
                 .toList();
     }
 
+    /*
+    * 월간 달력 - 날짜별 집계(tbl_reservation_day_summary)만 읽음 (한 달 최대 31행)
+    * 예약 상세는 날짜를 선택했을 때 findReservationListByDate 로 조회
+    * */
+    @Transactional(readOnly = true)
+    public List<BossResvCalendarDayDTO> findMonthCalendar(Integer shopCode, String thisMonth){
+
+        YearMonth month = YearMonth.parse(thisMonth);
+
+        List<ReservationDaySummary> summaries = daySummaryRepository.findMonth(
+                shopCode, Date.valueOf(month.atDay(1)), Date.valueOf(month.atEndOfMonth()));
+
+        return summaries.stream()
+                .map(summary -> new BossResvCalendarDayDTO(
+                        summary.getId().getResvDate(),
+                        summary.getApproveCount(),
+                        summary.getCancelCount(),
+                        summary.getFinishCount(),
+                        summary.getFirstTime(),
+                        summary.getLastTime(),
+                        summary.colorBuckets()))
+                .toList();
+    }
+
     /* 날짜별 가게 예약 내역 조회하기 */
     public List<BossResvProjectionDTO> findReservationListByDate(Integer shopCode, Date selectedDate){
 
@@ -118,11 +158,6 @@ public class BossReservationService {
          */
 
         try{
-            bossReservationRepository.findByShopInfo_ShopCodeAndResvDateAndResvTime(shopCode, inputDTO.getResvDate(), inputDTO.getResvTime())
-                    .ifPresent(reservation -> {
-                        throw new IllegalStateException("이미 해당 날짜와 시간에 예약된 건이 있습니다.");
-                    });
-
             BossReservationDTO registDTO = new BossReservationDTO();
             registDTO.setMenuInfo(new BossResvMenuDTO());
             registDTO.setUserInfo(new BossResvUserDTO());
@@ -151,6 +186,12 @@ public class BossReservationService {
             Menu menu = menuRepository.findByMenuNameAndShopCode(inputDTO.getMenuName(), shopCode);
             registDTO.getMenuInfo().setMenuCode(menu.getMenuCode());
 
+            // 메뉴 소요 시간 동안 다른 예약과 겹치는지 확인 (캐시 기준 사전 검사, 최종 판단은 claim)
+            int durationMinutes = slotAllocator.durationOf(menu);
+            if (!slotAllocator.isAvailable(shopCode, inputDTO.getResvDate(), inputDTO.getResvTime(), durationMinutes)) {
+                throw new IllegalStateException("이미 해당 날짜와 시간에 예약된 건이 있습니다.");
+            }
+
             // reservationDTO에 입력받은 resvDate, resvTime, userComment, resvState 넣기
             registDTO.setShopCode(shopCode);
             registDTO.setResvDate(inputDTO.getResvDate());
@@ -167,6 +208,13 @@ public class BossReservationService {
             reservation.setUser(user != null ? user : newUser);
             reservation.setShop(shop);
             bossReservationRepository.save(reservation);
+
+            // 예약 구간 점유 - 동시에 들어온 다른 예약이 먼저 점유했다면 예외 (예약 저장도 롤백)
+            if (!slotAllocator.claim(shopCode, inputDTO.getResvDate(), inputDTO.getResvTime(), durationMinutes, reservation.getResvCode())) {
+                throw new IllegalStateException("이미 해당 날짜와 시간에 예약된 건이 있습니다.");
+            }
+            slotAllocator.evict(shopCode, inputDTO.getResvDate());
+            daySummarizer.refreshAfterCommit(shopCode, inputDTO.getResvDate());
             Integer finalUserCode = (user != null ? user.getUserCode() : newUser.getUserCode());
             return finalUserCode;
         } catch (DataIntegrityViolationException e){
@@ -207,7 +255,30 @@ public class BossReservationService {
         registDTO.setUserComment(inputDTO.getUserComment());
 
         // 6번
+        Date beforeDate = foundReservation.getResvDate();
         foundReservation.modifyReservation(registDTO, menu);
+
+        // 기존 점유 칸을 반납하고 변경된 시간 / 메뉴 기준으로 다시 점유 (취소된 예약은 점유하지 않음)
+        slotAllocator.release(resvCode);
+        if (foundReservation.getResvState() != ReservationState.CANCEL
+                && !slotAllocator.claim(shopCode, inputDTO.getResvDate(), inputDTO.getResvTime(), slotAllocator.durationOf(menu), resvCode)) {
+            throw new IllegalStateException("이미 해당 날짜와 시간에 예약된 건이 있습니다.");
+        }
+
+        // 변경 전 / 후 날짜의 점유 현황 캐시 삭제
+        slotAllocator.evict(shopCode, beforeDate);
+        slotAllocator.evict(shopCode, inputDTO.getResvDate());
+
+        // 변경 전 / 후 날짜의 달력 집계 (메뉴만 바뀌어도 색상이 바뀜)
+        daySummarizer.refreshAfterCommit(shopCode, beforeDate);
+        if (!beforeDate.equals(inputDTO.getResvDate())) {
+            daySummarizer.refreshAfterCommit(shopCode, inputDTO.getResvDate());
+        }
+
+        // 시술완료 예약이면 고객 방문 통계 (마지막 방문일 / 선호 메뉴가 바뀔 수 있음)
+        if (foundReservation.getResvState() == ReservationState.FINISH) {
+            visitorStatisticsSummarizer.refreshAfterCommit(shopCode, foundReservation.getUserInfo().getUserCode());
+        }
         // 이렇게 메소드 끝내면 엔티티에 변경 내용을 감지해서 자동으로 트랜잭션 처리된다.
     }
 
@@ -221,6 +292,9 @@ public class BossReservationService {
 
         if(foundReservation.getResvState() == ReservationState.APPROVE){
             foundReservation.cancelReservation();
+            slotAllocator.release(resvCode);
+            slotAllocator.evict(foundReservation.getShopInfo().getShopCode(), foundReservation.getResvDate());
+            daySummarizer.refreshAfterCommit(foundReservation.getShopInfo().getShopCode(), foundReservation.getResvDate());
         } else if (foundReservation.getResvState() == ReservationState.FINISH){
             throw new IllegalStateException("시술 완료건은 예약 취소가 불가합니다.");
         } else {
@@ -238,7 +312,15 @@ public class BossReservationService {
          * 클라이언트에서 서버로 resvCode 넘기기
          * 클라이언트에서 받은 resvCode로 해당 내역을 DB에서 삭제
          */
-        bossReservationRepository.deleteById(resvCode);
+        bossReservationRepository.findById(resvCode).ifPresent(reservation -> {
+            slotAllocator.release(resvCode);
+            bossReservationRepository.delete(reservation);
+            slotAllocator.evict(reservation.getShopInfo().getShopCode(), reservation.getResvDate());
+            daySummarizer.refreshAfterCommit(reservation.getShopInfo().getShopCode(), reservation.getResvDate());
+            if (reservation.getResvState() == ReservationState.FINISH) {
+                visitorStatisticsSummarizer.refreshAfterCommit(reservation.getShopInfo().getShopCode(), reservation.getUserInfo().getUserCode());
+            }
+        });
     }
 
     /* comment. 시술 후 사장님이 시술 완료로 상태 변경하면 매출 테이블로 해당 데이터 넘기기(insert) */
@@ -257,6 +339,7 @@ public class BossReservationService {
             if(resvDateTime.isBefore(now) || resvDateTime.isEqual(now)){
                 /* 프론트에서 사장님이 시술 완료 버튼 클릭 시 해당 예약의 resvState가 예약 확정에서 시술 완료로 변경 */
                 reservation.completeProcedure();
+                daySummarizer.refreshAfterCommit(reservation.getShopInfo().getShopCode(), resvDate);
 
                 salesService.createPayment(salesDTO);
             } else {
@@ -298,6 +381,9 @@ public class BossReservationService {
         if(noShow.getResvState() == ReservationState.APPROVE &&
                 noShow.getResvDate().toLocalDate().isBefore(today)){
             noShow.noShowHandling();
+            slotAllocator.release(resvCode);
+            slotAllocator.evict(noShow.getShopInfo().getShopCode(), noShow.getResvDate());
+            daySummarizer.refreshAfterCommit(noShow.getShopInfo().getShopCode(), noShow.getResvDate());
         } else if(noShow.getUserComment().equals("노쇼")){
             throw new IllegalStateException("해당 예약은 이미 노쇼처리 되었습니다.");
         } else {
@@ -324,6 +410,50 @@ public class BossReservationService {
                 .toList();
     }
 
+    /* 고객명 별 예약 내역 - 커서 페이지 (최신 예약부터) */
+    @Transactional(readOnly = true)
+    public CursorPage<BossResvProjectionDTO> findReservationPageByName(Integer shopCode, String userName, String cursor, int size){
+        return findPage(cursor, size, (position, pageable) -> bossReservationRepository.findPageByShopCodeAndUserName(
+                shopCode, userName, position.getResvDate(), position.getResvTime(), position.getResvCode(), pageable));
+    }
+
+    /* 메뉴 이름 별 예약 내역 - 커서 페이지 (최신 예약부터) */
+    @Transactional(readOnly = true)
+    public CursorPage<BossResvProjectionDTO> findReservationPageByMenuName(Integer shopCode, String menuName, String cursor, int size){
+        return findPage(cursor, size, (position, pageable) -> bossReservationRepository.findPageByShopCodeAndMenuName(
+                shopCode, menuName, position.getResvDate(), position.getResvTime(), position.getResvCode(), pageable));
+    }
+
+    /* 노쇼 & 취소 내역 - 커서 페이지 (최신 예약부터) */
+    @Transactional(readOnly = true)
+    public CursorPage<BossResvProjectionDTO> findCanceledAndNoShowPage(Integer shopCode, String cursor, int size){
+        return findPage(cursor, size, (position, pageable) -> bossReservationRepository.findPageByResvState(
+                shopCode, ReservationState.CANCEL, position.getResvDate(), position.getResvTime(), position.getResvCode(), pageable));
+    }
+
+    /* 고객명 + 연락처 별 예약 내역 - 커서 페이지 (최신 예약부터) */
+    @Transactional(readOnly = true)
+    public CursorPage<BossResvProjectionDTO> findReservationPageByUserNameAndUserPhone(Integer shopCode, String userName, String userPhone, String cursor, int size){
+        return findPage(cursor, size, (position, pageable) -> bossReservationRepository.findPageByUserNameAndUserPhone(
+                shopCode, userName, userPhone, position.getResvDate(), position.getResvTime(), position.getResvCode(), pageable));
+    }
+
+    /*
+    * 커서 위치 다음부터 size 건 조회
+    * - 한 건 더(size + 1) 읽어서 다음 페이지 여부 확인, count 쿼리 없음
+    * - 커서 토큰이 잘못되면 IllegalArgumentException
+    * */
+    private CursorPage<BossResvProjectionDTO> findPage(String cursor, int size,
+                                                       BiFunction<ReservationCursor, Pageable, List<BossResvProjectionDTO>> query){
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("페이지 크기는 1 ~ " + MAX_PAGE_SIZE + " 사이여야 합니다.");
+        }
+
+        List<BossResvProjectionDTO> fetched = query.apply(ReservationCursor.decode(cursor), PageRequest.of(0, size + 1));
+
+        return CursorPage.of(fetched, size, last -> ReservationCursor.after(last).encode());
+    }
+
     /* 메시지 전송 파라미터인 cliendCode를 조회할 userCode 조회 */
     public Integer findUserCodeByUserName(String userName, String userPhone){
 
@@ -0,0 +1,82 @@
+package com.header.header.domain.reservation.service;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.time.LocalTime;
+import java.util.BitSet;
+
+/*
+* 샵의 하루 예약 점유 현황 (SlotAllocator 가 생성)
+*
+* - 하루(00:00 ~ 24:00)를 granularity 분 단위 칸으로 나눈 비트맵
+* - 예약 하나는 [예약 시간, 예약 시간 + 메뉴 소요 시간) 구간의 칸을 모두 점유
+* - 캐시에 그대로 저장되므로 한 번 만들어진 객체는 변경하지 않는다 (occupied() 는 복사본 반환)
+* */
+public class DayOccupancy implements Serializable {
+
+    private static final int MINUTES_OF_DAY = 24 * 60;
+
+    private final int granularity;
+    private final BitSet slots;
+
+    private DayOccupancy(int granularity, BitSet slots) {
+        this.granularity = granularity;
+        this.slots = slots;
+    }
+
+    public static DayOccupancy empty(int granularity) {
+        return new DayOccupancy(granularity, new BitSet(MINUTES_OF_DAY / granularity));
+    }
+
+    public int getGranularity() {
+        return granularity;
+    }
+
+    /* start 부터 minutes 동안 겹치는 예약이 없으면 true */
+    public boolean isFree(LocalTime start, int minutes) {
+        int from = fromIndex(start);
+        int to = toIndex(start, minutes);
+        int next = slots.nextSetBit(from);
+        return next < 0 || next >= to;
+    }
+
+    /* 점유 구간을 추가한 복사본 반환 */
+    public DayOccupancy occupied(LocalTime start, int minutes) {
+        DayOccupancy copy = new DayOccupancy(granularity, (BitSet) slots.clone());
+        copy.occupy(start, minutes);
+        return copy;
+    }
+
+    /* L2(Redis) 저장 형식 - granularity(int) + 비트맵 long 배열 (하루 10분 칸이면 4 + 8 x 3 = 최대 28바이트) */
+    public byte[] toBytes() {
+        long[] words = slots.toLongArray();
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + Long.BYTES * words.length);
+        buffer.putInt(granularity);
+        buffer.asLongBuffer().put(words);
+        return buffer.array();
+    }
+
+    public static DayOccupancy fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int granularity = buffer.getInt();
+        long[] words = new long[buffer.remaining() / Long.BYTES];
+        buffer.asLongBuffer().get(words);
+        return new DayOccupancy(granularity, BitSet.valueOf(words));
+    }
+
+    /* 생성 중에만 사용 (캐시에 올라가기 전) */
+    void occupy(LocalTime start, int minutes) {
+        slots.set(fromIndex(start), toIndex(start, minutes));
+    }
+
+    // 시작 시간은 칸 단위로 내림
+    private int fromIndex(LocalTime start) {
+        return (start.toSecondOfDay() / 60) / granularity;
+    }
+
+    // 종료 시간은 칸 단위로 올림, 자정을 넘기는 구간은 자정까지만
+    private int toIndex(LocalTime start, int minutes) {
+        int endMinute = Math.min(start.toSecondOfDay() / 60 + Math.max(minutes, 1), MINUTES_OF_DAY);
+        return (endMinute + granularity - 1) / granularity;
+    }
+}
@@ -1,47 +1,53 @@
 package com.header.header.domain.reservation.service;
 
-import com.header.header.domain.shop.entity.ShopHoliday;
+import com.header.header.common.cache.ShopScopedCache;
+import com.header.header.common.util.TransactionUtils;
 import com.header.header.domain.shop.repository.ShopHolidayRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.sql.Date;
-import java.time.DayOfWeek;
-import java.util.List;
+import java.time.LocalDate;
+import java.util.BitSet;
 
 @Service
 @RequiredArgsConstructor
 public class HolidayExaminationForCache {
 
+    private static final String CACHE_NAME = "holidays";
+    private static final String CALENDAR_KEY = "calendar";
+
     private final ShopHolidayRepository shopHolidayRepository;
+    private final ShopScopedCache shopScopedCache;
 
     /*
     * 사용자가 접근하려는 날짜가 휴일인지 검증하는 메소드
     *
-    * - 캐시 저장 (shopCode_날짜 : holidays)
+    * - 캐시 저장 (shopCode_calendar : 샵 휴일 달력), 날짜마다 쿼리하지 않고 달력의 비트만 확인
     * */
-    @Cacheable(value = "holidays", key = "#shopCode + '_' + #dateToScan.toString()")
     public boolean isHoliday(Integer shopCode, Date dateToScan) {
+        return getCalendar(shopCode).isHoliday(dateToScan.toLocalDate());
+    }
+
+    /* startDate 부터 days 일 동안의 휴일 (n번째 날이 휴일이면 n번째 비트) */
+    public BitSet holidaysBetween(Integer shopCode, LocalDate startDate, int days) {
+        return getCalendar(shopCode).holidaysBetween(startDate, days);
+    }
 
-        /*임시 휴일 확인 - 단 하루만 검사하는 쿼리 */
-        if (shopHolidayRepository.isTempHoliday(shopCode, dateToScan)) return true;
-
-        /*정기 휴일 확인 - 스캔하려는 날짜보다 이전에 설정된 휴일이 있는지 확인 */
-        List<ShopHoliday> repeatHols = shopHolidayRepository.findRegHoliday(shopCode, dateToScan);
-
-        /* 반환된 값이 비어있지 않을 때만 검증 */
-        if (!repeatHols.isEmpty()) {
-            /*java.time의 요일 계산 클래스*/
-            DayOfWeek day = dateToScan.toLocalDate().getDayOfWeek();
-            for (ShopHoliday hol : repeatHols) {
-                if (hol.getHolStartDate().toLocalDate().getDayOfWeek() == day) {
-                    return true;
-                }
-            }
-        }
-
-        /* 휴일 아님 false 반환*/
-        return false;
+    /* 샵 휴일 달력 - 캐시에 없으면 샵의 휴일 규칙 전체를 한 번 조회해서 생성 */
+    public ShopHolidayCalendar getCalendar(Integer shopCode) {
+        return shopScopedCache.get(CACHE_NAME, shopCode, CALENDAR_KEY, ShopHolidayCalendar.class,
+                () -> ShopHolidayCalendar.of(shopHolidayRepository.findAllByShopCode(shopCode)));
+    }
+
+    /*
+    * 휴일 생성 / 수정 / 삭제 후 호출 (ShopHolidayService)
+    * - 지금 바로 지워 같은 트랜잭션의 다음 조회는 DB 를 다시 읽게 하고
+    * - 커밋 후에 달력을 다시 만들어 캐시에 올리고 다른 노드의 사본은 삭제 (롤백되면 다음 조회 때 옛 규칙으로 생성)
+    * */
+    public void rebuild(Integer shopCode) {
+        shopScopedCache.evictShopLocal(CACHE_NAME, shopCode);
+        TransactionUtils.afterCommit(() -> shopScopedCache.update(CACHE_NAME, shopCode, CALENDAR_KEY,
+                ShopHolidayCalendar.of(shopHolidayRepository.findAllByShopCode(shopCode))));
     }
 }
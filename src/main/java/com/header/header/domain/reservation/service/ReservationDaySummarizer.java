@@ -0,0 +1,52 @@
+package com.header.header.domain.reservation.service;
+
+import com.header.header.common.util.TransactionUtils;
+import com.header.header.domain.reservation.repository.ReservationDaySummaryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+
+/*
+* 날짜별 예약 집계(tbl_reservation_day_summary) 갱신
+*
+* - 예약 생성 / 수정 / 취소 / 시술완료 / 노쇼 / 삭제 후 호출, 바뀐 날짜 한 행만 다시 계산
+* - 커밋 후에 별도 트랜잭션(READ COMMITTED)으로 실행
+*   예약 트랜잭션 안에서 같은 날짜의 예약을 읽으면 동시에 들어온 예약과 서로 락을 기다릴 수 있으므로
+*   READ COMMITTED 의 INSERT ... SELECT 는 예약 행을 잠그지 않고 커밋된 값만 읽는다
+* - 같은 날짜의 갱신은 집계 행 락(lock)을 먼저 잡은 순서대로 계산하므로 늦게 끝난 갱신이 항상 최신 값
+* - 실패해도 예약 처리는 이미 커밋되었으므로 로그만 남김 (같은 날짜의 다음 변경 때 다시 계산)
+* */
+@Slf4j
+@Service
+public class ReservationDaySummarizer {
+
+    private final ReservationDaySummaryRepository daySummaryRepository;
+    private final TransactionTemplate refreshTransaction;
+
+    public ReservationDaySummarizer(ReservationDaySummaryRepository daySummaryRepository,
+                                    PlatformTransactionManager transactionManager) {
+        this.daySummaryRepository = daySummaryRepository;
+        this.refreshTransaction = new TransactionTemplate(transactionManager);
+        this.refreshTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.refreshTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+    }
+
+    public void refreshAfterCommit(Integer shopCode, Date resvDate) {
+        TransactionUtils.afterCommit(() -> refresh(shopCode, resvDate));
+    }
+
+    void refresh(Integer shopCode, Date resvDate) {
+        try {
+            refreshTransaction.executeWithoutResult(status -> {
+                daySummaryRepository.lock(shopCode, resvDate);
+                daySummaryRepository.refresh(shopCode, resvDate);
+            });
+        } catch (RuntimeException e) {
+            log.warn("예약 날짜별 집계 갱신 실패 : shopCode={}, resvDate={}", shopCode, resvDate, e);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.header.header.domain.reservation.service;
+
+import com.header.header.domain.reservation.projection.ReservedSlotView;
+import com.header.header.domain.reservation.repository.UserReservationRepository;
+import com.header.header.domain.shop.entity.Shop;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class ScheduleAvailabilityEngine {
+
+    /* 예약 시작 시간은 한 시간 단위로 받는다 (점유 구간은 SlotAllocator 의 granularity 단위) */
+    private static final int START_STEP_MINUTES = 60;
+
+    private final UserReservationRepository userReservationRepository;
+    private final HolidayExaminationForCache examinationForCache;
+    private final SlotAllocator slotAllocator;
+
+    /*
+    * 조회 기간 전체의 휴일(샵 휴일 달력) / 예약(범위 쿼리 한 번) 정보를 읽어와 ScheduleWindow 로 만든다
+    *
+    * - 기존: 날짜 수 x 슬롯 수 만큼 isAvailableSchedule, isHoliday 호출
+    * - 변경: 예약 건수 + 휴일 건수 만큼만 비트를 세팅 (슬롯 수와 무관)
+    * - 예약은 메뉴 소요 시간(estTime) 만큼의 구간을 점유한다
+    * */
+    public ScheduleWindow load(Shop shop, LocalDate startDate, int days) {
+
+        if (shop.getShopOpen() == null || shop.getShopClose() == null) {
+            throw new IllegalStateException("샵 운영 시간이 등록되지 않았습니다.");
+        }
+
+        ScheduleWindow window = new ScheduleWindow(
+                startDate,
+                days,
+                LocalTime.parse(shop.getShopOpen()),
+                LocalTime.parse(shop.getShopClose()),
+                START_STEP_MINUTES,
+                slotAllocator.getGranularityMinutes()
+        );
+
+        if (window.getDays() == 0) return window;
+
+        Integer shopCode = shop.getShopCode();
+        Date from = Date.valueOf(window.getStartDate());
+        Date to = Date.valueOf(window.getEndDate());
+
+        /* 1) 휴일 - 캐시된 샵 휴일 달력에서 기간만큼 비트셋을 한 번에 가져옴 */
+        window.markHolidays(examinationForCache.holidaysBetween(shopCode, window.getStartDate(), window.getDays()));
+
+        /* 2) 예약 - 취소되지 않은 예약만 메뉴 소요 시간만큼 구간을 점유한다 */
+        List<ReservedSlotView> reservedSlots = userReservationRepository.findReservedSlotsBetween(shopCode, from, to);
+        for (ReservedSlotView slot : reservedSlots) {
+            int dayIndex = window.indexOf(slot.getResvDate().toLocalDate());
+            if (dayIndex >= 0) {
+                window.addReservedTime(dayIndex, slot.getResvTime().toLocalTime());
+            }
+        }
+
+        Map<LocalDate, DayOccupancy> occupancies = slotAllocator.build(reservedSlots);
+        occupancies.forEach((date, occupancy) -> {
+            int dayIndex = window.indexOf(date);
+            if (dayIndex >= 0) {
+                window.setOccupancy(dayIndex, occupancy);
+            }
+        });
+
+        return window;
+    }
+}
@@ -0,0 +1,116 @@
+package com.header.header.domain.reservation.service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/*
+* 조회 기간 동안의 샵 일정을 메모리에 올려둔 결과물 (ScheduleAvailabilityEngine 이 생성)
+*
+* - holidays      : 기간 내 n번째 날이 휴일이면 n번째 비트가 켜짐
+* - occupancies   : 날짜별 점유 비트맵 (메뉴 소요 시간만큼 구간 점유, SlotAllocator 참고)
+* - reservedTimes : 날짜별 예약 시간 목록 (예약 상태와 무관하게 기존 응답 형식 그대로 유지)
+* */
+public class ScheduleWindow {
+
+    private final LocalDate startDate;
+    private final int days;
+    private final LocalTime openTime;
+    private final int openMinute;
+    private final int closeMinute;
+    private final int stepMinutes;
+
+    private final BitSet holidays;
+    private final List<DayOccupancy> occupancies;
+    private final List<List<LocalTime>> reservedTimes;
+
+    ScheduleWindow(LocalDate startDate, int days, LocalTime openTime, LocalTime closeTime,
+                   int stepMinutes, int granularityMinutes) {
+        this.startDate = startDate;
+        this.days = Math.max(days, 0);
+        this.openTime = openTime;
+        this.openMinute = openTime.toSecondOfDay() / 60;
+        this.closeMinute = closeTime.toSecondOfDay() / 60;
+        this.stepMinutes = stepMinutes;
+
+        this.holidays = new BitSet(this.days);
+        this.occupancies = new ArrayList<>(Collections.nCopies(this.days, DayOccupancy.empty(granularityMinutes)));
+        this.reservedTimes = new ArrayList<>(this.days);
+        for (int i = 0; i < this.days; i++) {
+            reservedTimes.add(new ArrayList<>());
+        }
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return startDate.plusDays(days - 1L);
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    /* 기간 밖의 날짜면 -1 */
+    int indexOf(LocalDate date) {
+        long index = ChronoUnit.DAYS.between(startDate, date);
+        return (index < 0 || index >= days) ? -1 : (int) index;
+    }
+
+    void markHolidays(BitSet dayIndexes) {
+        holidays.or(dayIndexes);
+    }
+
+    void addReservedTime(int dayIndex, LocalTime time) {
+        reservedTimes.get(dayIndex).add(time);
+    }
+
+    void setOccupancy(int dayIndex, DayOccupancy occupancy) {
+        occupancies.set(dayIndex, occupancy);
+    }
+
+    public boolean isHoliday(LocalDate date) {
+        int index = indexOf(date);
+        return index >= 0 && holidays.get(index);
+    }
+
+    /* 시작 시간이 다른 예약에 점유되지 않은 시간 목록 (메뉴 미지정) */
+    public List<LocalTime> availableTimes(LocalDate date) {
+        return collectTimes(date, 1, false);
+    }
+
+    /* 시술 시간(minutes) 전체가 비어 있고 마감 전에 끝나는 시간 목록 (메뉴 지정) */
+    public List<LocalTime> availableTimes(LocalDate date, int minutes) {
+        return collectTimes(date, minutes, true);
+    }
+
+    private List<LocalTime> collectTimes(LocalDate date, int minutes, boolean mustEndBeforeClose) {
+        int index = indexOf(date);
+        if (index < 0) return Collections.emptyList();
+
+        DayOccupancy occupancy = occupancies.get(index);
+        List<LocalTime> result = new ArrayList<>();
+
+        // 예약 시작 시간은 영업 시작부터 stepMinutes 간격, 자정을 넘겨 반복되지 않도록 분 단위로 계산
+        for (int minute = openMinute; minute < closeMinute; minute += stepMinutes) {
+            if (mustEndBeforeClose && minute + minutes > closeMinute) break;
+
+            LocalTime time = openTime.plusMinutes(minute - openMinute);
+            if (occupancy.isFree(time, minutes)) {
+                result.add(time);
+            }
+        }
+        return result;
+    }
+
+    public List<LocalTime> reservedTimes(LocalDate date) {
+        int index = indexOf(date);
+        return index < 0 ? Collections.emptyList() : reservedTimes.get(index);
+    }
+}
@@ -0,0 +1,164 @@
+package com.header.header.domain.reservation.service;
+
+import com.header.header.domain.shop.entity.ShopHoliday;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+* 샵 한 곳의 휴일 달력 (HolidayExaminationForCache 가 생성, holidays 캐시에 샵 단위로 저장)
+*
+* - yearDays   : 연도별 비트셋, 일시 휴일인 날(dayOfYear - 1)의 비트가 켜짐
+* - weeklyMask : 정기 휴일 요일 마스크 (월요일 = 1번 비트 ... 일요일 = 7번 비트)
+* - weeklyFrom : 요일별 정기 휴일이 처음 시작된 날 (그 이전 날짜는 휴일 아님)
+* - 캐시에 그대로 저장되므로 만들어진 뒤에는 변경하지 않는다
+* */
+public class ShopHolidayCalendar implements Serializable {
+
+    private final Map<Integer, BitSet> yearDays;
+    private final int weeklyMask;
+    private final LocalDate[] weeklyFrom;
+
+    private ShopHolidayCalendar(Map<Integer, BitSet> yearDays, int weeklyMask, LocalDate[] weeklyFrom) {
+        this.yearDays = yearDays;
+        this.weeklyMask = weeklyMask;
+        this.weeklyFrom = weeklyFrom;
+    }
+
+    /* 샵의 휴일 규칙 전체로 달력 생성 */
+    public static ShopHolidayCalendar of(List<ShopHoliday> holidays) {
+        Map<Integer, BitSet> yearDays = new HashMap<>();
+        int weeklyMask = 0;
+        LocalDate[] weeklyFrom = new LocalDate[8];
+
+        for (ShopHoliday hol : holidays) {
+            LocalDate start = hol.getHolStartDate().toLocalDate();
+
+            if (Boolean.TRUE.equals(hol.getIsHolRepeat())) {
+                // 정기 휴일: 시작일의 요일, 같은 요일이 여러 개면 가장 이른 시작일 기준
+                int dow = start.getDayOfWeek().getValue();
+                weeklyMask |= 1 << dow;
+                if (weeklyFrom[dow] == null || start.isBefore(weeklyFrom[dow])) {
+                    weeklyFrom[dow] = start;
+                }
+            } else if (hol.getHolEndDate() != null) {
+                // 일시 휴일: 시작일 ~ 종료일을 연도별 비트셋에 세팅
+                LocalDate end = hol.getHolEndDate().toLocalDate();
+                for (int year = start.getYear(); year <= end.getYear(); year++) {
+                    int from = year == start.getYear() ? start.getDayOfYear() - 1 : 0;
+                    int to = year == end.getYear() ? end.getDayOfYear() : LocalDate.of(year, 12, 31).getDayOfYear();
+                    yearDays.computeIfAbsent(year, y -> new BitSet(366)).set(from, to);
+                }
+            }
+        }
+        return new ShopHolidayCalendar(yearDays, weeklyMask, weeklyFrom);
+    }
+
+    /*
+    * L2(Redis) 저장 형식
+    * weeklyMask(int) + 요일별 시작일 epochDay 7개(long, 없으면 Long.MIN_VALUE) + 연도 수(int) + [연도(int), long 개수(int), 비트셋 long 배열]
+    * */
+    public byte[] toBytes() {
+        int size = Integer.BYTES + Long.BYTES * 7 + Integer.BYTES;
+        Map<Integer, long[]> words = new HashMap<>();
+        for (Map.Entry<Integer, BitSet> entry : yearDays.entrySet()) {
+            long[] yearWords = entry.getValue().toLongArray();
+            words.put(entry.getKey(), yearWords);
+            size += Integer.BYTES * 2 + Long.BYTES * yearWords.length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(weeklyMask);
+        for (int dow = 1; dow <= 7; dow++) {
+            buffer.putLong(weeklyFrom[dow] == null ? Long.MIN_VALUE : weeklyFrom[dow].toEpochDay());
+        }
+        buffer.putInt(words.size());
+        words.forEach((year, yearWords) -> {
+            buffer.putInt(year);
+            buffer.putInt(yearWords.length);
+            for (long word : yearWords) {
+                buffer.putLong(word);
+            }
+        });
+        return buffer.array();
+    }
+
+    public static ShopHolidayCalendar fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int weeklyMask = buffer.getInt();
+        LocalDate[] weeklyFrom = new LocalDate[8];
+        for (int dow = 1; dow <= 7; dow++) {
+            long epochDay = buffer.getLong();
+            weeklyFrom[dow] = epochDay == Long.MIN_VALUE ? null : LocalDate.ofEpochDay(epochDay);
+        }
+
+        int yearCount = buffer.getInt();
+        Map<Integer, BitSet> yearDays = new HashMap<>();
+        for (int i = 0; i < yearCount; i++) {
+            int year = buffer.getInt();
+            long[] yearWords = new long[buffer.getInt()];
+            for (int w = 0; w < yearWords.length; w++) {
+                yearWords[w] = buffer.getLong();
+            }
+            yearDays.put(year, BitSet.valueOf(yearWords));
+        }
+        return new ShopHolidayCalendar(yearDays, weeklyMask, weeklyFrom);
+    }
+
+    public boolean isHoliday(LocalDate date) {
+        BitSet days = yearDays.get(date.getYear());
+        if (days != null && days.get(date.getDayOfYear() - 1)) return true;
+
+        int dow = date.getDayOfWeek().getValue();
+        return (weeklyMask & (1 << dow)) != 0 && !date.isBefore(weeklyFrom[dow]);
+    }
+
+    /*
+    * startDate 부터 days 일 동안의 휴일 - n번째 날이 휴일이면 n번째 비트가 켜짐
+    * - 일시 휴일은 연도별 비트셋을 구간 단위로 복사, 정기 휴일은 요일마다 7일 간격으로 세팅
+    * */
+    public BitSet holidaysBetween(LocalDate startDate, int days) {
+        BitSet result = new BitSet(Math.max(days, 0));
+        if (days <= 0) return result;
+
+        LocalDate endDate = startDate.plusDays(days - 1L);
+
+        // 1) 일시 휴일 - 연도가 바뀌는 구간마다 잘라서 비트 단위로 복사
+        int offset = 0;
+        for (LocalDate from = startDate; !from.isAfter(endDate); ) {
+            LocalDate yearEnd = LocalDate.of(from.getYear(), 12, 31);
+            LocalDate to = yearEnd.isBefore(endDate) ? yearEnd : endDate;
+            int length = to.getDayOfYear() - from.getDayOfYear() + 1;
+
+            BitSet yearBits = yearDays.get(from.getYear());
+            if (yearBits != null) {
+                int base = from.getDayOfYear() - 1;
+                for (int i = yearBits.nextSetBit(base); i >= 0 && i < base + length; i = yearBits.nextSetBit(i + 1)) {
+                    result.set(offset + i - base);
+                }
+            }
+            offset += length;
+            from = to.plusDays(1);
+        }
+
+        // 2) 정기 휴일 - 요일별로 시작일 이후 같은 요일마다
+        if (weeklyMask != 0) {
+            for (int dow = 1; dow <= 7; dow++) {
+                if ((weeklyMask & (1 << dow)) == 0) continue;
+
+                LocalDate first = startDate.isBefore(weeklyFrom[dow]) ? weeklyFrom[dow] : startDate;
+                int shift = (dow - first.getDayOfWeek().getValue() + 7) % 7;
+                long index = first.toEpochDay() - startDate.toEpochDay() + shift;
+                for (; index < days; index += 7) {
+                    result.set((int) index);
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,146 @@
+package com.header.header.domain.reservation.service;
+
+import com.header.header.common.cache.ShopScopedCache;
+import com.header.header.common.util.TransactionUtils;
+import com.header.header.domain.menu.entity.Menu;
+import com.header.header.domain.reservation.enums.ReservationState;
+import com.header.header.domain.reservation.projection.ReservedSlotView;
+import com.header.header.domain.reservation.repository.ReservationSlotClaimRepository;
+import com.header.header.domain.reservation.repository.UserReservationRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class SlotAllocator {
+
+    /* 메뉴에 소요 시간이 없으면 기존처럼 한 시간 점유 */
+    static final int DEFAULT_DURATION_MINUTES = 60;
+
+    /* tbl_reservation_slot_claim 한 칸의 크기 - 이미 저장된 점유 행과 맞아야 하므로 설정과 무관하게 고정 */
+    static final int CLAIM_CELL_MINUTES = 10;
+
+    private static final String CACHE_NAME = "available-schedule";
+
+    private final UserReservationRepository userReservationRepository;
+    private final ReservationSlotClaimRepository slotClaimRepository;
+    private final ShopScopedCache shopScopedCache;
+
+    /* 점유 비트맵 한 칸의 크기 (10 / 15 / 30 분 등 60의 약수) */
+    @Value("${reservation.slot.granularity-minutes:10}")
+    private int granularityMinutes;
+
+    @PostConstruct
+    public void init() {
+        if (granularityMinutes <= 0 || 60 % granularityMinutes != 0) {
+            throw new IllegalStateException("reservation.slot.granularity-minutes 는 60의 약수여야 합니다. : " + granularityMinutes);
+        }
+    }
+
+    public int getGranularityMinutes() {
+        return granularityMinutes;
+    }
+
+    /* 메뉴의 예상 소요 시간 (분) */
+    public int durationOf(Menu menu) {
+        Integer estTime = menu == null ? null : menu.getEstTime();
+        return (estTime == null || estTime <= 0) ? DEFAULT_DURATION_MINUTES : estTime;
+    }
+
+    /*
+    * 예약 목록으로 날짜별 점유 비트맵 생성
+    * - 취소된 예약은 점유하지 않음
+    * */
+    public Map<LocalDate, DayOccupancy> build(List<ReservedSlotView> reservedSlots) {
+        Map<LocalDate, DayOccupancy> result = new HashMap<>();
+
+        for (ReservedSlotView slot : reservedSlots) {
+            if (slot.getResvState() == ReservationState.CANCEL) continue;
+
+            int minutes = (slot.getEstTime() == null || slot.getEstTime() <= 0)
+                    ? DEFAULT_DURATION_MINUTES : slot.getEstTime();
+
+            result.computeIfAbsent(slot.getResvDate().toLocalDate(), date -> DayOccupancy.empty(granularityMinutes))
+                    .occupy(slot.getResvTime().toLocalTime(), minutes);
+        }
+        return result;
+    }
+
+    /* 하루치 점유 현황 - 캐시에 없으면 해당 날짜의 예약만 한 번 조회 (동시에 여러 요청이 와도 조회는 한 번) */
+    public DayOccupancy getDayOccupancy(Integer shopCode, Date resvDate) {
+        return shopScopedCache.get(CACHE_NAME, shopCode, resvDate, DayOccupancy.class, () ->
+                build(userReservationRepository.findReservedSlotsBetween(shopCode, resvDate, resvDate))
+                        .getOrDefault(resvDate.toLocalDate(), DayOccupancy.empty(granularityMinutes)));
+    }
+
+    /* resvTime 부터 minutes 동안 다른 예약과 겹치지 않으면 true */
+    public boolean isAvailable(Integer shopCode, Date resvDate, Time resvTime, int minutes) {
+        return getDayOccupancy(shopCode, resvDate).isFree(resvTime.toLocalTime(), minutes);
+    }
+
+    /*
+    * 예약 저장 직후 같은 트랜잭션 안에서 호출 - 락 없이 예약 구간을 점유
+    *
+    * - 구간의 10분 칸마다 (샵, 날짜, 칸 시간) PK 로 INSERT, 먼저 커밋한 예약만 성공한다
+    * - 비관적 락(PESSIMISTIC_WRITE) 조회 대신 PK 충돌로 판단하므로 트랜잭션 내내 락을 잡고 있지 않음
+    * - 칸은 항상 시간 순으로 INSERT 해서 서로 다른 순서로 잠그다 생기는 데드락을 피한다
+    * - 실패하면 false (트랜잭션은 rollback-only 가 되므로 호출한 쪽에서 예외를 던져 롤백시킬 것)
+    * */
+    public boolean claim(Integer shopCode, Date resvDate, Time resvTime, int minutes, Integer resvCode) {
+        try {
+            for (Time cell : claimCells(resvTime, minutes)) {
+                slotClaimRepository.claim(shopCode, resvDate, cell, resvCode);
+            }
+            return true;
+        } catch (DataIntegrityViolationException | PessimisticLockingFailureException e) {
+            // PK 중복(다른 예약이 먼저 점유) 또는 동시에 같은 칸을 INSERT 하다 락 대기 시간 초과 / 데드락
+            return false;
+        }
+    }
+
+    /* 예약 취소 / 노쇼 / 변경 / 삭제 시 점유한 칸 반납 */
+    public void release(Integer resvCode) {
+        slotClaimRepository.releaseByResvCode(resvCode);
+    }
+
+    /* 시작 시간을 칸 단위로 내림, 종료 시간을 칸 단위로 올림 (DayOccupancy 와 같은 규칙, 자정까지만) */
+    static List<Time> claimCells(Time resvTime, int minutes) {
+        int startMinute = resvTime.toLocalTime().toSecondOfDay() / 60;
+        int endMinute = Math.min(startMinute + Math.max(minutes, 1), 24 * 60);
+
+        List<Time> cells = new ArrayList<>();
+        for (int cell = startMinute / CLAIM_CELL_MINUTES * CLAIM_CELL_MINUTES; cell < endMinute; cell += CLAIM_CELL_MINUTES) {
+            cells.add(Time.valueOf(LocalTime.ofSecondOfDay(cell * 60L)));
+        }
+        return cells;
+    }
+
+    /*
+    * 예약 생성 / 취소 / 변경 / 삭제 후 호출 - 다음 조회 때 DB 기준으로 다시 만든다
+    * - 읽고 덧칠해서 저장하지 않는 이유 : L2 는 여러 노드가 공유하므로 동시에 들어온 예약끼리 서로 덮어쓸 수 있음
+    * - 커밋 전에 다른 요청이 옛 데이터로 캐시를 다시 채울 수 있으므로 커밋 후에 한 번 더 삭제 (다른 노드에도 전파)
+    * */
+    public void evict(Integer shopCode, Date resvDate) {
+        shopScopedCache.evictLocal(CACHE_NAME, shopCode, resvDate);
+        TransactionUtils.afterCommit(() -> shopScopedCache.evict(CACHE_NAME, shopCode, resvDate));
+    }
+
+    /* 메뉴 소요 시간 변경 등 샵의 점유 현황 전체가 바뀌는 경우 - 그 샵의 날짜별 캐시만 모두 삭제 */
+    public void evictShop(Integer shopCode) {
+        shopScopedCache.evictShopLocal(CACHE_NAME, shopCode);
+        TransactionUtils.afterCommit(() -> shopScopedCache.evictShop(CACHE_NAME, shopCode));
+    }
+}
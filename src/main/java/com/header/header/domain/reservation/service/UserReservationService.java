@@ -1,5 +1,6 @@
 package com.header.header.domain.reservation.service;
 
+import com.header.header.common.cache.SingleFlight;
 import com.header.header.domain.menu.entity.Menu;
 import com.header.header.domain.menu.repository.MenuRepository;
 import com.header.header.domain.reservation.dto.ReservationDateAndTimeDTO;
@@ -22,8 +23,6 @@ import com.header.header.domain.user.repository.MainUserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
-import org.springframework.cache.Cache;
-import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,9 +31,9 @@ import java.sql.Time;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Transactional(readOnly = true)
@@ -49,7 +48,10 @@ public class UserReservationService {
     private final MenuRepository menuRepository;
     private final ShopHolidayRepository shopHolidayRepository;
     private final HolidayExaminationForCache examinationForCache;
-    private final CacheManager cacheManager;
+    private final ScheduleAvailabilityEngine availabilityEngine;
+    private final SlotAllocator slotAllocator;
+    private final SingleFlight singleFlight;
+    private final ReservationDaySummarizer daySummarizer;
 
     /*사용자가 자신의 예약 내역을 상세 조회할 경우*/
     public Optional<UserReservationDetail> readDetailByUserCodeAndResvCode(Integer userCode, Integer resvCode) {
@@ -117,13 +119,6 @@ public class UserReservationService {
         Date resvDate = dto.getResvDate();
         Time resvTime = dto.getResvTime();
 
-        Optional<BossReservation> existRev
-                = userReservationRepository.findForReservation(shopCode, resvDate, resvTime);
-
-        if (existRev.isPresent()) {
-            throw new UserReservationExceptionHandler(UserReservationErrorCode.SCHEDULE_ALREADY_TAKEN);
-        }
-
         /*유효하지 않은 사용자 정보일 경우 예외*/
         User user = userRepository.findById(userCode)
                 .orElseThrow(() -> new UserReservationExceptionHandler(UserReservationErrorCode.USER_NOT_FOUND));
@@ -137,16 +132,6 @@ public class UserReservationService {
             throw new UserReservationExceptionHandler(UserReservationErrorCode.DATE_HAS_HOL);
         }
 
-        // 예약 시도 날짜가 이미 예약되어 있을 경우 예외
-        if (!userReservationRepository.isAvailableSchedule(shopCode, resvDate, resvTime)) {
-            throw new UserReservationExceptionHandler(UserReservationErrorCode.SCHEDULE_ALREADY_TAKEN);
-        }
-
-        // 고객의 일정에 해당 날짜, 시간의 예약이 있을 경우 (노쇼 방지)
-        if(userReservationRepository.isUserHasReservationInThisSchedule(userCode, resvDate, resvTime)) {
-            throw new UserReservationExceptionHandler(UserReservationErrorCode.USER_SCHEDULE_UNAVAILABLE);
-        }
-
         /*  유효하지 않는 메뉴 정보 예외
             1) 해당 샵이 가지고 있지 않은 메뉴인 경우
             2) 비활성화된 메뉴인 경우*/
@@ -155,6 +140,17 @@ public class UserReservationService {
             throw new UserReservationExceptionHandler(UserReservationErrorCode.MENU_NOT_FOUND);
         }
 
+        // 예약 시도 시간부터 메뉴 소요 시간 동안 다른 예약과 겹칠 경우 예외 (캐시 기준 사전 검사, 최종 판단은 claim)
+        int durationMinutes = slotAllocator.durationOf(menu);
+        if (!slotAllocator.isAvailable(shopCode, resvDate, resvTime, durationMinutes)) {
+            throw new UserReservationExceptionHandler(UserReservationErrorCode.SCHEDULE_ALREADY_TAKEN);
+        }
+
+        // 고객의 일정에 해당 날짜, 시간의 예약이 있을 경우 (노쇼 방지)
+        if(userReservationRepository.isUserHasReservationInThisSchedule(userCode, resvDate, resvTime)) {
+            throw new UserReservationExceptionHandler(UserReservationErrorCode.USER_SCHEDULE_UNAVAILABLE);
+        }
+
         BossReservation newReservation = BossReservation
                 .builder()
                 .userInfo(user)
@@ -170,19 +166,15 @@ public class UserReservationService {
         /* 예약 생성 */
         userReservationRepository.save(newReservation);
 
-        // 캐시 키 생성
-        String cacheKey = shopCode + "_" +
-                resvDate.toString() + "_" +
-                resvTime.toString();
-
-        // 캐시 찾아오기
-        Cache cache = cacheManager.getCache("available-schedule");
-
-        // 새로운 캐시 생성
-        if (cache != null) {
-            cache.put(cacheKey, false);
+        /* 예약 구간 점유 - 동시에 같은 시간을 예약한 다른 요청이 먼저 점유했다면 예외 (예약 저장도 롤백) */
+        if (!slotAllocator.claim(shopCode, resvDate, resvTime, durationMinutes, newReservation.getResvCode())) {
+            throw new UserReservationExceptionHandler(UserReservationErrorCode.SCHEDULE_ALREADY_TAKEN);
         }
 
+        // 캐시된 하루 점유 현황 삭제 - 다음 조회 때 새 예약 포함해서 다시 생성
+        slotAllocator.evict(shopCode, resvDate);
+        daySummarizer.refreshAfterCommit(shopCode, resvDate);
+
         return userReservationRepository.readDetailByUserCodeAndResvCode(userCode, newReservation.getResvCode());
     }
 
@@ -220,87 +212,77 @@ public class UserReservationService {
             /*위 유효성 검사를 모두 통과했을 경우, 엔티티 내부 취소 메소드 사용*/
             reservation.cancelReservation();
 
-            // 캐시 키 생성
-            String cacheKey = reservation.getShopInfo().getShopCode() + "_" +
-                    reservation.getResvDate().toString() + "_" +
-                    reservation.getResvTime().toString();
-
-            // 캐시 찾아오기
-            Cache cache = cacheManager.getCache("available-schedule");
-
-            if (cache != null) {
-                // 삭제한 예약에 해당하는 캐시 삭제
-                Cache.ValueWrapper cacheValue = cache.get(cacheKey);
-                if (cacheValue != null) {
-                    cache.evict(cacheKey);
-                }
-            }
+            // 점유한 칸을 반납하고 취소한 예약 날짜의 점유 현황 캐시 삭제
+            slotAllocator.release(resvCode);
+            slotAllocator.evict(reservation.getShopInfo().getShopCode(), reservation.getResvDate());
+            daySummarizer.refreshAfterCommit(reservation.getShopInfo().getShopCode(), reservation.getResvDate());
         }
         userReservationRepository.save(reservation);
     }
 
     /* 프론트에 예약 가능한 날짜와 시간을 모아서 보내주는 용도 */
-    // @Param: shopCode, dateRangeToGet (for 문에서 스캔할 날짜의 개수... 일단 한 달 줄 예정)
+    // @Param: shopCode, dateRangeToGet (스캔할 날짜의 개수... 일단 한 달 줄 예정)
     public List<UserResvAvailableScheduleDTO> getAvailableSchedule(Integer shopCode, int dateRangeToGet) {
+        return getAvailableSchedule(shopCode, dateRangeToGet, null);
+    }
+
+    /*
+    * menuCode 가 있으면 해당 메뉴의 소요 시간 전체가 비어 있는 시간만 반환
+    * - 인기 샵에 같은 조회가 동시에 몰리면 한 번만 계산하고 결과를 나눠 씀 (SingleFlight)
+    * */
+    public List<UserResvAvailableScheduleDTO> getAvailableSchedule(Integer shopCode, int dateRangeToGet, Integer menuCode) {
+        return singleFlight.execute("getAvailableSchedule", Arrays.asList(shopCode, dateRangeToGet, menuCode),
+                () -> loadAvailableSchedule(shopCode, dateRangeToGet, menuCode));
+    }
+
+    private List<UserResvAvailableScheduleDTO> loadAvailableSchedule(Integer shopCode, int dateRangeToGet, Integer menuCode) {
 
         //존재하지 않는 샵일 경우 예외
         Shop shop = shopRepository.findById(shopCode)
                 .orElseThrow(() -> new UserReservationExceptionHandler(UserReservationErrorCode.SHOP_NOT_FOUND));
 
+        // 메뉴를 선택한 경우 유효한 메뉴인지 검증 후 소요 시간 구하기
+        Integer durationMinutes = null;
+        if (menuCode != null) {
+            Menu menu = menuRepository.findByMenuCodeAndShopCodeAndIsActiveTrue(menuCode, shopCode);
+            if (menu == null) {
+                throw new UserReservationExceptionHandler(UserReservationErrorCode.MENU_NOT_FOUND);
+            }
+            durationMinutes = slotAllocator.durationOf(menu);
+        }
+
         List<UserResvAvailableScheduleDTO> result = new ArrayList<>();
 
         /* 데이터 검증 및 추가 순서
           @Param: shopOpen, shopClose, dateRangeToGet
-        * 1) 현재를 기준으로 미래 한 달(dateRangeToGet) 까지 스캔해서 휴일이 없는 날짜
-             - 현재 날짜+for문 돌리는 날짜, 샵 코드 필요
-             - if(true) continue (휴일이 있다면, 현재 반복문 중단하고 다시 돌아가 조건에 맞으면 다음 단계 시행)
+        * 1) 현재를 기준으로 미래 한 달(dateRangeToGet) 까지의 휴일, 예약을 범위 쿼리로 한 번에 불러옴
+             - ScheduleAvailabilityEngine 이 날짜별 슬롯 비트맵을 만들어 줌
 
-          2) 1 통과한 날짜들의 시간 한 시간 단위로 쪼개기
+          2) 휴일인 날짜는 건너뛰기
 
-          3) 2 통과한 날짜, 시간 중 예약자가 없는 날짜와 시간
-             - 1에서 통과한 날짜, 쪼개진 시간 필요
-             - if (isAvailableSchedule == true) 인 경우만 list 추가
+          3) 예약자가 없는 (비트가 꺼진) 시간만 list 에 추가
+             - 예약은 메뉴 소요 시간만큼 구간을 점유 (SlotAllocator)
         * */
+        LocalDate today = LocalDate.now();
+        ScheduleWindow window = availabilityEngine.load(shop, today, dateRangeToGet);
 
         for (int i = 0; i < dateRangeToGet; i++) {
 
             //for 문의 기준이 될 targetDate
-            LocalDate targetDate = LocalDate.now().plusDays(i);
+            LocalDate targetDate = today.plusDays(i);
 
             // targetDate가 휴일인 경우 continue로 건너뛰고 다음 날짜 검증
-            if (examinationForCache.isHoliday(shopCode, Date.valueOf(targetDate))) continue;
-
-            // 예약 가능한 시간들을 담을 list
-            List<LocalTime> availableTimes = new ArrayList<>();
-
-            /* String 타입인 샵 운영 시간 가져오기,
-                shopOpen : 더해줄 시간 시작점
-                shopClose : 시간 더하기 종료지점
-                for문 내부에서 LocalDate.now(), plusMinutes() 사용하기 위해 LocalTime 사용 */
-            LocalTime time = LocalTime.parse(shop.getShopOpen());
-            LocalTime shopClose = LocalTime.parse(shop.getShopClose());
+            if (window.isHoliday(targetDate)) continue;
 
-            // time 시간이 close 시간보다 이전일 동안
-            while (time.isBefore(shopClose)) {
-
-                // 예약 가능한 시간인지 검증
-                boolean isAvailableSchedule = userReservationRepository
-                        .isAvailableSchedule(shopCode, Date.valueOf(targetDate), Time.valueOf(time));
-
-                if (isAvailableSchedule) {
-                    // 예약 가능한 시간인 경우, 가능한 시간 list에 하나씩 더해준다
-                    availableTimes.add(time);
-                }
-                // 예약은 한 시간 단위로 받는다
-                time = time.plusMinutes(60);
+            // 예약 가능한 시간들 (한 시간 단위, 메뉴 선택 시 소요 시간까지 고려)
+            List<LocalTime> availableTimes = durationMinutes == null
+                    ? window.availableTimes(targetDate)
+                    : window.availableTimes(targetDate, durationMinutes);
 
+            // 가능한 시간을 담은 리스트가 비어있지 않을 때만 UserResvAvailableScheduleDTO 객체 생성
+            if (!availableTimes.isEmpty()) {
+                result.add(new UserResvAvailableScheduleDTO(targetDate, availableTimes));
             }
-                // while 문을 빠져나왔을 때
-                // 가능한 시간을 담은 리스트가 비어있지 않을 때만 UserResvAvailableScheduleDTO 객체 생성
-                if (!availableTimes.isEmpty()) {
-                    result.add(new UserResvAvailableScheduleDTO(targetDate, availableTimes));
-                }
-
         }
 
         // for문 빠져나온 result 저장
@@ -315,41 +297,22 @@ public class UserReservationService {
 
         List<ReservationDateAndTimeDTO> result = new ArrayList<>();
 
+        /* comment. 조회 기간 전체의 휴일, 예약 시간을 한 번에 가져오기 */
+        LocalDate today = LocalDate.now();
+        ScheduleWindow window = availabilityEngine.load(shop, today, dateRangeToGet);
+
         for(int i = 0; i < dateRangeToGet; i++){
-            LocalDate targetDate = LocalDate.now().plusDays(i);
+            LocalDate targetDate = today.plusDays(i);
 
-            boolean isHoliday = examinationForCache.isHoliday(shopCode, Date.valueOf(targetDate));
+            boolean isHoliday = window.isHoliday(targetDate);
 
-            /* comment. 예약된 시간 가져오기 - 예약 취소가 아닌 경우 */
-            List<Time> reservedTimesSql = userReservationRepository.findReservedTimes(shopCode, Date.valueOf(targetDate));
-            List<LocalTime> reservedTimes = reservedTimesSql.stream()
-                    .map(Time::toLocalTime)
-                    .collect(Collectors.toList());
+            /* comment. 예약된 시간 가져오기 */
+            List<LocalTime> reservedTimes = window.reservedTimes(targetDate);
 
             if(isHoliday && reservedTimes.isEmpty()) continue;
 
-            if (shop.getShopOpen() == null || shop.getShopClose() == null) {
-
-                throw new IllegalStateException("샵 운영 시간이 등록되지 않았습니다.");
-            }
+            List<LocalTime> availableTimes = window.availableTimes(targetDate);
 
-            LocalTime openTime = LocalTime.parse(shop.getShopOpen());
-            LocalTime closeTime = LocalTime.parse(shop.getShopClose());
-
-            List<LocalTime> availableTimes = new ArrayList<>();
-            LocalTime time = openTime;
-
-            while(time.isBefore(closeTime)){
-                boolean isAvailableSchedule = userReservationRepository
-                        .isAvailableSchedule(shopCode, Date.valueOf(targetDate), Time.valueOf(time));
-
-                if(isAvailableSchedule){
-                    availableTimes.add(time);
-                }
-
-                time = time.plusMinutes(60);
-            }
-            
             result.add(new ReservationDateAndTimeDTO(targetDate, availableTimes, reservedTimes));
         }
 
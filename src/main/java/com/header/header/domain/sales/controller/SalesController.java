@@ -1,24 +1,35 @@
 package com.header.header.domain.sales.controller;
 
+import com.header.header.domain.sales.dto.SalesCubeQuery;
 import com.header.header.domain.sales.dto.SalesDTO;
+import com.header.header.domain.sales.enums.SalesListFilter;
+import com.header.header.domain.sales.service.SalesCubeService;
+import com.header.header.domain.sales.service.SalesExportService;
 import com.header.header.domain.sales.service.SalesService;
 import com.header.header.domain.reservation.service.BossReservationService;
 import jakarta.validation.Valid;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -27,6 +38,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping(value = "/api/v1", produces = "application/json; charset=UTF-8")
@@ -279,6 +291,80 @@ public class SalesController {
             () -> salesService.getSalesDetailsByShopAndDateRange(shopCode, start, end));
     }
 
+    /**
+     * 특정 샵의 매출 상세 커서 페이지 조회 (결제일시 최신순)
+     * 활성 / 완료 / 취소 / 기간별 목록을 페이지 단위로 조회, 다음 페이지는 응답의 nextCursor 를 cursor 로 넘김
+     * @param shopCode 샵 코드
+     * @param status 조회 대상 (active / completed / cancelled)
+     * @param startDate 시작 날짜 (ISO 형식: yyyy-MM-ddTHH:mm:ss, 생략 가능)
+     * @param endDate 종료 날짜 (ISO 형식: yyyy-MM-ddTHH:mm:ss, 생략 가능)
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지는 생략)
+     * @param size 페이지 크기 (최대 100)
+     * @param includeTotal true 면 전체 건수(totalCount) 포함
+     * @return 매출 상세 페이지
+     */
+    @GetMapping("/my-shops/{shopCode}/sales/page")
+    public ResponseEntity<?> getSalesPage(@PathVariable Integer shopCode,
+        @RequestParam(defaultValue = "active") String status,
+        @RequestParam(required = false) String startDate,
+        @RequestParam(required = false) String endDate,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") int size,
+        @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return handleApiCall("샵코드 " + shopCode + "의 매출 페이지 조회 - " + status, () ->
+            salesService.getSalesDetailPage(shopCode,
+                SalesListFilter.valueOf(status.toUpperCase(Locale.ROOT)),
+                startDate != null ? parseDateTime(startDate) : null,
+                endDate != null ? parseDateTime(endDate) : null,
+                cursor, size, includeTotal));
+    }
+
+    /**
+     * 특정 샵의 기간별 매출 분포 조회 (한 건 금액 / 하루 합계의 p50 / p90 / p99 와 히스토그램)
+     * @param shopCode 샵 코드
+     * @param startDate 시작 날짜 (ISO 형식: yyyy-MM-dd)
+     * @param endDate 종료 날짜 (ISO 형식: yyyy-MM-dd)
+     * @return 매출 분포
+     */
+    @GetMapping("/my-shops/{shopCode}/sales/distribution")
+    public ResponseEntity<?> getSalesDistribution(@PathVariable Integer shopCode,
+        @RequestParam String startDate,
+        @RequestParam String endDate) {
+        LocalDate start = LocalDate.parse(startDate);
+        LocalDate end = LocalDate.parse(endDate);
+        return handleApiCall("샵코드 " + shopCode + "의 매출 분포 조회",
+            () -> salesService.getSalesDistribution(shopCode, start, end));
+    }
+
+    /**
+     * 특정 샵의 기간별 매출 내보내기 (CSV, 세무 신고용)
+     * 한 행씩 읽어서 바로 응답에 쓰므로 건수와 관계없이 메모리 사용량이 일정
+     * @param shopCode 샵 코드
+     * @param startDate 시작 날짜 (ISO 형식: yyyy-MM-ddTHH:mm:ss)
+     * @param endDate 종료 날짜 (ISO 형식: yyyy-MM-ddTHH:mm:ss)
+     * @param gzip true 면 gzip 압축 (.csv.gz)
+     * @return CSV 파일 스트림
+     */
+    @GetMapping(value = "/my-shops/{shopCode}/sales/export", produces = {"text/csv", "application/gzip"})
+    public ResponseEntity<StreamingResponseBody> exportSales(@PathVariable Integer shopCode,
+        @RequestParam String startDate,
+        @RequestParam String endDate,
+        @RequestParam(defaultValue = "false") boolean gzip) {
+        LocalDateTime start = parseDateTime(startDate);
+        LocalDateTime end = parseDateTime(endDate);
+        log.debug("샵코드 {}의 매출 내보내기 요청 - {} ~ {}, gzip: {}", shopCode, start, end, gzip);
+
+        String fileName = "sales_" + shopCode + "_" + start.toLocalDate() + "_" + end.toLocalDate()
+            + (gzip ? ".csv.gz" : ".csv");
+        StreamingResponseBody body = out -> salesExportService.exportCsv(shopCode, start, end, out, gzip);
+
+        return ResponseEntity.ok()
+            .contentType(gzip ? MediaType.parseMediaType("application/gzip")
+                : new MediaType("text", "csv", StandardCharsets.UTF_8))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+            .body(body);
+    }
+
     // ========== 매출 통계 API ==========
 
     /**
@@ -326,6 +412,21 @@ public class SalesController {
             () -> salesService.getSalesStatsByPayMethod(shopCode));
     }
 
+    /**
+     * 특정 샵의 매출 임의 분석 (메모리 큐브, DB 조회 없음)
+     * 예) 카테고리 x 요일별 매출 : groupBy=CATEGORY,WEEKDAY
+     *     결제 수단 x 월별 취소율 : groupBy=PAY_METHOD,MONTH&payStatuses=COMPLETED,CANCELLED,PARTIAL_CANCELLED
+     * @param shopCode 샵 코드
+     * @param query 묶음 기준(최대 4개) / 기간(yyyy-MM-dd) / 결제 상태 / 결제 수단 / 시술명 / 카테고리 필터
+     * @return 묶음별 건수, 취소 건수, 취소율, 금액 합계
+     */
+    @GetMapping("/my-shops/{shopCode}/sales/cube")
+    public ResponseEntity<?> querySalesCube(@PathVariable Integer shopCode,
+        @ModelAttribute SalesCubeQuery query) {
+        return handleApiCall("샵코드 " + shopCode + "의 매출 분석 조회 " + query,
+            () -> salesCubeService.query(shopCode, query));
+    }
+
     /**
      * 특정 샵의 월별 매출 통계 조회
      * @param shopCode 샵 코드
@@ -336,14 +437,31 @@ public class SalesController {
         return handleApiCall("샵코드 " + shopCode + "의 월별 매출 통계 조회",
             () -> salesService.getMonthlySalesStats(shopCode));
     }
+
+    /**
+     * 특정 샵의 매출 일별 집계 재계산 (백필 / 집계가 어긋났을 때 복구)
+     * @param shopCode 샵 코드
+     * @return 다시 만든 집계 행 수
+     */
+    @PostMapping("/my-shops/{shopCode}/sales/daily-rollup/rebuild")
+    public ResponseEntity<?> rebuildDailyRollup(@PathVariable Integer shopCode) {
+        return handleApiCall("샵코드 " + shopCode + "의 매출 일별 집계 재계산",
+            () -> Map.of("shopCode", shopCode, "rows", salesService.rebuildDailyRollup(shopCode)));
+    }
     private static final Logger log = LoggerFactory.getLogger(SalesController.class);
     private final SalesService salesService;
+    private final SalesExportService salesExportService;
+    private final SalesCubeService salesCubeService;
 
     private final BossReservationService reservationService; // 예약 서비스 추가
 
     public SalesController(SalesService salesService,
+        SalesExportService salesExportService,
+        SalesCubeService salesCubeService,
         @Autowired(required = false) BossReservationService reservationService) {
         this.salesService = salesService;
+        this.salesExportService = salesExportService;
+        this.salesCubeService = salesCubeService;
         this.reservationService = reservationService;
     }
 
@@ -0,0 +1,34 @@
+package com.header.header.domain.sales.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 히스토그램 요약 - 건수, 백분위 값(칸의 최대값 기준 근사), 비어 있지 않은 칸 목록
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class HistogramSummaryDTO {
+
+    private long count;
+    private long p50;
+    private long p90;
+    private long p99;
+    private List<Bucket> buckets;
+
+    /**
+     * 히스토그램 한 칸 [lowerBound, upperBound] 의 건수
+     */
+    @Getter
+    @ToString
+    @AllArgsConstructor
+    public static class Bucket {
+
+        private long lowerBound;
+        private long upperBound;
+        private long count;
+    }
+}
@@ -0,0 +1,22 @@
+package com.header.header.domain.sales.dto;
+
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 월별 매출 통계 (결제일 기준, 삭제된 매출 제외)
+ */
+@Getter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlySalesStatDTO implements Serializable {
+
+    private int year;
+    private int month;
+    private long totalAmount;
+    private long salesCount;
+}
@@ -0,0 +1,21 @@
+package com.header.header.domain.sales.dto;
+
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 결제 수단별 매출 통계 (삭제된 매출 제외)
+ */
+@Getter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentMethodStatDTO implements Serializable {
+
+    private String payMethod;
+    private long totalAmount;
+    private long salesCount;
+}
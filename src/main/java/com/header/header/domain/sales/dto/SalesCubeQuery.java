@@ -0,0 +1,33 @@
+package com.header.header.domain.sales.dto;
+
+import com.header.header.domain.sales.enums.PaymentStatus;
+import com.header.header.domain.sales.enums.SalesCubeDimension;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.format.annotation.DateTimeFormat;
+
+/**
+ * 매출 큐브 조회 조건 (SalesCubeService.query)
+ * - groupBy : 묶음 기준 (최대 4개, 비우면 전체 합계 한 행)
+ * - 필터는 null 이면 조건 없음, payStatuses 기본값은 삭제 제외
+ */
+@Getter
+@Setter
+@ToString
+public class SalesCubeQuery {
+
+    private List<SalesCubeDimension> groupBy = List.of();
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startDate;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate endDate;
+    private Set<PaymentStatus> payStatuses = EnumSet.complementOf(EnumSet.of(PaymentStatus.DELETED));
+    private String payMethod;
+    private String menuName;
+    private String categoryName;
+}
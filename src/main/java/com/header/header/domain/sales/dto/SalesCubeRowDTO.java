@@ -0,0 +1,30 @@
+package com.header.header.domain.sales.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 매출 큐브 조회 결과 한 행
+ * keys 는 SalesCubeQuery.groupBy 순서와 같음
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class SalesCubeRowDTO {
+
+    private List<String> keys;
+    private long salesCount;
+    private long cancelledCount;
+    private long payAmount;
+    private long cancelAmount;
+    private long finalAmount;
+
+    /**
+     * 취소율 (전체취소 + 부분취소 건수 / 건수)
+     */
+    public double getCancelRate() {
+        return salesCount == 0 ? 0 : (double) cancelledCount / salesCount;
+    }
+}
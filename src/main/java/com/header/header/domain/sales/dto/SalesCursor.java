@@ -0,0 +1,66 @@
+package com.header.header.domain.sales.dto;
+
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 매출 목록 페이지 커서 - (payDatetime, salesCode) 내림차순 정렬의 마지막 행 위치
+ * - 토큰은 epoch 초(long) + 나노초(int) + 매출코드(int) 를 base64url 로 인코딩 (클라이언트는 해석하지 않고 그대로 넘김)
+ * - 첫 페이지는 가장 큰 값(first)부터 시작해서 쿼리 조건을 하나로 유지
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class SalesCursor {
+
+    private static final int TOKEN_BYTES = Long.BYTES + Integer.BYTES * 2;
+
+    private final LocalDateTime payDatetime;
+    private final Integer salesCode;
+
+    public static SalesCursor first() {
+        return new SalesCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Integer.MAX_VALUE);
+    }
+
+    public static SalesCursor after(SalesDetailDTO last) {
+        return new SalesCursor(last.getPayDatetime(), last.getSalesCode());
+    }
+
+    /**
+     * 토큰이 없으면 첫 페이지
+     * @throws IllegalArgumentException 형식이 잘못되었을 때
+     */
+    public static SalesCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return first();
+        }
+
+        byte[] bytes = Base64.getUrlDecoder().decode(token);
+        if (bytes.length != TOKEN_BYTES) {
+            throw new IllegalArgumentException("잘못된 페이지 커서입니다.");
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        try {
+            return new SalesCursor(
+                LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC),
+                buffer.getInt());
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("잘못된 페이지 커서입니다.", e);
+        }
+    }
+
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(TOKEN_BYTES);
+        buffer.putLong(payDatetime.toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(payDatetime.getNano());
+        buffer.putInt(salesCode);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+}
@@ -1,20 +1,25 @@
 package com.header.header.domain.sales.dto;
 
+import java.io.Serializable;
 import java.util.List;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 
+/**
+ * 매출 대시보드 종합 정보 (SalesDashboardAggregator)
+ * 캐시에 저장되어 여러 요청이 같은 객체를 공유하므로 조회한 쪽에서 변경하지 말 것
+ */
 @Getter
 @Setter
 @ToString
-public class SalesDashboardDTO {
+public class SalesDashboardDTO implements Serializable {
 
     private Long totalSales;
     private Long totalCancelAmount;
-    private List<Object[]> paymentMethodStats;
-    private List<Object[]> monthlyStats;
+    private List<PaymentMethodStatDTO> paymentMethodStats;
+    private List<MonthlySalesStatDTO> monthlyStats;
     private int activeSalesCount;
     private int completedSalesCount;
     private int cancelledSalesCount;
-}
\ No newline at end of file
+}
@@ -0,0 +1,22 @@
+package com.header.header.domain.sales.dto;
+
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 기간별 매출 분포
+ * - ticketSize : 매출 한 건의 최종 결제 금액 분포 (완료 / 부분취소만)
+ * - dailyRevenue : 매출이 있는 날짜별 최종 결제 금액 합계의 분포 (삭제 제외)
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class SalesDistributionDTO {
+
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private HistogramSummaryDTO ticketSize;
+    private HistogramSummaryDTO dailyRevenue;
+}
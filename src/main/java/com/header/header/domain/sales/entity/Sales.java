@@ -19,6 +19,9 @@ public class Sales {
     private int salesCode;
 
     private Integer resvCode;
+
+    @Column(updatable = false)  // 예약의 샵, 생성 시 한 번만 채움
+    private Integer shopCode;
     private int payAmount;
     private String payMethod;
     private LocalDateTime payDatetime;
@@ -33,6 +36,10 @@ public class Sales {
 
     // === 비즈니스 메소드 ===
 
+    public void assignShop(Integer shopCode) {
+        this.shopCode = shopCode;
+    }
+
     public void updatePaymentInfo(String payMethod, String cancelReason) {
         if (payMethod != null) {
             this.payMethod = payMethod;
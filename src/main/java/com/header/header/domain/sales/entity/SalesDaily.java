@@ -0,0 +1,30 @@
+package com.header.header.domain.sales.entity;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 샵 + 결제일 + 결제 수단 + 결제 상태별 매출 집계 (SalesDailyRollup 이 갱신)
+ * - 매출 생성 / 수정 / 취소 / 삭제와 같은 트랜잭션에서 바뀐 만큼만 더하고 뺌
+ * - 삭제(DELETED)된 매출은 포함하지 않음
+ * - 기간 합계 / 결제 수단별 / 월별 통계는 tbl_sales 대신 이 테이블을 읽음
+ */
+@Entity
+@Table(name = "tbl_sales_daily")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class SalesDaily {
+
+    @EmbeddedId
+    private SalesDailyId id;
+
+    private int salesCount;
+    private long payAmount;
+    private long cancelAmount;
+    private long finalAmount;
+
+}
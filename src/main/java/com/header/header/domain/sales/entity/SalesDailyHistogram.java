@@ -0,0 +1,27 @@
+package com.header.header.domain.sales.entity;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 샵 + 결제일별 매출 금액 히스토그램 (SalesHistogramRollup 이 갱신)
+ * - ticketHistogram : 완료 / 부분취소 매출의 최종 결제 금액 분포 (SalesHistogram.encode 형식)
+ * - 매출 생성 / 수정 / 취소 / 삭제와 같은 트랜잭션에서 바뀐 값만 빼고 더함
+ */
+@Entity
+@Table(name = "tbl_sales_daily_histogram")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class SalesDailyHistogram {
+
+    @EmbeddedId
+    private SalesDailyHistogramId id;
+
+    private long ticketCount;
+    private byte[] ticketHistogram;
+
+}
@@ -0,0 +1,27 @@
+package com.header.header.domain.sales.entity;
+
+import jakarta.persistence.Embeddable;
+import java.io.Serializable;
+import java.time.LocalDate;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 매출 일별 히스토그램의 복합 기본키 (샵 + 결제일 당 한 행)
+ */
+@Embeddable
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class SalesDailyHistogramId implements Serializable {
+
+    private Integer shopCode;
+    private LocalDate salesDate;
+
+}
@@ -0,0 +1,35 @@
+package com.header.header.domain.sales.entity;
+
+import com.header.header.domain.sales.enums.PaymentStatus;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import java.io.Serializable;
+import java.time.LocalDate;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 매출 일별 집계의 복합 기본키
+ * 샵 + 결제일 + 결제 수단 + 결제 상태 당 한 행
+ */
+@Embeddable
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class SalesDailyId implements Serializable {
+
+    private Integer shopCode;
+    private LocalDate salesDate;
+    private String payMethod;
+
+    @Enumerated(EnumType.STRING)
+    private PaymentStatus payStatus;
+
+}
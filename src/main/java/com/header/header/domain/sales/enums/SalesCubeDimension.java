@@ -0,0 +1,15 @@
+package com.header.header.domain.sales.enums;
+
+/**
+ * 매출 큐브(SalesCube) 묶음 기준
+ * - 날짜 기준은 모두 결제일 (WEEKDAY : MONDAY ~ SUNDAY, MONTH : yyyy-MM, DAY : yyyy-MM-dd)
+ */
+public enum SalesCubeDimension {
+    PAY_METHOD,
+    PAY_STATUS,
+    MENU,
+    CATEGORY,
+    WEEKDAY,
+    MONTH,
+    DAY
+}
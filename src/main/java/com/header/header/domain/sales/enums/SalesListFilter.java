@@ -0,0 +1,23 @@
+package com.header.header.domain.sales.enums;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 매출 목록 페이지 조회 대상 (결제 상태 묶음)
+ */
+public enum SalesListFilter {
+    ACTIVE(EnumSet.of(PaymentStatus.COMPLETED, PaymentStatus.CANCELLED, PaymentStatus.PARTIAL_CANCELLED)),  // 삭제 제외
+    COMPLETED(EnumSet.of(PaymentStatus.COMPLETED)),  // 완료
+    CANCELLED(EnumSet.of(PaymentStatus.CANCELLED, PaymentStatus.PARTIAL_CANCELLED));  // 전체취소 + 부분취소
+
+    private final Set<PaymentStatus> statuses;
+
+    SalesListFilter(Set<PaymentStatus> statuses) {
+        this.statuses = statuses;
+    }
+
+    public Set<PaymentStatus> getStatuses() {
+        return EnumSet.copyOf(statuses);
+    }
+}
@@ -0,0 +1,100 @@
+package com.header.header.domain.sales.repository;
+
+import com.header.header.domain.sales.entity.SalesDailyHistogram;
+import com.header.header.domain.sales.entity.SalesDailyHistogramId;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SalesDailyHistogramRepository extends JpaRepository<SalesDailyHistogram, SalesDailyHistogramId> {
+
+    /**
+     * 히스토그램 행을 만들거나 이미 있으면 그대로 두고 행 락만 잡음 (같은 날짜의 갱신을 한 줄로 세움)
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO tbl_sales_daily_histogram (shop_code, sales_date, ticket_count, ticket_histogram)
+        VALUES (:shopCode, :salesDate, 0, :emptyHistogram)
+        ON DUPLICATE KEY UPDATE shop_code = shop_code
+        """, nativeQuery = true)
+    int lock(@Param("shopCode") Integer shopCode,
+        @Param("salesDate") LocalDate salesDate,
+        @Param("emptyHistogram") byte[] emptyHistogram);
+
+    /**
+     * 락을 잡은 행의 현재 히스토그램
+     * 잠금 읽기(FOR UPDATE)라야 트랜잭션 스냅숏이 아닌 마지막 커밋 값을 읽음 (앞서 커밋된 갱신을 덮어쓰지 않도록)
+     */
+    @Query(value = "SELECT ticket_histogram FROM tbl_sales_daily_histogram " +
+        "WHERE shop_code = :shopCode AND sales_date = :salesDate FOR UPDATE", nativeQuery = true)
+    byte[] findTicketHistogram(@Param("shopCode") Integer shopCode,
+        @Param("salesDate") LocalDate salesDate);
+
+    @Modifying
+    @Query(value = "UPDATE tbl_sales_daily_histogram " +
+        "SET ticket_count = :ticketCount, ticket_histogram = :ticketHistogram " +
+        "WHERE shop_code = :shopCode AND sales_date = :salesDate", nativeQuery = true)
+    int update(@Param("shopCode") Integer shopCode,
+        @Param("salesDate") LocalDate salesDate,
+        @Param("ticketCount") long ticketCount,
+        @Param("ticketHistogram") byte[] ticketHistogram);
+
+    /**
+     * 특정 샵의 결제일 범위(양 끝 포함) 히스토그램 목록 (기간 합산용)
+     */
+    @Query("SELECT h.ticketHistogram FROM SalesDailyHistogram h " +
+        "WHERE h.id.shopCode = :shopCode AND h.id.salesDate BETWEEN :startDate AND :endDate " +
+        "AND h.ticketCount <> 0")
+    List<byte[]> findTicketHistogramsBetween(@Param("shopCode") Integer shopCode,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate);
+
+    /**
+     * 히스토그램 행이 있는 샵 코드 목록 (백필 대상 확인용)
+     */
+    @Query("SELECT DISTINCT h.id.shopCode FROM SalesDailyHistogram h")
+    List<Integer> findShopCodes();
+
+    /**
+     * 특정 샵의 히스토그램 전체 삭제 (재계산 전)
+     */
+    @Modifying
+    @Query(value = "DELETE FROM tbl_sales_daily_histogram WHERE shop_code = :shopCode", nativeQuery = true)
+    int deleteByShop(@Param("shopCode") Integer shopCode);
+
+    /**
+     * 재계산 결과 저장
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO tbl_sales_daily_histogram (shop_code, sales_date, ticket_count, ticket_histogram)
+        VALUES (:shopCode, :salesDate, :ticketCount, :ticketHistogram)
+        """, nativeQuery = true)
+    int insert(@Param("shopCode") Integer shopCode,
+        @Param("salesDate") LocalDate salesDate,
+        @Param("ticketCount") long ticketCount,
+        @Param("ticketHistogram") byte[] ticketHistogram);
+
+    /**
+     * 특정 샵의 결제일 + 최종 결제 금액별 건수 (재계산용, 완료 / 부분취소만, 결제일 오름차순)
+     * 같은 금액끼리 묶이므로 매출 건수보다 훨씬 적은 행만 읽음
+     * @return [결제일(java.sql.Date), 최종 결제 금액, 건수]
+     */
+    @Query(value = """
+        SELECT DATE(s.pay_datetime) AS sales_date,
+               s.final_amount,
+               COUNT(*)
+        FROM tbl_sales s
+        JOIN tbl_reservation r ON r.resv_code = s.resv_code
+        WHERE r.shop_code = :shopCode
+          AND UPPER(s.pay_status) IN ('COMPLETED', 'PARTIAL_CANCELLED')
+        GROUP BY DATE(s.pay_datetime), s.final_amount
+        ORDER BY sales_date
+        """, nativeQuery = true)
+    List<Object[]> findTicketAmountCounts(@Param("shopCode") Integer shopCode);
+}
@@ -0,0 +1,145 @@
+package com.header.header.domain.sales.repository;
+
+import com.header.header.domain.sales.entity.SalesDaily;
+import com.header.header.domain.sales.entity.SalesDailyId;
+import com.header.header.domain.sales.enums.PaymentStatus;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SalesDailyRepository extends JpaRepository<SalesDaily, SalesDailyId> {
+
+    /**
+     * 집계 행에 증감 반영 (없으면 생성)
+     * 취소 / 삭제로 빠질 때는 음수로 호출
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO tbl_sales_daily
+               (shop_code, sales_date, pay_method, pay_status, sales_count, pay_amount, cancel_amount, final_amount)
+        VALUES (:shopCode, :salesDate, :payMethod, :payStatus, :salesCount, :payAmount, :cancelAmount, :finalAmount)
+        ON DUPLICATE KEY UPDATE sales_count = sales_count + :salesCount,
+                                pay_amount = pay_amount + :payAmount,
+                                cancel_amount = cancel_amount + :cancelAmount,
+                                final_amount = final_amount + :finalAmount
+        """, nativeQuery = true)
+    int add(@Param("shopCode") Integer shopCode,
+        @Param("salesDate") LocalDate salesDate,
+        @Param("payMethod") String payMethod,
+        @Param("payStatus") String payStatus,
+        @Param("salesCount") int salesCount,
+        @Param("payAmount") long payAmount,
+        @Param("cancelAmount") long cancelAmount,
+        @Param("finalAmount") long finalAmount);
+
+    /**
+     * 샵 락 (공유) - 매출 변경 전, 같은 샵의 재계산이 끝날 때까지 대기
+     */
+    @Query(value = "SELECT shop_code FROM tbl_shop WHERE shop_code = :shopCode FOR SHARE", nativeQuery = true)
+    Integer lockShopShared(@Param("shopCode") Integer shopCode);
+
+    /**
+     * 샵 락 (배타) - 재계산 전, 진행 중인 매출 변경이 끝날 때까지 대기
+     */
+    @Query(value = "SELECT shop_code FROM tbl_shop WHERE shop_code = :shopCode FOR UPDATE", nativeQuery = true)
+    Integer lockShopExclusive(@Param("shopCode") Integer shopCode);
+
+    /**
+     * 집계 행이 있는 샵 코드 목록 (백필 대상 확인용)
+     */
+    @Query("SELECT DISTINCT d.id.shopCode FROM SalesDaily d")
+    List<Integer> findShopCodes();
+
+    /**
+     * 특정 샵의 집계 전체 삭제 (재계산 전)
+     */
+    @Modifying
+    @Query(value = "DELETE FROM tbl_sales_daily WHERE shop_code = :shopCode", nativeQuery = true)
+    int deleteByShop(@Param("shopCode") Integer shopCode);
+
+    /**
+     * 특정 샵의 집계를 tbl_sales 에서 다시 계산 (init.sql 백필과 같은 계산)
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO tbl_sales_daily
+               (shop_code, sales_date, pay_method, pay_status, sales_count, pay_amount, cancel_amount, final_amount)
+        SELECT r.shop_code,
+               DATE(s.pay_datetime),
+               s.pay_method,
+               UPPER(s.pay_status),
+               COUNT(*),
+               SUM(s.pay_amount),
+               SUM(COALESCE(s.cancel_amount, 0)),
+               SUM(s.final_amount)
+        FROM tbl_sales s
+        JOIN tbl_reservation r ON r.resv_code = s.resv_code
+        WHERE r.shop_code = :shopCode
+          AND UPPER(s.pay_status) <> 'DELETED'
+        GROUP BY r.shop_code, DATE(s.pay_datetime), s.pay_method, UPPER(s.pay_status)
+        """, nativeQuery = true)
+    int rebuild(@Param("shopCode") Integer shopCode);
+
+    /**
+     * 특정 샵의 집계 행 전체 (대시보드 한 번에 계산용)
+     */
+    List<SalesDaily> findByIdShopCode(Integer shopCode);
+
+    /**
+     * 특정 샵의 결제일 범위(양 끝 포함) 최종 금액 합계
+     */
+    @Query("SELECT COALESCE(SUM(d.finalAmount), 0) FROM SalesDaily d " +
+        "WHERE d.id.shopCode = :shopCode AND d.id.salesDate BETWEEN :startDate AND :endDate")
+    Long sumFinalAmountBetween(@Param("shopCode") Integer shopCode,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate);
+
+    /**
+     * 특정 샵의 결제일 범위(양 끝 포함) 날짜별 최종 금액 합계 (매출이 있는 날짜만)
+     * @return [결제일, 최종 금액 합계]
+     */
+    @Query("SELECT d.id.salesDate, SUM(d.finalAmount) FROM SalesDaily d " +
+        "WHERE d.id.shopCode = :shopCode AND d.id.salesDate BETWEEN :startDate AND :endDate " +
+        "GROUP BY d.id.salesDate " +
+        "HAVING SUM(d.salesCount) > 0")
+    List<Object[]> findDailyFinalAmounts(@Param("shopCode") Integer shopCode,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate);
+
+    /**
+     * 특정 샵의 상태 묶음 / 결제일 범위(양 끝 포함) 매출 건수
+     */
+    @Query("SELECT COALESCE(SUM(d.salesCount), 0) FROM SalesDaily d " +
+        "WHERE d.id.shopCode = :shopCode AND d.id.payStatus IN :payStatuses " +
+        "AND d.id.salesDate BETWEEN :startDate AND :endDate")
+    Long sumSalesCountBetween(@Param("shopCode") Integer shopCode,
+        @Param("payStatuses") Collection<PaymentStatus> payStatuses,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate);
+
+    /**
+     * 특정 샵의 결제 방법별 매출 통계 [결제방법, 총금액, 건수]
+     */
+    @Query("SELECT d.id.payMethod, SUM(d.finalAmount), SUM(d.salesCount) FROM SalesDaily d " +
+        "WHERE d.id.shopCode = :shopCode " +
+        "GROUP BY d.id.payMethod " +
+        "HAVING SUM(d.salesCount) > 0")
+    List<Object[]> findPayMethodStats(@Param("shopCode") Integer shopCode);
+
+    /**
+     * 특정 샵의 월별 매출 통계 [년도, 월, 총금액, 건수]
+     */
+    @Query("SELECT YEAR(d.id.salesDate), MONTH(d.id.salesDate), SUM(d.finalAmount), SUM(d.salesCount) " +
+        "FROM SalesDaily d " +
+        "WHERE d.id.shopCode = :shopCode " +
+        "GROUP BY YEAR(d.id.salesDate), MONTH(d.id.salesDate) " +
+        "HAVING SUM(d.salesCount) > 0 " +
+        "ORDER BY YEAR(d.id.salesDate), MONTH(d.id.salesDate)")
+    List<Object[]> findMonthlyStats(@Param("shopCode") Integer shopCode);
+}
@@ -3,14 +3,20 @@ package com.header.header.domain.sales.repository;
 import com.header.header.domain.sales.dto.SalesDetailDTO;
 import com.header.header.domain.sales.entity.Sales;
 import com.header.header.domain.sales.enums.PaymentStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import retrofit2.http.DELETE;
 
 @Repository
@@ -130,6 +136,97 @@ public interface SalesRepository extends JpaRepository<Sales, Integer> {
         @Param("startDate") LocalDateTime startDate,
         @Param("endDate") LocalDateTime endDate);
 
+    /**
+     * 특정 샵의 매출 상세 커서 페이지 (결제일시 + 매출코드 내림차순)
+     * 상태 묶음 / 기간으로 활성 / 완료 / 취소 / 기간별 목록을 모두 처리, 커서 다음 행부터 pageable 크기만큼
+     * 샵 조건은 예약 조인이 아닌 tbl_sales.shop_code 로 걸어서
+     * idx_sales_shop_pay_datetime (shop_code, pay_datetime, sales_code) 의 샵 범위를 커서 위치부터 역순으로 읽음
+     */
+    @Query("SELECT new com.header.header.domain.sales.dto.SalesDetailDTO(" +
+        "s.salesCode, s.resvCode, s.payAmount, s.payMethod, s.payDatetime, " +
+        "s.payStatus, s.cancelAmount, s.cancelDatetime, s.cancelReason, s.finalAmount, " +
+        "br.shopInfo.shopCode, br.userInfo.userCode, br.menuInfo.menuCode, br.resvDate, br.resvTime, br.userComment, "
+        +
+        "br.userInfo.userName, br.userInfo.userPhone, br.menuInfo.menuName, br.menuInfo.menuPrice, "
+        +
+        "mc.menuColor, mc.categoryName) " +
+        "FROM Sales s " +
+        "JOIN BossReservation br ON s.resvCode = br.resvCode " +
+        "JOIN br.menuInfo.menuCategory mc " +
+        "WHERE s.shopCode = :shopCode " +
+        "AND s.payStatus IN :payStatuses " +
+        "AND s.payDatetime BETWEEN :startDate AND :endDate " +
+        "AND (s.payDatetime < :cursorDatetime " +
+        "OR (s.payDatetime = :cursorDatetime AND s.salesCode < :cursorCode)) " +
+        "ORDER BY s.payDatetime DESC, s.salesCode DESC")
+    List<SalesDetailDTO> findSalesDetailPage(@Param("shopCode") Integer shopCode,
+        @Param("payStatuses") Collection<PaymentStatus> payStatuses,
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endDate") LocalDateTime endDate,
+        @Param("cursorDatetime") LocalDateTime cursorDatetime,
+        @Param("cursorCode") Integer cursorCode,
+        Pageable pageable);
+
+    /**
+     * 특정 샵의 상태 묶음 / 기간별 매출 건수 (하루 이내의 자투리 구간용, 나머지는 일별 집계)
+     */
+    @Query("SELECT COUNT(s) FROM Sales s JOIN BossReservation br ON s.resvCode = br.resvCode " +
+        "WHERE br.shopInfo.shopCode = :shopCode AND s.payStatus IN :payStatuses " +
+        "AND s.payDatetime BETWEEN :startDate AND :endDate")
+    long countByShopAndStatusesBetween(@Param("shopCode") Integer shopCode,
+        @Param("payStatuses") Collection<PaymentStatus> payStatuses,
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * 특정 샵의 기간별 매출 상세 스트림 (내보내기용, 결제일시 오름차순)
+     * fetch size Integer.MIN_VALUE : MySQL 드라이버가 결과를 한 행씩 읽어옴 (전체를 메모리에 올리지 않음)
+     * 스트림은 트랜잭션 안에서 사용하고 반드시 닫아야 하며, 다 읽기 전까지 같은 커넥션으로 다른 쿼리를 실행할 수 없음
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.header.header.domain.sales.dto.SalesDetailDTO(" +
+        "s.salesCode, s.resvCode, s.payAmount, s.payMethod, s.payDatetime, " +
+        "s.payStatus, s.cancelAmount, s.cancelDatetime, s.cancelReason, s.finalAmount, " +
+        "br.shopInfo.shopCode, br.userInfo.userCode, br.menuInfo.menuCode, br.resvDate, br.resvTime, br.userComment, "
+        +
+        "br.userInfo.userName, br.userInfo.userPhone, br.menuInfo.menuName, br.menuInfo.menuPrice, "
+        +
+        "mc.menuColor, mc.categoryName) " +
+        "FROM Sales s " +
+        "JOIN BossReservation br ON s.resvCode = br.resvCode " +
+        "JOIN br.menuInfo.menuCategory mc " +
+        "WHERE br.shopInfo.shopCode = :shopCode " +
+        "AND s.payDatetime BETWEEN :startDate AND :endDate " +
+        "ORDER BY s.payDatetime, s.salesCode")
+    Stream<SalesDetailDTO> streamSalesDetailsByShopAndDateRange(@Param("shopCode") Integer shopCode,
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * 특정 샵의 전체 매출 상세 스트림 (매출 큐브 적재용, 매출 코드 오름차순)
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.header.header.domain.sales.dto.SalesDetailDTO(" +
+        "s.salesCode, s.resvCode, s.payAmount, s.payMethod, s.payDatetime, " +
+        "s.payStatus, s.cancelAmount, s.cancelDatetime, s.cancelReason, s.finalAmount, " +
+        "br.shopInfo.shopCode, br.userInfo.userCode, br.menuInfo.menuCode, br.resvDate, br.resvTime, br.userComment, "
+        +
+        "br.userInfo.userName, br.userInfo.userPhone, br.menuInfo.menuName, br.menuInfo.menuPrice, "
+        +
+        "mc.menuColor, mc.categoryName) " +
+        "FROM Sales s " +
+        "JOIN BossReservation br ON s.resvCode = br.resvCode " +
+        "JOIN br.menuInfo.menuCategory mc " +
+        "WHERE br.shopInfo.shopCode = :shopCode " +
+        "ORDER BY s.salesCode")
+    Stream<SalesDetailDTO> streamSalesDetailsByShop(@Param("shopCode") Integer shopCode);
+
     /**
      * 특정 샵의 모든 결제 조회 (JOIN 사용)
      */
@@ -268,6 +365,18 @@ public interface SalesRepository extends JpaRepository<Sales, Integer> {
     boolean existsByShopCodeAndResvCode(@Param("shopCode") Integer shopCode,
         @Param("resvCode") Integer resvCode);
 
+    /**
+     * 예약 코드로 샵 코드 조회 (매출 일별 집계 갱신용)
+     */
+    @Query("SELECT br.shopInfo.shopCode FROM BossReservation br WHERE br.resvCode = :resvCode")
+    Optional<Integer> findShopCodeByResvCode(@Param("resvCode") Integer resvCode);
+
+    /**
+     * 매출이 있는 샵 코드 목록 (매출 일별 집계 재계산용)
+     */
+    @Query("SELECT DISTINCT br.shopInfo.shopCode FROM Sales s JOIN BossReservation br ON s.resvCode = br.resvCode")
+    List<Integer> findShopCodesWithSales();
+
     /**
      * 특정 샵의 삭제되지 않은 결제만 조회
      */
@@ -0,0 +1,237 @@
+package com.header.header.domain.sales.service;
+
+import com.header.header.domain.sales.dto.SalesCubeQuery;
+import com.header.header.domain.sales.dto.SalesCubeRowDTO;
+import com.header.header.domain.sales.dto.SalesDetailDTO;
+import com.header.header.domain.sales.enums.PaymentStatus;
+import com.header.header.domain.sales.enums.SalesCubeDimension;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 한 샵의 매출을 열(column) 단위 기본형 배열로 보관하는 분석용 큐브 (SalesCubeService 가 관리)
+ * - 금액 : int 배열, 날짜 : epoch day (월은 year * 12 + month - 1 로 미리 계산)
+ * - 결제 수단 / 시술명 / 카테고리 : 사전(dictionary) 코드, 결제 상태 : ordinal
+ * - 조회는 필터 후 묶음 기준 코드들을 long 하나(16비트씩)로 합쳐서 HashMap 에 집계 - 행 객체를 만들지 않음
+ * - 같은 매출은 salesCode 로 찾아서 덮어씀 (수정 / 취소 / 삭제도 같은 행 갱신, 삭제는 상태만 DELETED)
+ * - 읽기 / 쓰기는 ReadWriteLock 으로 보호
+ */
+final class SalesCube {
+
+    static final int MAX_GROUP_BY = 4;
+    private static final int INITIAL_CAPACITY = 256;
+    private static final PaymentStatus[] STATUSES = PaymentStatus.values();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Integer> rowBySalesCode = new HashMap<>();
+    private final Dictionary payMethods = new Dictionary();
+    private final Dictionary menus = new Dictionary();
+    private final Dictionary categories = new Dictionary();
+
+    private int size;
+    private int[] payDay = new int[INITIAL_CAPACITY];
+    private int[] payMonth = new int[INITIAL_CAPACITY];
+    private int[] payAmount = new int[INITIAL_CAPACITY];
+    private int[] cancelAmount = new int[INITIAL_CAPACITY];
+    private int[] finalAmount = new int[INITIAL_CAPACITY];
+    private int[] payMethod = new int[INITIAL_CAPACITY];
+    private int[] menu = new int[INITIAL_CAPACITY];
+    private int[] category = new int[INITIAL_CAPACITY];
+    private byte[] payStatus = new byte[INITIAL_CAPACITY];
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 매출 한 건 추가 또는 같은 salesCode 의 행 덮어쓰기
+     */
+    void upsert(SalesDetailDTO sales) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowBySalesCode.get(sales.getSalesCode());
+            if (row == null) {
+                row = size;
+                ensureCapacity(size + 1);
+                rowBySalesCode.put(sales.getSalesCode(), row);
+                size++;
+            }
+
+            LocalDate day = sales.getPayDatetime().toLocalDate();
+            payDay[row] = (int) day.toEpochDay();
+            payMonth[row] = day.getYear() * 12 + day.getMonthValue() - 1;
+            payAmount[row] = orZero(sales.getPayAmount());
+            cancelAmount[row] = orZero(sales.getCancelAmount());
+            finalAmount[row] = orZero(sales.getFinalAmount());
+            payMethod[row] = payMethods.codeOf(sales.getPayMethod());
+            menu[row] = menus.codeOf(sales.getMenuName());
+            category[row] = categories.codeOf(sales.getCategoryName());
+            payStatus[row] = (byte) sales.getPayStatus().ordinal();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 필터 + 묶음 집계 (묶음 기준 개수는 SalesCubeService 에서 검증)
+     */
+    List<SalesCubeRowDTO> query(SalesCubeQuery query) {
+        List<SalesCubeDimension> groupBy = query.getGroupBy();
+
+        lock.readLock().lock();
+        try {
+            int methodFilter = payMethods.find(query.getPayMethod());
+            int menuFilter = menus.find(query.getMenuName());
+            int categoryFilter = categories.find(query.getCategoryName());
+            if (methodFilter == Dictionary.MISSING || menuFilter == Dictionary.MISSING || categoryFilter == Dictionary.MISSING) {
+                return List.of();
+            }
+
+            boolean[] statusFilter = new boolean[STATUSES.length];
+            query.getPayStatuses().forEach(status -> statusFilter[status.ordinal()] = true);
+            int fromDay = query.getStartDate() != null ? (int) query.getStartDate().toEpochDay() : Integer.MIN_VALUE;
+            int toDay = query.getEndDate() != null ? (int) query.getEndDate().toEpochDay() : Integer.MAX_VALUE;
+
+            SalesCubeDimension[] dimensions = groupBy.toArray(new SalesCubeDimension[0]);
+            Map<Long, long[]> groups = new HashMap<>();
+
+            for (int row = 0; row < size; row++) {
+                if (!statusFilter[payStatus[row]]
+                    || payDay[row] < fromDay || payDay[row] > toDay
+                    || (methodFilter != Dictionary.ANY && payMethod[row] != methodFilter)
+                    || (menuFilter != Dictionary.ANY && menu[row] != menuFilter)
+                    || (categoryFilter != Dictionary.ANY && category[row] != categoryFilter)) {
+                    continue;
+                }
+
+                long key = 0;
+                for (SalesCubeDimension dimension : dimensions) {
+                    key = (key << 16) | codeOf(dimension, row);
+                }
+
+                long[] sums = groups.computeIfAbsent(key, k -> new long[5]);
+                sums[0]++;
+                if (STATUSES[payStatus[row]].isCancelled()) {
+                    sums[1]++;
+                }
+                sums[2] += payAmount[row];
+                sums[3] += cancelAmount[row];
+                sums[4] += finalAmount[row];
+            }
+
+            List<SalesCubeRowDTO> result = new ArrayList<>(groups.size());
+            Map<Long, long[]> sorted = new TreeMap<>(Long::compareUnsigned);
+            sorted.putAll(groups);
+            for (Map.Entry<Long, long[]> group : sorted.entrySet()) {
+                long[] sums = group.getValue();
+                result.add(new SalesCubeRowDTO(labelsOf(dimensions, group.getKey()),
+                    sums[0], sums[1], sums[2], sums[3], sums[4]));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 묶음 기준별 코드 (16비트 이내) */
+    private int codeOf(SalesCubeDimension dimension, int row) {
+        return switch (dimension) {
+            case PAY_METHOD -> payMethod[row];
+            case PAY_STATUS -> payStatus[row];
+            case MENU -> menu[row];
+            case CATEGORY -> category[row];
+            case WEEKDAY -> Math.floorMod(payDay[row] + 3, 7); // 1970-01-01 은 목요일, 0 = 월요일
+            case MONTH -> payMonth[row];
+            case DAY -> payDay[row];
+        };
+    }
+
+    private List<String> labelsOf(SalesCubeDimension[] dimensions, long key) {
+        String[] labels = new String[dimensions.length];
+        for (int i = dimensions.length - 1; i >= 0; i--) {
+            int code = (int) (key & 0xFFFF);
+            key >>>= 16;
+            labels[i] = switch (dimensions[i]) {
+                case PAY_METHOD -> payMethods.valueOf(code);
+                case PAY_STATUS -> STATUSES[code].name();
+                case MENU -> menus.valueOf(code);
+                case CATEGORY -> categories.valueOf(code);
+                case WEEKDAY -> DayOfWeek.of(code + 1).name();
+                case MONTH -> YearMonth.of(code / 12, code % 12 + 1).toString();
+                case DAY -> LocalDate.ofEpochDay(code).toString();
+            };
+        }
+        return Arrays.asList(labels);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= payDay.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, payDay.length * 2);
+        payDay = Arrays.copyOf(payDay, newCapacity);
+        payMonth = Arrays.copyOf(payMonth, newCapacity);
+        payAmount = Arrays.copyOf(payAmount, newCapacity);
+        cancelAmount = Arrays.copyOf(cancelAmount, newCapacity);
+        finalAmount = Arrays.copyOf(finalAmount, newCapacity);
+        payMethod = Arrays.copyOf(payMethod, newCapacity);
+        menu = Arrays.copyOf(menu, newCapacity);
+        category = Arrays.copyOf(category, newCapacity);
+        payStatus = Arrays.copyOf(payStatus, newCapacity);
+    }
+
+    private static int orZero(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    /**
+     * 문자열 사전 - 처음 나온 순서대로 0 부터 코드 부여 (null 도 하나의 값)
+     */
+    private static final class Dictionary {
+
+        static final int ANY = -1;
+        static final int MISSING = -2;
+
+        private final List<String> values = new ArrayList<>();
+        private final Map<String, Integer> codes = new HashMap<>();
+
+        int codeOf(String value) {
+            Integer code = codes.get(value);
+            if (code == null) {
+                if (values.size() > 0xFFFF) {
+                    throw new IllegalStateException("매출 큐브 사전 크기 초과 (최대 65536개)");
+                }
+                code = values.size();
+                values.add(value);
+                codes.put(value, code);
+            }
+            return code;
+        }
+
+        /** 필터용 - null 이면 ANY, 없는 값이면 MISSING */
+        int find(String value) {
+            if (value == null) {
+                return ANY;
+            }
+            Integer code = codes.get(value);
+            return code != null ? code : MISSING;
+        }
+
+        String valueOf(int code) {
+            return values.get(code);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.header.header.domain.sales.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.header.header.common.cache.CacheInvalidationBus;
+import com.header.header.common.cache.CacheInvalidationMessage;
+import com.header.header.common.cache.SingleFlight;
+import com.header.header.common.util.TransactionUtils;
+import com.header.header.domain.sales.dto.SalesCubeQuery;
+import com.header.header.domain.sales.dto.SalesCubeRowDTO;
+import com.header.header.domain.sales.dto.SalesDetailDTO;
+import com.header.header.domain.sales.repository.SalesRepository;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 샵별 매출 큐브(SalesCube) 관리 + 임의 묶음 / 필터 조회
+ * - 처음 조회할 때 그 샵의 매출을 스트림으로 읽어서 적재 (같은 샵을 동시에 조회해도 적재는 한 번 - SingleFlight)
+ *   적재(DB 읽기)는 Caffeine 의 계산(compute) 밖에서 하고, 다 읽은 뒤 보관만 짧게 compute 로 처리
+ * - 보관 : Caffeine, 전체 행 수(sales-cube.max-rows) 기준으로 오래 안 쓴 샵부터 제거, 안전장치로 일정 시간 후 만료
+ * - 매출 생성 / 수정 / 취소 / 삭제 : 커밋 후 바뀐 매출 한 건만 다시 읽어서 이 노드의 큐브에 반영,
+ *   다른 노드는 CacheInvalidationBus 로 그 샵의 큐브를 버리고 다음 조회 때 다시 적재
+ * - 적재 중에 매출이 바뀌면 (샵별 세대 번호가 바뀜) 그 변경을 놓쳤을 수 있으므로 적재한 큐브를 보관하지 않고 다시 적재
+ *   세대 확인과 보관은 한 번의 compute 안에서 하므로, 확인 뒤의 변경 / 삭제는 보관한 큐브에 그대로 반영됨
+ * - 메뉴 / 카테고리 이름이 바뀌면 샵의 큐브 전체를 버림 (evictAfterCommit)
+ * - 큐브는 노드 메모리에만 있음 (L2 에 저장하지 않음)
+ */
+@Slf4j
+@Service
+public class SalesCubeService {
+
+    static final String CACHE_NAME = "sales-cube";
+
+    /* 적재 중에 계속 바뀌는 샵은 이 횟수만큼 다시 적재한 뒤, 보관하지 않은 큐브로 응답 */
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    private final SalesRepository salesRepository;
+    private final CacheInvalidationBus invalidationBus;
+    private final SingleFlight singleFlight;
+    private final TransactionTemplate readTransaction;
+    private final Cache<Integer, SalesCube> cubes;
+    /* 샵별 변경 세대 - 매출 반영 / 삭제 때마다 증가 */
+    private final ConcurrentMap<Integer, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public SalesCubeService(SalesRepository salesRepository,
+        CacheInvalidationBus invalidationBus,
+        SingleFlight singleFlight,
+        PlatformTransactionManager transactionManager,
+        @Value("${sales-cube.max-rows:2000000}") long maxRows,
+        @Value("${sales-cube.expire-minutes:60}") long expireMinutes) {
+        this.salesRepository = salesRepository;
+        this.invalidationBus = invalidationBus;
+        this.singleFlight = singleFlight;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        this.cubes = Caffeine.newBuilder()
+            .maximumWeight(maxRows)
+            .weigher((Integer shopCode, SalesCube cube) -> Math.max(1, cube.size()))
+            .expireAfterWrite(Duration.ofMinutes(expireMinutes))
+            .build();
+    }
+
+    @PostConstruct
+    public void init() {
+        invalidationBus.onMessage(this::applyRemote);
+    }
+
+    /**
+     * 매출 큐브 조회
+     * @param shopCode 샵 코드
+     * @param query 묶음 기준 / 필터
+     * @return 묶음별 건수, 취소 건수, 금액 합계
+     * @throws IllegalArgumentException 묶음 기준이 너무 많을 때
+     */
+    public List<SalesCubeRowDTO> query(Integer shopCode, SalesCubeQuery query) {
+        if (query.getGroupBy().size() > SalesCube.MAX_GROUP_BY) {
+            throw new IllegalArgumentException("묶음 기준은 최대 " + SalesCube.MAX_GROUP_BY + "개까지 지정할 수 있습니다.");
+        }
+        return cubeOf(shopCode).query(query);
+    }
+
+    /**
+     * 매출 변경을 커밋 후 큐브에 반영
+     * @param shopCode 샵 코드
+     * @param salesCode 바뀐 매출 코드
+     */
+    public void refreshAfterCommit(Integer shopCode, Integer salesCode) {
+        TransactionUtils.afterCommit(() -> refresh(shopCode, salesCode));
+    }
+
+    /**
+     * 샵의 큐브 삭제 (이 노드 + 다른 노드)
+     * @param shopCode 샵 코드
+     */
+    public void evict(Integer shopCode) {
+        invalidate(shopCode);
+        invalidationBus.publish(CacheInvalidationMessage.Operation.EVICT_SHOP, CACHE_NAME, shopCode, null);
+    }
+
+    /**
+     * 메뉴 / 카테고리 이름 변경 등 샵의 여러 매출이 바뀐 경우 - 커밋 후 큐브 삭제 (이 노드 + 다른 노드)
+     * @param shopCode 샵 코드
+     */
+    public void evictAfterCommit(Integer shopCode) {
+        TransactionUtils.afterCommit(() -> evict(shopCode));
+    }
+
+    void refresh(Integer shopCode, Integer salesCode) {
+        // 지금 적재 중인 큐브는 이 매출을 놓쳤을 수 있으므로 보관되지 않게 함
+        generationOf(shopCode).incrementAndGet();
+        try {
+            if (cubes.getIfPresent(shopCode) != null) {
+                Optional<SalesDetailDTO> sales = readTransaction.execute(status -> salesRepository.findSalesDetailById(salesCode));
+                if (sales != null && sales.isPresent()) {
+                    // 같은 매출은 덮어쓰므로 두 번 반영돼도 같은 결과
+                    cubes.asMap().computeIfPresent(shopCode, (key, cube) -> {
+                        cube.upsert(sales.get());
+                        return cube;
+                    });
+                } else {
+                    invalidate(shopCode);
+                }
+            }
+        } catch (RuntimeException e) {
+            invalidate(shopCode);
+            log.warn("매출 큐브 반영 실패, 큐브 삭제 : shopCode={}, salesCode={}", shopCode, salesCode, e);
+        }
+        invalidationBus.publish(CacheInvalidationMessage.Operation.EVICT_SHOP, CACHE_NAME, shopCode, null);
+    }
+
+    void applyRemote(CacheInvalidationMessage message) {
+        if (CACHE_NAME.equals(message.getCacheName())) {
+            invalidate(message.getShopCode());
+        }
+    }
+
+    private void invalidate(Integer shopCode) {
+        generationOf(shopCode).incrementAndGet();
+        cubes.invalidate(shopCode);
+    }
+
+    private AtomicLong generationOf(Integer shopCode) {
+        return generations.computeIfAbsent(shopCode, key -> new AtomicLong());
+    }
+
+    /* 보관된 큐브, 없으면 적재 (같은 샵의 동시 적재는 한 번으로 합침) */
+    private SalesCube cubeOf(Integer shopCode) {
+        SalesCube cube = cubes.getIfPresent(shopCode);
+        if (cube != null) return cube;
+        return singleFlight.execute("loadSalesCube", Arrays.asList(shopCode), () -> loadAndStore(shopCode));
+    }
+
+    /* 적재 후 그동안 세대가 그대로면 보관, 바뀌었으면 다시 적재 */
+    private SalesCube loadAndStore(Integer shopCode) {
+        SalesCube loaded = null;
+        for (int attempt = 0; attempt < MAX_LOAD_ATTEMPTS; attempt++) {
+            SalesCube cached = cubes.getIfPresent(shopCode);
+            if (cached != null) return cached;
+
+            long generation = generationOf(shopCode).get();
+            SalesCube candidate = load(shopCode);
+            SalesCube stored = cubes.asMap().compute(shopCode,
+                (key, existing) -> generationOf(key).get() == generation ? candidate : existing);
+            if (stored != null) return stored;
+            loaded = candidate;
+        }
+        log.info("매출 큐브 적재 중 변경이 계속되어 보관하지 않음 - shopCode: {}", shopCode);
+        return loaded;
+    }
+
+    private SalesCube load(Integer shopCode) {
+        long start = System.currentTimeMillis();
+        SalesCube cube = readTransaction.execute(status -> {
+            SalesCube loaded = new SalesCube();
+            try (Stream<SalesDetailDTO> rows = salesRepository.streamSalesDetailsByShop(shopCode)) {
+                rows.forEach(loaded::upsert);
+            }
+            return loaded;
+        });
+        log.info("매출 큐브 적재 - shopCode: {}, rows: {}, {}ms",
+            shopCode, cube.size(), System.currentTimeMillis() - start);
+        return cube;
+    }
+}
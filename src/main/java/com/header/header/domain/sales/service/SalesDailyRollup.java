@@ -0,0 +1,180 @@
+package com.header.header.domain.sales.service;
+
+import com.header.header.domain.sales.entity.Sales;
+import com.header.header.domain.sales.enums.PaymentStatus;
+import com.header.header.domain.sales.repository.SalesDailyRepository;
+import com.header.header.domain.sales.repository.SalesRepository;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 매출 일별 집계(tbl_sales_daily) 갱신
+ * - 매출 생성 / 수정 / 취소 / 삭제 시 SalesService 의 트랜잭션 안에서 호출, 바뀌기 전 값을 빼고 바뀐 값을 더함
+ * - 증감은 INSERT ... ON DUPLICATE KEY UPDATE 한 문장이라 같은 날짜에 동시에 결제가 들어와도 합계가 어긋나지 않음
+ * - 두 행을 건드릴 때(상태 / 결제수단 / 결제일 변경)는 항상 키 순서대로 갱신해서 서로 락을 기다리지 않게 함
+ * - 재계산(rebuild) : 집계가 어긋났을 때 샵 단위로 tbl_sales 에서 다시 계산, 기동 시 집계가 없는 샵은 자동으로 백필
+ * - 샵 락(tbl_shop 행) : 매출 변경은 매출 행을 바꾸기 전에 공유로, 재계산은 배타로 잡음
+ *   재계산도 변경과 같은 순서(샵 → 매출 → 집계)로 락을 잡으므로 서로 기다리다 교착되지 않고,
+ *   재계산 중인 샵의 변경은 재계산이 끝난 뒤에 반영됨 (변경끼리는 서로 기다리지 않음)
+ */
+@Slf4j
+@Service
+public class SalesDailyRollup {
+
+    private static final Comparator<Contribution> KEY_ORDER = Comparator
+        .comparing(Contribution::salesDate)
+        .thenComparing(Contribution::payMethod)
+        .thenComparing(Contribution::payStatus);
+
+    private final SalesRepository salesRepository;
+    private final SalesDailyRepository salesDailyRepository;
+    private final TransactionTemplate rebuildTransaction;
+
+    public SalesDailyRollup(SalesRepository salesRepository,
+        SalesDailyRepository salesDailyRepository,
+        PlatformTransactionManager transactionManager) {
+        this.salesRepository = salesRepository;
+        this.salesDailyRepository = salesDailyRepository;
+        this.rebuildTransaction = new TransactionTemplate(transactionManager);
+        this.rebuildTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 예약의 샵 락을 공유로 잡음 - 매출 행을 만들거나 바꾸기 전에 호출
+     * @param resvCode 예약 코드
+     * @return 샵 코드
+     */
+    public Integer lockShop(Integer resvCode) {
+        Integer shopCode = salesRepository.findShopCodeByResvCode(resvCode)
+            .orElseThrow(() -> new IllegalArgumentException("예약을 찾을 수 없습니다. 예약코드: " + resvCode));
+        salesDailyRepository.lockShopShared(shopCode);
+        return shopCode;
+    }
+
+    /**
+     * 매출이 집계에 더해진 값 (변경 전에 잡아두고 replace 에 넘김, 샵 락도 함께 잡음)
+     * @param sales 변경 전 매출 엔티티
+     * @return 집계 기여분
+     */
+    public Contribution contributionOf(Sales sales) {
+        return Contribution.of(lockShop(sales.getResvCode()), sales);
+    }
+
+    /**
+     * 새 매출을 집계에 더함
+     * @param sales 저장된 매출 엔티티
+     * @return 더한 값
+     */
+    public Contribution add(Sales sales) {
+        Contribution contribution = contributionOf(sales);
+        apply(contribution, 1);
+        return contribution;
+    }
+
+    /**
+     * 변경 전 값을 빼고 변경 후 값을 더함
+     * @param before 변경 전에 contributionOf 로 잡아둔 값
+     * @param sales 변경된 매출 엔티티
+     * @return 변경 후 값
+     */
+    public Contribution replace(Contribution before, Sales sales) {
+        Contribution after = Contribution.of(before.shopCode(), sales);
+        if (before.equals(after)) {
+            return after;
+        }
+
+        if (KEY_ORDER.compare(before, after) <= 0) {
+            apply(before, -1);
+            apply(after, 1);
+        } else {
+            apply(after, 1);
+            apply(before, -1);
+        }
+        return after;
+    }
+
+    /**
+     * 특정 샵의 집계를 tbl_sales 에서 다시 계산 (별도 트랜잭션)
+     * @param shopCode 샵 코드
+     * @return 다시 만든 집계 행 수
+     */
+    public int rebuild(Integer shopCode) {
+        Integer rows = rebuildTransaction.execute(status -> {
+            salesDailyRepository.lockShopExclusive(shopCode);
+            salesDailyRepository.deleteByShop(shopCode);
+            return salesDailyRepository.rebuild(shopCode);
+        });
+        log.info("매출 일별 집계 재계산 완료 - shopCode: {}, rows: {}", shopCode, rows);
+        return rows != null ? rows : 0;
+    }
+
+    /**
+     * 매출은 있는데 집계가 한 행도 없는 샵을 백필 (기존 DB 에 tbl_sales_daily 를 추가한 경우)
+     * 실패해도 기동은 계속, 일부만 집계된 샵은 샵 단위 재계산(POST .../daily-rollup/rebuild)으로 맞춤
+     * @return 백필한 샵 수
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public int backfillMissing() {
+        Set<Integer> existing = new HashSet<>(salesDailyRepository.findShopCodes());
+        List<Integer> missing = salesRepository.findShopCodesWithSales().stream()
+            .filter(shopCode -> !existing.contains(shopCode))
+            .toList();
+
+        int rebuilt = 0;
+        for (Integer shopCode : missing) {
+            try {
+                rebuild(shopCode);
+                rebuilt++;
+            } catch (RuntimeException e) {
+                log.warn("매출 일별 집계 백필 실패 - shopCode: {}", shopCode, e);
+            }
+        }
+        return rebuilt;
+    }
+
+    private void apply(Contribution contribution, int sign) {
+        if (!contribution.counted()) {
+            return;
+        }
+        salesDailyRepository.add(contribution.shopCode(),
+            contribution.salesDate(),
+            contribution.payMethod(),
+            contribution.payStatus().name(),
+            sign,
+            sign * contribution.payAmount(),
+            sign * contribution.cancelAmount(),
+            sign * contribution.finalAmount());
+    }
+
+    /**
+     * 매출 한 건이 집계 한 행에 더하는 값
+     * 삭제된 매출은 counted = false (집계에 없음)
+     */
+    public record Contribution(Integer shopCode, LocalDate salesDate, String payMethod, PaymentStatus payStatus,
+                               long payAmount, long cancelAmount, long finalAmount) {
+
+        static Contribution of(Integer shopCode, Sales sales) {
+            return new Contribution(shopCode,
+                sales.getPayDatetime().toLocalDate(),
+                sales.getPayMethod(),
+                sales.getPayStatus(),
+                sales.getPayAmount(),
+                sales.getCancelAmount() != null ? sales.getCancelAmount() : 0,
+                sales.getFinalAmount() != null ? sales.getFinalAmount() : 0);
+        }
+
+        boolean counted() {
+            return payStatus != PaymentStatus.DELETED;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.header.header.domain.sales.service;
+
+import com.header.header.common.cache.ShopScopedCache;
+import com.header.header.common.util.TransactionUtils;
+import com.header.header.domain.sales.dto.MonthlySalesStatDTO;
+import com.header.header.domain.sales.dto.PaymentMethodStatDTO;
+import com.header.header.domain.sales.dto.SalesDashboardDTO;
+import com.header.header.domain.sales.entity.SalesDaily;
+import com.header.header.domain.sales.enums.PaymentStatus;
+import com.header.header.domain.sales.repository.SalesDailyRepository;
+import com.header.header.domain.sales.repository.SalesRepository;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * 매출 대시보드 계산 + 샵별 단기 캐시 (sales-dashboard)
+ * - 매출 일별 집계(tbl_sales_daily)를 한 번 읽어서 건수 / 기간 합계 / 결제 수단별 / 월별 통계를 한 번에 계산
+ * - DB 왕복 : 집계 1회 + 기간을 주면 취소 금액 1회 (취소일시 기준이라 결제일 집계로는 계산할 수 없음)
+ *   기간이 날짜 단위가 아니면 앞뒤 자투리 구간만 tbl_sales 에서 추가로 합산
+ * - 매출 생성 / 수정 / 취소 / 삭제 시 SalesService 가 evict 로 그 샵의 캐시를 모두 삭제 (다른 노드 포함)
+ */
+@Service
+@RequiredArgsConstructor
+public class SalesDashboardAggregator {
+
+    static final String CACHE_NAME = "sales-dashboard";
+
+    private final SalesDailyRepository salesDailyRepository;
+    private final SalesRepository salesRepository;
+    private final ShopScopedCache shopScopedCache;
+
+    /**
+     * 대시보드 종합 정보 (캐시에 없으면 계산)
+     * @param shopCode 샵 코드
+     * @param startDate 시작 날짜 (null 이면 기간 합계 0)
+     * @param endDate 종료 날짜 (null 이면 기간 합계 0)
+     * @return 대시보드 종합 정보
+     */
+    public SalesDashboardDTO getDashboard(Integer shopCode, LocalDateTime startDate, LocalDateTime endDate) {
+        SalesPeriod period = startDate != null && endDate != null ? SalesPeriod.of(startDate, endDate) : null;
+        String subKey = period != null ? startDate + "~" + endDate : "all";
+
+        return shopScopedCache.get(CACHE_NAME, shopCode, subKey, SalesDashboardDTO.class,
+            () -> aggregate(shopCode, period));
+    }
+
+    /**
+     * 샵의 대시보드 캐시 삭제 - 이 노드는 바로, 다른 노드는 커밋 후
+     * @param shopCode 샵 코드
+     */
+    public void evict(Integer shopCode) {
+        shopScopedCache.evictShopLocal(CACHE_NAME, shopCode);
+        TransactionUtils.afterCommit(() -> shopScopedCache.evictShop(CACHE_NAME, shopCode));
+    }
+
+    SalesDashboardDTO aggregate(Integer shopCode, SalesPeriod period) {
+        long totalSales = 0;
+        long activeCount = 0;
+        long completedCount = 0;
+        long cancelledCount = 0;
+        Map<String, long[]> byPayMethod = new TreeMap<>();
+        Map<YearMonth, long[]> byMonth = new TreeMap<>();
+
+        for (SalesDaily row : salesDailyRepository.findByIdShopCode(shopCode)) {
+            int count = row.getSalesCount();
+            long amount = row.getFinalAmount();
+            PaymentStatus status = row.getId().getPayStatus();
+
+            activeCount += count;
+            if (status == PaymentStatus.COMPLETED) {
+                completedCount += count;
+            } else if (status.isCancelled()) {
+                cancelledCount += count;
+            }
+
+            long[] method = byPayMethod.computeIfAbsent(row.getId().getPayMethod(), key -> new long[2]);
+            method[0] += amount;
+            method[1] += count;
+
+            long[] month = byMonth.computeIfAbsent(YearMonth.from(row.getId().getSalesDate()), key -> new long[2]);
+            month[0] += amount;
+            month[1] += count;
+
+            if (period != null && period.coversDay(row.getId().getSalesDate())) {
+                totalSales += amount;
+            }
+        }
+
+        long totalCancelAmount = 0;
+        if (period != null) {
+            for (LocalDateTime[] range : period.partialRanges()) {
+                totalSales += orZero(salesRepository.calculateTotalSalesByShopBetween(
+                    shopCode, range[0], range[1], PaymentStatus.DELETED));
+            }
+            totalCancelAmount = orZero(salesRepository.calculateTotalCancelAmountByShopBetween(
+                shopCode, period.start(), period.end()));
+        }
+
+        SalesDashboardDTO dto = new SalesDashboardDTO();
+        dto.setTotalSales(totalSales);
+        dto.setTotalCancelAmount(totalCancelAmount);
+        dto.setPaymentMethodStats(byPayMethod.entrySet().stream()
+            .filter(entry -> entry.getValue()[1] > 0)
+            .map(entry -> new PaymentMethodStatDTO(entry.getKey(), entry.getValue()[0], entry.getValue()[1]))
+            .toList());
+        dto.setMonthlyStats(byMonth.entrySet().stream()
+            .filter(entry -> entry.getValue()[1] > 0)
+            .map(entry -> new MonthlySalesStatDTO(entry.getKey().getYear(), entry.getKey().getMonthValue(),
+                entry.getValue()[0], entry.getValue()[1]))
+            .toList());
+        dto.setActiveSalesCount((int) activeCount);
+        dto.setCompletedSalesCount((int) completedCount);
+        dto.setCancelledSalesCount((int) cancelledCount);
+        return dto;
+    }
+
+    private static long orZero(Long value) {
+        return value != null ? value : 0L;
+    }
+}
@@ -0,0 +1,90 @@
+package com.header.header.domain.sales.service;
+
+import com.header.header.common.util.CsvWriter;
+import com.header.header.domain.sales.dto.SalesDetailDTO;
+import com.header.header.domain.sales.repository.SalesRepository;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 매출 내보내기 (CSV, 선택적으로 gzip)
+ * - DB 에서 한 행씩 읽어서(SalesRepository.streamSalesDetailsByShopAndDateRange) 바로 출력 스트림에 씀
+ * - 목록을 만들지 않으므로 행 수와 관계없이 메모리 사용량이 일정 (CsvWriter 버퍼 + 현재 행)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SalesExportService {
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final String HEADER = "매출코드,예약코드,결제일시,결제수단,결제상태,결제금액,취소금액,취소일시,취소사유,최종금액,"
+        + "예약일,예약시간,고객명,연락처,시술명,카테고리,요청사항";
+
+    private final SalesRepository salesRepository;
+
+    /**
+     * 특정 샵의 기간별 매출을 CSV 로 출력
+     * @param shopCode 샵 코드
+     * @param startDate 시작 날짜
+     * @param endDate 종료 날짜
+     * @param out 출력 스트림 (닫지 않음)
+     * @param gzip gzip 압축 여부
+     * @return 출력한 매출 건수
+     */
+    @Transactional(readOnly = true)
+    public long exportCsv(Integer shopCode, LocalDateTime startDate, LocalDateTime endDate,
+        OutputStream out, boolean gzip) {
+        long count = 0;
+        try (Stream<SalesDetailDTO> rows = salesRepository.streamSalesDetailsByShopAndDateRange(shopCode, startDate, endDate)) {
+            GZIPOutputStream gzipOut = gzip ? new GZIPOutputStream(out, CsvWriter.BUFFER_SIZE) : null;
+            CsvWriter csv = new CsvWriter(gzipOut != null ? gzipOut : out, HEADER);
+
+            Iterator<SalesDetailDTO> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writeRow(csv, iterator.next());
+                count++;
+            }
+
+            csv.flush();
+            if (gzipOut != null) {
+                gzipOut.finish();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("매출 내보내기 중 출력 오류가 발생했습니다.", e);
+        }
+
+        log.info("매출 내보내기 완료 - shopCode: {}, rows: {}", shopCode, count);
+        return count;
+    }
+
+    private void writeRow(CsvWriter csv, SalesDetailDTO sales) throws IOException {
+        csv.value(sales.getSalesCode());
+        csv.value(sales.getResvCode());
+        csv.dateTime(sales.getPayDatetime(), DATE_TIME);
+        csv.text(sales.getPayMethod());
+        csv.value(sales.getPayStatus());
+        csv.value(sales.getPayAmount());
+        csv.value(sales.getCancelAmount());
+        csv.dateTime(sales.getCancelDatetime(), DATE_TIME);
+        csv.text(sales.getCancelReason());
+        csv.value(sales.getFinalAmount());
+        csv.value(sales.getResvDate());
+        csv.value(sales.getResvTime());
+        csv.text(sales.getUserName());
+        csv.text(sales.getUserPhone());
+        csv.text(sales.getMenuName());
+        csv.text(sales.getCategoryName());
+        csv.text(sales.getUserComment());
+        csv.endRow();
+    }
+}
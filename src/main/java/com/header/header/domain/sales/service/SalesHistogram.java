@@ -0,0 +1,178 @@
+package com.header.header.domain.sales.service;
+
+import com.header.header.domain.sales.dto.HistogramSummaryDTO;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * HDR 방식의 고정 크기 히스토그램 (값 0 ~ 2^40 - 1, 칸 너비는 값의 1/64 이하)
+ * - 128 미만은 값 하나가 한 칸, 그 이상은 2의 거듭제곱 구간마다 64칸 (상위 7비트가 같은 값끼리 한 칸)
+ * - 칸 수가 정해져 있어 메모리가 건수와 무관하고, 칸별로 더하면 합쳐짐 (날짜별 히스토그램을 기간으로 합산)
+ * - 백분위는 누적 건수가 처음으로 해당 순위에 닿는 칸의 최대값 (HdrHistogram 의 highestEquivalentValue 기준)
+ * - 저장 형식 (encode) : 버전 1바이트 + 비어 있지 않은 칸마다 (이전 칸과의 번호 차이, 건수) varint
+ */
+final class SalesHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT >> 1;
+    static final long MAX_VALUE = (1L << 40) - 1;
+    static final int BUCKET_COUNT = indexOf(MAX_VALUE) + 1;
+    private static final int FORMAT_VERSION = 1;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount;
+
+    /**
+     * 저장된 히스토그램 복원 (null / 빈 배열이면 빈 히스토그램)
+     * @throws IllegalArgumentException 형식이 잘못되었을 때
+     */
+    static SalesHistogram decode(byte[] encoded) {
+        SalesHistogram histogram = new SalesHistogram();
+        histogram.mergeEncoded(encoded);
+        return histogram;
+    }
+
+    /**
+     * 값 기록 (delta 가 음수면 제거)
+     * 범위를 벗어난 값은 0 / MAX_VALUE 로 기록
+     */
+    void record(long value, long delta) {
+        counts[indexOf(value)] += delta;
+        totalCount += delta;
+    }
+
+    void merge(SalesHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+    }
+
+    /**
+     * 저장 형식 그대로 더함 (복원한 객체를 만들지 않음)
+     * @throws IllegalArgumentException 형식이 잘못되었을 때
+     */
+    void mergeEncoded(byte[] encoded) {
+        if (encoded == null || encoded.length == 0) {
+            return;
+        }
+        if (encoded[0] != FORMAT_VERSION) {
+            throw new IllegalArgumentException("지원하지 않는 히스토그램 형식입니다: " + encoded[0]);
+        }
+
+        int[] position = {1};
+        int index = -1;
+        while (position[0] < encoded.length) {
+            index += (int) readVarint(encoded, position);
+            long count = zigZagDecode(readVarint(encoded, position));
+            if (index < 0 || index >= BUCKET_COUNT) {
+                throw new IllegalArgumentException("히스토그램 칸 번호가 범위를 벗어났습니다: " + index);
+            }
+            counts[index] += count;
+            totalCount += count;
+        }
+    }
+
+    byte[] encode() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(FORMAT_VERSION);
+        int previous = -1;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (counts[i] != 0) {
+                writeVarint(out, i - previous);
+                writeVarint(out, zigZagEncode(counts[i]));
+                previous = i;
+            }
+        }
+        return out.toByteArray();
+    }
+
+    long totalCount() {
+        return totalCount;
+    }
+
+    /**
+     * 백분위 값
+     * @param percentile 0 ~ 100
+     * @return 해당 순위가 들어 있는 칸의 최대값, 비어 있으면 0
+     */
+    long valueAtPercentile(double percentile) {
+        if (totalCount <= 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * totalCount));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += counts[i];
+            if (cumulative >= rank) {
+                return highestEquivalentValue(i);
+            }
+        }
+        return highestEquivalentValue(BUCKET_COUNT - 1);
+    }
+
+    HistogramSummaryDTO summary() {
+        List<HistogramSummaryDTO.Bucket> buckets = new ArrayList<>();
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (counts[i] > 0) {
+                buckets.add(new HistogramSummaryDTO.Bucket(lowestEquivalentValue(i), highestEquivalentValue(i), counts[i]));
+            }
+        }
+        return new HistogramSummaryDTO(totalCount,
+            valueAtPercentile(50), valueAtPercentile(90), valueAtPercentile(99), buckets);
+    }
+
+    static int indexOf(long value) {
+        long clamped = Math.min(Math.max(value, 0), MAX_VALUE);
+        if (clamped < SUB_BUCKET_COUNT) {
+            return (int) clamped;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(clamped) - (SUB_BUCKET_BITS - 1);
+        return shift * SUB_BUCKET_HALF + (int) (clamped >>> shift);
+    }
+
+    static long lowestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_HALF - 1;
+        return (long) (index - shift * SUB_BUCKET_HALF) << shift;
+    }
+
+    static long highestEquivalentValue(int index) {
+        return lowestEquivalentValue(index + 1) - 1;
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(byte[] bytes, int[] position) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position[0] >= bytes.length) {
+                throw new IllegalArgumentException("히스토그램 데이터가 잘렸습니다.");
+            }
+            byte b = bytes[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("히스토그램 데이터 형식이 잘못되었습니다.");
+    }
+
+    private static long zigZagEncode(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long zigZagDecode(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,202 @@
+package com.header.header.domain.sales.service;
+
+import com.header.header.domain.sales.dto.HistogramSummaryDTO;
+import com.header.header.domain.sales.enums.PaymentStatus;
+import com.header.header.domain.sales.repository.SalesDailyHistogramRepository;
+import com.header.header.domain.sales.repository.SalesDailyRepository;
+import com.header.header.domain.sales.repository.SalesRepository;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 매출 일별 히스토그램(tbl_sales_daily_histogram) 갱신 / 기간 합산
+ * - 매출 한 건의 최종 결제 금액(완료 / 부분취소만)을 샵 + 결제일별 SalesHistogram 에 기록
+ * - 매출 생성 / 수정 / 취소 / 삭제 시 SalesService 의 트랜잭션 안에서 일별 집계(SalesDailyRollup) 다음에 호출
+ *   행 락을 먼저 잡고(lock) 잠금 읽기(FOR UPDATE)로 최신 값을 읽어서 고친 뒤 저장하므로 같은 날짜에 동시에 결제가 들어와도 기록이 빠지지 않음
+ *   두 날짜를 건드릴 때(결제일 변경)는 날짜 순서대로 갱신
+ * - 조회는 기간의 날짜별 히스토그램을 칸별로 더해서 백분위 계산 - 매출 건수와 무관하게 칸 수만큼만 계산
+ * - 재계산(rebuild) : 샵 단위로 tbl_sales 에서 다시 계산, 기동 시 히스토그램이 없는 샵은 자동으로 백필
+ */
+@Slf4j
+@Service
+public class SalesHistogramRollup {
+
+    private static final byte[] EMPTY = new SalesHistogram().encode();
+
+    private final SalesRepository salesRepository;
+    private final SalesDailyRepository salesDailyRepository;
+    private final SalesDailyHistogramRepository histogramRepository;
+    private final TransactionTemplate rebuildTransaction;
+
+    public SalesHistogramRollup(SalesRepository salesRepository,
+        SalesDailyRepository salesDailyRepository,
+        SalesDailyHistogramRepository histogramRepository,
+        PlatformTransactionManager transactionManager) {
+        this.salesRepository = salesRepository;
+        this.salesDailyRepository = salesDailyRepository;
+        this.histogramRepository = histogramRepository;
+        this.rebuildTransaction = new TransactionTemplate(transactionManager);
+        this.rebuildTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 새 매출 기록
+     * @param added SalesDailyRollup.add 가 더한 값
+     */
+    public void add(SalesDailyRollup.Contribution added) {
+        if (isTicket(added)) {
+            apply(added.shopCode(), added.salesDate(), null, added.finalAmount());
+        }
+    }
+
+    /**
+     * 변경 전 값을 빼고 변경 후 값을 기록
+     * @param before 변경 전 값
+     * @param after SalesDailyRollup.replace 가 더한 변경 후 값
+     */
+    public void replace(SalesDailyRollup.Contribution before, SalesDailyRollup.Contribution after) {
+        boolean removed = isTicket(before);
+        boolean added = isTicket(after);
+
+        if (removed && added && before.salesDate().equals(after.salesDate())) {
+            if (before.finalAmount() != after.finalAmount()) {
+                apply(before.shopCode(), before.salesDate(), before.finalAmount(), after.finalAmount());
+            }
+            return;
+        }
+
+        // 날짜가 다르면 날짜 순서대로
+        boolean beforeFirst = !added || !removed || !before.salesDate().isAfter(after.salesDate());
+        if (removed && beforeFirst) {
+            apply(before.shopCode(), before.salesDate(), before.finalAmount(), null);
+        }
+        if (added) {
+            apply(after.shopCode(), after.salesDate(), null, after.finalAmount());
+        }
+        if (removed && !beforeFirst) {
+            apply(before.shopCode(), before.salesDate(), before.finalAmount(), null);
+        }
+    }
+
+    /**
+     * 기간(결제일 양 끝 포함)의 매출 한 건 금액 분포
+     * @param shopCode 샵 코드
+     * @param startDate 시작 날짜
+     * @param endDate 종료 날짜
+     * @return 건수 / 백분위 / 칸 목록
+     */
+    public HistogramSummaryDTO ticketSize(Integer shopCode, LocalDate startDate, LocalDate endDate) {
+        SalesHistogram merged = new SalesHistogram();
+        for (byte[] encoded : histogramRepository.findTicketHistogramsBetween(shopCode, startDate, endDate)) {
+            merged.mergeEncoded(encoded);
+        }
+        return merged.summary();
+    }
+
+    /**
+     * 기간(결제일 양 끝 포함)의 하루 매출 합계 분포 (일별 집계에서 날짜별 합계를 읽어서 계산)
+     * @param shopCode 샵 코드
+     * @param startDate 시작 날짜
+     * @param endDate 종료 날짜
+     * @return 매출이 있는 날짜 수 / 백분위 / 칸 목록
+     */
+    public HistogramSummaryDTO dailyRevenue(Integer shopCode, LocalDate startDate, LocalDate endDate) {
+        SalesHistogram histogram = new SalesHistogram();
+        for (Object[] row : salesDailyRepository.findDailyFinalAmounts(shopCode, startDate, endDate)) {
+            histogram.record(((Number) row[1]).longValue(), 1);
+        }
+        return histogram.summary();
+    }
+
+    /**
+     * 특정 샵의 히스토그램을 tbl_sales 에서 다시 계산 (별도 트랜잭션)
+     * @param shopCode 샵 코드
+     * @return 다시 만든 날짜 수
+     */
+    public int rebuild(Integer shopCode) {
+        Integer days = rebuildTransaction.execute(status -> {
+            histogramRepository.deleteByShop(shopCode);
+
+            int count = 0;
+            LocalDate day = null;
+            SalesHistogram histogram = null;
+            for (Object[] row : histogramRepository.findTicketAmountCounts(shopCode)) {
+                LocalDate salesDate = toLocalDate(row[0]);
+                if (!salesDate.equals(day)) {
+                    if (histogram != null) {
+                        histogramRepository.insert(shopCode, day, histogram.totalCount(), histogram.encode());
+                        count++;
+                    }
+                    day = salesDate;
+                    histogram = new SalesHistogram();
+                }
+                histogram.record(((Number) row[1]).longValue(), ((Number) row[2]).longValue());
+            }
+            if (histogram != null) {
+                histogramRepository.insert(shopCode, day, histogram.totalCount(), histogram.encode());
+                count++;
+            }
+            return count;
+        });
+        log.info("매출 일별 히스토그램 재계산 완료 - shopCode: {}, days: {}", shopCode, days);
+        return days != null ? days : 0;
+    }
+
+    /**
+     * 매출은 있는데 히스토그램이 한 행도 없는 샵을 백필 (init.sql 초기 데이터 / 테이블 추가 전 매출)
+     * SQL 만으로는 히스토그램 형식을 만들 수 없어서 기동 후에 계산, 실패해도 기동은 계속
+     * @return 백필한 샵 수
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public int backfillMissing() {
+        Set<Integer> existing = new HashSet<>(histogramRepository.findShopCodes());
+        List<Integer> missing = salesRepository.findShopCodesWithSales().stream()
+            .filter(shopCode -> !existing.contains(shopCode))
+            .toList();
+
+        int rebuilt = 0;
+        for (Integer shopCode : missing) {
+            try {
+                rebuild(shopCode);
+                rebuilt++;
+            } catch (RuntimeException e) {
+                log.warn("매출 일별 히스토그램 백필 실패 - shopCode: {}", shopCode, e);
+            }
+        }
+        return rebuilt;
+    }
+
+    /**
+     * 행 락을 잡고 한 날짜의 값을 빼고 더함 (null 이면 해당 없음)
+     */
+    private void apply(Integer shopCode, LocalDate salesDate, Long removedValue, Long addedValue) {
+        histogramRepository.lock(shopCode, salesDate, EMPTY);
+        SalesHistogram histogram = SalesHistogram.decode(histogramRepository.findTicketHistogram(shopCode, salesDate));
+        if (removedValue != null) {
+            histogram.record(removedValue, -1);
+        }
+        if (addedValue != null) {
+            histogram.record(addedValue, 1);
+        }
+        histogramRepository.update(shopCode, salesDate, histogram.totalCount(), histogram.encode());
+    }
+
+    private static boolean isTicket(SalesDailyRollup.Contribution contribution) {
+        return contribution.payStatus() == PaymentStatus.COMPLETED
+            || contribution.payStatus() == PaymentStatus.PARTIAL_CANCELLED;
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof Date date ? date.toLocalDate() : (LocalDate) value;
+    }
+}
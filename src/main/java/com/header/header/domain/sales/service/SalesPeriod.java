@@ -0,0 +1,59 @@
+package com.header.header.domain.sales.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 결제일시 기간(양 끝 포함)을 하루 전체가 들어가는 날짜 구간과 앞뒤 자투리 구간으로 나눔
+ * - 하루 전체가 들어가는 날짜는 매출 일별 집계(tbl_sales_daily)에서, 자투리 구간만 tbl_sales 에서 합산
+ * - tbl_sales.pay_datetime 은 초 단위이므로 23:59:59 까지 포함하면 그날 전체
+ */
+record SalesPeriod(LocalDateTime start, LocalDateTime end, LocalDate firstFullDay, LocalDate lastFullDay) {
+
+    private static final LocalTime LAST_SECOND_OF_DAY = LocalTime.of(23, 59, 59);
+
+    static SalesPeriod of(LocalDateTime start, LocalDateTime end) {
+        LocalDate firstFullDay = start.toLocalTime().equals(LocalTime.MIDNIGHT)
+            ? start.toLocalDate() : start.toLocalDate().plusDays(1);
+        LocalDate lastFullDay = end.toLocalTime().isBefore(LAST_SECOND_OF_DAY)
+            ? end.toLocalDate().minusDays(1) : end.toLocalDate();
+        return new SalesPeriod(start, end, firstFullDay, lastFullDay);
+    }
+
+    boolean isEmpty() {
+        return start.isAfter(end);
+    }
+
+    boolean hasFullDays() {
+        return !firstFullDay.isAfter(lastFullDay);
+    }
+
+    boolean coversDay(LocalDate day) {
+        return hasFullDays() && !day.isBefore(firstFullDay) && !day.isAfter(lastFullDay);
+    }
+
+    /**
+     * tbl_sales 에서 직접 합산할 구간 목록 [시작, 끝] (양 끝 포함, 각각 하루 이내)
+     * 하루 전체가 들어가는 날짜가 없으면 기간 전체
+     */
+    List<LocalDateTime[]> partialRanges() {
+        List<LocalDateTime[]> ranges = new ArrayList<>();
+        if (isEmpty()) {
+            return ranges;
+        }
+        if (!hasFullDays()) {
+            ranges.add(new LocalDateTime[]{start, end});
+            return ranges;
+        }
+        if (start.isBefore(firstFullDay.atStartOfDay())) {
+            ranges.add(new LocalDateTime[]{start, firstFullDay.atStartOfDay().minusNanos(1)});
+        }
+        if (end.isAfter(lastFullDay.atTime(LocalTime.MAX))) {
+            ranges.add(new LocalDateTime[]{lastFullDay.plusDays(1).atStartOfDay(), end});
+        }
+        return ranges;
+    }
+}
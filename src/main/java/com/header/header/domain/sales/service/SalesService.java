@@ -1,21 +1,30 @@
 package com.header.header.domain.sales.service;
 
+import com.header.header.common.dto.CursorPage;
 import com.header.header.common.exception.NotFoundException;
 import com.header.header.domain.sales.dto.SalesDTO;
+import com.header.header.domain.sales.dto.SalesCursor;
 import com.header.header.domain.sales.dto.SalesDashboardDTO;
 import com.header.header.domain.sales.dto.SalesDetailDTO;
+import com.header.header.domain.sales.dto.SalesDistributionDTO;
 import com.header.header.domain.sales.entity.Sales;
 import com.header.header.domain.sales.enums.PaymentStatus;
+import com.header.header.domain.sales.enums.SalesListFilter;
+import com.header.header.domain.sales.repository.SalesDailyRepository;
 import com.header.header.domain.sales.repository.SalesRepository;
+import com.header.header.domain.visitors.service.VisitorStatisticsSummarizer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,7 +33,20 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class SalesService {
 
+    /** 커서 페이지 한 번에 조회할 수 있는 최대 건수 */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /** 기간을 지정하지 않은 커서 페이지 조회의 기본 범위 (DATETIME 전체) */
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1000, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
     private final SalesRepository salesRepository;
+    private final SalesDailyRepository salesDailyRepository;
+    private final SalesDailyRollup salesDailyRollup;
+    private final SalesHistogramRollup salesHistogramRollup;
+    private final SalesDashboardAggregator salesDashboardAggregator;
+    private final SalesCubeService salesCubeService;
+    private final VisitorStatisticsSummarizer visitorStatisticsSummarizer;
     private final ModelMapper modelMapper;
 
     /**
@@ -54,9 +76,18 @@ public class SalesService {
         // 중복 결제 검증
         validateDuplicatePayment(salesDTO.getResvCode());
 
+        // 매출 행을 만들기 전에 샵 락 (집계 재계산과 순서를 맞춤)
+        Integer shopCode = salesDailyRollup.lockShop(salesDTO.getResvCode());
+
         // Entity로 변환 후 저장
         Sales sales = toEntity(salesDTO);
+        sales.assignShop(shopCode);
         Sales savedSales = salesRepository.save(sales);
+        SalesDailyRollup.Contribution added = salesDailyRollup.add(savedSales);
+        salesHistogramRollup.add(added);
+        salesDashboardAggregator.evict(added.shopCode());
+        salesCubeService.refreshAfterCommit(added.shopCode(), savedSales.getSalesCode());
+        visitorStatisticsSummarizer.refreshReservationAfterCommit(added.shopCode(), savedSales.getResvCode());
 
         log.info("결제 생성 완료 - salesCode: {}", savedSales.getSalesCode());
         return toDTO(savedSales);
@@ -144,6 +175,37 @@ public class SalesService {
         return salesRepository.findSalesDetailsByShopAndDateRange(shopCode, startDate, endDate);
     }
 
+    /**
+     * 특정 샵의 매출 상세 커서 페이지 조회 (결제일시 최신순)
+     * 다음 페이지는 이전 페이지의 nextCursor 로 조회하며 offset / count 쿼리 없이 size + 1 건만 읽음
+     * @param shopCode 샵 코드
+     * @param filter 조회 대상 (활성 / 완료 / 취소)
+     * @param startDate 시작 날짜 (null 이면 처음부터)
+     * @param endDate 종료 날짜 (null 이면 끝까지)
+     * @param cursor 이전 페이지의 nextCursor (null 이면 첫 페이지)
+     * @param size 페이지 크기 (1 ~ MAX_PAGE_SIZE)
+     * @param includeTotal 전체 건수 포함 여부 (일별 집계 + 앞뒤 자투리 구간 건수)
+     * @return 매출 상세 페이지
+     * @throws IllegalArgumentException 페이지 크기나 커서가 유효하지 않을 때
+     */
+    public CursorPage<SalesDetailDTO> getSalesDetailPage(Integer shopCode, SalesListFilter filter,
+        LocalDateTime startDate, LocalDateTime endDate, String cursor, int size, boolean includeTotal) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("페이지 크기는 1 ~ " + MAX_PAGE_SIZE + " 사이여야 합니다: " + size);
+        }
+
+        LocalDateTime start = startDate != null ? startDate : EARLIEST;
+        LocalDateTime end = endDate != null ? endDate : LATEST;
+        Set<PaymentStatus> statuses = filter.getStatuses();
+        SalesCursor position = SalesCursor.decode(cursor);
+
+        List<SalesDetailDTO> fetched = salesRepository.findSalesDetailPage(shopCode, statuses, start, end,
+            position.getPayDatetime(), position.getSalesCode(), PageRequest.of(0, size + 1));
+        CursorPage<SalesDetailDTO> page = CursorPage.of(fetched, size, last -> SalesCursor.after(last).encode());
+
+        return includeTotal ? page.withTotalCount(countSales(shopCode, statuses, start, end)) : page;
+    }
+
     /**
      * 결제 정보 수정 (수정된 버전)
      * @param salesCode 수정할 매출 코드
@@ -163,6 +225,7 @@ public class SalesService {
         log.info("기존 매출 데이터 - payAmount: {}, finalAmount: {}, payMethod: {}",
             existingSales.getPayAmount(), existingSales.getFinalAmount(), existingSales.getPayMethod());
 
+        SalesDailyRollup.Contribution before = salesDailyRollup.contributionOf(existingSales);
         existingSales.updatePaymentDetails(
             salesDTO.getPayAmount(),
             salesDTO.getPayMethod(),
@@ -173,6 +236,10 @@ public class SalesService {
             existingSales.getPayAmount(), existingSales.getFinalAmount(), existingSales.getPayMethod());
 
         Sales savedSales = salesRepository.saveAndFlush(existingSales);
+        salesHistogramRollup.replace(before, salesDailyRollup.replace(before, savedSales));
+        salesDashboardAggregator.evict(before.shopCode());
+        salesCubeService.refreshAfterCommit(before.shopCode(), salesCode);
+        visitorStatisticsSummarizer.refreshReservationAfterCommit(before.shopCode(), savedSales.getResvCode());
 
         log.info("결제 수정 완료 - salesCode: {}, 최종 저장된 금액: {}",
             salesCode, savedSales.getFinalAmount());
@@ -213,12 +280,17 @@ public class SalesService {
         Integer newFinalAmount = salesDTO.getPayAmount() - (salesDTO.getCancelAmount() + cancelAmount);
 
         // 취소 처리 (Entity 메서드 사용)
+        SalesDailyRollup.Contribution before = salesDailyRollup.contributionOf(sales);
         sales.processCancelation(
             salesDTO.getCancelAmount() + cancelAmount, // 누적 취소 금액
             cancelReason,
             newStatus, // PaymentStatus enum 직접 전달
             newFinalAmount
         );
+        salesHistogramRollup.replace(before, salesDailyRollup.replace(before, sales));
+        salesDashboardAggregator.evict(before.shopCode());
+        salesCubeService.refreshAfterCommit(before.shopCode(), salesCode);
+        visitorStatisticsSummarizer.refreshReservationAfterCommit(before.shopCode(), sales.getResvCode());
 
         log.info("결제 취소 완료 - salesCode: {}, status: {}", salesCode, newStatus.name());
         return toDTO(sales);
@@ -236,7 +308,12 @@ public class SalesService {
         Sales sales = salesRepository.findById(salesCode)
             .orElseThrow(() -> NotFoundException.sales(salesCode));
 
+        SalesDailyRollup.Contribution before = salesDailyRollup.contributionOf(sales);
         sales.updatePaymentStatus(PaymentStatus.DELETED);
+        salesHistogramRollup.replace(before, salesDailyRollup.replace(before, sales));
+        salesDashboardAggregator.evict(before.shopCode());
+        salesCubeService.refreshAfterCommit(before.shopCode(), salesCode);
+        visitorStatisticsSummarizer.refreshReservationAfterCommit(before.shopCode(), sales.getResvCode());
 
         log.info("결제 삭제 완료 - salesCode: {}", salesCode);
     }
@@ -256,14 +333,22 @@ public class SalesService {
 
     /**
      * 특정 샵의 매출 통계 조회 (삭제된 매출 제외)
+     * 하루 전체가 들어가는 날짜는 일별 집계에서, 앞뒤로 하루가 다 들어가지 않는 날짜만 tbl_sales 에서 합산
      * @param shopCode 샵 코드
      * @param startDate 시작 날짜
      * @param endDate 종료 날짜
      * @return 총 매출 금액
      */
     public Long calculateTotalSales(Integer shopCode, LocalDateTime startDate, LocalDateTime endDate) {
-        Long total = salesRepository.calculateTotalSalesByShopBetween(shopCode, startDate, endDate, PaymentStatus.DELETED);
-        return total != null ? total : 0L;
+        SalesPeriod period = SalesPeriod.of(startDate, endDate);
+
+        long total = period.hasFullDays()
+            ? salesDailyRepository.sumFinalAmountBetween(shopCode, period.firstFullDay(), period.lastFullDay())
+            : 0L;
+        for (LocalDateTime[] range : period.partialRanges()) {
+            total += sumRawSales(shopCode, range[0], range[1]);
+        }
+        return total;
     }
 
     /**
@@ -284,7 +369,7 @@ public class SalesService {
      * @return 결제 방법별 통계 [결제방법, 총금액, 건수]
      */
     public List<Object[]> getSalesStatsByPayMethod(Integer shopCode) {
-        return salesRepository.findSalesStatsByPayMethodAndShop(shopCode, PaymentStatus.DELETED);
+        return salesDailyRepository.findPayMethodStats(shopCode);
     }
 
     /**
@@ -293,7 +378,37 @@ public class SalesService {
      * @return 월별 통계 [년도, 월, 총금액, 건수]
      */
     public List<Object[]> getMonthlySalesStats(Integer shopCode) {
-        return salesRepository.findMonthlySalesStatsByShop(shopCode, PaymentStatus.DELETED);
+        return salesDailyRepository.findMonthlyStats(shopCode);
+    }
+
+    /**
+     * 특정 샵의 기간별 매출 분포 (한 건 금액 / 하루 합계의 p50 / p90 / p99)
+     * 날짜별 히스토그램을 합산하므로 매출 건수와 관계없이 히스토그램 칸 수만큼만 계산
+     * @param shopCode 샵 코드
+     * @param startDate 시작 날짜 (포함)
+     * @param endDate 종료 날짜 (포함)
+     * @return 매출 분포
+     * @throws IllegalArgumentException 시작 날짜가 종료 날짜보다 늦을 때
+     */
+    public SalesDistributionDTO getSalesDistribution(Integer shopCode, LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("시작 날짜가 종료 날짜보다 늦습니다: " + startDate + " ~ " + endDate);
+        }
+        return new SalesDistributionDTO(startDate, endDate,
+            salesHistogramRollup.ticketSize(shopCode, startDate, endDate),
+            salesHistogramRollup.dailyRevenue(shopCode, startDate, endDate));
+    }
+
+    /**
+     * 매출 일별 집계 / 히스토그램 재계산 (백필 / 복구)
+     * @param shopCode 샵 코드
+     * @return 다시 만든 집계 행 수
+     */
+    public int rebuildDailyRollup(Integer shopCode) {
+        int rows = salesDailyRollup.rebuild(shopCode);
+        salesHistogramRollup.rebuild(shopCode);
+        salesDashboardAggregator.evict(shopCode);
+        return rows;
     }
 
     /**
@@ -337,6 +452,29 @@ public class SalesService {
 
     // === Private 메서드들 ===
 
+    /**
+     * 기간 매출 건수 (온전한 날은 일별 집계, 앞뒤 자투리 구간은 tbl_sales 에서 직접)
+     */
+    private long countSales(Integer shopCode, Set<PaymentStatus> statuses, LocalDateTime startDate, LocalDateTime endDate) {
+        SalesPeriod period = SalesPeriod.of(startDate, endDate);
+
+        long count = period.hasFullDays()
+            ? salesDailyRepository.sumSalesCountBetween(shopCode, statuses, period.firstFullDay(), period.lastFullDay())
+            : 0L;
+        for (LocalDateTime[] range : period.partialRanges()) {
+            count += salesRepository.countByShopAndStatusesBetween(shopCode, statuses, range[0], range[1]);
+        }
+        return count;
+    }
+
+    /**
+     * tbl_sales 에서 직접 기간 합계 (하루 이내의 앞뒤 자투리 구간용, idx_sales_pay_datetime)
+     */
+    private long sumRawSales(Integer shopCode, LocalDateTime startDate, LocalDateTime endDate) {
+        Long total = salesRepository.calculateTotalSalesByShopBetween(shopCode, startDate, endDate, PaymentStatus.DELETED);
+        return total != null ? total : 0L;
+    }
+
     /**
      * 중복 결제 검증
      * @param resvCode 예약 코드
@@ -405,24 +543,15 @@ public class SalesService {
             .collect(Collectors.toList());
     }
 
+    /**
+     * 매출 통계 대시보드용 종합 정보 (일별 집계 한 번 읽기 + 샵별 단기 캐시)
+     * @param shopCode 샵 코드
+     * @param finalStart 시작 날짜 (선택사항)
+     * @param finalEnd 종료 날짜 (선택사항)
+     * @return 대시보드 종합 정보
+     */
     public SalesDashboardDTO getDashboardStats(Integer shopCode, LocalDateTime finalStart, LocalDateTime finalEnd) {
-        SalesDashboardDTO dto = new SalesDashboardDTO();
-
-        if (finalStart != null && finalEnd != null) {
-            dto.setTotalSales(calculateTotalSales(shopCode, finalStart, finalEnd));
-            dto.setTotalCancelAmount(calculateTotalCancelAmount(shopCode, finalStart, finalEnd));
-        } else {
-            dto.setTotalSales(0L);
-            dto.setTotalCancelAmount(0L);
-        }
-
-        dto.setPaymentMethodStats(getSalesStatsByPayMethod(shopCode));
-        dto.setMonthlyStats(getMonthlySalesStats(shopCode));
-        dto.setActiveSalesCount(getActiveSalesDetailsByShop(shopCode).size());
-        dto.setCompletedSalesCount(getCompletedSalesDetailsByShop(shopCode).size());
-        dto.setCancelledSalesCount(getCancelledSalesDetailsByShop(shopCode).size());
-
-        return dto;
+        return salesDashboardAggregator.getDashboard(shopCode, finalStart, finalEnd);
     }
 
 }
\ No newline at end of file
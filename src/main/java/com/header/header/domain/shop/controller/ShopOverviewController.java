@@ -0,0 +1,29 @@
+package com.header.header.domain.shop.controller;
+
+import com.header.header.common.controller.MyShopBaseController;
+import com.header.header.common.dto.response.ApiResponse;
+import com.header.header.domain.shop.dto.ShopOverviewDTO;
+import com.header.header.domain.shop.service.ShopOverviewService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+public class ShopOverviewController extends MyShopBaseController {
+
+    private final ShopOverviewService shopOverviewService;
+
+    /**
+     * 사장님 홈 화면 요약 - 매출 합계 / 오늘 예약 고객 / 노쇼 후보 / 최근 메세지 발송 내역을 한 번에 조회
+     * 항목별로 동시에 조회하며, 제한 시간 안에 조회하지 못한 항목은 degradedSections 에 표시
+     *
+     * 최종 URL: GET /api/v1/my-shops/{shopId}/overview
+     */
+    @GetMapping(value = "/overview", produces = "application/json; charset=UTF-8")
+    public ResponseEntity<ApiResponse<ShopOverviewDTO>> getShopOverview(@PathVariable Integer shopId) {
+        return success(shopOverviewService.getOverview(shopId));
+    }
+}
@@ -0,0 +1,25 @@
+package com.header.header.domain.shop.dto;
+
+import com.header.header.domain.message.projection.MessageBatchListView;
+import com.header.header.domain.reservation.dto.BossResvProjectionDTO;
+import com.header.header.domain.visitors.dto.VisitorDetailResponse;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/* 사장님 홈 화면 요약 - 제한 시간 안에 조회하지 못한 항목은 null / 빈 목록이고 degradedSections 에 이름이 들어감 */
+@Getter
+@Builder
+public class ShopOverviewDTO {
+    private Integer shopCode;
+
+    private Long todaySales;                                   // 오늘 매출 합계 (삭제 제외)
+    private Long monthSales;                                   // 이번 달 1일 ~ 오늘 매출 합계
+
+    private List<VisitorDetailResponse> todayReservations;     // 오늘 예약 고객
+    private List<BossResvProjectionDTO> noShowCandidates;      // 노쇼 후보 (예약 확정 + 지난 날짜)
+    private List<MessageBatchListView> recentMessageBatches;   // 최근 메세지 발송 내역
+
+    private List<String> degradedSections;                     // 기본값으로 채운 항목 이름
+}
@@ -39,6 +39,14 @@ public interface ShopHolidayRepository extends JpaRepository<ShopHoliday, Intege
         """)
     List<ShopHoliday> findRegHoliday (@Param("shopCode") Integer shopCode, @Param("dateToScan") Date dateToScan);
 
+    /*샵 휴일 달력 생성용 - 해당 샵의 휴일 규칙 전체 조회 (HolidayExaminationForCache)*/
+    @Query("""
+            SELECT h
+            FROM ShopHoliday h
+            WHERE h.shopInfo.shopCode = :shopCode
+        """)
+    List<ShopHoliday> findAllByShopCode(@Param("shopCode") Integer shopCode);
+
     /*각각의 샵이 가진 휴일 정보를 불러옴
     * 데이터: 휴일 시작일, 휴일 종료일, 반복 여부 (단기 휴일인지 정기 휴일인지 판단)
     * 정렬: 휴일 시작 날짜 오름 차순
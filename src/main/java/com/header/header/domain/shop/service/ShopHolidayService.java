@@ -1,6 +1,7 @@
 package com.header.header.domain.shop.service;
 
 import com.header.header.domain.reservation.repository.UserReservationRepository;
+import com.header.header.domain.reservation.service.HolidayExaminationForCache;
 import com.header.header.domain.shop.dto.HolCreationDTO;
 import com.header.header.domain.shop.dto.HolResDTO;
 import com.header.header.domain.shop.dto.HolUpdateDTO;
@@ -16,8 +17,6 @@ import com.header.header.domain.shop.repository.ShopRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
-import org.springframework.cache.CacheManager;
-import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.stereotype.Service;
 
 import java.sql.Date;
@@ -25,7 +24,6 @@ import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ConcurrentMap;
 
 @Service
 @RequiredArgsConstructor
@@ -39,7 +37,8 @@ public class ShopHolidayService {
     /* 예약 정보 조회 */
     private final UserReservationRepository userReservationRepository;
 
-    private final CacheManager cacheManager;
+    /* 휴일 달력 캐시 */
+    private final HolidayExaminationForCache examinationForCache;
 
     /*새로운 휴일 규칙 생성*/
     @Transactional
@@ -268,15 +267,9 @@ public class ShopHolidayService {
         }
     }
 
-    /*특정 샵 코드를 기반으로 캐시를 삭제함*/
+    /*특정 샵 코드의 휴일 달력 캐시를 다시 만듦 (샵 단위로 한 건만 저장되어 있음)*/
     public void evictByShopCode(Integer shopCode) {
-
-        CaffeineCache holCache = (CaffeineCache) cacheManager.getCache("holidays");
-
-        if (holCache != null) {
-            ConcurrentMap<Object, Object> nativeCache = holCache.getNativeCache().asMap();
-            nativeCache.keySet().removeIf(key -> key.toString().startsWith(shopCode + "_"));
-        }
+        examinationForCache.rebuild(shopCode);
     }
 
 }
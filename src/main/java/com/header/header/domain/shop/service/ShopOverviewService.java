@@ -0,0 +1,153 @@
+package com.header.header.domain.shop.service;
+
+import com.header.header.domain.message.projection.MessageBatchListView;
+import com.header.header.domain.message.service.MessageSendBatchService;
+import com.header.header.domain.reservation.dto.BossResvProjectionDTO;
+import com.header.header.domain.reservation.enums.ReservationState;
+import com.header.header.domain.reservation.service.BossReservationService;
+import com.header.header.domain.sales.service.SalesService;
+import com.header.header.domain.shop.dto.ShopOverviewDTO;
+import com.header.header.domain.visitors.dto.VisitorDetailResponse;
+import com.header.header.domain.visitors.service.VisitorsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/*
+* 사장님 홈 화면 요약 - 매출 합계 / 오늘 예약 고객 / 노쇼 후보 / 최근 메세지 발송 내역을 한 번에 조회
+*
+* - 항목마다 overviewTaskExecutor (AsyncConfig) 에서 동시에 실행하므로 응답 시간은 항목 시간의 합이 아니라 가장 느린 항목 하나의 시간
+* - 항목마다 제한 시간 (shop-overview.timeout-millis.*) 이 있고, 넘기거나 실패하거나 풀이 가득 차서 거절되면
+*   그 항목만 기본값(null / 빈 목록)으로 채우고 degradedSections 에 이름을 남김 (나머지 항목은 그대로 응답)
+* - 제한 시간이 지나도 실행 중인 조회를 멈추지는 않음 (결과만 버림), 풀 크기가 작으므로 느린 조회가 몰려도 쓰는 DB 커넥션 수는 제한됨
+* - 각 항목은 자기 서비스의 트랜잭션으로 실행 (요청 스레드의 트랜잭션 / 영속성 컨텍스트를 공유하지 않음)
+* - 메트릭 shop.overview.section{section, outcome=success|timeout|error} : 항목별 실행 시간
+* */
+@Slf4j
+@Service
+public class ShopOverviewService {
+
+    static final String TODAY_SALES = "todaySales";
+    static final String MONTH_SALES = "monthSales";
+    static final String TODAY_RESERVATIONS = "todayReservations";
+    static final String NO_SHOW_CANDIDATES = "noShowCandidates";
+    static final String RECENT_MESSAGE_BATCHES = "recentMessageBatches";
+
+    private static final int RECENT_BATCH_LIMIT = 5;
+    private static final LocalTime LAST_SECOND_OF_DAY = LocalTime.of(23, 59, 59);
+
+    private final SalesService salesService;
+    private final VisitorsService visitorsService;
+    private final BossReservationService bossReservationService;
+    private final MessageSendBatchService messageSendBatchService;
+    private final Executor executor;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${shop-overview.timeout-millis.sales:1000}")
+    private long salesTimeoutMillis;
+    @Value("${shop-overview.timeout-millis.reservations:1500}")
+    private long reservationsTimeoutMillis;
+    @Value("${shop-overview.timeout-millis.no-show:1500}")
+    private long noShowTimeoutMillis;
+    @Value("${shop-overview.timeout-millis.messages:1000}")
+    private long messagesTimeoutMillis;
+
+    public ShopOverviewService(SalesService salesService,
+                               VisitorsService visitorsService,
+                               BossReservationService bossReservationService,
+                               MessageSendBatchService messageSendBatchService,
+                               @Qualifier("overviewTaskExecutor") Executor executor,
+                               MeterRegistry meterRegistry) {
+        this.salesService = salesService;
+        this.visitorsService = visitorsService;
+        this.bossReservationService = bossReservationService;
+        this.messageSendBatchService = messageSendBatchService;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public ShopOverviewDTO getOverview(Integer shopCode) {
+        if (shopCode == null) {
+            throw new IllegalArgumentException("shopCode는 필수입니다.");
+        }
+
+        LocalDate today = LocalDate.now();
+        List<String> degraded = new CopyOnWriteArrayList<>();
+
+        // 모두 먼저 시작한 뒤에 기다림
+        CompletableFuture<Long> todaySales = branch(TODAY_SALES, salesTimeoutMillis,
+                () -> salesService.calculateTotalSales(shopCode, today.atStartOfDay(), today.atTime(LAST_SECOND_OF_DAY)),
+                null, degraded);
+        CompletableFuture<Long> monthSales = branch(MONTH_SALES, salesTimeoutMillis,
+                () -> salesService.calculateTotalSales(shopCode, today.withDayOfMonth(1).atStartOfDay(), today.atTime(LAST_SECOND_OF_DAY)),
+                null, degraded);
+        CompletableFuture<List<VisitorDetailResponse>> todayReservations = branch(TODAY_RESERVATIONS, reservationsTimeoutMillis,
+                () -> visitorsService.getTodayReservationCustomers(shopCode),
+                List.of(), degraded);
+        CompletableFuture<List<BossResvProjectionDTO>> noShowCandidates = branch(NO_SHOW_CANDIDATES, noShowTimeoutMillis,
+                () -> bossReservationService.findNoShowList(Date.valueOf(today), ReservationState.APPROVE, shopCode),
+                List.of(), degraded);
+        CompletableFuture<List<MessageBatchListView>> recentMessageBatches = branch(RECENT_MESSAGE_BATCHES, messagesTimeoutMillis,
+                () -> messageSendBatchService.getRecentBatchListByShop(shopCode, RECENT_BATCH_LIMIT),
+                List.of(), degraded);
+
+        // 항목마다 기본값으로 끝나므로 join 은 예외 없이 가장 늦은 항목(최대 제한 시간)까지만 기다림
+        CompletableFuture.allOf(todaySales, monthSales, todayReservations, noShowCandidates, recentMessageBatches).join();
+
+        return ShopOverviewDTO.builder()
+                .shopCode(shopCode)
+                .todaySales(todaySales.join())
+                .monthSales(monthSales.join())
+                .todayReservations(todayReservations.join())
+                .noShowCandidates(noShowCandidates.join())
+                .recentMessageBatches(recentMessageBatches.join())
+                .degradedSections(degraded.stream().sorted().toList())
+                .build();
+    }
+
+    /* 항목 하나를 풀에서 실행 - 제한 시간 초과 / 예외 / 거절이면 fallback 으로 정상 완료하고 degraded 에 항목 이름 추가 */
+    <T> CompletableFuture<T> branch(String section, long timeoutMillis, Supplier<T> call, T fallback, List<String> degraded) {
+        long startedAt = System.nanoTime();
+
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(call, executor);
+        } catch (RejectedExecutionException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+
+        return future.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .handle((result, error) -> {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    String outcome = cause == null ? "success" : cause instanceof TimeoutException ? "timeout" : "error";
+                    Timer.builder("shop.overview.section")
+                            .tag("section", section)
+                            .tag("outcome", outcome)
+                            .register(meterRegistry)
+                            .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+
+                    if (cause == null) {
+                        return result;
+                    }
+                    log.warn("샵 요약 항목 조회 실패, 기본값으로 응답 - section: {}, outcome: {}", section, outcome, cause);
+                    degraded.add(section);
+                    return fallback;
+                });
+    }
+}
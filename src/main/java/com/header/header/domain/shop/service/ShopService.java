@@ -1,5 +1,6 @@
 package com.header.header.domain.shop.service;
 
+import com.header.header.common.cache.SingleFlight;
 import com.header.header.domain.menu.repository.MenuRepository;
 import com.header.header.domain.shop.dto.*;
 import com.header.header.domain.shop.entity.Shop;
@@ -24,6 +25,7 @@ import com.header.header.domain.shop.projection.ShopAdminInfo;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -45,6 +47,8 @@ public class ShopService {
 
     private final MenuRepository menuRepository;
 
+    private final SingleFlight singleFlight;
+
     //CREATE 샵 생성
     public ShopDTO createShop(ShopCreationDTO dto) {
         /*카테고리 코드 유효성 체크*/
@@ -144,8 +148,13 @@ public class ShopService {
         return new PageImpl<>(responseList, shopSummaryPage.getPageable(), shopSummaryPage.getTotalElements());
     }
 
-    /*관리자 혹은 사용자의 상세조회*/
+    /*관리자 혹은 사용자의 상세조회 - 같은 샵 상세조회가 동시에 몰리면 한 번만 조회 (SingleFlight)*/
     public List<ShopDetailResponse> readShopDetailByShopCode(Integer shopCode) {
+        return singleFlight.execute("readShopDetailByShopCode", Arrays.asList(shopCode),
+                () -> loadShopDetail(shopCode));
+    }
+
+    private List<ShopDetailResponse> loadShopDetail(Integer shopCode) {
 
         Shop shop = shopRepository.findById(shopCode)
                 // 존재하지 않는 샵 예외 처리
@@ -1,23 +1,33 @@
 package com.header.header.domain.visitors.controller;
 
 import com.header.header.common.controller.MyShopBaseController;
+import com.header.header.common.dto.CursorPage;
 import com.header.header.common.dto.response.ApiResponse;
 import com.header.header.domain.visitors.dto.VisitorCreateRequest;
 import com.header.header.domain.visitors.dto.VisitorCreateResponse;
 import com.header.header.domain.visitors.dto.VisitorDetailResponse;
 import com.header.header.domain.visitors.dto.VisitorHistoryResponse;
+import com.header.header.domain.visitors.enums.VisitorSort;
+import com.header.header.domain.visitors.service.VisitorsExportService;
 import com.header.header.domain.visitors.service.VisitorsService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Locale;
 
 @RestController
 @RequiredArgsConstructor
 public class VisitorsController extends MyShopBaseController {
 
     private final VisitorsService visitorsService;
+    private final VisitorsExportService visitorsExportService;
 
     /**
      * 샵에 대한 회원 리스트를 조회합니다.
@@ -35,6 +45,50 @@ public class VisitorsController extends MyShopBaseController {
         return success(visitors);
     }
 
+    /**
+     * 샵 회원 리스트를 페이지 단위로 조회합니다. (정렬 / 페이지는 서버에서 처리)
+     * 다음 페이지는 응답의 nextCursor 를 cursor 로 넘기고, 정렬을 바꾸면 첫 페이지부터 다시 조회합니다.
+     *
+     * @param shopId 샵 아이디
+     * @param sort 정렬 기준 (last_visit / visit_count / total_spend / name)
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지는 생략)
+     * @param size 페이지 크기 (최대 100)
+     * @return 고객 페이지
+     *
+     * 최종 URL: GET /api/v1/my-shops/{shopId}/customers/page
+     */
+    @GetMapping(value = "/customers/page", produces = "application/json; charset=UTF-8")
+    public ResponseEntity<ApiResponse<CursorPage<VisitorDetailResponse>>> getShopCustomerPage(
+            @PathVariable Integer shopId,
+            @RequestParam(defaultValue = "last_visit") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        CursorPage<VisitorDetailResponse> page = visitorsService.getShopVisitorsPage(
+                shopId, VisitorSort.valueOf(sort.toUpperCase(Locale.ROOT)), cursor, size);
+        return success(page);
+    }
+
+    /**
+     * 샵 회원 전체를 CSV 파일로 내려받습니다. (한 행씩 스트리밍)
+     *
+     * @param shopId 샵 아이디
+     * @return 고객 목록 CSV
+     *
+     * 최종 URL: GET /api/v1/my-shops/{shopId}/customers/export
+     */
+    @GetMapping(value = "/customers/export", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> exportShopCustomers(
+            @PathVariable Integer shopId) {
+
+        StreamingResponseBody body = out -> visitorsExportService.exportCsv(shopId, out);
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("customers_" + shopId + ".csv").build().toString())
+                .body(body);
+    }
+
     /**
      * 오늘 예약인 고객 정보 리스트 반환 - chatbot api
      * @param shopId
@@ -157,5 +211,21 @@ public class VisitorsController extends MyShopBaseController {
         return success("고객이 삭제되었습니다.");
     }
 
+    /**
+     * 샵 고객 방문 통계를 다시 계산합니다. (백필 / 복구용)
+     *
+     * @param shopId 샵 아이디
+     * @return 다시 만든 통계 행 수
+     *
+     * 최종 URL: POST /api/v1/my-shops/{shopId}/customers/statistics/rebuild
+     */
+    @PostMapping(value = "/customers/statistics/rebuild", produces = "application/json; charset=UTF-8")
+    public ResponseEntity<ApiResponse<Integer>> rebuildCustomerStatistics(
+            @PathVariable Integer shopId) {
+
+        int rows = visitorsService.rebuildVisitStatistics(shopId);
+        return success(rows);
+    }
+
 
 }
\ No newline at end of file
@@ -0,0 +1,99 @@
+package com.header.header.domain.visitors.dto;
+
+import com.header.header.domain.visitors.enums.VisitorSort;
+import com.header.header.domain.visitors.projection.VisitorListView;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Base64;
+
+/*
+* 샵 고객 목록 페이지 커서 - (정렬 값, clientCode) 순서의 마지막 행 위치
+*
+* - 토큰은 정렬 기준(byte) + clientCode(int) + 정렬 값을 base64url 로 인코딩 (클라이언트는 해석하지 않고 그대로 넘김)
+*   정렬 값 : 방문 횟수 / 총 결제액은 int, 마지막 방문일은 epochDay(long), 이름은 UTF-8 문자열
+* - 정렬 기준이 다른 토큰은 IllegalArgumentException (정렬을 바꾸면 첫 페이지부터)
+* - 첫 페이지는 정렬 방향의 가장 앞 값(first)부터 시작해서 쿼리 조건을 하나로 유지
+*   사용하지 않는 정렬 값도 first 값으로 채워 두므로 쿼리에는 항상 모든 값을 넘길 수 있음
+* */
+@Getter
+@ToString
+@AllArgsConstructor
+public class VisitorCursor {
+
+    /* 방문 기록이 없는 고객의 마지막 방문일 (최신순 정렬에서 맨 뒤) */
+    public static final LocalDate NO_VISIT = LocalDate.of(1, 1, 1);
+
+    private static final LocalDate FIRST_DATE = LocalDate.of(9999, 12, 31);
+
+    private final VisitorSort sort;
+    private final Integer clientCode;
+    private final Integer number;
+    private final LocalDate date;
+    private final String name;
+
+    public static VisitorCursor first(VisitorSort sort) {
+        return new VisitorCursor(sort, 0, Integer.MAX_VALUE, FIRST_DATE, "");
+    }
+
+    public static VisitorCursor after(VisitorSort sort, VisitorListView last) {
+        VisitorCursor first = first(sort);
+        return switch (sort) {
+            case LAST_VISIT -> new VisitorCursor(sort, last.getClientCode(), first.number,
+                    last.getLastVisitDate() != null ? last.getLastVisitDate() : NO_VISIT, first.name);
+            case VISIT_COUNT -> new VisitorCursor(sort, last.getClientCode(), last.getVisitCount(), first.date, first.name);
+            case TOTAL_SPEND -> new VisitorCursor(sort, last.getClientCode(), last.getTotalPaymentAmount(), first.date, first.name);
+            case NAME -> new VisitorCursor(sort, last.getClientCode(), first.number, first.date, last.getUserName());
+        };
+    }
+
+    /* 토큰이 없으면 첫 페이지, 형식이 잘못되었거나 정렬 기준이 다르면 IllegalArgumentException */
+    public static VisitorCursor decode(VisitorSort sort, String token) {
+        if (token == null || token.isBlank()) return first(sort);
+
+        VisitorCursor first = first(sort);
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Base64.getUrlDecoder().decode(token));
+            if (buffer.get() != sort.ordinal()) {
+                throw new IllegalArgumentException("정렬 기준이 다른 페이지 커서입니다.");
+            }
+            int clientCode = buffer.getInt();
+
+            VisitorCursor cursor = switch (sort) {
+                case LAST_VISIT -> new VisitorCursor(sort, clientCode, first.number, LocalDate.ofEpochDay(buffer.getLong()), first.name);
+                case VISIT_COUNT, TOTAL_SPEND -> new VisitorCursor(sort, clientCode, buffer.getInt(), first.date, first.name);
+                case NAME -> {
+                    byte[] name = new byte[buffer.remaining()];
+                    buffer.get(name);
+                    yield new VisitorCursor(sort, clientCode, first.number, first.date, new String(name, StandardCharsets.UTF_8));
+                }
+            };
+            if (sort != VisitorSort.NAME && buffer.hasRemaining()) {
+                throw new IllegalArgumentException("잘못된 페이지 커서입니다.");
+            }
+            return cursor;
+        } catch (BufferUnderflowException | DateTimeException e) {
+            throw new IllegalArgumentException("잘못된 페이지 커서입니다.", e);
+        }
+    }
+
+    public String encode() {
+        byte[] nameBytes = sort == VisitorSort.NAME ? name.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        ByteBuffer buffer = ByteBuffer.allocate(1 + Integer.BYTES + Long.BYTES + nameBytes.length);
+        buffer.put((byte) sort.ordinal());
+        buffer.putInt(clientCode);
+        switch (sort) {
+            case LAST_VISIT -> buffer.putLong(date.toEpochDay());
+            case VISIT_COUNT, TOTAL_SPEND -> buffer.putInt(number);
+            case NAME -> buffer.put(nameBytes);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(buffer.array(), buffer.position()));
+    }
+}
@@ -0,0 +1,32 @@
+package com.header.header.domain.visitors.enitity;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/*
+* 샵 + 회원별 방문 통계 (VisitorStatisticsSummarizer 가 갱신, 고객 목록 / 챗봇 고객 조회용)
+*
+* - 방문 횟수 / 총 결제액 / 마지막 방문일 : 시술완료 예약 중 결제 금액이 남아 있는(0 초과, 삭제 제외) 건
+* - 선호 메뉴 : 시술완료 예약이 가장 많은 메뉴 (같으면 최근에 받은 메뉴)
+* - 시술완료 / 결제 생성 / 수정 / 취소 / 삭제 / 예약 수정 / 삭제 후 해당 샵 + 회원 한 행만 다시 계산
+* */
+@Entity
+@Table(name = "tbl_visitor_statistics")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class VisitorStatistics {
+
+    @EmbeddedId
+    private VisitorStatisticsId id;
+
+    private int visitCount;
+    private int totalPaymentAmount;
+    private LocalDate lastVisitDate;
+    private Integer favoriteMenuCode;
+}
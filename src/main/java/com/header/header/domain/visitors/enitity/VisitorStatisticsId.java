@@ -0,0 +1,24 @@
+package com.header.header.domain.visitors.enitity;
+
+import jakarta.persistence.Embeddable;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.io.Serializable;
+
+/* 고객 방문 통계의 복합 기본키 (샵 + 회원 당 한 행) */
+@Embeddable
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class VisitorStatisticsId implements Serializable {
+
+    private Integer shopCode;
+    private Integer userCode;
+}
@@ -0,0 +1,12 @@
+package com.header.header.domain.visitors.enums;
+
+/*
+* 샵 고객 목록 정렬 기준 (같은 값이면 clientCode 오름차순)
+* - 통계 값은 방문 통계 테이블(tbl_visitor_statistics) 기준, 방문 기록이 없는 고객은 0 / 마지막 방문일 없음으로 맨 뒤
+* */
+public enum VisitorSort {
+    LAST_VISIT,   // 마지막 방문일 최신순
+    VISIT_COUNT,  // 방문 횟수 많은 순
+    TOTAL_SPEND,  // 총 결제액 많은 순
+    NAME          // 이름 가나다순
+}
@@ -1,7 +0,0 @@
-package com.header.header.domain.visitors.projection;
-
-public interface UserFavoriteMenuView {
-    Integer getUserCode();
-    Integer getMenuCode();
-    String getMenuName();
-}
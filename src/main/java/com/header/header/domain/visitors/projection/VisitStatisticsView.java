@@ -7,4 +7,5 @@ public interface VisitStatisticsView {
     Integer getVisitCount(); // reservation에서 결제 완료 건을 COUNT
     Integer getTotalPaymentAmount(); // reservation에서 결제 완료 건의 결제금액을 SUM
     LocalDate getLastVisitDate(); // 마지막 방문일
+    String getFavoriteMenuName(); // 가장 많이 받은 시술 메뉴
 }
@@ -0,0 +1,23 @@
+package com.header.header.domain.visitors.projection;
+
+import java.time.LocalDate;
+
+/* 고객 목록 페이지 / 내보내기 한 행 (방문자 + 회원 + 방문 통계) */
+public interface VisitorListView {
+
+    Integer getClientCode();
+    Integer getUserCode();
+    String getMemo();
+    Boolean getSendable();
+
+    // Join User
+    String getUserName();
+    String getUserPhone();
+    LocalDate getBirthday();
+
+    // Join VisitorStatistics (방문 기록이 없으면 0 / null)
+    Integer getVisitCount();
+    Integer getTotalPaymentAmount();
+    LocalDate getLastVisitDate();
+    String getFavoriteMenuName();
+}
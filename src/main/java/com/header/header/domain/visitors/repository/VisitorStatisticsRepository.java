@@ -0,0 +1,127 @@
+package com.header.header.domain.visitors.repository;
+
+import com.header.header.domain.visitors.enitity.VisitorStatistics;
+import com.header.header.domain.visitors.enitity.VisitorStatisticsId;
+import com.header.header.domain.visitors.projection.VisitStatisticsView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface VisitorStatisticsRepository extends JpaRepository<VisitorStatistics, VisitorStatisticsId> {
+
+    // (1) 샵의 전체 회원 통계 (고객 목록용)
+    @Query("SELECT st.id.userCode as userCode, " +
+            "       st.visitCount as visitCount, " +
+            "       st.totalPaymentAmount as totalPaymentAmount, " +
+            "       st.lastVisitDate as lastVisitDate, " +
+            "       m.menuName as favoriteMenuName " +
+            "FROM VisitorStatistics st " +
+            "LEFT JOIN Menu m ON m.menuCode = st.favoriteMenuCode " +
+            "WHERE st.id.shopCode = :shopCode")
+    List<VisitStatisticsView> findByShopCode(@Param("shopCode") Integer shopCode);
+
+    // (2) 샵의 일부 회원 통계 (검색 / 오늘 예약 / 상세용)
+    @Query("SELECT st.id.userCode as userCode, " +
+            "       st.visitCount as visitCount, " +
+            "       st.totalPaymentAmount as totalPaymentAmount, " +
+            "       st.lastVisitDate as lastVisitDate, " +
+            "       m.menuName as favoriteMenuName " +
+            "FROM VisitorStatistics st " +
+            "LEFT JOIN Menu m ON m.menuCode = st.favoriteMenuCode " +
+            "WHERE st.id.shopCode = :shopCode " +
+            "  AND st.id.userCode IN :userCodes")
+    List<VisitStatisticsView> findByShopCodeAndUserCodes(@Param("shopCode") Integer shopCode,
+                                                         @Param("userCodes") List<Integer> userCodes);
+
+    // (3) 예약의 회원 코드 (매출 변경 시 갱신 대상 확인)
+    @Query(value = "SELECT user_code FROM tbl_reservation WHERE resv_code = :resvCode", nativeQuery = true)
+    Optional<Integer> findUserCodeByResvCode(@Param("resvCode") Integer resvCode);
+
+    // (4) 통계 행을 만들거나 이미 있으면 그대로 두고 행 락만 잡음 - 같은 회원의 갱신을 한 줄로 세움
+    @Modifying
+    @Query(value = """
+           INSERT INTO tbl_visitor_statistics (shop_code, user_code)
+           VALUES (:shopCode, :userCode)
+           ON DUPLICATE KEY UPDATE shop_code = shop_code
+           """, nativeQuery = true)
+    int lock(@Param("shopCode") Integer shopCode, @Param("userCode") Integer userCode);
+
+    // (5) 해당 샵 + 회원의 예약(인덱스 idx_reservation_shop_user)만 읽어서 통계를 다시 계산
+    @Modifying
+    @Query(value = """
+           INSERT INTO tbl_visitor_statistics
+                  (shop_code, user_code, visit_count, total_payment_amount, last_visit_date, favorite_menu_code)
+           SELECT * FROM (
+               SELECT :shopCode AS shop_code,
+                      :userCode AS user_code,
+                      COUNT(*) AS visit_count,
+                      COALESCE(SUM(s.final_amount), 0) AS total_payment_amount,
+                      MAX(r.resv_date) AS last_visit_date,
+                      (SELECT r2.menu_code
+                       FROM tbl_reservation r2
+                       WHERE r2.shop_code = :shopCode
+                         AND r2.user_code = :userCode
+                         AND r2.resv_state = '시술완료'
+                       GROUP BY r2.menu_code
+                       ORDER BY COUNT(*) DESC, MAX(r2.resv_date) DESC, r2.menu_code
+                       LIMIT 1) AS favorite_menu_code
+               FROM tbl_reservation r
+               JOIN tbl_sales s ON s.resv_code = r.resv_code
+               WHERE r.shop_code = :shopCode
+                 AND r.user_code = :userCode
+                 AND r.resv_state = '시술완료'
+                 AND s.final_amount > 0
+                 AND UPPER(s.pay_status) <> 'DELETED'
+           ) AS d
+           ON DUPLICATE KEY UPDATE visit_count = d.visit_count,
+                                   total_payment_amount = d.total_payment_amount,
+                                   last_visit_date = d.last_visit_date,
+                                   favorite_menu_code = d.favorite_menu_code
+           """, nativeQuery = true)
+    int refresh(@Param("shopCode") Integer shopCode, @Param("userCode") Integer userCode);
+
+    // (6) 샵의 통계 전체 삭제 (재계산 전)
+    @Modifying
+    @Query(value = "DELETE FROM tbl_visitor_statistics WHERE shop_code = :shopCode", nativeQuery = true)
+    int deleteByShopCode(@Param("shopCode") Integer shopCode);
+
+    // (7) 샵의 통계를 예약 / 매출에서 다시 계산 (init.sql 백필과 같은 계산)
+    @Modifying
+    @Query(value = """
+           INSERT INTO tbl_visitor_statistics
+                  (shop_code, user_code, visit_count, total_payment_amount, last_visit_date, favorite_menu_code)
+           SELECT k.shop_code,
+                  k.user_code,
+                  COALESCE(v.visit_count, 0),
+                  COALESCE(v.total_payment_amount, 0),
+                  v.last_visit_date,
+                  (SELECT r2.menu_code
+                   FROM tbl_reservation r2
+                   WHERE r2.shop_code = k.shop_code
+                     AND r2.user_code = k.user_code
+                     AND r2.resv_state = '시술완료'
+                   GROUP BY r2.menu_code
+                   ORDER BY COUNT(*) DESC, MAX(r2.resv_date) DESC, r2.menu_code
+                   LIMIT 1)
+           FROM (SELECT DISTINCT shop_code, user_code
+                 FROM tbl_reservation
+                 WHERE shop_code = :shopCode
+                   AND resv_state = '시술완료') k
+           LEFT JOIN (SELECT r.user_code,
+                             COUNT(*) AS visit_count,
+                             SUM(s.final_amount) AS total_payment_amount,
+                             MAX(r.resv_date) AS last_visit_date
+                      FROM tbl_reservation r
+                      JOIN tbl_sales s ON s.resv_code = r.resv_code
+                      WHERE r.shop_code = :shopCode
+                        AND r.resv_state = '시술완료'
+                        AND s.final_amount > 0
+                        AND UPPER(s.pay_status) <> 'DELETED'
+                      GROUP BY r.user_code) v ON v.user_code = k.user_code
+           """, nativeQuery = true)
+    int rebuild(@Param("shopCode") Integer shopCode);
+}
@@ -1,16 +1,21 @@
 package com.header.header.domain.visitors.repository;
 
 import com.header.header.domain.visitors.enitity.Visitors;
-import com.header.header.domain.visitors.projection.UserFavoriteMenuView;
-import com.header.header.domain.visitors.projection.VisitStatisticsView;
 import com.header.header.domain.visitors.projection.VisitorHistoryView;
+import com.header.header.domain.visitors.projection.VisitorListView;
 import com.header.header.domain.visitors.projection.VisitorWithUserInfoView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface VisitorsRepository extends JpaRepository<Visitors,Integer> {
 
@@ -28,45 +33,19 @@ public interface VisitorsRepository extends JpaRepository<Visitors,Integer> {
             "AND v.isActive = true")
     List<VisitorWithUserInfoView> findVisitorWithUserInfoByShopCode(@Param("shopCode") Integer shopCode);
 
-    // (2) 방문 및 결제 통계 및 마지막 방문일 리스트 조회
-    @Query("SELECT r.userCode as userCode, " +
-            "       COUNT(*) as visitCount, " +
-            "       COALESCE(SUM(s.finalAmount), 0) as totalPaymentAmount, " +
-            "       MAX(r.resvDate) as lastVisitDate " +
-            "FROM Reservation r " +
-            "INNER JOIN Sales s ON r.resvCode = s.resvCode " +
-            "WHERE r.userCode IN :userCodes " +  // IN 절 사용
-            "  AND r.resvState = '시술완료' " +
-            "  AND s.finalAmount > 0 " +
-            "GROUP BY r.userCode")
-    List<VisitStatisticsView> getVisitStatisticsBatch(@Param("userCodes") List<Integer> userCodes);
-
-    // (3) 방문 횟수 리스트 조회
-    @Query("SELECT r.userCode as userCode, " +
-            "       r.menuCode as menuCode, " +
-            "       m.menuName as menuName, " +
-            "       COUNT(*) as orderCount " +
-            "FROM Reservation r " +
-            "INNER JOIN Menu m ON r.menuCode = m.menuCode " +
-            "WHERE r.userCode IN :userCodes " +
-            "  AND r.resvState = '시술완료' " +
-            "GROUP BY r.userCode, r.menuCode, m.menuName " +
-            "ORDER BY r.userCode, COUNT(*) DESC")  // userCode별로 정렬, 주문수 내림차순
-    List<UserFavoriteMenuView> getUserFavoriteMenusRaw(@Param("userCodes") List<Integer> userCodes);
-
-    // (4) 샵 회원 히스토리 리스트 조회
+    // (2) 샵 회원 히스토리 리스트 조회 - 해당 샵의 예약만 (인덱스 idx_reservation_shop_user)
     @Query("SELECT  r.resvDate as visitDate, " +
             "       m.menuName as menuName " +
             "FROM Visitors v " +
             "INNER JOIN User u ON v.userCode = u.userCode " +
-            "INNER JOIN Reservation r ON u.userCode = r.userCode " +
+            "INNER JOIN Reservation r ON r.shopCode = v.shopCode AND r.userCode = u.userCode " +
             "INNER JOIN Menu m ON r.menuCode = m.menuCode " +
             "WHERE v.clientCode = :clientCode " +
             "  AND r.resvState = '시술완료' " +
             "ORDER BY r.resvDate DESC")
     List<VisitorHistoryView> getVisitHistoryByClientCode(@Param("clientCode") Integer clientCode);
 
-    // (5) clientCode로 샵 회원 조회
+    // (3) clientCode로 샵 회원 조회
     Optional<Visitors> findByClientCode(Integer clientCode);
 
     @Query("SELECT v.userCode FROM Visitors v WHERE v.clientCode = :clientCode")
@@ -127,4 +106,77 @@ public interface VisitorsRepository extends JpaRepository<Visitors,Integer> {
             "  AND u.userName LIKE CONCAT('%', :name, '%') " +
             "ORDER BY u.userName, u.birthday")
     List<VisitorWithUserInfoView> findCustomersByName(@Param("shopCode") Integer shopCode, @Param("name") String name);
+
+    /*
+    * 고객 목록 페이지 / 내보내기 공통 SELECT - 방문자 + 회원 + 방문 통계(tbl_visitor_statistics) + 선호 메뉴
+    * - 방문 기록이 없는 고객은 통계 행이 없으므로 0 으로 채움
+    * */
+    String LIST_SELECT = "SELECT v.clientCode as clientCode, " +
+            "       v.userCode as userCode, " +
+            "       v.memo as memo, " +
+            "       v.sendable as sendable, " +
+            "       u.userName as userName, " +
+            "       u.userPhone as userPhone, " +
+            "       u.birthday as birthday, " +
+            "       COALESCE(st.visitCount, 0) as visitCount, " +
+            "       COALESCE(st.totalPaymentAmount, 0) as totalPaymentAmount, " +
+            "       st.lastVisitDate as lastVisitDate, " +
+            "       m.menuName as favoriteMenuName " +
+            "FROM Visitors v " +
+            "INNER JOIN User u ON v.userCode = u.userCode " +
+            "LEFT JOIN VisitorStatistics st ON st.id.shopCode = v.shopCode AND st.id.userCode = v.userCode " +
+            "LEFT JOIN Menu m ON m.menuCode = st.favoriteMenuCode " +
+            "WHERE v.shopCode = :shopCode " +
+            "  AND v.isActive = true ";
+
+    /*
+    * (4) ~ (7) 고객 목록 커서 페이지 - 정렬 기준별 (VisitorCursor 참고)
+    * - 정렬 값 + clientCode 로 마지막 행 다음부터 읽으므로 페이지가 뒤로 가도 OFFSET 만큼 버리는 행이 없음
+    * - 정렬 / LIMIT 은 DB 에서 처리 (샵 고객만 대상, 애플리케이션에서 전체 고객을 정렬하지 않음)
+    * - pageable 은 크기만 사용 (다음 페이지 확인용으로 size + 1, VisitorsService.getShopVisitorsPage 참고)
+    * */
+    // (4) 마지막 방문일 최신순
+    @Query(LIST_SELECT +
+            "  AND (COALESCE(st.lastVisitDate, :noVisit) < :cursorDate " +
+            "       OR (COALESCE(st.lastVisitDate, :noVisit) = :cursorDate AND v.clientCode > :cursorCode)) " +
+            "ORDER BY COALESCE(st.lastVisitDate, :noVisit) DESC, v.clientCode")
+    List<VisitorListView> findPageOrderByLastVisit(@Param("shopCode") Integer shopCode, @Param("noVisit") LocalDate noVisit,
+            @Param("cursorDate") LocalDate cursorDate, @Param("cursorCode") Integer cursorCode, Pageable pageable);
+
+    // (5) 방문 횟수 많은 순
+    @Query(LIST_SELECT +
+            "  AND (COALESCE(st.visitCount, 0) < :cursorValue " +
+            "       OR (COALESCE(st.visitCount, 0) = :cursorValue AND v.clientCode > :cursorCode)) " +
+            "ORDER BY COALESCE(st.visitCount, 0) DESC, v.clientCode")
+    List<VisitorListView> findPageOrderByVisitCount(@Param("shopCode") Integer shopCode,
+            @Param("cursorValue") Integer cursorValue, @Param("cursorCode") Integer cursorCode, Pageable pageable);
+
+    // (6) 총 결제액 많은 순
+    @Query(LIST_SELECT +
+            "  AND (COALESCE(st.totalPaymentAmount, 0) < :cursorValue " +
+            "       OR (COALESCE(st.totalPaymentAmount, 0) = :cursorValue AND v.clientCode > :cursorCode)) " +
+            "ORDER BY COALESCE(st.totalPaymentAmount, 0) DESC, v.clientCode")
+    List<VisitorListView> findPageOrderByTotalSpend(@Param("shopCode") Integer shopCode,
+            @Param("cursorValue") Integer cursorValue, @Param("cursorCode") Integer cursorCode, Pageable pageable);
+
+    // (7) 이름 가나다순
+    @Query(LIST_SELECT +
+            "  AND (u.userName > :cursorName " +
+            "       OR (u.userName = :cursorName AND v.clientCode > :cursorCode)) " +
+            "ORDER BY u.userName, v.clientCode")
+    List<VisitorListView> findPageOrderByName(@Param("shopCode") Integer shopCode,
+            @Param("cursorName") String cursorName, @Param("cursorCode") Integer cursorCode, Pageable pageable);
+
+    /*
+    * (8) 고객 목록 전체 스트림 (내보내기용, clientCode 순)
+    * - fetch size Integer.MIN_VALUE : MySQL 드라이버가 결과를 한 행씩 읽어옴 (전체를 메모리에 올리지 않음)
+    * - 스트림은 트랜잭션 안에서 사용하고 반드시 닫아야 함
+    * */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(LIST_SELECT +
+            "ORDER BY v.clientCode")
+    Stream<VisitorListView> streamByShopCode(@Param("shopCode") Integer shopCode);
 }
@@ -0,0 +1,69 @@
+package com.header.header.domain.visitors.service;
+
+import com.header.header.common.util.TransactionUtils;
+import com.header.header.domain.visitors.repository.VisitorStatisticsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/*
+* 샵 + 회원별 방문 통계(tbl_visitor_statistics) 갱신
+*
+* - 시술완료(BossReservationService.afterProcedure), 결제 생성 / 수정 / 취소 / 삭제(SalesService),
+*   시술완료 예약의 수정 / 삭제 후 호출, 해당 샵 + 회원 한 행만 다시 계산
+* - 고객 목록 / 검색 / 챗봇 조회는 이 테이블만 읽으므로 요청마다 전체 예약을 GROUP BY 하지 않음
+* - 커밋 후에 별도 트랜잭션(READ COMMITTED)으로 실행 (ReservationDaySummarizer 와 같은 방식)
+*   같은 회원의 갱신은 통계 행 락(lock)을 먼저 잡은 순서대로 계산하므로 늦게 끝난 갱신이 항상 최신 값
+* - 실패해도 예약 / 매출 처리는 이미 커밋되었으므로 로그만 남김 (같은 회원의 다음 변경 또는 재계산(rebuild) 때 복구)
+* */
+@Slf4j
+@Service
+public class VisitorStatisticsSummarizer {
+
+    private final VisitorStatisticsRepository statisticsRepository;
+    private final TransactionTemplate refreshTransaction;
+    private final TransactionTemplate rebuildTransaction;
+
+    public VisitorStatisticsSummarizer(VisitorStatisticsRepository statisticsRepository,
+                                       PlatformTransactionManager transactionManager) {
+        this.statisticsRepository = statisticsRepository;
+        this.refreshTransaction = new TransactionTemplate(transactionManager);
+        this.refreshTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.refreshTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.rebuildTransaction = new TransactionTemplate(transactionManager);
+        this.rebuildTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public void refreshAfterCommit(Integer shopCode, Integer userCode) {
+        TransactionUtils.afterCommit(() -> refresh(shopCode, userCode));
+    }
+
+    /* 예약 코드로 회원을 지금(예약이 지워지기 전) 찾아두고 커밋 후 갱신 - 매출 쪽에서 호출 */
+    public void refreshReservationAfterCommit(Integer shopCode, Integer resvCode) {
+        statisticsRepository.findUserCodeByResvCode(resvCode)
+                .ifPresent(userCode -> refreshAfterCommit(shopCode, userCode));
+    }
+
+    /* 샵 전체 재계산 (백필 / 복구, 별도 트랜잭션) */
+    public int rebuild(Integer shopCode) {
+        Integer rows = rebuildTransaction.execute(status -> {
+            statisticsRepository.deleteByShopCode(shopCode);
+            return statisticsRepository.rebuild(shopCode);
+        });
+        log.info("고객 방문 통계 재계산 완료 : shopCode={}, rows={}", shopCode, rows);
+        return rows != null ? rows : 0;
+    }
+
+    void refresh(Integer shopCode, Integer userCode) {
+        try {
+            refreshTransaction.executeWithoutResult(status -> {
+                statisticsRepository.lock(shopCode, userCode);
+                statisticsRepository.refresh(shopCode, userCode);
+            });
+        } catch (RuntimeException e) {
+            log.warn("고객 방문 통계 갱신 실패 : shopCode={}, userCode={}", shopCode, userCode, e);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.header.header.domain.visitors.service;
+
+import com.header.header.common.util.CsvWriter;
+import com.header.header.domain.visitors.projection.VisitorListView;
+import com.header.header.domain.visitors.repository.VisitorsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/*
+* 샵 고객 목록 내보내기 (CSV)
+* - DB 에서 한 행씩 읽어서(VisitorsRepository.streamByShopCode) 바로 출력 스트림에 씀
+* - 목록을 만들지 않으므로 고객 수와 관계없이 메모리 사용량이 일정 (CsvWriter 버퍼 + 현재 행)
+* */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VisitorsExportService {
+
+    private static final String HEADER = "고객코드,고객명,연락처,생일,방문횟수,총결제액,마지막방문일,선호메뉴,광고수신,메모";
+
+    private final VisitorsRepository visitorsRepository;
+
+    /**
+     * 샵 고객 전체를 CSV 로 출력 (clientCode 순)
+     *
+     * @param shopCode 샵 코드
+     * @param out 출력 스트림 (닫지 않음)
+     * @return 출력한 고객 수
+     */
+    @Transactional(readOnly = true)
+    public long exportCsv(Integer shopCode, OutputStream out) {
+        if(shopCode == null){
+            throw new IllegalArgumentException("shopCode는 필수입니다.");
+        }
+
+        long count = 0;
+        try (Stream<VisitorListView> rows = visitorsRepository.streamByShopCode(shopCode)) {
+            CsvWriter csv = new CsvWriter(out, HEADER);
+
+            Iterator<VisitorListView> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writeRow(csv, iterator.next());
+                count++;
+            }
+
+            csv.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("고객 목록 내보내기 중 출력 오류가 발생했습니다.", e);
+        }
+
+        log.info("고객 목록 내보내기 완료 - shopCode: {}, rows: {}", shopCode, count);
+        return count;
+    }
+
+    private void writeRow(CsvWriter csv, VisitorListView visitor) throws IOException {
+        csv.value(visitor.getClientCode());
+        csv.text(visitor.getUserName());
+        csv.text(visitor.getUserPhone());
+        csv.value(visitor.getBirthday());
+        csv.value(visitor.getVisitCount());
+        csv.value(visitor.getTotalPaymentAmount());
+        csv.value(visitor.getLastVisitDate());
+        csv.text(visitor.getFavoriteMenuName());
+        csv.value(Boolean.TRUE.equals(visitor.getSendable()) ? "Y" : "N");
+        csv.text(visitor.getMemo());
+        csv.endRow();
+    }
+}
@@ -1,16 +1,20 @@
 package com.header.header.domain.visitors.service;
 
+import com.header.header.common.dto.CursorPage;
 import com.header.header.domain.message.exception.InvalidBatchException;
 import com.header.header.domain.user.service.UserService;
 import com.header.header.domain.visitors.dto.*;
 import com.header.header.domain.visitors.enitity.Visitors;
-import com.header.header.domain.visitors.projection.UserFavoriteMenuView;
+import com.header.header.domain.visitors.enums.VisitorSort;
 import com.header.header.domain.visitors.projection.VisitStatisticsView;
 import com.header.header.domain.visitors.projection.VisitorHistoryView;
+import com.header.header.domain.visitors.projection.VisitorListView;
 import com.header.header.domain.visitors.projection.VisitorWithUserInfoView;
+import com.header.header.domain.visitors.repository.VisitorStatisticsRepository;
 import com.header.header.domain.visitors.repository.VisitorsRepository;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestClient;
@@ -28,9 +32,13 @@ public class VisitorsService {
 
     private final UserService userService;
     private final VisitorsRepository visitorsRepository;
+    private final VisitorStatisticsRepository visitorStatisticsRepository;
+    private final VisitorStatisticsSummarizer visitorStatisticsSummarizer;
     private final ModelMapper modelMapper;
     private final RestClient.Builder builder;
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     /**
      * 샵 고객 리스트 조회
      *
@@ -45,19 +53,13 @@ public class VisitorsService {
         // 1. 기본 방문자 정보
         List<VisitorWithUserInfoView> visitors = visitorsRepository.findVisitorWithUserInfoByShopCode(shopCode);
 
-        // 2. 모든 userCode 추출
-        List<Integer> userCodes = visitors.stream()
-                .map(VisitorWithUserInfoView::getUserCode)
-                .collect(Collectors.toList());
-
-        // 3. 배치로 통계 정보 조회
-        Map<Integer, VisitStatisticsView> statisticsMap = getVisitStatisticsBatch(userCodes);
-        Map<Integer, String> favoriteMenuMap = getFavoriteMenusBatch(userCodes);
+        // 2. 샵 전체 회원 통계 (방문 통계 테이블)
+        Map<Integer, VisitStatisticsView> statisticsMap = toStatisticsMap(visitorStatisticsRepository.findByShopCode(shopCode));
 
         return visitors.stream()
                 .map(visitor -> {
                     VisitStatisticsView stats = statisticsMap.get(visitor.getUserCode());
-                    String favoriteMenu = favoriteMenuMap.get(visitor.getUserCode());
+                    String favoriteMenu = stats != null ? stats.getFavoriteMenuName() : null;
 
                     return  VisitorDetailResponse.from(
                             VisitorDetailDTO.builder()
@@ -80,6 +82,44 @@ public class VisitorsService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 샵 고객 리스트 커서 페이지 조회 (정렬 / 페이지는 DB 에서 처리)
+     *
+     * @param shopCode 샵 코드
+     * @param sort 정렬 기준 (같은 값이면 clientCode 순)
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지는 null)
+     * @param size 페이지 크기 (1 ~ 100)
+     * @return 고객 페이지
+     * @throws IllegalArgumentException 페이지 크기 / 커서가 잘못되었을 때
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<VisitorDetailResponse> getShopVisitorsPage(Integer shopCode, VisitorSort sort, String cursor, int size){
+        if(shopCode == null){
+            throw new IllegalArgumentException("shopCode는 필수입니다.");
+        }
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("페이지 크기는 1 ~ " + MAX_PAGE_SIZE + " 사이여야 합니다.");
+        }
+
+        // 1. 커서 위치 다음부터 한 건 더(size + 1) 조회 - 다음 페이지 여부 확인, count 쿼리 없음
+        VisitorCursor position = VisitorCursor.decode(sort, cursor);
+        PageRequest pageable = PageRequest.of(0, size + 1);
+        List<VisitorListView> fetched = switch (sort) {
+            case LAST_VISIT -> visitorsRepository.findPageOrderByLastVisit(
+                    shopCode, VisitorCursor.NO_VISIT, position.getDate(), position.getClientCode(), pageable);
+            case VISIT_COUNT -> visitorsRepository.findPageOrderByVisitCount(
+                    shopCode, position.getNumber(), position.getClientCode(), pageable);
+            case TOTAL_SPEND -> visitorsRepository.findPageOrderByTotalSpend(
+                    shopCode, position.getNumber(), position.getClientCode(), pageable);
+            case NAME -> visitorsRepository.findPageOrderByName(
+                    shopCode, position.getName(), position.getClientCode(), pageable);
+        };
+
+        // 2. 마지막 행으로 다음 커서를 만들고 응답 형태로 변환
+        return CursorPage.of(fetched, size, last -> VisitorCursor.after(sort, last).encode())
+                .map(VisitorsService::toDetailResponse);
+    }
+
     /**
      * clientCode를 통해 대치되는 userCode를 조회.
      * @param clientCode 클라이언트 코드
@@ -176,6 +216,19 @@ public class VisitorsService {
 
 
 
+    /**
+     * 샵 고객 방문 통계 재계산 (백필 / 복구)
+     *
+     * @param shopCode 샵 코드
+     * @return 다시 만든 통계 행 수
+     */
+    public int rebuildVisitStatistics(Integer shopCode){
+        if(shopCode == null){
+            throw new IllegalArgumentException("shopCode는 필수입니다.");
+        }
+        return visitorStatisticsSummarizer.rebuild(shopCode);
+    }
+
     // == helper method ==
     // Test를 위해 public으로 변경
     public Visitors findVisitorByClientCode(Integer clientCode){
@@ -183,29 +236,32 @@ public class VisitorsService {
                 .orElseThrow(() -> InvalidBatchException.invalidBatchCode("존재하지 않는 클라이언트 코드 입니다."));
     }
 
-    /* 방문자 조회 리스트를 Map<회원 코드, 방문 통계 정보>으로 변환 */
-    private Map<Integer, VisitStatisticsView> getVisitStatisticsBatch(List<Integer> userCodes) {
-        List<VisitStatisticsView> statistics = visitorsRepository.getVisitStatisticsBatch(userCodes);
-        return statistics.stream()
-                .collect(Collectors.toMap(VisitStatisticsView::getUserCode, Function.identity()));
+    /* 고객 목록 한 행(방문자 + 통계)을 응답으로 변환 */
+    private static VisitorDetailResponse toDetailResponse(VisitorListView visitor) {
+        return VisitorDetailResponse.from(
+                VisitorDetailDTO.builder()
+                        .clientCode(visitor.getClientCode())
+                        .userCode(visitor.getUserCode())
+                        .memo(visitor.getMemo())
+                        .sendable(visitor.getSendable())
+                        .userName(visitor.getUserName())
+                        .userPhone(visitor.getUserPhone())
+                        .birthday(visitor.getBirthday())
+                        .visitCount(visitor.getVisitCount())
+                        .totalPaymentAmount(visitor.getTotalPaymentAmount())
+                        .lastVisitDate(visitor.getLastVisitDate())
+                        .favoriteMenuName(visitor.getFavoriteMenuName() != null ? visitor.getFavoriteMenuName() : "")
+                        .build());
+    }
+
+    /* 샵 + 회원들의 방문 통계(방문 통계 테이블)를 Map<회원 코드, 방문 통계 정보>으로 변환 */
+    private Map<Integer, VisitStatisticsView> getVisitStatistics(Integer shopCode, List<Integer> userCodes) {
+        return toStatisticsMap(visitorStatisticsRepository.findByShopCodeAndUserCodes(shopCode, userCodes));
     }
 
-    /* 방문자 선호 메뉴 리스트를 Map<회원 코드 , 선호 메뉴> 으로 변환 */
-    private Map<Integer, String> getFavoriteMenusBatch(List<Integer> userCodes) {
-        // JPQL로 모든 메뉴 데이터를 가져와서 Java에서 처리
-        List<UserFavoriteMenuView> rawMenus = visitorsRepository.getUserFavoriteMenusRaw(userCodes);
-
-        // 각 유저별로 가장 많이 주문한 메뉴(첫 번째)만 선택
-        return rawMenus.stream()
-                .collect(Collectors.groupingBy(UserFavoriteMenuView::getUserCode))
-                .entrySet().stream()
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        entry -> {
-                            UserFavoriteMenuView first = entry.getValue().get(0); // 첫 번째가 가장 많이 주문한 메뉴
-                            return first.getMenuName();
-                        }
-                ));
+    private Map<Integer, VisitStatisticsView> toStatisticsMap(List<VisitStatisticsView> statistics) {
+        return statistics.stream()
+                .collect(Collectors.toMap(VisitStatisticsView::getUserCode, Function.identity()));
     }
 
     /* 주혜 */
@@ -267,13 +323,12 @@ public class VisitorsService {
         }
 
         // 3. 배치로 통계 정보 조회
-        Map<Integer, VisitStatisticsView> statisticsMap = getVisitStatisticsBatch(userCodes);
-        Map<Integer, String> favoriteMenuMap = getFavoriteMenusBatch(userCodes);
+        Map<Integer, VisitStatisticsView> statisticsMap = getVisitStatistics(shopCode, userCodes);
 
         return visitors.stream()
                 .map(visitor -> {
                     VisitStatisticsView stats = statisticsMap.get(visitor.getUserCode());
-                    String favoriteMenu = favoriteMenuMap.get(visitor.getUserCode());
+                    String favoriteMenu = stats != null ? stats.getFavoriteMenuName() : null;
 
                     return  VisitorDetailResponse.from(
                             VisitorDetailDTO.builder()
@@ -314,11 +369,10 @@ public class VisitorsService {
 
         // 2. 통계 정보 조회
         List<Integer> userCodes = List.of(visitor.getUserCode());
-        Map<Integer, VisitStatisticsView> statisticsMap = getVisitStatisticsBatch(userCodes);
-        Map<Integer, String> favoriteMenuMap = getFavoriteMenusBatch(userCodes);
+        Map<Integer, VisitStatisticsView> statisticsMap = getVisitStatistics(shopCode, userCodes);
 
         VisitStatisticsView stats = statisticsMap.get(visitor.getUserCode());
-        String favoriteMenu = favoriteMenuMap.get(visitor.getUserCode());
+        String favoriteMenu = stats != null ? stats.getFavoriteMenuName() : null;
 
         return VisitorDetailResponse.from(
                 VisitorDetailDTO.builder()
@@ -365,14 +419,13 @@ public class VisitorsService {
                 .collect(Collectors.toList());
 
         // 3. 통계 정보 일괄 조회
-        Map<Integer, VisitStatisticsView> statisticsMap = getVisitStatisticsBatch(userCodes);
-        Map<Integer, String> favoriteMenuMap = getFavoriteMenusBatch(userCodes);
+        Map<Integer, VisitStatisticsView> statisticsMap = getVisitStatistics(shopCode, userCodes);
 
         // 4. 결과 생성
         return visitors.stream()
                 .map(visitor -> {
                     VisitStatisticsView stats = statisticsMap.get(visitor.getUserCode());
-                    String favoriteMenu = favoriteMenuMap.get(visitor.getUserCode());
+                    String favoriteMenu = stats != null ? stats.getFavoriteMenuName() : null;
 
                     return VisitorDetailResponse.from(
                             VisitorDetailDTO.builder()
@@ -0,0 +1,74 @@
+package com.header.header.common.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.header.header.domain.reservation.service.DayOccupancy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class CacheInvalidationBusTests {
+
+    @Autowired
+    private CacheInvalidationBus invalidationBus;
+    @Autowired
+    private ShopScopedCache shopScopedCache;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private static final String CACHE_NAME = "available-schedule";
+
+    @Test
+    @DisplayName("다른 노드에서 온 무효화 메시지는 로컬 캐시에 적용되고 지연 시간이 기록됨")
+    void testApplyRemoteEvict() throws Exception {
+        // given
+        shopScopedCache.put(CACHE_NAME, 1, "2099-01-01", DayOccupancy.empty(10));
+        shopScopedCache.put(CACHE_NAME, 2, "2099-01-01", DayOccupancy.empty(10));
+
+        CacheInvalidationMessage message = new CacheInvalidationMessage(
+                "other-node", CacheInvalidationMessage.Operation.EVICT_SHOP, CACHE_NAME, 1, null,
+                System.currentTimeMillis() - 5);
+
+        // when
+        invalidationBus.receive(objectMapper.writeValueAsString(message));
+
+        // then - L2 는 보낸 노드가 지우므로 이 노드의 L1 만 확인
+        assertNull(l1().getIfPresent(ShopScopedCache.key(1, "2099-01-01")));
+        assertNotNull(l1().getIfPresent(ShopScopedCache.key(2, "2099-01-01")));
+
+        Timer lag = meterRegistry.find("cache.invalidation.lag").tag("cache", CACHE_NAME).timer();
+        assertNotNull(lag);
+        assertTrue(lag.count() > 0);
+    }
+
+    @Test
+    @DisplayName("자기 노드가 보낸 메시지는 무시")
+    void testIgnoreOwnMessage() throws Exception {
+        // given
+        shopScopedCache.put(CACHE_NAME, 3, "2099-01-01", DayOccupancy.empty(10));
+
+        CacheInvalidationMessage message = new CacheInvalidationMessage(
+                invalidationBus.getNodeId(), CacheInvalidationMessage.Operation.EVICT, CACHE_NAME, 3, "2099-01-01",
+                System.currentTimeMillis());
+
+        // when
+        invalidationBus.receive(objectMapper.writeValueAsString(message));
+
+        // then
+        assertNotNull(l1().getIfPresent(ShopScopedCache.key(3, "2099-01-01")));
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> l1() {
+        return ((TwoTierCache) cacheManager.getCache(CACHE_NAME)).getNativeCache();
+    }
+}
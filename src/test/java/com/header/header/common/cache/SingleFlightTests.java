@@ -0,0 +1,108 @@
+package com.header.header.common.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class SingleFlightTests {
+
+    private static final int REQUEST_COUNT = 50;
+
+    @Autowired
+    private SingleFlight singleFlight;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("동시에 들어온 같은 요청은 한 번만 실행하고 결과를 나눠 씀")
+    void testCoalesceConcurrentCalls() throws InterruptedException {
+        // given
+        AtomicInteger callCount = new AtomicInteger();
+        List<Object> results = new CopyOnWriteArrayList<>();
+
+        // when - 실행 시간(300ms) 동안 나머지 요청이 모두 도착
+        runConcurrently(() -> singleFlight.execute("test-coalesce", List.of(1), () -> {
+            callCount.incrementAndGet();
+            sleep(300);
+            return List.of("result");
+        }), results);
+
+        // then
+        assertEquals(1, callCount.get());
+        assertEquals(REQUEST_COUNT, results.size());
+        results.forEach(result -> assertSame(results.get(0), result));
+
+        Gauge ratio = meterRegistry.find("single.flight.coalescing.ratio").tag("name", "test-coalesce").gauge();
+        assertNotNull(ratio);
+        assertEquals((double) (REQUEST_COUNT - 1) / REQUEST_COUNT, ratio.value(), 0.0001);
+    }
+
+    @Test
+    @DisplayName("실행이 예외로 끝나면 기다리던 요청도 같은 예외, 끝난 뒤의 요청은 새로 실행")
+    void testShareFailure() throws InterruptedException {
+        // given
+        AtomicInteger callCount = new AtomicInteger();
+        List<Object> results = new CopyOnWriteArrayList<>();
+
+        // when
+        runConcurrently(() -> singleFlight.execute("test-failure", List.of(1), () -> {
+            callCount.incrementAndGet();
+            sleep(300);
+            throw new IllegalStateException("조회 실패");
+        }), results);
+
+        // then
+        assertEquals(1, callCount.get());
+        results.forEach(result -> assertInstanceOf(IllegalStateException.class, result));
+
+        assertEquals("ok", singleFlight.execute("test-failure", List.of(1), () -> "ok"));
+    }
+
+    private void runConcurrently(Supplier<Object> call, List<Object> results) throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(REQUEST_COUNT);
+        CountDownLatch ready = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(REQUEST_COUNT);
+
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            executorService.submit(() -> {
+                try {
+                    ready.await();
+                    results.add(call.get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException e) {
+                    results.add(e);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        ready.countDown();
+        assertTrue(done.await(1, TimeUnit.MINUTES));
+        executorService.shutdown();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.header.header.common.cache;
+
+import com.header.header.domain.reservation.service.DayOccupancy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import java.time.LocalTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class TwoTierCacheTests {
+
+    @Autowired
+    private ShopScopedCache shopScopedCache;
+    @Autowired
+    private CacheManager cacheManager;
+
+    private static final String CACHE_NAME = "available-schedule";
+    private static final Integer SHOP_CODE = 9001;
+
+    // L2 는 테스트 실행 사이에도 남으므로 앞뒤로 정리
+    @BeforeEach
+    @AfterEach
+    void clear() {
+        shopScopedCache.evictShopLocal(CACHE_NAME, SHOP_CODE);
+    }
+
+    @Test
+    @DisplayName("L1 이 비어도 (재시작 / 새 인스턴스) L2 에서 같은 값을 읽음")
+    void testReadThroughL2() {
+        // given
+        DayOccupancy occupancy = DayOccupancy.empty(10).occupied(LocalTime.of(10, 0), 90);
+        shopScopedCache.put(CACHE_NAME, SHOP_CODE, "2099-01-01", occupancy);
+
+        TwoTierCache cache = (TwoTierCache) cacheManager.getCache(CACHE_NAME);
+        cache.getNativeCache().invalidateAll();
+
+        // when
+        DayOccupancy cached = shopScopedCache.get(CACHE_NAME, SHOP_CODE, "2099-01-01", DayOccupancy.class);
+
+        // then - 직렬화 후에도 점유 구간이 그대로
+        assertNotNull(cached);
+        assertFalse(cached.isFree(LocalTime.of(11, 0), 10));
+        assertTrue(cached.isFree(LocalTime.of(11, 30), 30));
+        assertNotNull(cache.getNativeCache().getIfPresent(ShopScopedCache.key(SHOP_CODE, "2099-01-01")));
+    }
+
+    @Test
+    @DisplayName("동시에 같은 키가 비어 있어도 로딩은 한 번만")
+    void testLoaderCalledOnce() throws InterruptedException {
+        // given
+        AtomicInteger loadCount = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(16);
+        CountDownLatch ready = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(100);
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            executorService.submit(() -> {
+                try {
+                    ready.await();
+                    shopScopedCache.get(CACHE_NAME, SHOP_CODE, "2099-01-02", DayOccupancy.class, () -> {
+                        loadCount.incrementAndGet();
+                        return DayOccupancy.empty(10);
+                    });
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        ready.countDown();
+        assertTrue(done.await(1, TimeUnit.MINUTES));
+        executorService.shutdown();
+
+        // then
+        assertEquals(1, loadCount.get());
+    }
+
+    @Test
+    @DisplayName("샵 단위 삭제는 L2 에 있는 그 샵의 키도 모두 삭제")
+    void testEvictShopClearsL2() {
+        // given
+        shopScopedCache.put(CACHE_NAME, SHOP_CODE, "2099-01-03", DayOccupancy.empty(10));
+        shopScopedCache.put(CACHE_NAME, SHOP_CODE, "2099-01-04", DayOccupancy.empty(10));
+
+        // when
+        shopScopedCache.evictShopLocal(CACHE_NAME, SHOP_CODE);
+
+        // then
+        assertNull(shopScopedCache.get(CACHE_NAME, SHOP_CODE, "2099-01-03", DayOccupancy.class));
+        assertNull(shopScopedCache.get(CACHE_NAME, SHOP_CODE, "2099-01-04", DayOccupancy.class));
+    }
+}
@@ -0,0 +1,37 @@
+package com.header.header.common.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CsvWriterTests {
+
+    @Test
+    @DisplayName("수식으로 해석될 수 있는 문자열(=, +, -, @, 탭, CR 시작)은 앞에 ' 를 붙이고, 특수문자가 있으면 따옴표로 감쌈")
+    void testTextEscaping() throws IOException {
+        // given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CsvWriter csv = new CsvWriter(out, "a,b,c,d,e,f,g");
+
+        // when
+        csv.text("=1+1");
+        csv.text("@SUM(A1)");
+        csv.text("\t=cmd");
+        csv.text("\r=cmd");
+        csv.text("a,\"b\"");
+        csv.value(null);
+        csv.value(3);
+        csv.endRow();
+        csv.flush();
+
+        // then
+        String written = out.toString(StandardCharsets.UTF_8);
+        assertEquals("\uFEFFa,b,c,d,e,f,g\r\n"
+                + "'=1+1,'@SUM(A1),'\t=cmd,\"'\r=cmd\",\"a,\"\"b\"\"\",,3\r\n", written);
+    }
+}
@@ -0,0 +1,143 @@
+package com.header.header.domain.message.external.coolsms;
+
+import com.header.header.config.CoolSmsApiConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/* 로컬 CoolSMS 스텁(CoolSmsStubServer)으로 send-many 청크 전송 / 결과 매핑 / 한 건씩 재전송 여부 확인 */
+public class CoolSmsBulkSendTests {
+
+    private static final String FROM = "010-3908-5624";
+    private static final int CHUNK_SIZE = 100;
+
+    private CoolSmsStubServer stub;
+    private CoolSmsService coolSmsService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = new CoolSmsStubServer(20);
+
+        CoolSmsApiConfig config = new CoolSmsApiConfig();
+        config.setApiKey("stub-key");
+        config.setApiSecret("stub-secret");
+        config.setBaseUrl(stub.baseUrl());
+        config.setSendManyChunkSize(CHUNK_SIZE);
+        coolSmsService = new CoolSmsService(config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    @DisplayName("청크 단위로 한 번씩 요청하고 접수 거부된 건만 실패로 매핑")
+    void testSendManyInChunks() {
+        // given
+        List<CoolSmsMessage> messages = messages(1000);
+        stub.rejectNumber(messages.get(7).to());
+        stub.rejectNumber(messages.get(512).to());
+        stub.rejectNumber(messages.get(999).to());
+
+        // when
+        long start = System.nanoTime();
+        List<CoolSmsSendResult> results = coolSmsService.sendMany(FROM, messages);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // then - 1000건 / 100건 = 10번 요청
+        assertEquals(1000, results.size());
+        assertEquals(10, stub.requestCount());
+        assertEquals(1000, stub.messageCount());
+        for (int i = 0; i < results.size(); i++) {
+            boolean rejected = i == 7 || i == 512 || i == 999;
+            assertEquals(!rejected, results.get(i).success(), "index " + i);
+        }
+        assertTrue(results.get(512).errorMessage().contains(CoolSmsStubServer.REJECT_STATUS_CODE));
+
+        System.out.println("send-many 1000건 : " + elapsedMillis + "ms, "
+                + (1000 * 1000L / Math.max(1, elapsedMillis)) + "건/초 (요청 " + stub.requestCount() + "번)");
+    }
+
+    @Test
+    @DisplayName("청크가 접수되지 않은 것이 확실하면 (서버 내부 오류) 그 청크만 한 건씩 다시 전송")
+    void testFallbackToSingleSend() {
+        // given
+        List<CoolSmsMessage> messages = messages(150);
+        stub.rejectNumber(messages.get(3).to());
+        stub.failNextRequests(1);
+
+        // when
+        List<CoolSmsSendResult> results = coolSmsService.sendMany(FROM, messages);
+
+        // then - 첫 청크(100건) 실패 1번 + 한 건씩 100번 + 두 번째 청크(50건) 1번
+        assertEquals(150, results.size());
+        assertEquals(102, stub.requestCount());
+        assertFalse(results.get(3).success());
+        assertEquals(149, results.stream().filter(CoolSmsSendResult::success).count());
+    }
+
+    @Test
+    @DisplayName("접수됐을 수 있는 실패 (요청 오류 응답) 는 한 건씩 다시 보내지 않고 청크 전체 실패")
+    void testNoFallbackWhenPossiblyAccepted() {
+        // given
+        List<CoolSmsMessage> messages = messages(150);
+        stub.badRequestNextRequests(1);
+
+        // when
+        List<CoolSmsSendResult> results = coolSmsService.sendMany(FROM, messages);
+
+        // then - 첫 청크(100건) 1번 + 두 번째 청크(50건) 1번, 한 건씩 보내지 않음
+        assertEquals(150, results.size());
+        assertEquals(2, stub.requestCount());
+        assertEquals(50, stub.messageCount());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i >= CHUNK_SIZE, results.get(i).success(), "index " + i);
+        }
+        assertTrue(results.get(0).errorMessage().contains("ValidationError"));
+    }
+
+    @Test
+    @DisplayName("연결 실패가 원인이면 접수되지 않은 것으로 판단")
+    void testNotAcceptedClassification() {
+        assertTrue(CoolSmsService.isNotAccepted(new RuntimeException("wrapped", new ConnectException("refused"))));
+        assertTrue(CoolSmsService.isNotAccepted(new RuntimeException("{\"errorCode\":\"InternalError\"}")));
+        assertFalse(CoolSmsService.isNotAccepted(new RuntimeException("wrapped", new SocketTimeoutException("Read timed out"))));
+        assertFalse(CoolSmsService.isNotAccepted(new RuntimeException("{\"errorCode\":\"ValidationError\"}")));
+    }
+
+    @Test
+    @DisplayName("청크 전체가 접수 거부되면 모두 실패")
+    void testWholeChunkRejected() {
+        // given
+        List<CoolSmsMessage> messages = messages(3);
+        messages.forEach(message -> stub.rejectNumber(message.to()));
+
+        // when
+        List<CoolSmsSendResult> results = coolSmsService.sendMany(FROM, messages);
+
+        // then
+        assertEquals(1, stub.requestCount());
+        results.forEach(result -> assertFalse(result.success()));
+    }
+
+    private static List<CoolSmsMessage> messages(int count) {
+        List<CoolSmsMessage> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String to = String.format("010-%04d-%04d", 5000 + i / 10000, i % 10000);
+            messages.add(i % 2 == 0
+                    ? CoolSmsMessage.sms(to, "테스트 메시지 " + i)
+                    : CoolSmsMessage.lms(to, "긴 테스트 메시지 ".repeat(10) + i, "알림 메시지"));
+        }
+        return messages;
+    }
+}
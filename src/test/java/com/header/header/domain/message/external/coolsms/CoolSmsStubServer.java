@@ -0,0 +1,153 @@
+package com.header.header.domain.message.external.coolsms;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+* CoolSMS API 로컬 스텁 (외부 API 없이 전송 처리량 측정 / 결과 매핑 확인용)
+*
+* - POST /messages/v4/send-many/detail 만 처리 (SDK 의 send(Message), send(List) 모두 이 경로)
+* - rejectNumber 로 등록한 수신번호는 failedMessageList 로 돌려줌 (접수 거부)
+* - failNextRequests(n) : 다음 n 번의 요청은 500 응답 (청크 요청 실패 → 한 건씩 재전송 확인)
+* - badRequestNextRequests(n) : 다음 n 번의 요청은 400 응답 (청크 전체 실패, 재전송하지 않음 확인)
+* - latencyMillis : 요청마다 지연 (실제 API 왕복 시간 흉내)
+* */
+public class CoolSmsStubServer implements AutoCloseable {
+
+    static final String REJECT_STATUS_CODE = "1062";
+    static final String REJECT_STATUS_MESSAGE = "유효하지 않은 수신번호";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+    private final long latencyMillis;
+
+    private final Set<String> rejectedNumbers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger failNextRequests = new AtomicInteger();
+    private final AtomicInteger badRequestNextRequests = new AtomicInteger();
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private final AtomicInteger messageCount = new AtomicInteger();
+
+    public CoolSmsStubServer(long latencyMillis) throws IOException {
+        this.latencyMillis = latencyMillis;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.createContext("/messages/v4/send-many/detail", this::handleSendMany);
+        this.server.setExecutor(executor);
+        this.server.start();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public void rejectNumber(String number) {
+        rejectedNumbers.add(number.replaceAll("[^0-9]", ""));
+    }
+
+    public void failNextRequests(int count) {
+        failNextRequests.set(count);
+    }
+
+    public void badRequestNextRequests(int count) {
+        badRequestNextRequests.set(count);
+    }
+
+    public int requestCount() {
+        return requestCount.get();
+    }
+
+    public int messageCount() {
+        return messageCount.get();
+    }
+
+    private void handleSendMany(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requestCount.incrementAndGet();
+            sleep(latencyMillis);
+
+            JsonNode request;
+            try (InputStream body = exchange.getRequestBody()) {
+                request = objectMapper.readTree(body);
+            }
+
+            if (failNextRequests.getAndUpdate(count -> Math.max(0, count - 1)) > 0) {
+                respond(exchange, 500, "{\"errorCode\":\"InternalError\",\"errorMessage\":\"stub failure\"}");
+                return;
+            }
+            if (badRequestNextRequests.getAndUpdate(count -> Math.max(0, count - 1)) > 0) {
+                respond(exchange, 400, "{\"errorCode\":\"ValidationError\",\"errorMessage\":\"stub bad request\"}");
+                return;
+            }
+
+            ArrayNode failedMessageList = objectMapper.createArrayNode();
+            int total = 0;
+            for (JsonNode message : request.path("messages")) {
+                total++;
+                String to = message.path("to").asText().replaceAll("[^0-9]", "");
+                if (rejectedNumbers.contains(to)) {
+                    ObjectNode failed = failedMessageList.addObject();
+                    failed.put("to", to);
+                    failed.put("from", message.path("from").asText());
+                    failed.put("statusCode", REJECT_STATUS_CODE);
+                    failed.put("statusMessage", REJECT_STATUS_MESSAGE);
+                }
+            }
+            messageCount.addAndGet(total);
+
+            ObjectNode response = objectMapper.createObjectNode();
+            ObjectNode groupInfo = response.putObject("groupInfo");
+            groupInfo.put("groupId", "G4V" + UUID.randomUUID().toString().replace("-", "").substring(0, 20).toUpperCase());
+            groupInfo.put("status", "SENDING");
+            ObjectNode count = groupInfo.putObject("count");
+            count.put("total", total);
+            count.put("registeredFailed", failedMessageList.size());
+            count.put("registeredSuccess", total - failedMessageList.size());
+            response.set("failedMessageList", failedMessageList);
+            response.putArray("messageList");
+
+            respond(exchange, 200, objectMapper.writeValueAsString(response));
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -2,9 +2,12 @@ package com.header.header.domain.message.service;
 
 import com.header.header.domain.message.dto.MessageDTO;
 import com.header.header.domain.message.dto.MessageResponse;
+import com.header.header.domain.message.dto.MessageSendBatchDTO;
 import com.header.header.domain.message.dto.ShopMessageHistoryDTO;
 import com.header.header.domain.message.entity.ShopMessageHistory;
 import com.header.header.domain.message.enums.MessageStatus;
+import com.header.header.domain.message.external.coolsms.CoolSmsMessage;
+import com.header.header.domain.message.external.coolsms.CoolSmsSendResult;
 import com.header.header.domain.message.external.coolsms.CoolSmsService;
 import com.header.header.domain.user.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
@@ -37,6 +40,15 @@ class MessageAsyncServiceTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private MessageSendBatchService messageSendBatchService;
+
+    @Mock
+    private MessageBatchProgress messageBatchProgress;
+
+    @Mock
+    private MessageSendQueue messageSendQueue;
+
     @InjectMocks
     private MessageAsyncService messageAsyncService;
 
@@ -77,8 +89,10 @@ class MessageAsyncServiceTest {
     @DisplayName("메시지 전송 요청 시 즉시 PENDING 응답을 반환한다")
     void sendMessageAsync_ShouldReturnPendingResponse() {
         // Given - Service에서 Entity 반환
-        when(messageHistoryService.createMessageHistory(any(ShopMessageHistoryDTO.class)))
-                .thenReturn(mockHistoryEntity);
+        when(messageSendBatchService.createMessageBatch(any(MessageSendBatchDTO.class)))
+                .thenReturn(MessageSendBatchDTO.builder().batchCode(10).build());
+        when(messageHistoryService.createPendingHistories(eq(10), anyList(), anyString()))
+                .thenReturn(List.of(mockHistoryEntity));
 
         // When
         MessageResponse response = messageAsyncService.sendMessageAsync(testRequest);
@@ -87,26 +101,33 @@ class MessageAsyncServiceTest {
         assertThat(response).isNotNull();
         assertThat(response.getResult()).isEqualTo(MessageStatus.PENDING.toString());
 
-        // DB 저장이 호출되었는지 확인
-        verify(messageHistoryService).createMessageHistory(any(ShopMessageHistoryDTO.class));
+        // DB 저장이 수신자 전체 한 번으로 호출되었는지 확인
+        verify(messageHistoryService).createPendingHistories(eq(10), anyList(), anyString());
+        verify(messageHistoryService, never()).createMessageHistory(any(ShopMessageHistoryDTO.class));
+
+        // 전송은 하지 않고 발송 큐에 넣기만 하는지 확인
+        verify(messageSendQueue).enqueue(eq(2), eq(List.of(mockHistoryEntity)));
+        verify(coolSmsService, never()).sendMany(anyString(), anyList());
     }
 
     @Test
     @DisplayName("PENDING 상태로 DB에 저장된다")
     void saveAsPending_ShouldSaveWithPendingStatus() {
         // Given
-        when(messageHistoryService.createMessageHistory(any(ShopMessageHistoryDTO.class)))
-                .thenReturn(mockHistoryEntity);
+        when(messageSendBatchService.createMessageBatch(any(MessageSendBatchDTO.class)))
+                .thenReturn(MessageSendBatchDTO.builder().batchCode(10).build());
+        when(messageHistoryService.createPendingHistories(eq(10), anyList(), anyString()))
+                .thenReturn(List.of(mockHistoryEntity));
 
         // When
         messageAsyncService.sendMessageAsync(testRequest);
 
-        // Then - 올바른 파라미터로 저장되는지 확인 (DTO로 전달)
-        verify(messageHistoryService).createMessageHistory(argThat(dto ->
-                dto.getUserCode().equals(1) &&
-                        dto.getMsgContent().equals("테스트 메시지입니다.") &&
-                        dto.getSendStatus().equals(MessageStatus.PENDING.toString())
-        ));
+        // Then - 올바른 파라미터로 저장되는지 확인 (배치 코드, 수신자 목록, 내용)
+        verify(messageHistoryService).createPendingHistories(
+                eq(10),
+                eq(List.of(1)),
+                eq("테스트 메시지입니다.")
+        );
     }
 
     @Test
@@ -125,22 +146,21 @@ class MessageAsyncServiceTest {
 
         when(userService.getPhoneByUserCode(1))
                 .thenReturn("010-1234-5678");
+        when(coolSmsService.sendMany(anyString(), anyList()))
+                .thenReturn(List.of(CoolSmsSendResult.ok()));
 
         // When
-        messageAsyncService.processAllMessagesAsync(shopMessageHistoryList
-                , testRequest
-                , "TEST_001"
-                , shortMsgEntity.getBatchCode());
+        messageAsyncService.sendHistories(shopMessageHistoryList, "TEST_001");
 
-        // Then - SMS 전송 메서드가 호출되었는지 확인
+        // Then - 제목 없는 SMS 로 여러 건 전송이 호출되었는지 확인
         verify(userService, timeout(1000)).getPhoneByUserCode(1);
-        verify(coolSmsService, timeout(1000)).sendSms(
+        verify(coolSmsService, timeout(1000)).sendMany(
                 eq("010-3908-5624"),
-                eq("010-1234-5678"),
-                eq(shortMessage)
+                eq(List.of(CoolSmsMessage.sms("010-1234-5678", shortMessage)))
         );
 
-        // LMS 메서드는 호출되지 않았는지 확인
+        // 한 건씩 보내는 메서드는 호출되지 않았는지 확인
+        verify(coolSmsService, never()).sendSms(anyString(), anyString(), anyString());
         verify(coolSmsService, never()).sendLms(anyString(), anyString(), anyString(), anyString());
     }
 
@@ -160,25 +180,23 @@ class MessageAsyncServiceTest {
 
         when(userService.getPhoneByUserCode(1))
                 .thenReturn("010-1234-5678");
+        when(coolSmsService.sendMany(anyString(), anyList()))
+                .thenReturn(List.of(CoolSmsSendResult.ok()));
 
         // When
-        messageAsyncService.processAllMessagesAsync(shopMessageHistoryList
-                , testRequest
-                , "TEST_001"
-                , longMsgEntity.getBatchCode());
+        messageAsyncService.sendHistories(shopMessageHistoryList, "TEST_001");
 
 
-        // Then - LMS 전송 메서드가 호출되었는지 확인
+        // Then - 제목 있는 LMS 로 여러 건 전송이 호출되었는지 확인
         verify(userService, timeout(1000)).getPhoneByUserCode(1);
-        verify(coolSmsService, timeout(1000)).sendLms(
+        verify(coolSmsService, timeout(1000)).sendMany(
                 eq("010-3908-5624"),
-                eq("010-1234-5678"),
-                eq(longMessage),
-                eq("알림 메시지")
+                eq(List.of(CoolSmsMessage.lms("010-1234-5678", longMessage, "알림 메시지")))
         );
 
-        // SMS 메서드는 호출되지 않았는지 확인
+        // 한 건씩 보내는 메서드는 호출되지 않았는지 확인
         verify(coolSmsService, never()).sendSms(anyString(), anyString(), anyString());
+        verify(coolSmsService, never()).sendLms(anyString(), anyString(), anyString(), anyString());
     }
 
     @Test
@@ -225,10 +243,7 @@ class MessageAsyncServiceTest {
                 .thenThrow(new RuntimeException(expectedErrorMessage));
 
         // When
-        messageAsyncService.processAllMessagesAsync(shopMessageHistoryList
-                , testRequest
-                , "TEST_001"
-                ,mockHistoryEntity.getBatchCode());
+        messageAsyncService.sendHistories(shopMessageHistoryList, "TEST_001");
 
         // Then - 전화번호 조회 실패 에러 메시지 확인
         verify(userService, timeout(1000)).getPhoneByUserCode(1);
@@ -250,18 +265,15 @@ class MessageAsyncServiceTest {
         when(userService.getPhoneByUserCode(1))
                 .thenReturn("010-1234-5678");
 
-        doThrow(new RuntimeException(expectedErrorMessage))  // ← 특정 에러 메시지로 예외 발생
-                .when(coolSmsService).sendSms(anyString(), anyString(), anyString());
+        when(coolSmsService.sendMany(anyString(), anyList()))  // ← 특정 에러 메시지로 실패 결과
+                .thenReturn(List.of(CoolSmsSendResult.fail(expectedErrorMessage)));
 
         // When
-        messageAsyncService.processAllMessagesAsync(shopMessageHistoryList
-                , testRequest
-                , "TEST_001"
-                , mockHistoryEntity.getBatchCode());
+        messageAsyncService.sendHistories(shopMessageHistoryList, "TEST_001");
 
         // Then - 에러 메시지까지 검증
         verify(userService, timeout(1000)).getPhoneByUserCode(1);
-        verify(coolSmsService, timeout(1000)).sendSms(anyString(), anyString(), anyString());
+        verify(coolSmsService, timeout(1000)).sendMany(anyString(), anyList());
 
         // updateMessageStatus에 에러 메시지가 전달되는지 확인
         verify(messageHistoryService, timeout(1000))
@@ -272,20 +284,14 @@ class MessageAsyncServiceTest {
     }
 
     @Test
-    @DisplayName("saveAsPending 메서드가 올바른 History 객체를 반환한다")
-    void saveAsPending_ShouldReturnCorrectHistory() throws Exception {
-        // Given
-        when(messageHistoryService.createMessageHistory(any(ShopMessageHistoryDTO.class)))
-                .thenReturn(mockHistoryEntity);
-
-        // When - 리플렉션으로 private 메서드 테스트
-        java.lang.reflect.Method method = MessageAsyncService.class
-                .getDeclaredMethod("saveAsPending", MessageDTO.class);
-        method.setAccessible(true);
-        ShopMessageHistory result = (ShopMessageHistory) method.invoke(messageAsyncService, testRequest);
+    @DisplayName("대량 저장 후 만든 PENDING History 객체가 발송에 필요한 값을 가진다")
+    void pendingHistory_ShouldHaveSendValues() {
+        // When
+        ShopMessageHistory result = ShopMessageHistory.pending(1001, 10, 1, "테스트 메시지입니다.");
 
         // Then - Entity 객체 검증
-        assertThat(result).isNotNull();
+        assertThat(result.getHistoryCode()).isEqualTo(1001);
+        assertThat(result.getBatchCode()).isEqualTo(10);
         assertThat(result.getUserCode()).isEqualTo(1);
         assertThat(result.getMsgContent()).isEqualTo("테스트 메시지입니다.");
         assertThat(result.getSendStatus()).isEqualTo(MessageStatus.PENDING);
@@ -1,6 +1,8 @@
 package com.header.header.domain.message.service;
 
+import com.header.header.domain.message.dto.MessageHistoryResponse;
 import com.header.header.domain.message.dto.MessageSendBatchDTO;
+import com.header.header.domain.message.entity.ShopMessageHistory;
 import com.header.header.domain.message.exception.InvalidBatchException;
 import com.header.header.domain.message.projection.MessageBatchListView;
 import com.header.header.domain.message.projection.MessageBatchResultCountView;
@@ -9,9 +11,11 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.*;
@@ -24,6 +28,15 @@ public class MessageSendBatchTests {
     @Autowired
     private MessageSendBatchService messageSendBatchService;
 
+    @Autowired
+    private MessageHistoryService messageHistoryService;
+
+    @Autowired
+    private MessageBatchProgress messageBatchProgress;
+
+    @Autowired
+    private RedisTemplate<String, String> redisStreamTemplate;
+
     private MessageSendBatchDTO testBatch;
 
     @BeforeEach
@@ -89,26 +102,55 @@ public class MessageSendBatchTests {
     }
 
     @Test
-    @DisplayName("Batch 업데이트 성공")
-    void updateBatch_Success(){
-        // update
-        Integer updateSuccessCount = 6;
-        Integer updateFailCount = 4;
+    @DisplayName("발송 중에는 Redis 진행 현황, 끝나면 DB 건수로 조회")
+    void readHistoryDetail_InProgressThenFinished(){
+        // given - 발송 중 (10건 중 3건 성공, 1건 실패)
+        messageBatchProgress.start(testBatch.getBatchCode(), 10);
+        try {
+            for (int i = 0; i < 3; i++) {
+                messageBatchProgress.record(testBatch.getBatchCode(), true);
+            }
+            messageBatchProgress.record(testBatch.getBatchCode(), false);
+
+            // when
+            MessageHistoryResponse running = messageSendBatchService.getMessageHistoryDetail(testBatch.getShopCode(), testBatch.getBatchCode());
+
+            // then
+            assertTrue(running.isInProgress());
+            assertEquals(10, running.getTotalCount());
+            assertEquals(3, running.getSuccessCount());
+            assertEquals(1, running.getFailCount());
+        } finally {
+            messageBatchProgress.finish(testBatch.getBatchCode());
+        }
 
-        MessageSendBatchDTO result = messageSendBatchService.updateMessageBatchResults(testBatch.getShopCode(), testBatch.getBatchCode(),true);
+        // when - 발송 완료 후 히스토리 상태로 정산 (8건 성공, 2건 실패)
+        List<ShopMessageHistory> histories = messageHistoryService.createPendingHistories(
+                testBatch.getBatchCode(), IntStream.rangeClosed(1, 10).boxed().toList(), "이벤트 안내 메시지");
+        for (int i = 0; i < histories.size(); i++) {
+            messageHistoryService.updateMessageStatus(histories.get(i).getHistoryCode(), i < 8 ? null : "전송 실패 테스트");
+        }
+        assertTrue(messageSendBatchService.settleBatch(testBatch.getBatchCode()));
+        MessageHistoryResponse finished = messageSendBatchService.getMessageHistoryDetail(testBatch.getShopCode(), testBatch.getBatchCode());
 
-        assertEquals(updateSuccessCount, result.getSuccessCount());
-        assertEquals(updateFailCount, result.getFailCount());
+        // then
+        assertFalse(finished.isInProgress());
+        assertEquals(8, finished.getSuccessCount());
+        assertEquals(2, finished.getFailCount());
     }
 
     @Test
-    @DisplayName("Batch 업데이트 실패")
-    void updateBatch_NonEqualResultCount_ThrowException(){
-        int updateSuccessCount = 6;
-        int updateFailCount = 3;
-
-        assertThatThrownBy(() -> messageSendBatchService.updateMessageBatchResults(testBatch.getShopCode(), testBatch.getBatchCode(),false))
-                .isInstanceOf(RuntimeException.class)
-                .hasMessageContaining("일치하지 않는 결과 카운트");
+    @DisplayName("발송이 끝나 진행 현황을 지운 뒤 늦게 온 기록은 키를 다시 만들지 않음")
+    void recordAfterFinish_DoesNotRecreateProgress(){
+        // given
+        messageBatchProgress.start(testBatch.getBatchCode(), 10);
+        messageBatchProgress.finish(testBatch.getBatchCode());
+
+        // when
+        messageBatchProgress.record(testBatch.getBatchCode(), true);
+
+        // then
+        assertTrue(messageBatchProgress.find(testBatch.getBatchCode()).isEmpty());
+        assertFalse(redisStreamTemplate.hasKey("message-batch-progress:" + testBatch.getBatchCode()));
     }
 }
@@ -0,0 +1,134 @@
+package com.header.header.domain.message.service;
+
+import com.header.header.domain.message.dto.MessageSendBatchDTO;
+import com.header.header.domain.message.entity.ShopMessageHistory;
+import com.header.header.domain.message.projection.MessageBatchResultCountView;
+import com.header.header.domain.message.repository.MessageSendBatchRepository;
+import com.header.header.domain.message.service.MessageSendQueue.QueuedMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "message.send-queue.stream=test-message-send-queue",
+        "message.send-queue.worker-enabled=false",
+        // 테스트에서 방금 만든 배치도 복구 대상에 포함
+        "message.send-queue.orphan-minutes=-1",
+        // 주기 복구가 테스트의 recover() 와 락을 다투지 않도록
+        "message.send-queue.recovery-interval-ms=3600000"
+})
+public class MessageSendQueueTests {
+
+    private static final String STREAM_KEY = "test-message-send-queue";
+
+    @Autowired
+    private MessageSendQueue messageSendQueue;
+    @Autowired
+    private MessageSendRecovery messageSendRecovery;
+    @Autowired
+    private MessageSendBatchService messageSendBatchService;
+    @Autowired
+    private MessageHistoryService messageHistoryService;
+    @Autowired
+    private MessageSendBatchRepository messageSendBatchRepository;
+    @Autowired
+    private RedisTemplate<String, String> redisStreamTemplate;
+
+    @BeforeEach
+    void setUp() {
+        redisStreamTemplate.delete(STREAM_KEY);
+        messageSendQueue.createGroup();
+    }
+
+    @AfterEach
+    void tearDown() {
+        redisStreamTemplate.delete(STREAM_KEY);
+    }
+
+    @Test
+    @DisplayName("ACK 하지 않은 항목은 다른 컨슈머가 가져가고, 처리 후에는 큐에서 사라짐")
+    void testClaimAndComplete() {
+        // given
+        messageSendQueue.enqueue(1, List.of(
+                ShopMessageHistory.pending(900001, 10, 1, "테스트 메시지입니다."),
+                ShopMessageHistory.pending(900002, 10, 2, "테스트 메시지입니다.")));
+
+        // when - consumer-a 가 가져간 뒤 죽었다고 가정
+        List<QueuedMessage> read = messageSendQueue.read("consumer-a", 10, Duration.ofMillis(100));
+        List<QueuedMessage> claimed = messageSendQueue.claimStale("consumer-b", Duration.ZERO, 10);
+
+        // then
+        assertEquals(2, read.size());
+        assertEquals(1, read.get(0).shopCode());
+        assertEquals(List.of(900001, 900002), claimed.stream().map(QueuedMessage::historyCode).toList());
+        claimed.forEach(message -> assertEquals(2, message.deliveryCount()));
+
+        messageSendQueue.complete(claimed);
+        assertTrue(messageSendQueue.queuedHistoryCodes().isEmpty());
+        assertTrue(messageSendQueue.claimStale("consumer-b", Duration.ZERO, 10).isEmpty());
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("큐에 없는 PENDING 히스토리는 복구 때 다시 넣고, 이미 큐에 있으면 넣지 않음")
+    void testRecoverOrphanedPending() {
+        // given - 큐에 넣지 못한 배치
+        List<Integer> historyCodes = createPendingBatch().stream().map(ShopMessageHistory::getHistoryCode).toList();
+
+        // when
+        messageSendRecovery.recover();
+        long queuedAfterFirst = redisStreamTemplate.opsForStream().size(STREAM_KEY);
+        messageSendRecovery.recover();
+
+        // then
+        assertTrue(messageSendQueue.queuedHistoryCodes().containsAll(historyCodes));
+        assertEquals(queuedAfterFirst, redisStreamTemplate.opsForStream().size(STREAM_KEY));
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("PENDING 이 남아 있으면 정산하지 않고, 모두 처리되면 히스토리 상태로 정산")
+    void testSettleBatch() {
+        // given
+        List<ShopMessageHistory> histories = createPendingBatch();
+        Integer batchCode = histories.get(0).getBatchCode();
+
+        messageHistoryService.updateMessageStatus(histories.get(0).getHistoryCode(), null);
+        messageHistoryService.updateMessageStatus(histories.get(1).getHistoryCode(), null);
+
+        // when - 한 건이 아직 PENDING
+        assertFalse(messageSendBatchService.settleBatch(batchCode));
+
+        messageHistoryService.updateMessageStatus(histories.get(2).getHistoryCode(), "전송 실패 테스트");
+
+        // then - 다시 정산해도 건수는 그대로
+        assertTrue(messageSendBatchService.settleBatch(batchCode));
+        messageSendBatchService.settleBatch(batchCode);
+
+        MessageBatchResultCountView counts = messageSendBatchRepository.findByBatchCode(batchCode).orElseThrow();
+        assertEquals(2, counts.getSuccessCount());
+        assertEquals(1, counts.getFailCount());
+    }
+
+    private List<ShopMessageHistory> createPendingBatch() {
+        MessageSendBatchDTO batch = messageSendBatchService.createMessageBatch(MessageSendBatchDTO.builder()
+                .shopCode(1)
+                .sendType("GROUP")
+                .subject("발송 큐 테스트")
+                .totalCount(3)
+                .successCount(0)
+                .failCount(0)
+                .build());
+        return messageHistoryService.createPendingHistories(batch.getBatchCode(), List.of(1, 2, 3), "발송 큐 테스트 메시지");
+    }
+}
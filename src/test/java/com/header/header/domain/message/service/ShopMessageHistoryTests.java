@@ -1,6 +1,7 @@
 package com.header.header.domain.message.service;
 
 import com.header.header.domain.message.dto.ShopMessageHistoryDTO;
+import com.header.header.domain.message.entity.ShopMessageHistory;
 import com.header.header.domain.message.enums.MessageStatus;
 import com.header.header.domain.message.exception.InvalidBatchException;
 import com.header.header.domain.message.projection.MessageContentView;
@@ -13,6 +14,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
 import java.util.List;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
@@ -166,6 +168,29 @@ public class ShopMessageHistoryTests {
         System.out.println("전송 상태: " + result.getSendStatus());
     }
 
+    @Test
+    @DisplayName("수신자 전체 PENDING 히스토리 대량 생성 테스트")
+    void createPendingHistories_Success() {
+        // given - 한 문장(500건) 단위를 넘는 수신자
+        int recipientCount = 1203;
+        List<Integer> userCodes = Collections.nCopies(recipientCount, 2);
+
+        // when
+        List<ShopMessageHistory> created = messageHistoryService.createPendingHistories(2, userCodes, "대량 메세지 내용입니다.");
+
+        // then - 수신자 순서대로 서로 다른 historyCode
+        assertEquals(recipientCount, created.size());
+        assertEquals(recipientCount, created.stream().map(ShopMessageHistory::getHistoryCode).distinct().count());
+        created.forEach(history -> assertEquals(MessageStatus.PENDING, history.getSendStatus()));
+
+        // 생성 키로 실제 저장된 행을 조회 / 상태 변경할 수 있음
+        ShopMessageHistory last = created.get(recipientCount - 1);
+        assertEquals("대량 메세지 내용입니다.",
+                messageHistoryService.getMessageContent(2, last.getHistoryCode()).getMsgContent());
+        assertEquals(String.valueOf(MessageStatus.SUCCESS),
+                messageHistoryService.updateMessageStatus(created.get(0).getHistoryCode(), null).getSendStatus());
+    }
+
     @Test
     @DisplayName("메세지 히스토리 상태 변경 PENDING -> SUCCESS")
     void updateMessageStatus_PendingToSuccess() {
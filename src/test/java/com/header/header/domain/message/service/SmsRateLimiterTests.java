@@ -0,0 +1,98 @@
+package com.header.header.domain.message.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "message.rate-limit.global-per-second=100",
+        "message.rate-limit.sender-per-second=50",
+        "message.rate-limit.burst-seconds=1"
+})
+public class SmsRateLimiterTests {
+
+    private static final Integer SHOP_A = 9101;
+    private static final Integer SHOP_B = 9102;
+    private static final Integer SHOP_C = 9103;
+
+    @Autowired
+    private SmsRateLimiter smsRateLimiter;
+    @Autowired
+    private RedisTemplate<String, String> redisStreamTemplate;
+
+    // 버킷은 Redis 에 남으므로 앞뒤로 정리
+    @BeforeEach
+    @AfterEach
+    void clear() {
+        redisStreamTemplate.delete(List.of(SmsRateLimiter.GLOBAL_KEY,
+                SmsRateLimiter.senderKey(SHOP_A), SmsRateLimiter.senderKey(SHOP_B), SmsRateLimiter.senderKey(SHOP_C)));
+    }
+
+    @Test
+    @DisplayName("샵별 토큰을 다 쓰면 다음 요청은 스레드를 잡지 않고 채워질 때까지 기다림")
+    void testSenderQuota() throws Exception {
+        // given
+        assertEquals(50, smsRateLimiter.maxPermits());
+        smsRateLimiter.acquire(SHOP_A, 50).get(1, TimeUnit.SECONDS);
+
+        // when - 바로 반환되지만 완료되지는 않음
+        long start = System.nanoTime();
+        CompletableFuture<Void> next = smsRateLimiter.acquire(SHOP_A, 25);
+        long returnedMillis = (System.nanoTime() - start) / 1_000_000;
+        assertFalse(next.isDone());
+
+        // then - 25건은 초당 50건 기준 약 0.5초 뒤
+        next.get(3, TimeUnit.SECONDS);
+        long grantedMillis = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(returnedMillis < 200, "acquire 는 기다리지 않고 반환 : " + returnedMillis + "ms");
+        assertTrue(grantedMillis >= 400, "토큰이 채워질 때까지 대기 : " + grantedMillis + "ms");
+    }
+
+    @Test
+    @DisplayName("샵이 달라도 전체 토큰을 함께 씀")
+    void testGlobalQuota() throws Exception {
+        // given - 두 샵이 전체 토큰(100)을 모두 사용
+        smsRateLimiter.acquire(SHOP_A, 50).get(1, TimeUnit.SECONDS);
+        smsRateLimiter.acquire(SHOP_B, 50).get(1, TimeUnit.SECONDS);
+
+        // when - 세 번째 샵은 자기 토큰이 있어도 전체 토큰을 기다림
+        long start = System.nanoTime();
+        CompletableFuture<Void> shopC = smsRateLimiter.acquire(SHOP_C, 50);
+        assertFalse(shopC.isDone());
+
+        // then - 50건은 초당 100건 기준 약 0.5초 뒤
+        shopC.get(3, TimeUnit.SECONDS);
+        assertTrue((System.nanoTime() - start) / 1_000_000 >= 400);
+    }
+
+    @Test
+    @DisplayName("동시에 요청해도 전체 발송 속도는 설정값을 넘지 않음")
+    void testConcurrentRate() throws Exception {
+        // given - 세 샵이 동시에 25건씩 8번 (총 600건, 처음 100건은 버킷에 있던 토큰)
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+
+        // when
+        for (int i = 0; i < 8; i++) {
+            for (Integer shopCode : List.of(SHOP_A, SHOP_B, SHOP_C)) {
+                futures.add(smsRateLimiter.acquire(shopCode, 25));
+            }
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+
+        // then - 남은 500건은 초당 100건 기준 약 5초
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(elapsedMillis >= 4500, "전체 속도 제한 : " + elapsedMillis + "ms");
+    }
+}
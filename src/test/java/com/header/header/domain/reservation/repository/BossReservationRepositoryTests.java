@@ -1,6 +1,8 @@
 package com.header.header.domain.reservation.repository;
 
 import com.header.header.common.exception.NotFoundException;
+import com.header.header.common.dto.CursorPage;
+import com.header.header.domain.reservation.dto.BossResvCalendarDayDTO;
 import com.header.header.domain.reservation.dto.BossResvInputDTO;
 import com.header.header.domain.reservation.dto.BossResvProjectionDTO;
 import com.header.header.domain.reservation.entity.BossReservation;
@@ -24,11 +26,15 @@ import java.sql.Time;
 import java.text.SimpleDateFormat;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -338,4 +344,79 @@ public class BossReservationRepositoryTests {
         assertEquals(noShow.getUserComment(), "노쇼");
         System.out.println("noShow = " + noShow);
     }
+
+    @Test
+    @Order(12)
+    @DisplayName("월간 달력 집계는 예약 상세 목록과 일치")
+    void testMonthCalendarMatchesReservationList(){
+        // given
+        String thisMonth = "2025-07";
+        Map<Date, List<BossResvProjectionDTO>> reservationsByDate = bossReservationService.findReservationList(SHOP_CODE, thisMonth)
+                .stream()
+                .collect(Collectors.groupingBy(BossResvProjectionDTO::getResvDate));
+
+        // when
+        List<BossResvCalendarDayDTO> calendar = bossReservationService.findMonthCalendar(SHOP_CODE, thisMonth);
+
+        // then - 예약이 있는 날짜만, 날짜마다 상태별 건수 / 첫 & 마지막 시간 / 색상별 건수가 같음
+        assertEquals(reservationsByDate.size(), calendar.size());
+
+        for (BossResvCalendarDayDTO day : calendar) {
+            List<BossResvProjectionDTO> reservations = reservationsByDate.get(day.getResvDate());
+            assertNotNull(reservations, day.getResvDate().toString());
+
+            assertEquals(countByState(reservations, ReservationState.APPROVE), day.getApproveCount());
+            assertEquals(countByState(reservations, ReservationState.CANCEL), day.getCancelCount());
+            assertEquals(countByState(reservations, ReservationState.FINISH), day.getFinishCount());
+
+            List<BossResvProjectionDTO> active = reservations.stream()
+                    .filter(resv -> resv.getResvState() != ReservationState.CANCEL)
+                    .toList();
+            assertEquals(active.stream().map(BossResvProjectionDTO::getResvTime).min(Time::compareTo).orElse(null), day.getFirstTime());
+            assertEquals(active.stream().map(BossResvProjectionDTO::getResvTime).max(Time::compareTo).orElse(null), day.getLastTime());
+            assertEquals(active.stream().collect(Collectors.groupingBy(BossResvProjectionDTO::getMenuColor, Collectors.summingInt(resv -> 1))),
+                    day.getColorBuckets());
+        }
+    }
+
+    @Test
+    @Order(13)
+    @DisplayName("노쇼 & 취소 내역을 커서 페이지로 끝까지 읽으면 전체 목록과 같음 (최신순, 중복 / 누락 없음)")
+    void testCanceledPageMatchesList(){
+        // given
+        List<Integer> expected = bossReservationService.findCanceledAndNoShowList(SHOP_CODE).stream()
+                .sorted(Comparator.comparing(BossResvProjectionDTO::getResvDate)
+                        .thenComparing(BossResvProjectionDTO::getResvTime)
+                        .thenComparing(BossResvProjectionDTO::getResvCode)
+                        .reversed())
+                .map(BossResvProjectionDTO::getResvCode)
+                .toList();
+
+        // when
+        List<Integer> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<BossResvProjectionDTO> page = bossReservationService.findCanceledAndNoShowPage(SHOP_CODE, cursor, 2);
+            assertTrue(page.getContent().size() <= 2);
+            page.getContent().forEach(row -> paged.add(row.getResvCode()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // then
+        assertEquals(expected, paged);
+    }
+
+    @Test
+    @Order(14)
+    @DisplayName("잘못된 커서나 페이지 크기는 IllegalArgumentException")
+    void testInvalidCursor(){
+        assertThrows(IllegalArgumentException.class,
+                () -> bossReservationService.findReservationPageByName(SHOP_CODE, "김", "not-a-cursor", 20));
+        assertThrows(IllegalArgumentException.class,
+                () -> bossReservationService.findReservationPageByName(SHOP_CODE, "김", null, 0));
+    }
+
+    private static int countByState(List<BossResvProjectionDTO> reservations, ReservationState state) {
+        return (int) reservations.stream().filter(resv -> resv.getResvState() == state).count();
+    }
 }
@@ -0,0 +1,243 @@
+package com.header.header.domain.reservation.service;
+
+import com.header.header.domain.menu.entity.Menu;
+import com.header.header.domain.menu.entity.MenuCategory;
+import com.header.header.domain.menu.entity.MenuCategoryId;
+import com.header.header.domain.menu.repository.MenuCategoryRepository;
+import com.header.header.domain.menu.repository.MenuRepository;
+import com.header.header.domain.reservation.dto.BossResvInputDTO;
+import com.header.header.domain.reservation.dto.UserReservationDTO;
+import com.header.header.domain.reservation.enums.UserReservationErrorCode;
+import com.header.header.domain.reservation.exception.UserReservationExceptionHandler;
+import com.header.header.domain.shop.entity.Shop;
+import com.header.header.domain.shop.repository.ShopCategoryRepository;
+import com.header.header.domain.shop.repository.ShopRepository;
+import com.header.header.domain.user.dto.UserDTO;
+import com.header.header.domain.user.entity.User;
+import com.header.header.domain.user.repository.MainUserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+* 락 없는 예약 경로(tbl_reservation_slot_claim) 동시성 테스트
+* 각 스레드가 자기 트랜잭션으로 커밋해야 하므로 @Transactional 을 붙이지 않고, 만든 데이터는 @AfterEach 에서 직접 삭제
+* */
+@SpringBootTest
+public class ReservationSlotClaimConcurrencyTests {
+
+    private static final int REQUEST_COUNT = 2000;
+    private static final int THREAD_COUNT = 64;
+
+    @Autowired
+    private UserReservationService userReservationService;
+    @Autowired
+    private BossReservationService bossReservationService;
+    @Autowired
+    private ModelMapper modelMapper;
+    @Autowired
+    private MainUserRepository userRepository;
+    @Autowired
+    private ShopRepository shopRepository;
+    @Autowired
+    private ShopCategoryRepository shopCategoryRepository;
+    @Autowired
+    private MenuCategoryRepository menuCategoryRepository;
+    @Autowired
+    private MenuRepository menuRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Integer testUserCode;
+    private Integer testShopCode;
+    private Integer testMenuCode;
+    private Date testDate;
+
+    @BeforeEach
+    void setUp() {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUserId("claim-tester");
+        userDTO.setUserPwd("pass123");
+        userDTO.setIsAdmin(0);
+        userDTO.setUserName("동시성테스트");
+        userDTO.setUserPhone("010-0303-0303");
+        userDTO.setIsLeave(0);
+
+        User testUser = modelMapper.map(userDTO, User.class);
+        userRepository.save(testUser);
+        testUserCode = testUser.getUserCode();
+
+        Shop testShop = Shop.builder()
+                .shopName("동시성샵")
+                .adminInfo(testUser)
+                .shopPhone("02-303-0303")
+                .shopLocation("서울시 종로구")
+                .shopLong(127.0276)
+                .shopLa(37.2979)
+                .categoryInfo(shopCategoryRepository.findById(1).orElseThrow())
+                .shopOpen("09:00")
+                .shopClose("18:00")
+                .isActive(true)
+                .build();
+        shopRepository.save(testShop);
+        testShopCode = testShop.getShopCode();
+
+        MenuCategory menuCategory = MenuCategory.builder()
+                .id(new MenuCategoryId(1, testShopCode))
+                .categoryName("동시성 메뉴")
+                .menuColor("#FFFFFF")
+                .isActive(true)
+                .build();
+        menuCategoryRepository.save(menuCategory);
+
+        Menu menu = Menu.builder()
+                .menuName("동시성 컷")
+                .menuPrice(10000)
+                .estTime(60)
+                .isActive(true)
+                .menuCategory(menuCategory)
+                .build();
+        menuRepository.save(menu);
+        testMenuCode = menu.getMenuCode();
+
+        // 휴일이 없는 새 샵이므로 아무 날짜나 사용 가능
+        testDate = Date.valueOf(LocalDate.now().plusDays(7));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM tbl_reservation_slot_claim WHERE shop_code = ?", testShopCode);
+        jdbcTemplate.update("DELETE FROM tbl_reservation WHERE shop_code = ?", testShopCode);
+        jdbcTemplate.update("DELETE FROM tbl_menu WHERE shop_code = ?", testShopCode);
+        jdbcTemplate.update("DELETE FROM tbl_menu_category WHERE shop_code = ?", testShopCode);
+        jdbcTemplate.update("DELETE FROM tbl_shop WHERE shop_code = ?", testShopCode);
+        jdbcTemplate.update("DELETE FROM tbl_user WHERE user_code = ?", testUserCode);
+    }
+
+    @Test
+    @DisplayName("같은 시간대에 2000건이 동시에 예약하면 1건만 성공하고 나머지는 모두 거절")
+    void testConcurrentUserReservations() throws InterruptedException {
+        // given - 절반은 10:00, 절반은 10:30 (60분 메뉴라 서로 겹침)
+        AtomicInteger successCount = new AtomicInteger();
+        Map<UserReservationErrorCode, AtomicInteger> rejected = new ConcurrentHashMap<>();
+        List<Throwable> unexpected = new CopyOnWriteArrayList<>();
+
+        // when
+        runConcurrently(i -> {
+            UserReservationDTO dto = new UserReservationDTO();
+            dto.setUserCode(testUserCode);
+            dto.setMenuCode(testMenuCode);
+            dto.setResvDate(testDate);
+            dto.setResvTime(Time.valueOf(i % 2 == 0 ? "10:00:00" : "10:30:00"));
+            try {
+                userReservationService.createReservation(testShopCode, dto);
+                successCount.incrementAndGet();
+            } catch (UserReservationExceptionHandler e) {
+                rejected.computeIfAbsent(e.getURErrorCode(), code -> new AtomicInteger()).incrementAndGet();
+            } catch (Throwable e) {
+                unexpected.add(e);
+            }
+        });
+
+        // then
+        System.out.println("성공 : " + successCount.get() + " / 거절 : " + rejected + " / 기타 : " + unexpected.size());
+
+        assertTrue(unexpected.isEmpty(), () -> "예상하지 못한 예외 : " + unexpected.get(0));
+        assertEquals(1, successCount.get());
+
+        // 먼저 커밋된 예약과 같은 시간(같은 유저)이면 USER_SCHEDULE_UNAVAILABLE 이 먼저 걸릴 수 있음
+        int rejectedCount = rejected.getOrDefault(UserReservationErrorCode.SCHEDULE_ALREADY_TAKEN, new AtomicInteger()).get()
+                + rejected.getOrDefault(UserReservationErrorCode.USER_SCHEDULE_UNAVAILABLE, new AtomicInteger()).get();
+        assertEquals(REQUEST_COUNT - 1, rejectedCount);
+
+        assertReservedOnce();
+    }
+
+    @Test
+    @DisplayName("사장님 예약 등록도 동시에 2000건이 들어오면 1건만 성공")
+    void testConcurrentBossReservations() throws InterruptedException {
+        // given
+        AtomicInteger successCount = new AtomicInteger();
+        AtomicInteger rejectedCount = new AtomicInteger();
+        List<Throwable> unexpected = new CopyOnWriteArrayList<>();
+
+        // when
+        runConcurrently(i -> {
+            BossResvInputDTO inputDTO = new BossResvInputDTO(
+                    "동시성테스트", "010-0303-0303", "동시성 컷", testDate, Time.valueOf("15:00:00"), "동시성 테스트");
+            try {
+                bossReservationService.registNewReservation(inputDTO, testShopCode);
+                successCount.incrementAndGet();
+            } catch (IllegalStateException e) {
+                rejectedCount.incrementAndGet();
+            } catch (Throwable e) {
+                unexpected.add(e);
+            }
+        });
+
+        // then
+        assertTrue(unexpected.isEmpty(), () -> "예상하지 못한 예외 : " + unexpected.get(0));
+        assertEquals(1, successCount.get());
+        assertEquals(REQUEST_COUNT - 1, rejectedCount.get());
+
+        assertReservedOnce();
+    }
+
+    private void runConcurrently(IntConsumer task) throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch ready = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(REQUEST_COUNT);
+
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            final int index = i;
+            executorService.submit(() -> {
+                try {
+                    ready.await(); // 모든 작업을 제출한 뒤 한 번에 출발
+                    task.accept(index);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        ready.countDown();
+        assertTrue(done.await(5, TimeUnit.MINUTES));
+        executorService.shutdown();
+    }
+
+    /* 예약은 한 건, 점유 칸은 60분 메뉴 = 10분 칸 6개 */
+    private void assertReservedOnce() {
+        Integer reservationCount = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tbl_reservation WHERE shop_code = ? AND resv_date = ?",
+                Integer.class, testShopCode, testDate);
+        Integer claimCount = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tbl_reservation_slot_claim WHERE shop_code = ? AND resv_date = ?",
+                Integer.class, testShopCode, testDate);
+
+        assertEquals(1, reservationCount);
+        assertEquals(60 / SlotAllocator.CLAIM_CELL_MINUTES, claimCount);
+    }
+}
@@ -1,5 +1,7 @@
 package com.header.header.domain.reservation.service;
 
+import com.header.header.common.cache.ShopScopedCache;
+import com.header.header.common.cache.TwoTierCache;
 import com.header.header.domain.menu.entity.Menu;
 import com.header.header.domain.menu.entity.MenuCategory;
 import com.header.header.domain.menu.entity.MenuCategoryId;
@@ -10,6 +12,7 @@ import com.header.header.domain.reservation.dto.UserReservationSearchConditionDT
 import com.header.header.domain.reservation.dto.UserResvAvailableScheduleDTO;
 import com.header.header.domain.reservation.entity.BossReservation;
 import com.header.header.domain.reservation.enums.ReservationState;
+import com.header.header.domain.reservation.enums.UserReservationErrorCode;
 import com.header.header.domain.reservation.exception.UserReservationExceptionHandler;
 import com.header.header.domain.reservation.projection.UserReservationDetail;
 import com.header.header.domain.reservation.projection.UserReservationForLLM;
@@ -19,6 +22,7 @@ import com.header.header.domain.reservation.repository.UserReservationRepository
 import com.header.header.domain.shop.entity.Shop;
 import com.header.header.domain.shop.entity.ShopCategory;
 import com.header.header.domain.shop.repository.ShopCategoryRepository;
+import com.header.header.domain.shop.repository.ShopHolidayRepository;
 import com.header.header.domain.shop.repository.ShopRepository;
 import com.header.header.domain.shop.service.ShopHolidayService;
 import com.header.header.domain.user.dto.UserDTO;
@@ -31,12 +35,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.caffeine.CaffeineCache;
 
 import java.sql.Date;
 import java.sql.Time;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -81,6 +87,12 @@ public class UserReservationTests {
     private final Integer USER_CODE = 1;
     @Autowired
     private ShopHolidayService shopHolidayService;
+    @Autowired
+    private SlotAllocator slotAllocator;
+    @Autowired
+    private HolidayExaminationForCache examinationForCache;
+    @Autowired
+    private ShopHolidayRepository shopHolidayRepository;
 
     @BeforeEach
     @Transactional
@@ -508,6 +520,126 @@ public class UserReservationTests {
         });
     }
 
+    @Test
+    @Order(18)
+    @DisplayName("예약된 시간은 예약 가능한 시간 목록에서 제외")
+    void testAvailableScheduleExcludesReservedSlot() {
+        // given
+        LocalDate targetDate = LocalDate.now().plusDays(3);
+
+        BossReservation reservation = BossReservation
+                .builder()
+                .userInfo(userRepository.findById(testUserCode).orElseThrow())
+                .shopInfo(shopRepository.findById(testShopCode).orElseThrow())
+                .menuInfo(menuRepository.findById(testMenuCode).orElseThrow())
+                .resvDate(Date.valueOf(targetDate))
+                .resvTime(Time.valueOf("10:00:00"))
+                .resvState(ReservationState.APPROVE)
+                .build();
+        bossReservationRepository.save(reservation);
+
+        // when
+        List<UserResvAvailableScheduleDTO> result = userReservationService.getAvailableSchedule(testShopCode, 30);
+
+        // then
+        UserResvAvailableScheduleDTO day = result.stream()
+                .filter(r -> r.getTargetDate().equals(targetDate))
+                .findFirst()
+                .orElseThrow();
+
+        assertFalse(day.getAvailableTimes().contains(LocalTime.of(10, 0)));
+        assertTrue(day.getAvailableTimes().contains(LocalTime.of(9, 0)));
+        assertTrue(day.getAvailableTimes().contains(LocalTime.of(17, 0)));
+    }
+
+    @Test
+    @Order(19)
+    @DisplayName("메뉴 소요 시간과 겹치는 시간에 예약 시도")
+    void testCreateReservationOverlapsMenuDuration() {
+        // given - 테스트 메뉴의 소요 시간은 300분 (10:00 ~ 15:00 점유)
+        Date testDate = Date.valueOf(LocalDate.now().plusDays(5));
+
+        UserReservationDTO first = new UserReservationDTO();
+        first.setUserCode(testUserCode);
+        first.setMenuCode(testMenuCode);
+        first.setResvDate(testDate);
+        first.setResvTime(Time.valueOf("10:00:00"));
+        userReservationService.createReservation(testShopCode, first);
+
+        UserReservationDTO second = new UserReservationDTO();
+        second.setUserCode(USER_CODE);
+        second.setMenuCode(testMenuCode);
+        second.setResvDate(testDate);
+        second.setResvTime(Time.valueOf("12:00:00"));
+
+        // when and then
+        UserReservationExceptionHandler e = assertThrows(UserReservationExceptionHandler.class, () -> {
+            userReservationService.createReservation(testShopCode, second);
+        });
+        assertEquals(UserReservationErrorCode.SCHEDULE_ALREADY_TAKEN, e.getURErrorCode());
+
+        // 메뉴를 지정한 조회에서는 15:00 이전에 시작하는 시간이 모두 빠짐
+        List<UserResvAvailableScheduleDTO> result
+                = userReservationService.getAvailableSchedule(testShopCode, 30, testMenuCode);
+        result.stream()
+                .filter(r -> r.getTargetDate().equals(testDate.toLocalDate()))
+                .findFirst()
+                .ifPresent(r -> assertTrue(r.getAvailableTimes().stream()
+                        .noneMatch(t -> t.isBefore(LocalTime.of(15, 0)))));
+    }
+
+    @Test
+    @Order(20)
+    @DisplayName("샵 휴일 달력의 기간 조회가 날짜별 휴일 쿼리 결과와 같음")
+    void testHolidayCalendarMatchesPerDateQueries() {
+        // given - shop 1 은 일시 휴일 + 정기 휴일(토, 일)이 있음
+        LocalDate startDate = LocalDate.of(2025, 6, 1);
+        int days = 400; // 연도가 바뀌는 구간 포함
+
+        // when
+        BitSet holidays = examinationForCache.holidaysBetween(SHOP_CODE, startDate, days);
+
+        // then
+        for (int i = 0; i < days; i++) {
+            Date date = Date.valueOf(startDate.plusDays(i));
+
+            boolean expected = shopHolidayRepository.isTempHoliday(SHOP_CODE, date)
+                    || shopHolidayRepository.findRegHoliday(SHOP_CODE, date).stream()
+                    .anyMatch(hol -> hol.getHolStartDate().toLocalDate().getDayOfWeek()
+                            == date.toLocalDate().getDayOfWeek());
+
+            assertEquals(expected, holidays.get(i), date.toString());
+            assertEquals(expected, examinationForCache.isHoliday(SHOP_CODE, date), date.toString());
+        }
+
+        // 휴일 캐시에는 샵 단위로 한 건만 저장
+        assertNotNull(cacheManager.getCache("holidays")
+                .get(ShopScopedCache.key(SHOP_CODE, "calendar"), ShopHolidayCalendar.class));
+    }
+
+    @Test
+    @Order(21)
+    @DisplayName("샵 단위 캐시 삭제는 다른 샵의 캐시에 영향을 주지 않음")
+    void testEvictShopKeepsOtherShops() {
+        // given - 두 샵의 점유 현황 캐시 생성
+        Date date1 = Date.valueOf(LocalDate.now().plusDays(1));
+        Date date2 = Date.valueOf(LocalDate.now().plusDays(2));
+        slotAllocator.getDayOccupancy(SHOP_CODE, date1);
+        slotAllocator.getDayOccupancy(SHOP_CODE, date2);
+        slotAllocator.getDayOccupancy(testShopCode, date1);
+
+        Cache cache = cacheManager.getCache("available-schedule");
+        assertNotNull(cache.get(ShopScopedCache.key(SHOP_CODE, date1)));
+
+        // when
+        slotAllocator.evictShop(SHOP_CODE);
+
+        // then
+        assertNull(cache.get(ShopScopedCache.key(SHOP_CODE, date1)));
+        assertNull(cache.get(ShopScopedCache.key(SHOP_CODE, date2)));
+        assertNotNull(cache.get(ShopScopedCache.key(testShopCode, date1)));
+    }
+
     @Test
     @DisplayName("캐싱 테스트")
     void caffeineCacheTests() {
@@ -523,12 +655,13 @@ public class UserReservationTests {
         printAllCache();
         System.out.print("holidays 캐시 삭제 테스트 : ");
         shopHolidayService.evictByShopCode(shopCode);
-        CaffeineCache caffeineCache = (CaffeineCache) cacheManager.getCache("holidays");
+        TwoTierCache holidayCache = (TwoTierCache) cacheManager.getCache("holidays");
 
         // 캐시 남아있음
-        assertNotNull(caffeineCache);
-        // holidays 엔트리는 삭제됨
-        assertTrue(caffeineCache.getNativeCache().asMap().isEmpty());
+        assertNotNull(holidayCache);
+        // holidays 엔트리는 삭제됨 (L1, L2 모두)
+        assertTrue(holidayCache.getNativeCache().asMap().isEmpty());
+        assertNull(holidayCache.get(ShopScopedCache.key(shopCode, "calendar")));
 
         /*캐시 삭제 테스트*/
         System.out.println("캐시 삭제 테스트 : ");
@@ -539,9 +672,9 @@ public class UserReservationTests {
         BossReservation reservation = userReservationRepository.findById(revCode)
                         .orElseThrow();
 
+        // 점유 현황은 샵 + 날짜 단위로 캐시됨
         String cacheKey = reservation.getShopInfo().getShopCode() + "_"
-                + reservation.getResvDate() + "_"
-                + reservation.getResvTime();
+                + reservation.getResvDate();
 
         Cache.ValueWrapper valueWrapper = cache.get(cacheKey);
 
@@ -570,9 +703,10 @@ public class UserReservationTests {
 
         userReservationService.createReservation(shopCode, dto);
 
-        String cacheKey1 = shopCode + "_"
-                + revDate.toString() + "_"
-                + revTime.toString();
+        // 점유 현황은 샵 + 날짜 단위로 캐시되며, 예약한 시간은 더 이상 비어 있지 않음
+        assertFalse(slotAllocator.isAvailable(shopCode, revDate, revTime, 60));
+
+        String cacheKey1 = shopCode + "_" + revDate.toString();
 
         Cache cache = cacheManager.getCache("available-schedule");
 
@@ -580,7 +714,7 @@ public class UserReservationTests {
 
         System.out.println(valueWrapper1);
 
-        assertFalse((Boolean) valueWrapper1.get());
+        assertInstanceOf(DayOccupancy.class, valueWrapper1.get());
 
         printAllCache();
     }
@@ -588,11 +722,11 @@ public class UserReservationTests {
     // 모든 캐시 프린트
     void printAllCache() {
         for (String cacheName : cacheManager.getCacheNames()) {
-            // CaffeineCache로 타입 캐스팅
-            CaffeineCache caffeineCache = (CaffeineCache) cacheManager.getCache(cacheName);
-            if (caffeineCache != null) {
+            // TwoTierCache로 타입 캐스팅 (L1 만 출력)
+            TwoTierCache twoTierCache = (TwoTierCache) cacheManager.getCache(cacheName);
+            if (twoTierCache != null) {
                 // asMap()으로 keySet, value 조회
-                caffeineCache.getNativeCache().asMap().forEach((k, v) -> {
+                twoTierCache.getNativeCache().asMap().forEach((k, v) -> {
                     System.out.println("cache=" + cacheName + " | key=" + k + " | value=" + v);
                 });
             }
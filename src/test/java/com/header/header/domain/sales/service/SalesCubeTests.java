@@ -0,0 +1,103 @@
+package com.header.header.domain.sales.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.header.header.domain.sales.dto.SalesCubeQuery;
+import com.header.header.domain.sales.dto.SalesCubeRowDTO;
+import com.header.header.domain.sales.dto.SalesDTO;
+import com.header.header.domain.sales.dto.SalesDetailDTO;
+import com.header.header.domain.sales.enums.SalesCubeDimension;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+public class SalesCubeTests {
+
+    @Autowired
+    private SalesCubeService salesCubeService;
+
+    @Autowired
+    private SalesService salesService;
+
+    private static final Integer TEST_SHOP_CODE = 1;
+
+    @Test
+    @DisplayName("결제 수단 / 월별 묶음이 일별 집계 통계와 같음")
+    void testGroupByMatchesRollup() {
+        // given
+        salesCubeService.evict(TEST_SHOP_CODE);
+
+        // when
+        List<SalesCubeRowDTO> byPayMethod = salesCubeService.query(TEST_SHOP_CODE, query(SalesCubeDimension.PAY_METHOD));
+        List<SalesCubeRowDTO> byMonth = salesCubeService.query(TEST_SHOP_CODE, query(SalesCubeDimension.MONTH));
+
+        // then - [결제방법, 총금액, 건수]
+        Map<String, String> expected = salesService.getSalesStatsByPayMethod(TEST_SHOP_CODE).stream()
+            .collect(Collectors.toMap(row -> (String) row[0], row -> row[1] + "/" + row[2]));
+        assertEquals(expected, byPayMethod.stream()
+            .collect(Collectors.toMap(row -> row.getKeys().get(0), row -> row.getFinalAmount() + "/" + row.getSalesCount())));
+
+        // [년도, 월, 총금액, 건수]
+        List<String> expectedMonths = salesService.getMonthlySalesStats(TEST_SHOP_CODE).stream()
+            .map(row -> String.format("%d-%02d %s/%s", row[0], row[1], row[2], row[3]))
+            .toList();
+        assertEquals(expectedMonths, byMonth.stream()
+            .map(row -> row.getKeys().get(0) + " " + row.getFinalAmount() + "/" + row.getSalesCount())
+            .toList());
+    }
+
+    @Test
+    @DisplayName("여러 기준 묶음 + 필터, 매출 수정은 커밋 후 큐브에 바로 반영")
+    void testMultiDimensionAndIncrementalUpdate() {
+        // given
+        SalesCubeQuery categoryByWeekday = query(SalesCubeDimension.CATEGORY, SalesCubeDimension.WEEKDAY);
+        List<SalesCubeRowDTO> rows = salesCubeService.query(TEST_SHOP_CODE, categoryByWeekday);
+        long total = rows.stream().mapToLong(SalesCubeRowDTO::getSalesCount).sum();
+
+        // then - 묶음을 나눠도 전체 건수는 같음
+        assertEquals(total, salesCubeService.query(TEST_SHOP_CODE, query()).get(0).getSalesCount());
+        rows.forEach(row -> assertEquals(2, row.getKeys().size()));
+
+        // when - 결제 수단 변경
+        SalesDetailDTO sales = salesService.getSalesDetail(1);
+        SalesDTO update = new SalesDTO();
+        update.setPayMethod("큐브테스트");
+        salesService.updatePayment(sales.getSalesCode(), update);
+        try {
+            SalesCubeQuery filtered = query(SalesCubeDimension.PAY_METHOD);
+            filtered.setPayMethod("큐브테스트");
+
+            // then
+            List<SalesCubeRowDTO> changed = salesCubeService.query(TEST_SHOP_CODE, filtered);
+            assertEquals(1, changed.size());
+            assertEquals(1, changed.get(0).getSalesCount());
+        } finally {
+            SalesDTO revert = new SalesDTO();
+            revert.setPayMethod(sales.getPayMethod());
+            salesService.updatePayment(sales.getSalesCode(), revert);
+        }
+
+        SalesCubeQuery reverted = query();
+        reverted.setPayMethod("큐브테스트");
+        assertTrue(salesCubeService.query(TEST_SHOP_CODE, reverted).isEmpty());
+    }
+
+    @Test
+    @DisplayName("묶음 기준이 5개 이상이면 IllegalArgumentException")
+    void testTooManyDimensions() {
+        assertThrows(IllegalArgumentException.class, () -> salesCubeService.query(TEST_SHOP_CODE,
+            query(SalesCubeDimension.PAY_METHOD, SalesCubeDimension.PAY_STATUS, SalesCubeDimension.MENU,
+                SalesCubeDimension.CATEGORY, SalesCubeDimension.WEEKDAY)));
+    }
+
+    private static SalesCubeQuery query(SalesCubeDimension... groupBy) {
+        SalesCubeQuery query = new SalesCubeQuery();
+        query.setGroupBy(List.of(groupBy));
+        return query;
+    }
+}
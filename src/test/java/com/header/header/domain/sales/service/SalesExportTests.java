@@ -0,0 +1,140 @@
+package com.header.header.domain.sales.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@SpringBootTest
+public class SalesExportTests {
+
+    @Autowired
+    private SalesExportService salesExportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static final Integer TEST_SHOP_CODE = 1;
+    private static final int ROW_COUNT = 1_000_000;
+    // 다른 테스트 데이터와 겹치지 않는 기간 (1,000,000초 = 약 11.6일)
+    private static final LocalDateTime START = LocalDateTime.of(2031, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2031, 12, 31, 23, 59, 59);
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        Integer resvCode = jdbcTemplate.queryForObject(
+            "SELECT MIN(resv_code) FROM tbl_reservation WHERE shop_code = ?", Integer.class, TEST_SHOP_CODE);
+
+        // 0 ~ 999,999 를 자릿수 테이블 6개의 조합으로 생성해서 한 번에 삽입
+        jdbcTemplate.update("""
+            INSERT INTO tbl_sales (resv_code, shop_code, pay_amount, pay_method, pay_datetime, pay_status, cancel_amount, final_amount)
+            SELECT ?, ?, 10000 + MOD(n, 50) * 1000, IF(MOD(n, 3) = 0, '현금', '신용카드'),
+                   TIMESTAMP('2031-01-01') + INTERVAL n SECOND, 'COMPLETED', 0, 10000 + MOD(n, 50) * 1000
+            FROM (SELECT d1.d + d2.d * 10 + d3.d * 100 + d4.d * 1000 + d5.d * 10000 + d6.d * 100000 AS n
+                  FROM (SELECT 0 d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+                        UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) d1
+                  CROSS JOIN (SELECT 0 d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+                        UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) d2
+                  CROSS JOIN (SELECT 0 d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+                        UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) d3
+                  CROSS JOIN (SELECT 0 d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+                        UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) d4
+                  CROSS JOIN (SELECT 0 d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+                        UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) d5
+                  CROSS JOIN (SELECT 0 d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+                        UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) d6) seq
+            """, resvCode, TEST_SHOP_CODE);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM tbl_sales WHERE pay_datetime BETWEEN ? AND ?", START, END);
+    }
+
+    @Test
+    @DisplayName("100만 건 CSV 내보내기 - 모든 행을 출력하고 힙 사용량은 행 수만큼 늘지 않음")
+    void testExportMillionRowsWithFlatHeap() {
+        // given - 출력은 버리고 줄 수만 세면서 주기적으로 GC 후 남은 힙을 기록
+        HeapSamplingOutputStream out = new HeapSamplingOutputStream();
+
+        // when
+        long exported = salesExportService.exportCsv(TEST_SHOP_CODE, START, END, out, false);
+
+        // then
+        assertEquals(ROW_COUNT, exported);
+        assertEquals(ROW_COUNT + 1, out.lines); // 헤더 포함
+        // 목록으로 만들면 SalesDetailDTO 100만 개로 수백 MB, 스트리밍이면 버퍼 크기 수준
+        long growth = out.maxRetainedHeap - out.baselineHeap;
+        System.out.println("내보내기 중 힙 증가량(GC 후 최대): " + growth / 1024 / 1024 + "MB");
+        assertTrue(growth < 64L * 1024 * 1024, "힙 증가량: " + growth);
+    }
+
+    @Test
+    @DisplayName("gzip 내보내기 - 압축을 풀면 같은 CSV")
+    void testExportGzip() throws Exception {
+        // given
+        LocalDateTime end = START.plusSeconds(999);
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+
+        // when
+        long plainCount = salesExportService.exportCsv(TEST_SHOP_CODE, START, end, plain, false);
+        long gzipCount = salesExportService.exportCsv(TEST_SHOP_CODE, START, end, gzip, true);
+
+        // then
+        assertEquals(1000, plainCount);
+        assertEquals(plainCount, gzipCount);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip.toByteArray()))) {
+            assertArrayEquals(plain.toByteArray(), in.readAllBytes());
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+            new ByteArrayInputStream(plain.toByteArray()), StandardCharsets.UTF_8))) {
+            assertTrue(reader.readLine().startsWith("\uFEFF매출코드,"));
+            assertTrue(reader.readLine().contains(",2031-01-01 00:00:00,"));
+        }
+    }
+
+    /**
+     * 받은 바이트는 버리고 줄 수만 셈, 10만 줄마다 GC 후 사용 중인 힙을 기록
+     */
+    private static class HeapSamplingOutputStream extends OutputStream {
+
+        private final long baselineHeap = retainedHeap();
+        private long maxRetainedHeap = baselineHeap;
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n' && ++lines % 100_000 == 0) {
+                maxRetainedHeap = Math.max(maxRetainedHeap, retainedHeap());
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                write(bytes[i]);
+            }
+        }
+
+        private static long retainedHeap() {
+            Runtime runtime = Runtime.getRuntime();
+            System.gc();
+            return runtime.totalMemory() - runtime.freeMemory();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.header.header.domain.sales.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.header.header.domain.sales.dto.HistogramSummaryDTO;
+import com.header.header.domain.sales.dto.SalesDetailDTO;
+import com.header.header.domain.sales.dto.SalesDistributionDTO;
+import com.header.header.domain.sales.enums.PaymentStatus;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+public class SalesHistogramTests {
+
+    @Autowired
+    private SalesService salesService;
+
+    @Autowired
+    private SalesHistogramRollup salesHistogramRollup;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static final Integer TEST_SHOP_CODE = 1;
+    // 동시 결제 테스트용 - 다른 테스트의 히스토그램과 겹치지 않는 샵
+    private static final Integer CONCURRENT_SHOP_CODE = 9301;
+    private static final LocalDate CONCURRENT_DATE = LocalDate.of(2097, 3, 3);
+
+    @BeforeEach
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM tbl_sales_daily_histogram WHERE shop_code = ?", CONCURRENT_SHOP_CODE);
+    }
+
+    @Test
+    @DisplayName("히스토그램 백분위는 정렬한 정확한 값 이상, 칸 너비(1/64) 이내 - 나눠 기록 후 합쳐도 같음")
+    void testPercentileAccuracyAndMerge() {
+        // given
+        Random random = new Random(17);
+        long[] values = new long[200_000];
+        SalesHistogram first = new SalesHistogram();
+        SalesHistogram second = new SalesHistogram();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(random.nextDouble() * 16);
+            (i % 2 == 0 ? first : second).record(values[i], 1);
+        }
+        Arrays.sort(values);
+
+        // when - 저장 형식을 거쳐서 합침
+        SalesHistogram merged = SalesHistogram.decode(first.encode());
+        merged.mergeEncoded(second.encode());
+
+        // then
+        assertEquals(values.length, merged.totalCount());
+        for (double percentile : new double[]{1, 50, 90, 99, 99.9, 100}) {
+            long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            long approximate = merged.valueAtPercentile(percentile);
+            assertTrue(approximate >= exact, percentile + " : " + approximate + " < " + exact);
+            assertTrue(approximate <= exact + exact / 64, percentile + " : " + approximate + " > " + exact);
+        }
+    }
+
+    @Test
+    @DisplayName("칸 경계 - 모든 칸이 빈틈없이 이어지고 값은 자기 칸 안에 들어감")
+    void testBucketBoundaries() {
+        for (int i = 1; i < SalesHistogram.BUCKET_COUNT; i++) {
+            assertEquals(SalesHistogram.highestEquivalentValue(i - 1) + 1, SalesHistogram.lowestEquivalentValue(i));
+        }
+        assertEquals(SalesHistogram.MAX_VALUE, SalesHistogram.highestEquivalentValue(SalesHistogram.BUCKET_COUNT - 1));
+
+        for (long value : new long[]{0, 127, 128, 25_000, 1_234_567, SalesHistogram.MAX_VALUE}) {
+            int index = SalesHistogram.indexOf(value);
+            assertTrue(SalesHistogram.lowestEquivalentValue(index) <= value);
+            assertTrue(SalesHistogram.highestEquivalentValue(index) >= value);
+        }
+    }
+
+    @Test
+    @DisplayName("매출 분포 - 한 건 금액 건수가 완료 / 부분취소 매출 수와 같고, 증분 갱신 결과가 재계산 결과와 같음")
+    void testDistributionMatchesSales() {
+        // given
+        LocalDate startDate = LocalDate.of(2000, 1, 1);
+        LocalDate endDate = LocalDate.of(2099, 12, 31);
+        List<SalesDetailDTO> active = salesService.getActiveSalesDetailsByShop(TEST_SHOP_CODE);
+        List<SalesDetailDTO> tickets = active.stream()
+            .filter(sales -> sales.getPayStatus() != PaymentStatus.CANCELLED)
+            .toList();
+
+        // when - 앞선 생성 / 수정 / 취소가 증분으로 반영된 상태
+        SalesDistributionDTO incremental = salesService.getSalesDistribution(TEST_SHOP_CODE, startDate, endDate);
+        salesService.rebuildDailyRollup(TEST_SHOP_CODE);
+        SalesDistributionDTO rebuilt = salesService.getSalesDistribution(TEST_SHOP_CODE, startDate, endDate);
+
+        // then
+        assertEquals(tickets.size(), rebuilt.getTicketSize().getCount());
+        assertEquals(toStrings(rebuilt.getTicketSize()), toStrings(incremental.getTicketSize()));
+
+        long maxTicket = tickets.stream().mapToLong(SalesDetailDTO::getFinalAmount).max().orElse(0);
+        assertTrue(rebuilt.getTicketSize().getP99() <= SalesHistogram.highestEquivalentValue(SalesHistogram.indexOf(maxTicket)));
+        assertEquals(active.stream().map(sales -> sales.getPayDatetime().toLocalDate()).distinct().count(),
+            rebuilt.getDailyRevenue().getCount());
+
+        assertThrows(IllegalArgumentException.class,
+            () -> salesService.getSalesDistribution(TEST_SHOP_CODE, endDate, startDate));
+    }
+
+    @Test
+    @DisplayName("같은 샵 / 같은 날짜에 동시에 결제가 들어와도 두 건 모두 기록")
+    void testConcurrentPaymentsSameDay() throws Exception {
+        // given
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch snapshotTaken = new CountDownLatch(1);
+        CountDownLatch otherCommitted = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+        // when - 먼저 시작한 트랜잭션이 읽기 스냅숏을 잡은 뒤 다른 결제가 커밋되고, 그 다음에 기록
+        try {
+            Future<?> first = executorService.submit(() -> transaction.executeWithoutResult(status -> {
+                salesHistogramRollup.ticketSize(CONCURRENT_SHOP_CODE, CONCURRENT_DATE, CONCURRENT_DATE);
+                snapshotTaken.countDown();
+                await(otherCommitted);
+                salesHistogramRollup.add(payment(10_000));
+            }));
+
+            await(snapshotTaken);
+            transaction.executeWithoutResult(status -> salesHistogramRollup.add(payment(20_000)));
+            otherCommitted.countDown();
+            first.get(10, TimeUnit.SECONDS);
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        // then
+        HistogramSummaryDTO summary = salesHistogramRollup.ticketSize(CONCURRENT_SHOP_CODE, CONCURRENT_DATE, CONCURRENT_DATE);
+        assertEquals(2, summary.getCount());
+    }
+
+    private static SalesDailyRollup.Contribution payment(long amount) {
+        return new SalesDailyRollup.Contribution(CONCURRENT_SHOP_CODE, CONCURRENT_DATE, "현금",
+            PaymentStatus.COMPLETED, amount, 0, amount);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<String> toStrings(HistogramSummaryDTO summary) {
+        return summary.getBuckets().stream()
+            .map(bucket -> bucket.getLowerBound() + "-" + bucket.getUpperBound() + ":" + bucket.getCount())
+            .toList();
+    }
+}
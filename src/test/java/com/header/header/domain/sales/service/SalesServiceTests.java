@@ -2,12 +2,22 @@ package com.header.header.domain.sales.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.header.header.common.dto.CursorPage;
 import com.header.header.domain.sales.dto.SalesDTO;
+import com.header.header.domain.sales.dto.SalesDashboardDTO;
 import com.header.header.domain.sales.dto.SalesDetailDTO;
 import com.header.header.domain.sales.enums.PaymentStatus;
+import com.header.header.domain.sales.enums.SalesListFilter;
+import com.header.header.domain.sales.repository.SalesRepository;
 import com.header.header.common.exception.NotFoundException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
 import org.junit.jupiter.api.Order;
@@ -15,6 +25,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @SpringBootTest
 @TestMethodOrder(OrderAnnotation.class)
@@ -23,6 +36,21 @@ public class SalesServiceTests {
     @Autowired
     private SalesService salesService;
 
+    @Autowired
+    private SalesRepository salesRepository;
+
+    @Autowired
+    private SalesDashboardAggregator salesDashboardAggregator;
+
+    @Autowired
+    private SalesDailyRollup salesDailyRollup;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     // 테스트용 데이터 상수
     private static final Integer TEST_RESV_CODE_1 = 3;
     private static final Integer TEST_RESV_CODE_2 = 4;
@@ -508,4 +536,173 @@ public class SalesServiceTests {
         assertTrue(exception.getMessage().contains("현재 상태에서는 취소할 수 없습니다"));
         System.out.println("재취소 예외: " + exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    @Order(24)
+    @DisplayName("생성 / 수정 / 취소 / 삭제 후에도 일별 집계 통계가 tbl_sales 직접 집계와 같음")
+    void testDailyRollupMatchesSales() {
+        // given - 앞선 테스트에서 결제 생성 / 수정 / 취소 / 삭제가 반영된 상태
+        LocalDateTime startDate = LocalDateTime.of(2024, 6, 15, 12, 0);
+        LocalDateTime endDate = LocalDateTime.now().plusDays(1).withHour(9);
+
+        // when & then - 하루가 다 들어가지 않는 앞뒤 날짜 포함
+        Long raw = salesRepository.calculateTotalSalesByShopBetween(TEST_SHOP_CODE, startDate, endDate, PaymentStatus.DELETED);
+        assertEquals(raw != null ? raw : 0L, salesService.calculateTotalSales(TEST_SHOP_CODE, startDate, endDate));
+
+        assertEquals(toStrings(salesRepository.findSalesStatsByPayMethodAndShop(TEST_SHOP_CODE, PaymentStatus.DELETED)),
+            toStrings(salesService.getSalesStatsByPayMethod(TEST_SHOP_CODE)));
+        assertEquals(toStrings(salesRepository.findMonthlySalesStatsByShop(TEST_SHOP_CODE, PaymentStatus.DELETED)),
+            toStrings(salesService.getMonthlySalesStats(TEST_SHOP_CODE)));
+
+        // 재계산해도 같은 결과
+        salesService.rebuildDailyRollup(TEST_SHOP_CODE);
+        assertEquals(toStrings(salesRepository.findSalesStatsByPayMethodAndShop(TEST_SHOP_CODE, PaymentStatus.DELETED)),
+            toStrings(salesService.getSalesStatsByPayMethod(TEST_SHOP_CODE)));
+    }
+
+    @Test
+    @Order(25)
+    @DisplayName("대시보드 - 건수 / 합계가 목록 조회와 같고, 매출이 바뀌면 캐시가 삭제됨")
+    void testDashboardStats() {
+        // given - L2 는 테스트 실행 사이에도 남으므로 먼저 정리
+        salesDashboardAggregator.evict(TEST_SHOP_CODE);
+        LocalDateTime startDate = LocalDateTime.of(2024, 6, 1, 0, 0);
+        LocalDateTime endDate = LocalDateTime.of(2025, 7, 23, 12, 0);
+
+        // when
+        SalesDashboardDTO dashboard = salesService.getDashboardStats(TEST_SHOP_CODE, startDate, endDate);
+
+        // then
+        assertEquals(salesService.getActiveSalesDetailsByShop(TEST_SHOP_CODE).size(), dashboard.getActiveSalesCount());
+        assertEquals(salesService.getCompletedSalesDetailsByShop(TEST_SHOP_CODE).size(), dashboard.getCompletedSalesCount());
+        assertEquals(salesService.getCancelledSalesDetailsByShop(TEST_SHOP_CODE).size(), dashboard.getCancelledSalesCount());
+        assertEquals(salesService.calculateTotalSales(TEST_SHOP_CODE, startDate, endDate), dashboard.getTotalSales());
+        assertEquals(salesService.calculateTotalCancelAmount(TEST_SHOP_CODE, startDate, endDate), dashboard.getTotalCancelAmount());
+        assertEquals(salesService.getSalesStatsByPayMethod(TEST_SHOP_CODE).size(), dashboard.getPaymentMethodStats().size());
+        assertEquals(salesService.getMonthlySalesStats(TEST_SHOP_CODE).size(), dashboard.getMonthlyStats().size());
+
+        // 같은 조회는 캐시
+        assertSame(dashboard, salesService.getDashboardStats(TEST_SHOP_CODE, startDate, endDate));
+
+        // 매출 수정 후에는 다시 계산
+        SalesDTO updateDTO = new SalesDTO();
+        updateDTO.setPayMethod(TEST_PAY_METHOD);
+        salesService.updatePayment(createdSalesCode, updateDTO);
+        assertNotSame(dashboard, salesService.getDashboardStats(TEST_SHOP_CODE, startDate, endDate));
+    }
+
+    @Test
+    @Order(26)
+    @DisplayName("커서 페이지 - 끝까지 넘기면 전체 목록과 같은 매출을 최신순으로 한 번씩, 전체 건수는 집계에서")
+    void testSalesDetailPage() {
+        // given
+        List<Integer> expected = salesService.getActiveSalesDetailsByShop(TEST_SHOP_CODE).stream()
+            .map(SalesDetailDTO::getSalesCode)
+            .sorted()
+            .toList();
+
+        // when - 2건씩 마지막 페이지까지
+        List<SalesDetailDTO> collected = new ArrayList<>();
+        String cursor = null;
+        CursorPage<SalesDetailDTO> page;
+        do {
+            page = salesService.getSalesDetailPage(TEST_SHOP_CODE, SalesListFilter.ACTIVE, null, null, cursor, 2, true);
+            assertTrue(page.getContent().size() <= 2);
+            assertEquals(expected.size(), page.getTotalCount());
+            collected.addAll(page.getContent());
+            cursor = page.getNextCursor();
+        } while (page.isHasNext());
+
+        // then
+        assertEquals(expected, collected.stream().map(SalesDetailDTO::getSalesCode).sorted().toList());
+        for (int i = 1; i < collected.size(); i++) {
+            assertFalse(collected.get(i).getPayDatetime().isAfter(collected.get(i - 1).getPayDatetime()));
+        }
+        assertNull(salesService.getSalesDetailPage(TEST_SHOP_CODE, SalesListFilter.ACTIVE, null, null, null, 2, false)
+            .getTotalCount());
+
+        assertThrows(IllegalArgumentException.class, () ->
+            salesService.getSalesDetailPage(TEST_SHOP_CODE, SalesListFilter.ACTIVE, null, null, "잘못된커서", 2, false));
+        assertThrows(IllegalArgumentException.class, () ->
+            salesService.getSalesDetailPage(TEST_SHOP_CODE, SalesListFilter.ACTIVE, null, null, null,
+                SalesService.MAX_PAGE_SIZE + 1, false));
+    }
+
+    @Test
+    @Order(27)
+    @DisplayName("집계가 없는 샵은 백필되어 tbl_sales 직접 집계와 같아짐")
+    void testBackfillMissingDailyRollup() {
+        // given - 기존 DB 에 집계 테이블만 새로 생긴 상태
+        jdbcTemplate.update("DELETE FROM tbl_sales_daily WHERE shop_code = ?", TEST_SHOP_CODE);
+        salesDashboardAggregator.evict(TEST_SHOP_CODE);
+        assertTrue(salesService.getSalesStatsByPayMethod(TEST_SHOP_CODE).isEmpty());
+
+        // when
+        int backfilled = salesDailyRollup.backfillMissing();
+
+        // then
+        assertTrue(backfilled >= 1);
+        assertEquals(toStrings(salesRepository.findSalesStatsByPayMethodAndShop(TEST_SHOP_CODE, PaymentStatus.DELETED)),
+            toStrings(salesService.getSalesStatsByPayMethod(TEST_SHOP_CODE)));
+    }
+
+    @Test
+    @Order(28)
+    @DisplayName("재계산은 진행 중인 매출 변경(샵 락)이 끝날 때까지 기다렸다가 실행")
+    void testRebuildWaitsForShopWriters() throws Exception {
+        // given - 매출 변경 트랜잭션이 샵 락을 공유로 잡고 있음
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CompletableFuture<Void> lockHeld = new CompletableFuture<>();
+        CompletableFuture<Void> release = new CompletableFuture<>();
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status -> {
+            salesDailyRollup.lockShop(TEST_RESV_CODE_1);
+            lockHeld.complete(null);
+            release.join();
+        }));
+        lockHeld.get(10, TimeUnit.SECONDS);
+
+        // when
+        CompletableFuture<Integer> rebuild = CompletableFuture.supplyAsync(() -> salesDailyRollup.rebuild(TEST_SHOP_CODE));
+
+        // then - 변경이 끝나야 재계산이 끝남
+        Thread.sleep(500);
+        assertFalse(rebuild.isDone());
+        release.complete(null);
+        writer.get(10, TimeUnit.SECONDS);
+        assertTrue(rebuild.get(10, TimeUnit.SECONDS) > 0);
+    }
+
+    @Test
+    @Order(29)
+    @DisplayName("커서 페이지는 매출의 샵 + 결제일시 인덱스를 커서 위치부터 읽고 정렬하지 않음")
+    void testSalesDetailPageUsesShopIndex() {
+        // when - findSalesDetailPage 와 같은 조건
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("""
+            EXPLAIN
+            SELECT s.sales_code, r.user_code, mc.category_name
+            FROM tbl_sales s
+            JOIN tbl_reservation r ON r.resv_code = s.resv_code
+            JOIN tbl_menu m ON m.menu_code = r.menu_code
+            JOIN tbl_menu_category mc ON mc.category_code = m.category_code AND mc.shop_code = m.shop_code
+            WHERE s.shop_code = ?
+              AND s.pay_status IN ('COMPLETED', 'PARTIAL_CANCELLED')
+              AND s.pay_datetime BETWEEN '2000-01-01' AND '2100-12-31'
+              AND (s.pay_datetime < '2100-12-31' OR (s.pay_datetime = '2100-12-31' AND s.sales_code < 2147483647))
+            ORDER BY s.pay_datetime DESC, s.sales_code DESC
+            LIMIT 20
+            """, TEST_SHOP_CODE);
+
+        // then - 매출이 가장 먼저 읽히고 예약 조인 없이 샵 범위만 읽음
+        Map<String, Object> sales = plan.get(0);
+        assertEquals("s", sales.get("table"));
+        assertEquals("idx_sales_shop_pay_datetime", sales.get("key"));
+        plan.forEach(row -> assertFalse(String.valueOf(row.get("Extra")).contains("Using filesort"), row.toString()));
+    }
+
+    private static List<String> toStrings(List<Object[]> rows) {
+        return rows.stream()
+            .map(Arrays::toString)
+            .sorted(Comparator.naturalOrder())
+            .toList();
+    }
+}
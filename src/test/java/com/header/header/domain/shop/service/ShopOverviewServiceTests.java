@@ -0,0 +1,93 @@
+package com.header.header.domain.shop.service;
+
+import com.header.header.domain.message.service.MessageSendBatchService;
+import com.header.header.domain.sales.service.SalesService;
+import com.header.header.domain.shop.dto.ShopOverviewDTO;
+import com.header.header.domain.visitors.service.VisitorsService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class ShopOverviewServiceTests {
+
+    private static final Integer SHOP_CODE = 1;
+
+    @Autowired
+    private ShopOverviewService shopOverviewService;
+    @Autowired
+    private SalesService salesService;
+    @Autowired
+    private VisitorsService visitorsService;
+    @Autowired
+    private MessageSendBatchService messageSendBatchService;
+
+    @Test
+    @DisplayName("샵 요약 - 항목별 결과가 각 서비스를 따로 호출한 결과와 같음")
+    void testOverviewMatchesServices() {
+        // when
+        ShopOverviewDTO overview = shopOverviewService.getOverview(SHOP_CODE);
+
+        // then
+        LocalDate today = LocalDate.now();
+        assertTrue(overview.getDegradedSections().isEmpty());
+        assertEquals(salesService.calculateTotalSales(SHOP_CODE, today.atStartOfDay(), today.atTime(23, 59, 59)),
+                overview.getTodaySales());
+        assertEquals(salesService.calculateTotalSales(SHOP_CODE, today.withDayOfMonth(1).atStartOfDay(), today.atTime(23, 59, 59)),
+                overview.getMonthSales());
+        assertEquals(visitorsService.getTodayReservationCustomers(SHOP_CODE).size(), overview.getTodayReservations().size());
+        assertEquals(Math.min(5, messageSendBatchService.getBatchListByShop(SHOP_CODE).size()),
+                overview.getRecentMessageBatches().size());
+        assertNotNull(overview.getNoShowCandidates());
+    }
+
+    @Test
+    @DisplayName("항목은 동시에 실행되어 전체 시간은 가장 느린 항목 시간, 제한 시간을 넘긴 항목만 기본값")
+    void testBranchesRunConcurrentlyWithTimeout() {
+        // given
+        List<String> degraded = new CopyOnWriteArrayList<>();
+        List<CompletableFuture<String>> branches = new ArrayList<>();
+        long startedAt = System.nanoTime();
+
+        // when - 400ms 항목 3개 + 제한 시간(300ms)을 넘기는 항목 1개 + 예외로 끝나는 항목 1개
+        for (int i = 0; i < 3; i++) {
+            String section = "slow-" + i;
+            branches.add(shopOverviewService.branch(section, 2000, () -> {
+                sleep(400);
+                return section;
+            }, "fallback", degraded));
+        }
+        branches.add(shopOverviewService.branch("timeout", 300, () -> {
+            sleep(3000);
+            return "late";
+        }, "fallback", degraded));
+        branches.add(shopOverviewService.branch("error", 2000, () -> {
+            throw new IllegalStateException("조회 실패");
+        }, "fallback", degraded));
+        CompletableFuture.allOf(branches.toArray(CompletableFuture[]::new)).join();
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+
+        // then - 직렬이면 1200ms 이상
+        assertTrue(elapsedMillis < 1000, "elapsed " + elapsedMillis + "ms");
+        assertEquals(List.of("slow-0", "slow-1", "slow-2", "fallback", "fallback"),
+                branches.stream().map(CompletableFuture::join).toList());
+        assertEquals(List.of("error", "timeout"), degraded.stream().sorted().toList());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.header.header.domain.visitors.service;
+
+import com.header.header.domain.visitors.dto.VisitorDetailResponse;
+import com.header.header.domain.visitors.projection.VisitStatisticsView;
+import com.header.header.domain.visitors.repository.VisitorStatisticsRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class VisitorStatisticsTests {
+
+    private static final Integer SHOP_CODE = 1;
+
+    @Autowired
+    private VisitorStatisticsSummarizer visitorStatisticsSummarizer;
+    @Autowired
+    private VisitorStatisticsRepository visitorStatisticsRepository;
+    @Autowired
+    private VisitorsService visitorsService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("회원 한 명씩 갱신한 통계와 샵 전체 재계산 결과가 같음")
+    void testRefreshMatchesRebuild() {
+        // given - 샵 전체 재계산
+        visitorStatisticsSummarizer.rebuild(SHOP_CODE);
+        Map<Integer, List<Object>> rebuilt = snapshot();
+
+        // when - 같은 회원들을 한 명씩 다시 갱신
+        rebuilt.keySet().forEach(userCode -> visitorStatisticsSummarizer.refresh(SHOP_CODE, userCode));
+
+        // then
+        assertEquals(rebuilt, snapshot());
+    }
+
+    @Test
+    @DisplayName("고객 목록의 방문 횟수 / 결제 금액 / 선호 메뉴는 통계 테이블 값")
+    void testVisitorsListReadsStatistics() {
+        // given
+        visitorStatisticsSummarizer.rebuild(SHOP_CODE);
+        List<List<Object>> statistics = visitorStatisticsRepository.findByShopCode(SHOP_CODE).stream()
+                .map(stats -> Arrays.<Object>asList(stats.getVisitCount(), stats.getTotalPaymentAmount(),
+                        stats.getFavoriteMenuName() != null ? stats.getFavoriteMenuName() : ""))
+                .toList();
+
+        // when
+        List<VisitorDetailResponse> visitors = visitorsService.getShopVisitorsList(SHOP_CODE);
+
+        // then - 방문 기록이 있는 고객은 모두 통계 행과 같은 값
+        assertFalse(visitors.isEmpty());
+        visitors.stream()
+                .filter(visitor -> visitor.getVisitCount() > 0)
+                .forEach(visitor -> assertTrue(statistics.contains(
+                        Arrays.<Object>asList(visitor.getVisitCount(), visitor.getTotalPaymentAmount(), visitor.getFavoriteMenuName()))));
+    }
+
+    @Test
+    @DisplayName("샵 + 회원 통계 계산은 예약 / 매출을 커버링 인덱스로만 읽음")
+    void testRefreshUsesCoveringIndex() {
+        // given - 시술완료 예약이 있는 샵 + 회원
+        Map<String, Object> target = jdbcTemplate.queryForMap(
+                "SELECT shop_code, user_code FROM tbl_reservation WHERE resv_state = '시술완료' LIMIT 1");
+
+        // when - 통계 갱신(refresh)과 같은 조건의 집계
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("""
+                EXPLAIN
+                SELECT COUNT(*), SUM(s.final_amount), MAX(r.resv_date)
+                FROM tbl_reservation r
+                JOIN tbl_sales s ON s.resv_code = r.resv_code
+                WHERE r.shop_code = ?
+                  AND r.user_code = ?
+                  AND r.resv_state = '시술완료'
+                  AND s.final_amount > 0
+                  AND UPPER(s.pay_status) <> 'DELETED'
+                """, target.get("shop_code"), target.get("user_code"));
+
+        // then - 테이블 스캔 없이 인덱스만 읽음 (Using index)
+        Map<String, Map<String, Object>> byTable = plan.stream()
+                .collect(Collectors.toMap(row -> (String) row.get("table"), row -> row));
+        assertEquals("idx_reservation_shop_user", byTable.get("r").get("key"));
+        assertEquals("idx_sales_resv", byTable.get("s").get("key"));
+        byTable.values().forEach(row -> {
+            assertNotEquals("ALL", row.get("type"));
+            assertTrue(String.valueOf(row.get("Extra")).contains("Using index"), row.toString());
+        });
+    }
+
+    private Map<Integer, List<Object>> snapshot() {
+        return visitorStatisticsRepository.findByShopCode(SHOP_CODE).stream()
+                .collect(Collectors.toMap(VisitStatisticsView::getUserCode,
+                        stats -> Arrays.asList(stats.getVisitCount(), stats.getTotalPaymentAmount(),
+                                stats.getLastVisitDate(), stats.getFavoriteMenuName())));
+    }
+}
@@ -1,7 +1,9 @@
 package com.header.header.domain.visitors.service;
 
+import com.header.header.common.dto.CursorPage;
 import com.header.header.domain.visitors.dto.*;
 import com.header.header.domain.visitors.enitity.Visitors;
+import com.header.header.domain.visitors.enums.VisitorSort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,12 +11,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
 @Transactional
@@ -118,4 +123,44 @@ public class VisitorsTests {
         assertFalse(found.isActive());
     }
 
+    @Test
+    @DisplayName("고객 목록 커서 페이지 - 정렬 기준마다 전체 목록과 같은 고객을 중복 없이 정렬된 순서로 반환")
+    void testShopVisitorsPage(){
+        // given
+        Integer shopCode = 1;
+        int total = visitorsService.getShopVisitorsList(shopCode).size();
+
+        for (VisitorSort sort : VisitorSort.values()) {
+            // when - 작은 페이지로 끝까지 넘김
+            List<VisitorDetailResponse> all = new ArrayList<>();
+            String cursor = null;
+            do {
+                CursorPage<VisitorDetailResponse> page = visitorsService.getShopVisitorsPage(shopCode, sort, cursor, 2);
+                assertTrue(page.getContent().size() <= 2);
+                all.addAll(page.getContent());
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+
+            // then
+            assertEquals(total, all.size(), sort.name());
+            assertEquals(total, new HashSet<>(all.stream().map(VisitorDetailResponse::getClientCode).toList()).size(), sort.name());
+            for (int i = 1; i < all.size(); i++) {
+                VisitorDetailResponse prev = all.get(i - 1);
+                VisitorDetailResponse next = all.get(i);
+                if (sort == VisitorSort.VISIT_COUNT) {
+                    assertTrue(prev.getVisitCount() >= next.getVisitCount());
+                } else if (sort == VisitorSort.TOTAL_SPEND) {
+                    assertTrue(prev.getTotalPaymentAmount() >= next.getTotalPaymentAmount());
+                }
+            }
+        }
+
+        // 정렬 기준이 다른 커서는 거부
+        String visitCountCursor = visitorsService.getShopVisitorsPage(shopCode, VisitorSort.VISIT_COUNT, null, 1).getNextCursor();
+        if (visitCountCursor != null) {
+            assertThatThrownBy(() -> visitorsService.getShopVisitorsPage(shopCode, VisitorSort.NAME, visitCountCursor, 1))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
 }